@@ -0,0 +1,33 @@
+package com.jumbo.store.benchmark;
+
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.fixture.SyntheticStores;
+import java.util.List;
+
+/**
+ * Reproducible benchmark data: stores and query points clustered around Dutch population centres.
+ */
+final class BenchmarkStores {
+
+    /**
+     * Number of query points each benchmark cycles through, so no single location gets special treatment.
+     */
+    static final int QUERIES = 1024;
+
+    private static final SyntheticStores SYNTHETIC_STORES = new SyntheticStores();
+
+    private BenchmarkStores() {}
+
+    static List<Store> stores(int count) {
+        return SYNTHETIC_STORES.stores(count);
+    }
+
+    static Coordinate[] queries() {
+        return SYNTHETIC_STORES.queries(QUERIES);
+    }
+
+    static SyntheticStores generator() {
+        return SYNTHETIC_STORES;
+    }
+}
@@ -0,0 +1,63 @@
+package com.jumbo.store.benchmark;
+
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.service.DistanceCalculator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Haversine distance from a query point to every store, the work a full scan does per request.
+ * The limit plays no part here: every store's distance is computed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceCalculatorBenchmark {
+
+    @Param({"1000", "10000"})
+    private int stores;
+
+    private final DistanceCalculator distanceCalculator = new DistanceCalculator();
+    private double[] latitudes;
+    private double[] longitudes;
+    private Coordinate[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Store> dataset = BenchmarkStores.stores(stores);
+        latitudes = dataset.stream()
+                .mapToDouble(store -> store.getLatitude().doubleValue())
+                .toArray();
+        longitudes = dataset.stream()
+                .mapToDouble(store -> store.getLongitude().doubleValue())
+                .toArray();
+        queries = BenchmarkStores.queries();
+    }
+
+    @Benchmark
+    public void calculateDistance(Blackhole blackhole) {
+        Coordinate query = queries[next++ & (BenchmarkStores.QUERIES - 1)];
+        double latitude = query.latitudeAsDouble();
+        double longitude = query.longitudeAsDouble();
+        for (int i = 0; i < latitudes.length; i++) {
+            blackhole.consume(distanceCalculator.calculateDistance(latitude, longitude, latitudes[i], longitudes[i]));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.jumbo.store.benchmark;
+
+import com.jumbo.store.security.JwtTokenProvider;
+import com.jumbo.store.security.model.VerifiedToken;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rejecting bad tokens against accepting a valid one with {@link JwtTokenProvider#verify}.
+ * {@code rejectReplayed} cycles through a forged signature, an expired token, a string that is no JWT at all and an
+ * oversized one: after the first round each is turned away by shape or from the rejected-token cache.
+ * {@code rejectForged} sends a forged token never seen before on every invocation, as a real flood would, so each one
+ * pays the full parse, HMAC check and exception; it is the rate to compare with {@code accept}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRejectionBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong";
+
+    private JwtTokenProvider tokenProvider;
+    private String valid;
+    private String unsigned;
+    private String[] flood;
+    private int next;
+    private long forged;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 3_600_000, 10_000);
+        valid = tokenProvider.generateToken("customer", List.of("ROLE_CUSTOMER"), List.of("read:store"));
+        String[] parts = valid.split("\\.");
+        unsigned = parts[0] + "." + parts[1] + ".";
+        flood = new String[] {
+            unsigned + "Zm9yZ2VkLXNpZ25hdHVyZQ",
+            new JwtTokenProvider(SECRET, -1_000, 10).generateToken("customer", List.of(), List.of()),
+            "Bearer-garbage with spaces",
+            "x".repeat(20_000)
+        };
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> accept() {
+        return tokenProvider.verify(valid);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> rejectReplayed() {
+        String token = flood[next];
+        next = next + 1 == flood.length ? 0 : next + 1;
+        return tokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> rejectForged() {
+        byte[] signature = ByteBuffer.allocate(32).putLong(forged++).array();
+        return tokenProvider.verify(
+                unsigned + Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+    }
+}
@@ -0,0 +1,71 @@
+package com.jumbo.store.benchmark;
+
+import com.jumbo.store.security.JwtTokenProvider;
+import com.jumbo.store.security.model.VerifiedToken;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Token handling per request: a full parse and signature check against {@link JwtTokenProvider#verify}, which
+ * serves tokens seen before from its cache. The number of distinct tokens in rotation decides how often the
+ * cache of {@code cacheSize} entries hits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong";
+
+    @Param({"1", "1000", "100000"})
+    private int tokens;
+
+    @Param({"10000"})
+    private int cacheSize;
+
+    private JwtTokenProvider tokenProvider;
+    private String[] rotation;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 3_600_000, cacheSize);
+        rotation = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            rotation[i] = tokenProvider.generateToken(
+                    "customer-" + i, List.of("ROLE_CUSTOMER"), List.of("read:store", "write:store"));
+        }
+    }
+
+    @Benchmark
+    public List<SimpleGrantedAuthority> parse() {
+        return tokenProvider.getAuthoritiesFromToken(nextToken());
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return tokenProvider.verify(nextToken());
+    }
+
+    private String nextToken() {
+        String token = rotation[next];
+        next = next + 1 == rotation.length ? 0 : next + 1;
+        return token;
+    }
+}
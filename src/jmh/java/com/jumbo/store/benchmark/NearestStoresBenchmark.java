@@ -0,0 +1,73 @@
+package com.jumbo.store.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.service.DistanceCalculator;
+import com.jumbo.store.domain.service.StoreSearchMetrics;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.validation.LocationValidator;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The in-memory nearest-store search as the controller calls it: validation, snapshot ranking and distances.
+ * The database mode is left out on purpose: its cost is PostgreSQL's, see {@code StoreSearchModeComparisonIT}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NearestStoresBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int stores;
+
+    @Param({"5", "50", "500"})
+    private int limit;
+
+    private StoreService storeService;
+    private Coordinate[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        StoreSearchProperties searchProperties =
+                new StoreSearchProperties(StoreSearchProperties.Mode.MEMORY, 10, 320, 500);
+        StoreSnapshotHolder storeSnapshotHolder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        storeSnapshotHolder.install(BenchmarkStores.stores(stores));
+        // Memory mode reaches neither the repository, the circuit breaker nor the database search
+        storeService = new StoreService(
+                null,
+                new DistanceCalculator(),
+                null,
+                new LocationValidator(),
+                null,
+                searchProperties,
+                storeSnapshotHolder,
+                new StoreSearchMetrics(new SimpleMeterRegistry(), searchProperties));
+        queries = BenchmarkStores.queries();
+    }
+
+    @Benchmark
+    public NearestStoresResponse findNearestStores() {
+        Coordinate query = queries[next++ & (BenchmarkStores.QUERIES - 1)];
+        return storeService.findNearestStores(query.latitude(), query.longitude(), limit);
+    }
+}
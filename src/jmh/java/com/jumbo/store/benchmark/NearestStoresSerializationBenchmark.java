@@ -0,0 +1,98 @@
+package com.jumbo.store.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.service.DistanceCalculator;
+import com.jumbo.store.domain.service.StoreSearchMetrics;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.validation.LocationValidator;
+import com.jumbo.store.web.converter.NearestStoresHttpMessageConverter;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.StoreFieldSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Writing a nearest-stores response as JSON: plain Jackson databind, as for any other body, against the
+ * {@link NearestStoresHttpMessageConverter} the application registers, which copies the pre-rendered store fragments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NearestStoresSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int stores;
+
+    @Param({"5", "50", "500"})
+    private int limit;
+
+    private ObjectMapper objectMapper;
+    private NearestStoresHttpMessageConverter converter;
+    private NearestStoresResponse response;
+    private NearestStoresResponse compactResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new NearestStoresHttpMessageConverter(objectMapper);
+
+        StoreSearchProperties searchProperties =
+                new StoreSearchProperties(StoreSearchProperties.Mode.MEMORY, 10, 320, 500);
+        StoreSnapshotHolder storeSnapshotHolder = new StoreSnapshotHolder(new StoreJsonFragment(objectMapper));
+        storeSnapshotHolder.install(BenchmarkStores.stores(stores));
+        StoreService storeService = new StoreService(
+                null,
+                new DistanceCalculator(),
+                null,
+                new LocationValidator(),
+                null,
+                searchProperties,
+                storeSnapshotHolder,
+                new StoreSearchMetrics(new SimpleMeterRegistry(), searchProperties));
+        Coordinate query = BenchmarkStores.queries()[0];
+        response = storeService.findNearestStores(query.latitude(), query.longitude(), limit);
+        compactResponse = response.withFields(StoreFieldSet.COMPACT);
+    }
+
+    @Benchmark
+    public byte[] jackson() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] preRendered() throws IOException {
+        return write(response);
+    }
+
+    @Benchmark
+    public byte[] preRenderedCompact() throws IOException {
+        return write(compactResponse);
+    }
+
+    private byte[] write(NearestStoresResponse body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * limit);
+        converter.writeTo(body, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,54 @@
+package com.jumbo.store.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreJsonParser;
+import com.jumbo.store.domain.model.Store;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Parsing a {@code stores.json} document of the given size, as the data loader does at startup.
+ * Only the dataset size matters: the whole document is parsed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreJsonParserBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int stores;
+
+    private StoreJsonParser storeJsonParser;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        storeJsonParser = new StoreJsonParser(objectMapper);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BenchmarkStores.generator().writeJson(out, stores);
+        json = out.toByteArray();
+    }
+
+    @Benchmark
+    public List<Store> parseStores() throws Exception {
+        return storeJsonParser.parseStores(new ByteArrayInputStream(json));
+    }
+}
@@ -1,41 +1,45 @@
 package com.jumbo.store.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.RedisSerializationContext;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
  * Cache configuration using Redis.
- * Caches store data to reduce database load.
+ * Caches store data to reduce database load; the store list is kept per store (see {@link StoreListCache}).
+ * The Redis cache manager backs off when {@code spring.cache.type} selects another cache (e.g. {@code none} in tests).
  */
 @Configuration
 @EnableCaching
-@org.springframework.boot.autoconfigure.condition.ConditionalOnBean(RedisConnectionFactory.class)
-public class CacheConfig {
+public class CacheConfig implements CachingConfigurer {
 
     public static final String STORES_CACHE = "stores";
+    public static final String ALL_STORES_KEY = "all-stores";
     public static final Duration STORES_CACHE_TTL = Duration.ofHours(1);
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(STORES_CACHE_TTL)
-                .serializeKeysWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        new GenericJackson2JsonRedisSerializer()))
-                .disableCachingNullValues();
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public CacheManager cacheManager(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new StoreListCache(redisTemplate, objectMapper)));
+        return cacheManager;
+    }
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(config)
-                .build();
+    /**
+     * Treats an unreachable Redis as a cache miss instead of failing the request.
+     */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler();
     }
 }
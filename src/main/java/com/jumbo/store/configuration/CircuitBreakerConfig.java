@@ -16,6 +16,11 @@ public class CircuitBreakerConfig {
 
     public static final String STORE_SERVICE_CIRCUIT_BREAKER = "storeService";
 
+    /**
+     * Guards the Redis token buckets; while open, rate limiting uses the local buckets without calling Redis.
+     */
+    public static final String RATE_LIMIT_REDIS_CIRCUIT_BREAKER = "rateLimitRedis";
+
     @Bean
     public CircuitBreaker storeServiceCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
         CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(STORE_SERVICE_CIRCUIT_BREAKER);
@@ -0,0 +1,31 @@
+package com.jumbo.store.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Public keys verifying RS256/ES256 tokens issued by the central identity service.
+ *
+ * @param enabled            whether asymmetrically signed tokens are accepted
+ * @param location           the JWK set, as a Spring resource location ({@code file:}, {@code classpath:}) or an
+ *                           {@code http(s)} URL
+ * @param refreshInterval    how often the key set is reloaded in the background
+ * @param minRefreshInterval the shortest pause between two reloads triggered by tokens with an unknown {@code kid}
+ * @param timeout            connect and read timeout when fetching the key set over HTTP
+ */
+@ConfigurationProperties(prefix = "jwt.jwks")
+public record JwtKeySetProperties(
+        boolean enabled, String location, Duration refreshInterval, Duration minRefreshInterval, Duration timeout) {
+
+    public JwtKeySetProperties {
+        if (refreshInterval == null) {
+            refreshInterval = Duration.ofMinutes(5);
+        }
+        if (minRefreshInterval == null) {
+            minRefreshInterval = Duration.ofSeconds(30);
+        }
+        if (timeout == null) {
+            timeout = Duration.ofSeconds(5);
+        }
+    }
+}
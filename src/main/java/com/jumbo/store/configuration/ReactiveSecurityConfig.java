@@ -0,0 +1,81 @@
+package com.jumbo.store.configuration;
+
+import com.jumbo.store.security.JwtTokenProvider;
+import com.jumbo.store.security.PrincipalRateLimiter;
+import com.jumbo.store.security.ReactiveJwtAuthenticationFilter;
+import com.jumbo.store.security.ReactiveRateLimitFilter;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+/**
+ * Security configuration for the reactive stack (profile {@code reactive}).
+ * Same JWT authentication and scopes as {@link SecurityConfig}; requests without a valid token are answered with 403,
+ * like on the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectProvider<PrincipalRateLimiter> principalRateLimiter;
+
+    @Bean
+    public CorsConfigurationSource reactiveCorsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("http://localhost:8080"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "OPTIONS", "HEAD"));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(3600L);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        // Limits principals once the JWT identified them (store.rate-limit.enabled)
+        principalRateLimiter.ifAvailable(limiter ->
+                http.addFilterAfter(new ReactiveRateLimitFilter(limiter), SecurityWebFiltersOrder.AUTHENTICATION));
+        return http.cors(cors -> cors.configurationSource(reactiveCorsConfigurationSource()))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions ->
+                        exceptions.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .authorizeExchange(exchange -> exchange.pathMatchers("/auth/**")
+                        .permitAll()
+                        .pathMatchers("/actuator/workload")
+                        .hasAuthority("SCOPE_write:store")
+                        .pathMatchers("/actuator/**")
+                        .permitAll()
+                        .pathMatchers(HttpMethod.GET, "/stores/**")
+                        .hasAuthority("SCOPE_read:store")
+                        .anyExchange()
+                        .authenticated())
+                .addFilterAt(
+                        new ReactiveJwtAuthenticationFilter(jwtTokenProvider), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
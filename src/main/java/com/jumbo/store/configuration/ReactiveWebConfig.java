@@ -0,0 +1,29 @@
+package com.jumbo.store.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.service.StoreSearchMetrics;
+import com.jumbo.store.web.converter.NearestStoresEncoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * WebFlux configuration (profile {@code reactive}).
+ * Registers the nearest-store encoders ahead of the generic Jackson encoder, in the same order as {@link WebConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final StoreSearchMetrics storeSearchMetrics;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        WebConfig.nearestStoresConverters(objectMapper, storeSearchMetrics)
+                .forEach(converter -> configurer.customCodecs().register(new NearestStoresEncoder(converter)));
+    }
+}
@@ -1,10 +1,14 @@
 package com.jumbo.store.configuration;
 
 import com.jumbo.store.security.JwtAuthenticationFilter;
+import com.jumbo.store.security.RateLimitFilter;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -20,12 +24,14 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
  * Security configuration with JWT authentication and role-based access control.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ObjectProvider<RateLimitFilter> rateLimitFilter;
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -50,13 +56,26 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html")
                         .permitAll()
+                        // Recorded queries hold customer locations (store.workload.enabled)
+                        .requestMatchers("/actuator/workload")
+                        .hasAuthority("SCOPE_write:store")
                         .requestMatchers("/actuator/**")
                         .permitAll()
+                        .requestMatchers(HttpMethod.POST, "/stores/lookup")
+                        .hasAuthority("SCOPE_read:store")
+                        .requestMatchers(HttpMethod.POST, "/stores", "/stores/bulk", "/stores/bulk-delete")
+                        .hasAuthority("SCOPE_write:store")
+                        .requestMatchers(HttpMethod.PUT, "/stores/**")
+                        .hasAuthority("SCOPE_write:store")
+                        .requestMatchers(HttpMethod.DELETE, "/stores/**")
+                        .hasAuthority("SCOPE_write:store")
                         .requestMatchers("/stores/**")
                         .hasAuthority("SCOPE_read:store")
                         .anyRequest()
                         .authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Limits principals once the JWT identified them (store.rate-limit.enabled)
+        rateLimitFilter.ifAvailable(filter -> http.addFilterAfter(filter, JwtAuthenticationFilter.class));
 
         return http.build();
     }
@@ -0,0 +1,28 @@
+package com.jumbo.store.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Admission control for the nearest-store search.
+ * Each request costs {@code 1 + limit / storesPerUnit} units, multiplied by {@code databaseWeight} in database mode;
+ * searches run while their summed cost stays within {@code capacity}, the others are shed with 429.
+ *
+ * @param capacity       cost units that may be in progress at once
+ * @param storesPerUnit  how many requested stores add one unit to a request's cost
+ * @param databaseWeight cost multiplier in database mode, where a search also holds a pooled connection
+ */
+@ConfigurationProperties(prefix = "store.admission")
+public record StoreAdmissionProperties(int capacity, int storesPerUnit, int databaseWeight) {
+
+    public StoreAdmissionProperties {
+        if (capacity <= 0) {
+            capacity = 200;
+        }
+        if (storesPerUnit <= 0) {
+            storesPerUnit = 50;
+        }
+        if (databaseWeight <= 0) {
+            databaseWeight = 4;
+        }
+    }
+}
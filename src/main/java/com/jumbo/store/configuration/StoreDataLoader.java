@@ -1,5 +1,6 @@
 package com.jumbo.store.configuration;
 
+import com.jumbo.store.domain.event.StoresChangedEvent;
 import com.jumbo.store.domain.model.Store;
 import com.jumbo.store.domain.repository.StoreRepository;
 import java.io.InputStream;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,7 @@ public class StoreDataLoader implements CommandLineRunner {
     private final StoreRepository storeRepository;
     private final StoreJsonParser storeJsonParser;
     private final StoreValidator storeValidator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -64,6 +67,8 @@ public class StoreDataLoader implements CommandLineRunner {
 
             if (!storesToInsert.isEmpty()) {
                 storeRepository.saveAll(storesToInsert);
+                // Applied and announced to the other nodes once the import commits
+                eventPublisher.publishEvent(StoresChangedEvent.upserted(storesToInsert));
                 log.info("Successfully loaded {} stores into database", storesToInsert.size());
             } else {
                 log.info("All stores already exist in database. No new stores loaded");
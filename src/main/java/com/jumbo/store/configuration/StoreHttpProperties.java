@@ -0,0 +1,19 @@
+package com.jumbo.store.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * HTTP caching of store responses.
+ *
+ * @param cacheMaxAge how long clients may reuse a store response before revalidating it with {@code If-None-Match}
+ */
+@ConfigurationProperties(prefix = "store.http")
+public record StoreHttpProperties(Duration cacheMaxAge) {
+
+    public StoreHttpProperties {
+        if (cacheMaxAge == null || cacheMaxAge.isNegative()) {
+            cacheMaxAge = Duration.ofSeconds(30);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.jumbo.store.configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.model.Store;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * The {@value CacheConfig#STORES_CACHE} cache, holding the store list as a Redis hash with one field per store UUID.
+ * Committed writes patch only the fields of the stores they wrote ({@link #apply}), each in one atomic script
+ * ({@code redis/store-list-write.lua}), so concurrent writers on different nodes never drop each other's changes and
+ * readers keep hitting the cache under write load. Deleted stores are kept as empty tombstones until the list expires.
+ * <p>
+ * A list is only served once a reader filled it completely. Readers fill it without overwriting fields, so a store list
+ * loaded before a write, possibly from a lagging replica, never replaces the write nor brings back a deleted store.
+ */
+public class StoreListCache extends AbstractValueAdaptingCache {
+
+    /**
+     * Field marking a list filled completely by a reader, as named in the script.
+     */
+    static final String COMPLETE = "~complete";
+
+    private static final String TOMBSTONE = "";
+
+    private static final RedisScript<Long> WRITE =
+            RedisScript.of(new ClassPathResource("redis/store-list-write.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String key;
+
+    public StoreListCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        super(false);
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.key = CacheConfig.STORES_CACHE + "::" + CacheConfig.ALL_STORES_KEY + ":by-uuid";
+    }
+
+    @Override
+    public String getName() {
+        return CacheConfig.STORES_CACHE;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisTemplate;
+    }
+
+    @Override
+    protected Object lookup(Object cacheKey) {
+        checkKey(cacheKey);
+        Map<String, String> fields = redisTemplate.<String, String>opsForHash().entries(key);
+        if (!fields.containsKey(COMPLETE)) {
+            return null;
+        }
+        List<Store> stores = new ArrayList<>(fields.size());
+        fields.forEach((uuid, json) -> {
+            if (!COMPLETE.equals(uuid) && !TOMBSTONE.equals(json)) {
+                stores.add(read(json));
+            }
+        });
+        stores.sort(Comparator.comparing(Store::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        return stores;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object cacheKey, Callable<T> valueLoader) {
+        ValueWrapper cached = get(cacheKey);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(cacheKey, valueLoader, e);
+        }
+        put(cacheKey, value);
+        return value;
+    }
+
+    /**
+     * Fills the list with every store, keeping the stores a concurrent write already put there.
+     */
+    @Override
+    public void put(Object cacheKey, Object value) {
+        checkKey(cacheKey);
+        if (!(value instanceof Collection<?> stores)) {
+            throw new IllegalArgumentException("Not a store list: " + value);
+        }
+        List<String> args = arguments("HSETNX", true, stores.size());
+        for (Object store : stores) {
+            args.add(((Store) store).getUuid());
+            args.add(write((Store) store));
+        }
+        execute(args);
+    }
+
+    /**
+     * Patches the list with committed writes. A list that is not cached yet only gets the written stores, and is not
+     * served until a reader filled in the others.
+     *
+     * @param upserts      stores created or updated
+     * @param deletedUuids UUIDs of deleted stores
+     */
+    public void apply(Collection<Store> upserts, Collection<String> deletedUuids) {
+        if (upserts.isEmpty() && deletedUuids.isEmpty()) {
+            return;
+        }
+        List<String> args = arguments("HSET", false, upserts.size() + deletedUuids.size());
+        for (Store store : upserts) {
+            args.add(store.getUuid());
+            args.add(write(store));
+        }
+        for (String uuid : deletedUuids) {
+            args.add(uuid);
+            args.add(TOMBSTONE);
+        }
+        execute(args);
+    }
+
+    @Override
+    public void evict(Object cacheKey) {
+        checkKey(cacheKey);
+        clear();
+    }
+
+    @Override
+    public void clear() {
+        redisTemplate.delete(key);
+    }
+
+    private List<String> arguments(String command, boolean complete, int stores) {
+        List<String> args = new ArrayList<>(3 + 2 * stores);
+        args.add(command);
+        args.add(Long.toString(CacheConfig.STORES_CACHE_TTL.toMillis()));
+        args.add(complete ? "1" : "0");
+        return args;
+    }
+
+    private void execute(List<String> args) {
+        redisTemplate.execute(WRITE, List.of(key), args.toArray());
+    }
+
+    private String write(Store store) {
+        try {
+            return objectMapper.writeValueAsString(store);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not cache store " + store.getUuid(), e);
+        }
+    }
+
+    private Store read(String json) {
+        try {
+            return objectMapper.readValue(json, Store.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read cached store", e);
+        }
+    }
+
+    private static void checkKey(Object cacheKey) {
+        if (!CacheConfig.ALL_STORES_KEY.equals(cacheKey)) {
+            throw new IllegalArgumentException("The store list cache only holds " + CacheConfig.ALL_STORES_KEY);
+        }
+    }
+}
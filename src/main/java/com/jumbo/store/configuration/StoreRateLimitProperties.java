@@ -0,0 +1,73 @@
+package com.jumbo.store.configuration;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-principal rate limiting of the store endpoints.
+ * Every authenticated principal owns a token bucket keyed by its JWT subject. The bucket's quota is the most generous
+ * one among the principal's roles, {@code defaultQuota} when none of its roles has its own.
+ *
+ * @param enabled       whether store requests are rate limited
+ * @param mode          where the buckets live
+ * @param defaultQuota  quota of principals without a role-specific one
+ * @param roles         quotas by role authority, e.g. {@code ROLE_PARTNER}
+ * @param maxPrincipals how many buckets a node keeps in memory; idle principals are forgotten first
+ * @param keyPrefix     prefix of the Redis keys holding the buckets in {@link Mode#REDIS} mode
+ */
+@ConfigurationProperties(prefix = "store.rate-limit")
+public record StoreRateLimitProperties(
+        boolean enabled, Mode mode, Quota defaultQuota, Map<String, Quota> roles, int maxPrincipals, String keyPrefix) {
+
+    public StoreRateLimitProperties {
+        if (mode == null) {
+            mode = Mode.LOCAL;
+        }
+        if (defaultQuota == null) {
+            defaultQuota = new Quota(0, 0);
+        }
+        roles = roles == null ? Map.of() : Map.copyOf(roles);
+        if (maxPrincipals <= 0) {
+            maxPrincipals = 100_000;
+        }
+        if (keyPrefix == null || keyPrefix.isBlank()) {
+            keyPrefix = "store:rate-limit:";
+        }
+    }
+
+    public enum Mode {
+        /**
+         * Buckets are held by each node: a principal gets its quota on every node.
+         */
+        LOCAL,
+        /**
+         * Buckets are shared by all nodes through Redis: a principal gets its quota across the cluster.
+         */
+        REDIS
+    }
+
+    /**
+     * A token bucket: up to {@code capacity} requests in a burst, refilled at {@code refillPerSecond}.
+     *
+     * @param capacity        bucket size, the longest burst a principal may send
+     * @param refillPerSecond sustained requests per second
+     */
+    public record Quota(int capacity, double refillPerSecond) {
+
+        public Quota {
+            if (capacity <= 0) {
+                capacity = 100;
+            }
+            if (refillPerSecond <= 0) {
+                refillPerSecond = 50;
+            }
+        }
+
+        /**
+         * @return nanoseconds it takes to refill one token
+         */
+        public long emissionIntervalNanos() {
+            return Math.max(1, Math.round(1_000_000_000 / refillPerSecond));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.jumbo.store.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Reactive stack settings (profile {@code reactive}).
+ *
+ * @param databaseConcurrency how many blocking database searches may run at once; size it to the connection pool
+ * @param databaseQueueSize   how many searches may wait for one of them before requests are rejected with 503
+ */
+@ConfigurationProperties(prefix = "store.reactive")
+public record StoreReactiveProperties(int databaseConcurrency, int databaseQueueSize) {
+
+    public StoreReactiveProperties {
+        if (databaseConcurrency <= 0) {
+            databaseConcurrency = 10;
+        }
+        if (databaseQueueSize <= 0) {
+            databaseQueueSize = 100;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.jumbo.store.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Nearest-store search configuration.
+ *
+ * @param mode            where the search runs: in the JVM over the full store list, or inside PostgreSQL
+ * @param initialRadiusKm radius of the first bounding box probed by the database search
+ * @param maxRadiusKm     radius after which the database search stops expanding and orders the whole table
+ * @param maxLimit        the largest {@code limit} a request may ask for; larger ones are rejected with 400
+ */
+@ConfigurationProperties(prefix = "store.search")
+public record StoreSearchProperties(Mode mode, double initialRadiusKm, double maxRadiusKm, int maxLimit) {
+
+    public StoreSearchProperties {
+        if (mode == null) {
+            mode = Mode.MEMORY;
+        }
+        if (initialRadiusKm <= 0) {
+            initialRadiusKm = 10;
+        }
+        if (maxRadiusKm < initialRadiusKm) {
+            maxRadiusKm = Math.max(320, initialRadiusKm);
+        }
+        if (maxLimit <= 0) {
+            maxLimit = 500;
+        }
+    }
+
+    public enum Mode {
+        /**
+         * Loads every store and ranks them in memory. Suited for datasets that comfortably fit in the heap.
+         */
+        MEMORY,
+        /**
+         * Pushes the search into PostgreSQL, returning only the requested number of rows.
+         */
+        DATABASE
+    }
+}
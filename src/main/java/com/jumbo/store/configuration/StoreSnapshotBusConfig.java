@@ -0,0 +1,27 @@
+package com.jumbo.store.configuration;
+
+import com.jumbo.store.domain.snapshot.StoreSnapshotBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes the {@link StoreSnapshotBus} to the snapshot version channel.
+ * The container resubscribes on its own after Redis comes back; until then nodes rely on the scheduled refresh.
+ */
+@Configuration
+@ConditionalOnProperty(name = "store.snapshot.bus.enabled", havingValue = "true")
+public class StoreSnapshotBusConfig {
+
+    @Bean
+    public RedisMessageListenerContainer storeSnapshotBusListenerContainer(
+            RedisConnectionFactory redisConnectionFactory, StoreSnapshotBus storeSnapshotBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(storeSnapshotBus, new ChannelTopic(storeSnapshotBus.getChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,85 @@
+package com.jumbo.store.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * In-memory store snapshot configuration.
+ *
+ * @param refreshInterval how often the snapshot is rebuilt from the store list
+ * @param bus             cross-node version announcements over Redis pub/sub
+ * @param changeFeed      incremental updates driven by PostgreSQL {@code LISTEN/NOTIFY}
+ */
+@ConfigurationProperties(prefix = "store.snapshot")
+public record StoreSnapshotProperties(Duration refreshInterval, Bus bus, ChangeFeed changeFeed) {
+
+    public StoreSnapshotProperties {
+        if (refreshInterval == null) {
+            refreshInterval = Duration.ofSeconds(60);
+        }
+        if (bus == null) {
+            bus = new Bus(false, null, null, 0);
+        }
+        if (changeFeed == null) {
+            changeFeed = new ChangeFeed(false, null, null, 0, null);
+        }
+    }
+
+    /**
+     * Snapshot version bus.
+     * Versions are taken from a Redis counter shared by every node, so a version identifies the same data everywhere.
+     *
+     * @param enabled             whether written versions are announced to, and received from, other nodes
+     * @param channel             the pub/sub channel versions are announced on
+     * @param versionKey          the Redis key holding the latest version
+     * @param maxAnnouncedChanges changed UUIDs sent along with a version; larger changes, such as an import, make the
+     *                            other nodes reload every store instead
+     */
+    public record Bus(boolean enabled, String channel, String versionKey, int maxAnnouncedChanges) {
+
+        public Bus {
+            if (channel == null || channel.isBlank()) {
+                channel = "store:snapshot:versions";
+            }
+            if (versionKey == null || versionKey.isBlank()) {
+                versionKey = "store:snapshot:version";
+            }
+            if (maxAnnouncedChanges <= 0) {
+                maxAnnouncedChanges = 500;
+            }
+        }
+    }
+
+    /**
+     * PostgreSQL change feed.
+     * Changed UUIDs are collected until no notification arrived for {@code debounce}, or for at most
+     * {@code maxDelay}, then applied as one batch.
+     *
+     * @param enabled           whether a dedicated connection listens for store change notifications
+     * @param debounce          quiet period closing a batch
+     * @param maxDelay          longest time a notification waits before its batch is applied
+     * @param rebuildThreshold  batch size above which the snapshot is rebuilt instead of patched
+     * @param reconnectInterval pause between attempts to re-establish the listener connection
+     */
+    public record ChangeFeed(
+            boolean enabled, Duration debounce, Duration maxDelay, int rebuildThreshold, Duration reconnectInterval) {
+
+        public ChangeFeed {
+            if (debounce == null) {
+                debounce = Duration.ofMillis(200);
+            }
+            if (maxDelay == null) {
+                maxDelay = Duration.ofSeconds(1);
+            }
+            if (maxDelay.compareTo(debounce) < 0) {
+                maxDelay = debounce;
+            }
+            if (rebuildThreshold <= 0) {
+                rebuildThreshold = 500;
+            }
+            if (reconnectInterval == null) {
+                reconnectInterval = Duration.ofSeconds(5);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.jumbo.store.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sampled recording of nearest-store queries, to replay production traffic locally.
+ *
+ * @param enabled    whether queries are recorded and the {@code workload} actuator endpoint is available
+ * @param capacity   how many queries are kept; the oldest are overwritten first
+ * @param sampleRate share of the queries recorded, between 0 and 1
+ */
+@ConfigurationProperties(prefix = "store.workload")
+public record StoreWorkloadProperties(boolean enabled, int capacity, double sampleRate) {
+
+    public StoreWorkloadProperties {
+        if (capacity <= 0) {
+            capacity = 100_000;
+        }
+        if (sampleRate <= 0) {
+            sampleRate = 0.01;
+        }
+        sampleRate = Math.min(sampleRate, 1);
+    }
+}
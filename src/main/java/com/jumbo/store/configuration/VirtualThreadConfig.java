@@ -0,0 +1,41 @@
+package com.jumbo.store.configuration;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual-thread execution, enabled with {@code spring.threads.virtual.enabled=true}.
+ * Spring Boot then runs Tomcat requests, scheduled tasks and the Redis listener container on virtual threads; this
+ * configuration moves the last platform-thread pool of the request path, the executor the circuit breaker runs its
+ * suppliers on to enforce the time limit, to virtual threads as well. JDBC and Redis calls made inside
+ * {@code CircuitBreaker.run} then block a virtual thread instead of a pooled platform thread.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    private final ExecutorService circuitBreakerExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("circuit-breaker-", 0).factory());
+
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> virtualThreadCircuitBreakerCustomizer() {
+        return factory -> {
+            log.info("Running circuit breaker suppliers on virtual threads");
+            factory.configureExecutorService(circuitBreakerExecutor);
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        circuitBreakerExecutor.shutdown();
+    }
+}
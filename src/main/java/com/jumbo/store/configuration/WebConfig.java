@@ -0,0 +1,62 @@
+package com.jumbo.store.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jumbo.store.domain.service.StoreSearchMetrics;
+import com.jumbo.store.web.converter.NearestStoresHttpMessageConverter;
+import com.jumbo.store.web.converter.StoreMediaTypes;
+import com.jumbo.store.web.converter.StoreProtobufHttpMessageConverter;
+import com.jumbo.store.web.converter.StoreProtobufSchemas;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration.
+ * Registers the response converters that take precedence over the generic Jackson converter.
+ * JSON stays first, so it is the default whenever the client accepts it; NDJSON, CBOR, Smile and Protobuf are only
+ * chosen when the {@code Accept} header asks for them. Other CBOR and Smile responses use Spring's default converters.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final StoreSearchMetrics storeSearchMetrics;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        List<HttpMessageConverter<?>> storeConverters =
+                new ArrayList<>(nearestStoresConverters(objectMapper, storeSearchMetrics));
+        storeConverters.add(new StoreProtobufHttpMessageConverter(new ProtobufMapper()));
+        converters.addAll(0, storeConverters);
+    }
+
+    /**
+     * @param objectMapper       the application's JSON mapper
+     * @param storeSearchMetrics the metrics the converters time serialization to
+     * @return the nearest-store converters, JSON first, shared with the reactive stack
+     */
+    static List<NearestStoresHttpMessageConverter> nearestStoresConverters(
+            ObjectMapper objectMapper, StoreSearchMetrics storeSearchMetrics) {
+        List<NearestStoresHttpMessageConverter> converters = List.of(
+                new NearestStoresHttpMessageConverter(objectMapper),
+                NearestStoresHttpMessageConverter.ndjson(objectMapper),
+                NearestStoresHttpMessageConverter.binary(new CBORMapper(), null, MediaType.APPLICATION_CBOR),
+                NearestStoresHttpMessageConverter.binary(new SmileMapper(), null, StoreMediaTypes.APPLICATION_SMILE),
+                NearestStoresHttpMessageConverter.binary(
+                        new ProtobufMapper(),
+                        StoreProtobufSchemas.NEAREST_STORES,
+                        StoreMediaTypes.APPLICATION_PROTOBUF));
+        converters.forEach(converter -> converter.setStoreSearchMetrics(storeSearchMetrics));
+        return converters;
+    }
+}
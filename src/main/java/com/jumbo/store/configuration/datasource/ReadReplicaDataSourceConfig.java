@@ -0,0 +1,78 @@
+package com.jumbo.store.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read/write splitting configuration.
+ * When enabled, read-only transactions are served by the configured replicas (health-aware round-robin)
+ * while writes, Flyway migrations and non-transactional work stay on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "store.datasource.read-replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@Slf4j
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSourcePool replicaDataSourcePool(
+            ReadReplicaProperties properties, DataSourceProperties dataSourceProperties) {
+        List<ReplicaDataSourcePool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.nodes().size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.add(new ReplicaDataSourcePool.Replica(
+                    name, createReplicaDataSource(name, properties.nodes().get(i), dataSourceProperties)));
+        }
+        log.info("Routing read-only transactions to {} read replica(s)", replicas.size());
+
+        ReplicaDataSourcePool pool = new ReplicaDataSourcePool(replicas, properties.healthCheckTimeout());
+        pool.startHealthChecks(properties.healthCheckInterval());
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSourcePool replicaDataSourcePool) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSourcePool));
+    }
+
+    private HikariDataSource createReplicaDataSource(
+            String name, ReadReplicaProperties.Node node, DataSourceProperties primary) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(node.url());
+        dataSource.setUsername(node.username() != null ? node.username() : primary.determineUsername());
+        dataSource.setPassword(node.password() != null ? node.password() : primary.determinePassword());
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setReadOnly(true);
+        // Do not block startup on an unreachable replica; the health check marks it down until it recovers
+        dataSource.setInitializationFailTimeout(-1);
+        if (node.maximumPoolSize() != null) {
+            dataSource.setMaximumPoolSize(node.maximumPoolSize());
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,38 @@
+package com.jumbo.store.configuration.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replica configuration.
+ * Replicas receive work running inside {@code @Transactional(readOnly = true)}; everything else
+ * stays on the primary configured through {@code spring.datasource}.
+ *
+ * @param enabled             whether read-only work is routed to the replicas
+ * @param healthCheckInterval how often every replica is probed
+ * @param healthCheckTimeout  how long a probe may take before the replica is marked down
+ * @param nodes               the replica connection settings
+ */
+@ConfigurationProperties(prefix = "store.datasource.read-replicas")
+public record ReadReplicaProperties(
+        boolean enabled, Duration healthCheckInterval, Duration healthCheckTimeout, List<Node> nodes) {
+
+    public ReadReplicaProperties {
+        if (healthCheckInterval == null) {
+            healthCheckInterval = Duration.ofSeconds(5);
+        }
+        if (healthCheckTimeout == null) {
+            healthCheckTimeout = Duration.ofSeconds(1);
+        }
+        if (nodes == null) {
+            nodes = List.of();
+        }
+    }
+
+    /**
+     * Connection settings of a single replica.
+     * Username and password fall back to the primary credentials when omitted.
+     */
+    public record Node(String url, String username, String password, Integer maximumPoolSize) {}
+}
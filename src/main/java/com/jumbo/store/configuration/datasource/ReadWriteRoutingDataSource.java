@@ -0,0 +1,36 @@
+package com.jumbo.store.configuration.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions to the replica pool and everything else to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * connection is only fetched once the transaction's read-only flag has been bound to the thread.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaDataSourcePool replicaPool;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaDataSourcePool replicaPool) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicaPool.getConnection(primary);
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,146 @@
+package com.jumbo.store.configuration.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Health-aware round-robin pool of read replicas.
+ * Replicas that fail a connection attempt or a health probe are skipped until a later probe
+ * succeeds. When no replica is available, connections are taken from the fallback (primary).
+ */
+@Slf4j
+public class ReplicaDataSourcePool implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final int healthCheckTimeoutSeconds;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaDataSourcePool(List<Replica> replicas, Duration healthCheckTimeout) {
+        this.replicas = List.copyOf(replicas);
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+    }
+
+    /**
+     * Starts probing every replica at the given interval.
+     */
+    public void startHealthChecks(Duration interval) {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(
+                this::checkHealth, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns a connection from the next healthy replica, or from the fallback if none is usable.
+     *
+     * @param fallback data source used when every replica is down
+     * @return an open connection
+     * @throws SQLException if the fallback cannot provide a connection either
+     */
+    public Connection getConnection(DataSource fallback) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        log.debug("No healthy read replica available. Using primary data source");
+        return fallback.getConnection();
+    }
+
+    /**
+     * Probes every replica once, marking it up or down.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection()) {
+                if (connection.isValid(healthCheckTimeoutSeconds)) {
+                    markUp(replica);
+                } else {
+                    markDown(replica, "connection is not valid");
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    private void markUp(Replica replica) {
+        if (replica.healthy.compareAndSet(false, true)) {
+            log.info("Read replica {} is back up", replica.name());
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy.compareAndSet(true, false)) {
+            log.warn("Read replica {} marked down: {}", replica.name(), reason);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close read replica {}: {}", replica.name(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * A single replica and its last known health.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicBoolean healthy = new AtomicBoolean(true);
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy.get();
+        }
+    }
+}
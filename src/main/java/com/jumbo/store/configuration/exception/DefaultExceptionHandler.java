@@ -1,5 +1,11 @@
 package com.jumbo.store.configuration.exception;
 
+import com.jumbo.store.domain.exception.AdmissionRejectedException;
+import com.jumbo.store.domain.exception.LimitExceededException;
+import com.jumbo.store.domain.exception.RateLimitExceededException;
+import com.jumbo.store.domain.exception.StoreConflictException;
+import com.jumbo.store.domain.exception.StoreNotFoundException;
+import com.jumbo.store.domain.exception.UnknownStoreFieldException;
 import com.jumbo.store.domain.util.SourceMessage;
 import com.jumbo.store.domain.util.helper.MessageHelper;
 import com.jumbo.store.domain.util.string.StringUtils;
@@ -7,9 +13,11 @@ import com.jumbo.store.web.dto.ErrorResponse;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -23,6 +31,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ServerWebInputException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 @Slf4j
@@ -64,6 +73,52 @@ public class DefaultExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(StoreNotFoundException.class)
+    public final ResponseEntity<Object> handleStoreNotFoundException(StoreNotFoundException ex) {
+        ErrorResponse error =
+                getResponse(ex, sourceMessage.getMessage(MessageHelper.STORE_NOT_FOUND_ERROR), HttpStatus.NOT_FOUND);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(StoreConflictException.class)
+    public final ResponseEntity<Object> handleStoreConflictException(StoreConflictException ex) {
+        ErrorResponse error =
+                getResponse(ex, sourceMessage.getMessage(MessageHelper.CONFLICT_ERROR), HttpStatus.CONFLICT);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(UnknownStoreFieldException.class)
+    public final ResponseEntity<Object> handleUnknownStoreFieldException(UnknownStoreFieldException ex) {
+        ErrorResponse error =
+                getResponse(ex, sourceMessage.getMessage(MessageHelper.INVALID_ARGUMENT), HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(LimitExceededException.class)
+    public final ResponseEntity<Object> handleLimitExceededException(LimitExceededException ex) {
+        ErrorResponse error =
+                getResponse(ex, sourceMessage.getMessage(MessageHelper.INVALID_ARGUMENT), HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public final ResponseEntity<Object> handleAdmissionRejectedException(AdmissionRejectedException ex) {
+        ErrorResponse error = getRejectionResponse(
+                ex, sourceMessage.getMessage(MessageHelper.TOO_MANY_REQUESTS), HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public final ResponseEntity<Object> handleRateLimitExceededException(RateLimitExceededException ex) {
+        ErrorResponse error = getRejectionResponse(
+                ex, sourceMessage.getMessage(MessageHelper.RATE_LIMIT_EXCEEDED), HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(MethodNotAllowedException.class)
     public final ResponseEntity<Object> handleMethodNotAllowedException(MethodNotAllowedException ex) {
         ErrorResponse error = getResponse(
@@ -99,6 +154,13 @@ public class DefaultExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(ServerWebInputException.class)
+    public final ResponseEntity<Object> handleServerWebInputException(ServerWebInputException ex) {
+        ErrorResponse error =
+                getResponse(ex, sourceMessage.getMessage(MessageHelper.INVALID_ARGUMENT), HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public final ResponseEntity<Object> handleIllegalArgumentException(IllegalArgumentException ex) {
         ErrorResponse error =
@@ -129,6 +191,13 @@ public class DefaultExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public final ResponseEntity<Object> handleRejectedExecutionException(RejectedExecutionException ex) {
+        ErrorResponse error = getResponse(
+                ex, sourceMessage.getMessage(MessageHelper.CIRCUIT_BREAKER_ERROR), HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(DataAccessException.class)
     public final ResponseEntity<Object> handleDataAccessException(DataAccessException ex) {
         ErrorResponse error = getResponse(
@@ -137,15 +206,27 @@ public class DefaultExceptionHandler {
     }
 
     private ErrorResponse getResponse(Exception ex, String sourceMessage, HttpStatus httpStatus) {
+        ErrorResponse error = buildResponse(ex, sourceMessage, httpStatus);
+        log.error("Exception occurred: {}", error.getMessage(), ex);
+        return error;
+    }
+
+    /**
+     * Responses for load shedding: expected under load and sent in bursts, so they are not logged as errors.
+     */
+    private ErrorResponse getRejectionResponse(Exception ex, String sourceMessage, HttpStatus httpStatus) {
+        log.debug("Request rejected: {}", ex.getMessage());
+        return buildResponse(ex, sourceMessage, httpStatus);
+    }
+
+    private static ErrorResponse buildResponse(Exception ex, String sourceMessage, HttpStatus httpStatus) {
         var details = List.of(StringUtils.cleanupErrorMessage(ex.getLocalizedMessage()));
-        ErrorResponse error = ErrorResponse.builder()
+        return ErrorResponse.builder()
                 .message(sourceMessage)
                 .httpStatus(httpStatus)
                 .httpCode(httpStatus.value())
                 .timestamp(LocalDateTime.now())
                 .details(details)
                 .build();
-        log.error("Exception occurred: {}", error.getMessage(), ex);
-        return error;
     }
 }
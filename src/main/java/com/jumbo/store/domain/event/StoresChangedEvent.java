@@ -0,0 +1,26 @@
+package com.jumbo.store.domain.event;
+
+import com.jumbo.store.domain.model.Store;
+import java.util.List;
+
+/**
+ * Published by store writes; listeners act on it once the writing transaction committed.
+ *
+ * @param upserts      stores created or updated
+ * @param deletedUuids UUIDs of deleted stores
+ */
+public record StoresChangedEvent(List<Store> upserts, List<String> deletedUuids) {
+
+    public StoresChangedEvent {
+        upserts = upserts == null ? List.of() : List.copyOf(upserts);
+        deletedUuids = deletedUuids == null ? List.of() : List.copyOf(deletedUuids);
+    }
+
+    public static StoresChangedEvent upserted(List<Store> stores) {
+        return new StoresChangedEvent(stores, List.of());
+    }
+
+    public static StoresChangedEvent deleted(List<String> uuids) {
+        return new StoresChangedEvent(List.of(), uuids);
+    }
+}
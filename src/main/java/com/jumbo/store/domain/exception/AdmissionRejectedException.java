@@ -0,0 +1,12 @@
+package com.jumbo.store.domain.exception;
+
+/**
+ * Thrown when the nearest-store admission gate has no capacity left for a request.
+ * Raised in bursts under load, so it carries no stack trace.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(int cost) {
+        super("Too many nearest-store searches in progress to admit one of cost " + cost, null, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.jumbo.store.domain.exception;
+
+/**
+ * Thrown when a request asks for more stores than {@code store.search.max-limit} allows.
+ */
+public class LimitExceededException extends RuntimeException {
+
+    public LimitExceededException(int limit, int maxLimit) {
+        super("limit must not exceed " + maxLimit + ", was " + limit);
+    }
+}
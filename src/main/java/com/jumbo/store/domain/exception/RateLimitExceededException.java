@@ -0,0 +1,21 @@
+package com.jumbo.store.domain.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a principal sent more store requests than its quota allows.
+ * Raised in bursts under load, so it carries no stack trace.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Seconds the principal should wait before retrying, as sent in {@code Retry-After}.
+     */
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String principal, long retryAfterSeconds) {
+        super("Rate limit exceeded for " + principal + ", retry after " + retryAfterSeconds + " s", null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
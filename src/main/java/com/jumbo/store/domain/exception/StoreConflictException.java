@@ -0,0 +1,11 @@
+package com.jumbo.store.domain.exception;
+
+/**
+ * Thrown when creating a store whose UUID is already taken.
+ */
+public class StoreConflictException extends RuntimeException {
+
+    public StoreConflictException(String uuid) {
+        super("Store already exists: " + uuid);
+    }
+}
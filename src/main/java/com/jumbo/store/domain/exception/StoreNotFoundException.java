@@ -0,0 +1,11 @@
+package com.jumbo.store.domain.exception;
+
+/**
+ * Thrown when no store exists with the requested UUID.
+ */
+public class StoreNotFoundException extends RuntimeException {
+
+    public StoreNotFoundException(String uuid) {
+        super("Store not found: " + uuid);
+    }
+}
@@ -0,0 +1,11 @@
+package com.jumbo.store.domain.exception;
+
+/**
+ * Thrown when a field selection names a field stores do not have.
+ */
+public class UnknownStoreFieldException extends RuntimeException {
+
+    public UnknownStoreFieldException(String field) {
+        super("Unknown store field: " + field);
+    }
+}
@@ -0,0 +1,38 @@
+package com.jumbo.store.domain.model;
+
+/**
+ * Latitude/longitude rectangle enclosing a circle around a point.
+ * Used as an index-friendly prefilter before ordering candidates by their exact distance.
+ */
+public record BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+
+    private static final double EARTH_RADIUS_KM = 6371;
+
+    /**
+     * Creates the smallest box containing every point within {@code radiusKm} of the origin.
+     * Falls back to the full longitude range when the circle covers a pole or crosses the antimeridian.
+     *
+     * @param latitude  latitude of the origin
+     * @param longitude longitude of the origin
+     * @param radiusKm  radius of the circle to enclose
+     * @return the enclosing bounding box
+     */
+    public static BoundingBox around(double latitude, double longitude, double radiusKm) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double deltaLatitude = Math.toDegrees(angularRadius);
+        double minLatitude = latitude - deltaLatitude;
+        double maxLatitude = latitude + deltaLatitude;
+
+        if (minLatitude <= -90 || maxLatitude >= 90) {
+            return new BoundingBox(Math.max(-90, minLatitude), Math.min(90, maxLatitude), -180, 180);
+        }
+
+        double deltaLongitude = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude))));
+        double minLongitude = longitude - deltaLongitude;
+        double maxLongitude = longitude + deltaLongitude;
+        if (Double.isNaN(deltaLongitude) || minLongitude < -180 || maxLongitude > 180) {
+            return new BoundingBox(minLatitude, maxLatitude, -180, 180);
+        }
+        return new BoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude);
+    }
+}
@@ -3,10 +3,12 @@ package com.jumbo.store.domain.model;
 import com.jumbo.store.web.dto.StoreDTO;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 @Entity
 @Table(
@@ -69,13 +71,78 @@ public class Store {
     @Column(length = 20)
     private String sapStoreID;
 
+    // Geometry derived from latitude/longitude, see computeGeometry()
+
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private Double latitudeRad;
+
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private Double longitudeRad;
+
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private Double cosLatitude;
+
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private Double unitX;
+
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private Double unitY;
+
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private Double unitZ;
+
+    /**
+     * Derives the precomputed geometry columns from latitude and longitude.
+     * Runs before every insert and update; the database trigger does the same for writes outside the application.
+     */
+    @PrePersist
+    @PreUpdate
+    public void computeGeometry() {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        UnitVector unitVector = UnitVector.of(latitude.doubleValue(), longitude.doubleValue());
+        this.latitudeRad = Math.toRadians(latitude.doubleValue());
+        this.longitudeRad = Math.toRadians(longitude.doubleValue());
+        this.cosLatitude = Math.cos(latitudeRad);
+        this.unitX = unitVector.x();
+        this.unitY = unitVector.y();
+        this.unitZ = unitVector.z();
+    }
+
+    /**
+     * Returns the position of this store on the unit sphere.
+     * Uses the precomputed columns when present, so loaded stores are compared without trigonometry.
+     */
+    public UnitVector unitVector() {
+        if (unitX == null || unitY == null || unitZ == null) {
+            return UnitVector.of(latitude.doubleValue(), longitude.doubleValue());
+        }
+        return new UnitVector(unitX, unitY, unitZ);
+    }
+
+    /**
+     * Converts this Store entity to StoreDTO without a distance, for lookups that have no reference point.
+     *
+     * @return StoreDTO instance with all store fields and no distance
+     */
+    public StoreDTO toDTO() {
+        return toDTO(null);
+    }
+
     /**
      * Converts this Store entity to StoreDTO with calculated distance.
      *
      * @param distance the calculated distance in kilometers from a reference point
      * @return StoreDTO instance with all store fields plus distance
      */
-    public StoreDTO toDTO(double distance) {
+    public StoreDTO toDTO(Double distance) {
         return new StoreDTO(
                 this.uuid,
                 this.addressName,
@@ -0,0 +1,36 @@
+package com.jumbo.store.domain.model;
+
+/**
+ * A point on the unit sphere.
+ * The dot product of two unit vectors is the cosine of the angle between them, so points can be ranked by
+ * distance with three multiplications instead of the trigonometry of the Haversine formula.
+ */
+public record UnitVector(double x, double y, double z) {
+
+    private static final double EARTH_RADIUS_KM = 6371;
+
+    public static UnitVector of(double latitude, double longitude) {
+        double latitudeRad = Math.toRadians(latitude);
+        double longitudeRad = Math.toRadians(longitude);
+        double cosLatitude = Math.cos(latitudeRad);
+        return new UnitVector(
+                cosLatitude * Math.cos(longitudeRad), cosLatitude * Math.sin(longitudeRad), Math.sin(latitudeRad));
+    }
+
+    /**
+     * @return the cosine of the angle between both points; larger means closer
+     */
+    public double dot(UnitVector other) {
+        return x * other.x + y * other.y + z * other.z;
+    }
+
+    /**
+     * Converts a distance into the smallest dot product a point within that distance can have.
+     *
+     * @param distanceKm great-circle distance in kilometers
+     * @return the dot product threshold
+     */
+    public static double minimumDotWithin(double distanceKm) {
+        return Math.cos(Math.min(Math.PI, distanceKm / EARTH_RADIUS_KM));
+    }
+}
@@ -1,6 +1,7 @@
 package com.jumbo.store.domain.repository;
 
 import com.jumbo.store.domain.model.Store;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -8,17 +9,61 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Store persistence.
+ * Query methods are read-only by default so they can be served by a read replica when one is configured;
+ * inside a write transaction they join the surrounding transaction and run on the primary.
+ */
 @Repository
+@Transactional(readOnly = true)
 public interface StoreRepository extends JpaRepository<Store, Long> {
+
+    /**
+     * Dot product of the store's unit vector with (:x, :y, :z): the cosine of the angle between both points.
+     * Ordering by it descending is ordering by ascending great-circle distance, without any trigonometry.
+     */
+    String PROXIMITY = "(s.unit_x * :x + s.unit_y * :y + s.unit_z * :z)";
+
     Optional<Store> findByUuid(String uuid);
 
     boolean existsByUuid(String uuid);
 
+    List<Store> findByUuidIn(Collection<String> uuids);
+
     /**
      * Find all UUIDs that exist in the database from the provided list.
      * This is more efficient than checking existence one by one.
      */
     @Query("SELECT s.uuid FROM Store s WHERE s.uuid IN :uuids")
     Set<String> findExistingUuids(@Param("uuids") List<String> uuids);
+
+    /**
+     * Finds the stores closest to a point among those inside a bounding box.
+     * The box predicate is served by {@code idx_latitude_longitude}; only {@code limit} rows are returned.
+     */
+    @Query(
+            value = "SELECT * FROM stores s"
+                    + " WHERE s.latitude BETWEEN :minLatitude AND :maxLatitude"
+                    + " AND s.longitude BETWEEN :minLongitude AND :maxLongitude"
+                    + " ORDER BY " + PROXIMITY + " DESC, s.id"
+                    + " LIMIT :limit",
+            nativeQuery = true)
+    List<Store> findNearestWithinBoundingBox(
+            @Param("x") double x,
+            @Param("y") double y,
+            @Param("z") double z,
+            @Param("minLatitude") double minLatitude,
+            @Param("maxLatitude") double maxLatitude,
+            @Param("minLongitude") double minLongitude,
+            @Param("maxLongitude") double maxLongitude,
+            @Param("limit") int limit);
+
+    /**
+     * Finds the stores closest to a point without any prefilter.
+     */
+    @Query(value = "SELECT * FROM stores s ORDER BY " + PROXIMITY + " DESC, s.id LIMIT :limit", nativeQuery = true)
+    List<Store> findNearest(
+            @Param("x") double x, @Param("y") double y, @Param("z") double z, @Param("limit") int limit);
 }
@@ -0,0 +1,68 @@
+package com.jumbo.store.domain.service;
+
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.BoundingBox;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.model.UnitVector;
+import com.jumbo.store.domain.repository.StoreRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nearest-store search executed by PostgreSQL.
+ * Probes bounding boxes of growing radius (served by {@code idx_latitude_longitude}) and lets the database
+ * order the candidates by distance, so only {@code limit} rows ever leave the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseNearestStoreSearch {
+
+    private final StoreRepository storeRepository;
+    private final StoreSearchProperties storeSearchProperties;
+
+    /**
+     * Finds the stores closest to a coordinate.
+     * A probe is accepted once it returns {@code limit} stores and the farthest of them lies within the probed
+     * radius: every store outside the box is then farther away than every store returned.
+     *
+     * @param coordinate the origin of the search
+     * @param limit      the number of stores to return
+     * @return the nearest stores ordered by ascending distance
+     */
+    public List<Store> findNearestStores(Coordinate coordinate, int limit) {
+        double latitude = coordinate.latitudeAsDouble();
+        double longitude = coordinate.longitudeAsDouble();
+        UnitVector origin = UnitVector.of(latitude, longitude);
+
+        for (double radius = storeSearchProperties.initialRadiusKm();
+                radius <= storeSearchProperties.maxRadiusKm();
+                radius *= 2) {
+            BoundingBox box = BoundingBox.around(latitude, longitude, radius);
+            List<Store> candidates = storeRepository.findNearestWithinBoundingBox(
+                    origin.x(),
+                    origin.y(),
+                    origin.z(),
+                    box.minLatitude(),
+                    box.maxLatitude(),
+                    box.minLongitude(),
+                    box.maxLongitude(),
+                    limit);
+
+            if (candidates.size() == limit && isWithinRadius(candidates.getLast(), origin, radius)) {
+                log.debug("Resolved {} nearest stores within a {} km bounding box", limit, radius);
+                return candidates;
+            }
+        }
+
+        log.debug("Bounding box search exhausted. Ordering all stores by distance");
+        return storeRepository.findNearest(origin.x(), origin.y(), origin.z(), limit);
+    }
+
+    private boolean isWithinRadius(Store store, UnitVector origin, double radiusKm) {
+        return store.unitVector().dot(origin) >= UnitVector.minimumDotWithin(radiusKm);
+    }
+}
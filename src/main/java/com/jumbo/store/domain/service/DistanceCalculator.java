@@ -25,6 +25,16 @@ public class DistanceCalculator {
      * @return distance in kilometers, rounded to 2 decimal places
      */
     public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        return roundDistance(calculateExactDistance(lat1, lon1, lat2, lon2));
+    }
+
+    /**
+     * Calculates the distance between two points on Earth using the Haversine formula, without rounding.
+     * Use this when the distance is compared against a threshold rather than shown to a client.
+     *
+     * @return distance in kilometers
+     */
+    public double calculateExactDistance(double lat1, double lon1, double lat2, double lon2) {
         double lat1Rad = Math.toRadians(lat1);
         double lat2Rad = Math.toRadians(lat2);
         double deltaLat = Math.toRadians(lat2 - lat1);
@@ -32,9 +42,8 @@ public class DistanceCalculator {
 
         double a = calculateHaversineFormula(lat1Rad, lat2Rad, deltaLat, deltaLon);
         double c = calculateCentralAngle(a);
-        double distance = EARTH_RADIUS_KM * c;
 
-        return roundDistance(distance);
+        return EARTH_RADIUS_KM * c;
     }
 
     /**
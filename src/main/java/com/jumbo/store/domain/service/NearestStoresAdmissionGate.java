@@ -0,0 +1,87 @@
+package com.jumbo.store.domain.service;
+
+import com.jumbo.store.configuration.StoreAdmissionProperties;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.exception.AdmissionRejectedException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concurrency limit for nearest-store searches, weighted by what each search is expected to cost.
+ * Admission never waits: a request that does not fit in the remaining capacity is rejected at once, before it
+ * ranks or loads anything, so an overloaded node sheds its most expensive requests first. A request costing more
+ * than the whole capacity is charged the whole capacity and thus only runs alone.
+ */
+@Component
+@Slf4j
+public class NearestStoresAdmissionGate {
+
+    private final StoreService storeService;
+    private final StoreSearchProperties storeSearchProperties;
+    private final StoreAdmissionProperties storeAdmissionProperties;
+    private final Semaphore capacity;
+
+    public NearestStoresAdmissionGate(
+            StoreService storeService,
+            StoreSearchProperties storeSearchProperties,
+            StoreAdmissionProperties storeAdmissionProperties) {
+        this.storeService = storeService;
+        this.storeSearchProperties = storeSearchProperties;
+        this.storeAdmissionProperties = storeAdmissionProperties;
+        this.capacity = new Semaphore(storeAdmissionProperties.capacity());
+    }
+
+    /**
+     * Admits a search, to be released once it completed.
+     *
+     * @param limit the requested limit, as passed to {@link StoreService#findNearestStores}
+     * @return the permit to close when the search is done
+     * @throws AdmissionRejectedException when the remaining capacity cannot cover the request
+     * @throws com.jumbo.store.domain.exception.LimitExceededException when the limit exceeds the configured maximum
+     */
+    public Permit admit(Integer limit) {
+        int cost = Math.min(cost(storeService.determineLimit(limit)), storeAdmissionProperties.capacity());
+        if (!capacity.tryAcquire(cost)) {
+            log.debug("Shedding nearest-store search of cost {}: {} units left", cost, capacity.availablePermits());
+            throw new AdmissionRejectedException(cost);
+        }
+        return new Permit(cost);
+    }
+
+    /**
+     * @param limit the effective number of stores to return
+     * @return the estimated cost of the search in capacity units
+     */
+    int cost(int limit) {
+        int units = 1 + limit / storeAdmissionProperties.storesPerUnit();
+        return storeSearchProperties.mode() == StoreSearchProperties.Mode.DATABASE
+                ? units * storeAdmissionProperties.databaseWeight()
+                : units;
+    }
+
+    int availableCapacity() {
+        return capacity.availablePermits();
+    }
+
+    /**
+     * Capacity held by an admitted search. Closing it more than once releases it only once.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final int cost;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int cost) {
+            this.cost = cost;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                capacity.release(cost);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.jumbo.store.domain.service;
+
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.snapshot.GeoGridIndex;
+import com.jumbo.store.domain.snapshot.NearestSearchObserver;
+import java.util.Locale;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a nearest-store query, so GC pauses and CPU samples in a recording can be matched with
+ * the query shapes running at the time. Disabled unless a recording enables it, see {@code jfr/store-service.jfc}.
+ */
+@Name(NearestStoresSearchEvent.NAME)
+@Label("Nearest Stores Search")
+@Category({"Store Service", "Search"})
+@Description("A nearest-store query: where it came from, how much it ranked and whether the client's copy was valid")
+@Enabled(false)
+@StackTrace(false)
+final class NearestStoresSearchEvent extends Event {
+
+    static final String NAME = "com.jumbo.store.NearestStoresSearch";
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Origin Cell")
+    @Description("Grid cell of the origin, as the latitude and longitude of its south-west corner")
+    String originCell;
+
+    @Label("Limit")
+    int limit;
+
+    @Label("Candidates")
+    @Description("Stores compared with the origin, or rows returned by the database")
+    int candidates;
+
+    @Label("Full Scan")
+    @Description("Whether the grid neighbourhood was too sparse and every store was ranked")
+    boolean fullScan;
+
+    @Label("Results")
+    int results;
+
+    @Label("Cache Hit")
+    @Description("Answered with 304 from the client's entity tag, without searching")
+    boolean cacheHit;
+
+    /**
+     * @param delegate the observer to report the search to anyway
+     * @return an observer also recording the candidates in this event; the delegate itself when no recording
+     *         enables the event, so nothing is allocated
+     */
+    NearestSearchObserver observing(NearestSearchObserver delegate) {
+        if (!isEnabled()) {
+            return delegate;
+        }
+        return (visited, scanned) -> {
+            delegate.searched(visited, scanned);
+            candidates = visited;
+            fullScan = scanned;
+        };
+    }
+
+    /**
+     * Ends the event and commits it when it passes the recording's threshold.
+     */
+    void commit(StoreSearchProperties.Mode searchMode, Coordinate origin, int searchLimit, int resultCount) {
+        end();
+        if (shouldCommit()) {
+            mode = searchMode.name().toLowerCase(Locale.ROOT);
+            originCell = GeoGridIndex.cellName(origin.latitudeAsDouble(), origin.longitudeAsDouble());
+            limit = searchLimit;
+            results = resultCount;
+            commit();
+        }
+    }
+}
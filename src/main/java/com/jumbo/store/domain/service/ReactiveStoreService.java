@@ -0,0 +1,91 @@
+package com.jumbo.store.domain.service;
+
+import com.jumbo.store.configuration.CircuitBreakerConfig;
+import com.jumbo.store.configuration.StoreReactiveProperties;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking nearest-store search for the reactive stack.
+ * In memory mode the search only reads the current snapshot (a single volatile load) and ranks it on the calling
+ * event-loop thread. In database mode the blocking JDBC search runs on a bounded scheduler sized to the connection
+ * pool, behind the reactive circuit breaker; once its queue is full, further requests are rejected instead of piling
+ * up, which is the backpressure the event loop needs.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveStoreService {
+
+    private final StoreService storeService;
+    private final StoreSearchProperties storeSearchProperties;
+    private final ReactiveCircuitBreaker circuitBreaker;
+    private final Scheduler databaseScheduler;
+
+    public ReactiveStoreService(
+            StoreService storeService,
+            StoreSearchProperties storeSearchProperties,
+            ReactiveCircuitBreakerFactory<?, ?> reactiveCircuitBreakerFactory,
+            StoreReactiveProperties storeReactiveProperties) {
+        this.storeService = storeService;
+        this.storeSearchProperties = storeSearchProperties;
+        this.circuitBreaker = reactiveCircuitBreakerFactory.create(CircuitBreakerConfig.STORE_SERVICE_CIRCUIT_BREAKER);
+        this.databaseScheduler = Schedulers.newBoundedElastic(
+                storeReactiveProperties.databaseConcurrency(),
+                storeReactiveProperties.databaseQueueSize(),
+                "store-database-search");
+    }
+
+    /**
+     * Finds the nearest stores to a given location, see {@link StoreService#findNearestStores}.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param limit     the maximum number of stores to return (default: 5)
+     * @return the nearest stores; an {@link IllegalArgumentException} for an invalid location, a
+     *         {@link RejectedExecutionException} when too many database searches are already waiting
+     */
+    public Mono<NearestStoresResponse> findNearestStores(BigDecimal latitude, BigDecimal longitude, Integer limit) {
+        return Mono.defer(() -> {
+            int storeLimit = storeService.validate(latitude, longitude, limit);
+            Coordinate coordinate = new Coordinate(latitude, longitude);
+
+            return switch (storeSearchProperties.mode()) {
+                case MEMORY -> Mono.just(
+                        storeService.toResponse(storeService.findNearestStoresInMemory(coordinate, storeLimit)));
+                case DATABASE -> findNearestStoresInDatabase(coordinate, storeLimit);
+            };
+        });
+    }
+
+    private Mono<NearestStoresResponse> findNearestStoresInDatabase(Coordinate coordinate, int limit) {
+        Mono<NearestStoresResponse> search = circuitBreaker.run(
+                Mono.fromCallable(() -> storeService.toResponse(storeService.rankInDatabase(coordinate, limit))),
+                throwable -> {
+                    log.error(
+                            "Circuit breaker opened - database unavailable. Returning empty list. Error: {}",
+                            throwable.getMessage());
+                    return Mono.just(storeService.toResponse(List.of()));
+                });
+        // Scheduled outside the breaker: a full queue is overload, not a database failure, and must reach the client
+        return search.subscribeOn(databaseScheduler);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        databaseScheduler.dispose();
+    }
+}
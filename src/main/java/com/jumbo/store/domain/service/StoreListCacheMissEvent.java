@@ -0,0 +1,31 @@
+package com.jumbo.store.domain.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for loading every store from the database after a store list cache miss.
+ * Disabled unless a recording enables it, see {@code jfr/store-service.jfc}.
+ */
+@Name(StoreListCacheMissEvent.NAME)
+@Label("Store List Cache Miss")
+@Category({"Store Service", "Cache"})
+@Description("The store list was not cached and every store was loaded from the database")
+@Enabled(false)
+@StackTrace(false)
+final class StoreListCacheMissEvent extends Event {
+
+    static final String NAME = "com.jumbo.store.StoreListCacheMiss";
+
+    @Label("Stores")
+    int stores;
+
+    @Label("Fallback")
+    @Description("Whether the database was unavailable and the empty fallback list was returned")
+    boolean fallback;
+}
@@ -0,0 +1,103 @@
+package com.jumbo.store.domain.service;
+
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.snapshot.NearestSearchObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times each stage of a nearest-store search ({@value #STAGE_METRIC}, tags {@code stage} and the configured search
+ * {@code mode}), so a p99 regression can be traced to the stage behind it, and counts the stores the in-memory search compares with the
+ * origin ({@value #CANDIDATES_METRIC}) and the searches that fell back to ranking every store
+ * ({@value #FULL_SCANS_METRIC}).
+ * The timers publish percentile histograms, so percentiles can be aggregated across instances in Prometheus.
+ * Every meter is registered up front: recording is a clock read and a histogram update, with no lookup or allocation.
+ */
+@Component
+public class StoreSearchMetrics implements NearestSearchObserver {
+
+    public static final String STAGE_METRIC = "store.search.stage";
+    public static final String CANDIDATES_METRIC = "store.search.candidates";
+    public static final String FULL_SCANS_METRIC = "store.search.full.scans";
+
+    public enum Stage {
+        /**
+         * Checking the location and the limit.
+         */
+        VALIDATION,
+        /**
+         * Reading the snapshot, or querying the database.
+         */
+        FETCH,
+        /**
+         * Picking the nearest stores from the snapshot; in database mode part of the fetch.
+         */
+        SELECTION,
+        DISTANCE,
+        /**
+         * Turning the stores into the response; pre-rendered in memory mode.
+         */
+        MAPPING,
+        SERIALIZATION
+    }
+
+    private final Timer[] timers = new Timer[Stage.values().length];
+    private final DistributionSummary candidates;
+    private final Counter fullScans;
+
+    public StoreSearchMetrics(MeterRegistry meterRegistry, StoreSearchProperties storeSearchProperties) {
+        String mode = storeSearchProperties.mode().name().toLowerCase(Locale.ROOT);
+        for (Stage stage : Stage.values()) {
+            timers[stage.ordinal()] = Timer.builder(STAGE_METRIC)
+                    .description("Time spent in each stage of a nearest-store search")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .tag("mode", mode)
+                    .publishPercentileHistogram()
+                    // Stages take microseconds; the default histogram starts at a millisecond
+                    .minimumExpectedValue(Duration.ofNanos(500))
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(meterRegistry);
+        }
+        this.candidates = DistributionSummary.builder(CANDIDATES_METRIC)
+                .description("Stores compared with the origin per in-memory nearest-store search")
+                .baseUnit("stores")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(10_000_000.0)
+                .register(meterRegistry);
+        this.fullScans = Counter.builder(FULL_SCANS_METRIC)
+                .description("In-memory nearest-store searches that ranked every store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a stage that started at {@code startNanos} and ends now.
+     *
+     * @param stage      the stage
+     * @param startNanos the {@link System#nanoTime()} the stage started at
+     * @return the {@link System#nanoTime()} the stage ended at, to start the next one from
+     */
+    public long record(Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        timers[stage.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    @Override
+    public void searched(int candidatesVisited, boolean fullScan) {
+        candidates.record(candidatesVisited);
+        if (fullScan) {
+            fullScans.increment();
+        }
+    }
+
+    Timer timer(Stage stage) {
+        return timers[stage.ordinal()];
+    }
+}
@@ -2,15 +2,30 @@ package com.jumbo.store.domain.service;
 
 import com.jumbo.store.configuration.CacheConfig;
 import com.jumbo.store.configuration.CircuitBreakerConfig;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.exception.LimitExceededException;
+import com.jumbo.store.domain.exception.StoreNotFoundException;
 import com.jumbo.store.domain.model.Coordinate;
 import com.jumbo.store.domain.model.Store;
 import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.service.StoreSearchMetrics.Stage;
+import com.jumbo.store.domain.snapshot.StoreContentHash;
+import com.jumbo.store.domain.snapshot.StoreSnapshot;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
 import com.jumbo.store.validation.LocationValidator;
 import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.PreRenderedStoreList;
 import com.jumbo.store.web.dto.StoreDTO;
 import java.math.BigDecimal;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,20 +46,30 @@ public class StoreService {
     private final DistanceCalculator distanceCalculator;
     private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
     private final LocationValidator locationValidator;
+    private final DatabaseNearestStoreSearch databaseNearestStoreSearch;
+    private final StoreSearchProperties storeSearchProperties;
+    private final StoreSnapshotHolder storeSnapshotHolder;
+    private final StoreSearchMetrics storeSearchMetrics;
 
     /**
      * Finds the nearest stores to a given location.
      * Uses Haversine formula to calculate the distance between two points on Earth.
-     * Caches the store list to reduce database load.
+     * Caches the store list to reduce database load; an empty list (the fallback) is never cached.
      * Protected by circuit breaker to handle database failures gracefully.
      *
      * @return List of all stores, or empty list if database is unavailable
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheConfig.STORES_CACHE, key = "'all-stores'")
+    @Cacheable(
+            value = CacheConfig.STORES_CACHE,
+            key = "'" + CacheConfig.ALL_STORES_KEY + "'",
+            unless = "#result.isEmpty()")
     public List<Store> getAllStores() {
         log.debug("Loading all stores from database");
 
+        // Only reached on a cache miss
+        StoreListCacheMissEvent event = new StoreListCacheMissEvent();
+        event.begin();
         CircuitBreaker circuitBreaker =
                 circuitBreakerFactory.create(CircuitBreakerConfig.STORE_SERVICE_CIRCUIT_BREAKER);
 
@@ -53,12 +78,16 @@ public class StoreService {
             return storeRepository.findAll();
         };
 
-        return circuitBreaker.run(storeSupplier, throwable -> {
+        List<Store> stores = circuitBreaker.run(storeSupplier, throwable -> {
             log.error(
                     "Circuit breaker opened - database unavailable. Returning empty list. Error: {}",
                     throwable.getMessage());
+            event.fallback = true;
             return List.of();
         });
+        event.stores = stores.size();
+        event.commit();
+        return stores;
     }
 
     /**
@@ -73,44 +102,225 @@ public class StoreService {
     public NearestStoresResponse findNearestStores(BigDecimal latitude, BigDecimal longitude, Integer limit) {
         log.debug("Finding nearest stores to location: lat={}, lon={}, limit={}", latitude, longitude, limit);
 
-        locationValidator.validate(latitude, longitude);
+        int storeLimit = validate(latitude, longitude, limit);
         Coordinate coordinate = new Coordinate(latitude, longitude);
+
+        List<StoreDTO> nearestStores =
+                switch (storeSearchProperties.mode()) {
+                    case MEMORY -> findNearestStoresInMemory(coordinate, storeLimit);
+                    case DATABASE -> findNearestStoresInDatabase(coordinate, storeLimit);
+                };
+
+        return toResponse(nearestStores);
+    }
+
+    /**
+     * Tags the response {@link #findNearestStores} returns for a query, without running the search.
+     * The tag covers the snapshot content, through its fingerprint (equal on every node holding the same stores),
+     * and the normalized query: {@code 52.30} and {@code 52.3} or an omitted and the default limit tag alike.
+     * In database search mode no snapshot is held and the stores are only known once searched, so there is no tag.
+     *
+     * @param latitude  the latitude coordinate
+     * @param longitude the longitude coordinate
+     * @param limit     the maximum number of stores to return
+     * @return the hash to derive the entity tag from, or empty in database search mode
+     */
+    public OptionalLong nearestStoresTag(BigDecimal latitude, BigDecimal longitude, Integer limit) {
+        locationValidator.validate(latitude, longitude);
+        if (storeSearchProperties.mode() == StoreSearchProperties.Mode.DATABASE) {
+            return OptionalLong.empty();
+        }
+        StoreSnapshot snapshot = storeSnapshotHolder.current();
+
+        long hash = StoreContentHash.combine(StoreContentHash.emptyHash(), snapshot.getFingerprint());
+        hash = StoreContentHash.combine(hash, snapshot.size());
+        hash = StoreContentHash.combine(hash, latitude.stripTrailingZeros().toPlainString());
+        hash = StoreContentHash.combine(hash, longitude.stripTrailingZeros().toPlainString());
+        return OptionalLong.of(StoreContentHash.combine(hash, determineLimit(limit)));
+    }
+
+    /**
+     * Records a nearest-store query answered from the client's entity tag, without searching, as a flight recorder
+     * event.
+     *
+     * @param latitude  the latitude coordinate
+     * @param longitude the longitude coordinate
+     * @param limit     the maximum number of stores requested
+     */
+    public void recordCacheHit(BigDecimal latitude, BigDecimal longitude, Integer limit) {
+        NearestStoresSearchEvent event = new NearestStoresSearchEvent();
+        if (event.isEnabled()) {
+            event.cacheHit = true;
+            event.commit(storeSearchProperties.mode(), new Coordinate(latitude, longitude), determineLimit(limit), 0);
+        }
+    }
+
+    /**
+     * Validates a nearest-store query, timed as the validation stage.
+     *
+     * @return the limit to search with, see {@link #determineLimit}
+     * @throws IllegalArgumentException when the location is invalid
+     */
+    int validate(BigDecimal latitude, BigDecimal longitude, Integer limit) {
+        long start = System.nanoTime();
+        locationValidator.validate(latitude, longitude);
         int storeLimit = determineLimit(limit);
-        List<Store> allStores = getAllStores();
+        storeSearchMetrics.record(Stage.VALIDATION, start);
+        return storeLimit;
+    }
+
+    /**
+     * Ranks the stores of the current snapshot, without reaching the database or the cache.
+     */
+    List<StoreDTO> findNearestStoresInMemory(Coordinate coordinate, int limit) {
+        NearestStoresSearchEvent event = new NearestStoresSearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        StoreSnapshot snapshot = storeSnapshotHolder.current();
+        start = storeSearchMetrics.record(Stage.FETCH, start);
+
+        List<StoreSnapshot.Entry> entries = snapshot.findNearestEntries(
+                coordinate.latitudeAsDouble(),
+                coordinate.longitudeAsDouble(),
+                limit,
+                event.observing(storeSearchMetrics));
+        start = storeSearchMetrics.record(Stage.SELECTION, start);
+
+        double[] distances = new double[entries.size()];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = calculateDistance(entries.get(i).store(), coordinate);
+        }
+        start = storeSearchMetrics.record(Stage.DISTANCE, start);
+
+        PreRenderedStoreList stores = new PreRenderedStoreList(entries, distances);
+        storeSearchMetrics.record(Stage.MAPPING, start);
+        event.commit(StoreSearchProperties.Mode.MEMORY, coordinate, limit, stores.size());
+        return stores;
+    }
+
+    /**
+     * Looks up a store by UUID in the current snapshot, or in PostgreSQL in database search mode, where no snapshot
+     * is held.
+     *
+     * @param uuid the store UUID
+     * @return the store and the hash of its content
+     * @throws StoreNotFoundException when no store has this UUID
+     */
+    public StoreSnapshot.Entry getStore(String uuid) {
+        Optional<StoreSnapshot.Entry> entry =
+                switch (storeSearchProperties.mode()) {
+                    case MEMORY -> storeSnapshotHolder.current().find(uuid);
+                    case DATABASE -> storeRepository.findByUuid(uuid).map(StoreSnapshot.Entry::of);
+                };
+        return entry.orElseThrow(() -> new StoreNotFoundException(uuid));
+    }
 
-        if (allStores.isEmpty()) {
+    /**
+     * Looks up several stores by UUID in the current snapshot, or in PostgreSQL in database search mode.
+     * All stores come from the same snapshot, or the same query, so the batch is consistent even while a refresh is
+     * running.
+     *
+     * @param uuids the store UUIDs; duplicates are ignored
+     * @return the stores found, in request order; unknown UUIDs are skipped
+     */
+    public List<StoreSnapshot.Entry> findStores(Collection<String> uuids) {
+        Set<String> requested = new LinkedHashSet<>(uuids);
+        if (storeSearchProperties.mode() == StoreSearchProperties.Mode.MEMORY) {
+            StoreSnapshot snapshot = storeSnapshotHolder.current();
+            return requested.stream()
+                    .map(snapshot::find)
+                    .flatMap(Optional::stream)
+                    .toList();
+        }
+
+        Map<String, Store> found = new HashMap<>();
+        for (Store store : storeRepository.findByUuidIn(requested)) {
+            found.put(store.getUuid(), store);
+        }
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(StoreSnapshot.Entry::of)
+                .toList();
+    }
+
+    /**
+     * Lets PostgreSQL rank the stores and return only {@code limit} rows.
+     * Protected by the same circuit breaker as {@link #getAllStores()}.
+     */
+    private List<StoreDTO> findNearestStoresInDatabase(Coordinate coordinate, int limit) {
+        CircuitBreaker circuitBreaker =
+                circuitBreakerFactory.create(CircuitBreakerConfig.STORE_SERVICE_CIRCUIT_BREAKER);
+
+        Supplier<List<StoreDTO>> searchSupplier = () -> rankInDatabase(coordinate, limit);
+
+        return circuitBreaker.run(searchSupplier, throwable -> {
+            log.error(
+                    "Circuit breaker opened - database unavailable. Returning empty list. Error: {}",
+                    throwable.getMessage());
+            return List.of();
+        });
+    }
+
+    /**
+     * Runs the database search without any circuit breaker, for callers that bring their own. Blocks on JDBC.
+     */
+    List<StoreDTO> rankInDatabase(Coordinate coordinate, int limit) {
+        NearestStoresSearchEvent event = new NearestStoresSearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<Store> stores = databaseNearestStoreSearch.findNearestStores(coordinate, limit);
+        start = storeSearchMetrics.record(Stage.FETCH, start);
+        event.candidates = stores.size();
+
+        double[] distances = new double[stores.size()];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = calculateDistance(stores.get(i), coordinate);
+        }
+        start = storeSearchMetrics.record(Stage.DISTANCE, start);
+
+        StoreDTO[] nearestStores = new StoreDTO[stores.size()];
+        for (int i = 0; i < nearestStores.length; i++) {
+            nearestStores[i] = stores.get(i).toDTO(distances[i]);
+        }
+        storeSearchMetrics.record(Stage.MAPPING, start);
+        event.commit(StoreSearchProperties.Mode.DATABASE, coordinate, limit, nearestStores.length);
+        return List.of(nearestStores);
+    }
+
+    NearestStoresResponse toResponse(List<StoreDTO> nearestStores) {
+        if (nearestStores.isEmpty()) {
             log.warn("No stores found - circuit breaker may be open or database unavailable");
             return createEmptyResponse();
         }
 
-        List<StoreDTO> nearestStores = calculateNearestStores(allStores, coordinate, storeLimit);
         log.info("Found {} nearest stores", nearestStores.size());
-
         return new NearestStoresResponse(nearestStores, nearestStores.size());
     }
 
-    private int determineLimit(Integer limit) {
-        return (limit != null && limit > 0) ? limit : DEFAULT_LIMIT;
+    /**
+     * @return the requested limit, or the default when none or a non-positive one was given
+     * @throws LimitExceededException when the limit exceeds {@code store.search.max-limit}
+     */
+    int determineLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit > storeSearchProperties.maxLimit()) {
+            throw new LimitExceededException(limit, storeSearchProperties.maxLimit());
+        }
+        return limit;
     }
 
     private NearestStoresResponse createEmptyResponse() {
         return new NearestStoresResponse(List.of(), 0);
     }
 
-    private List<StoreDTO> calculateNearestStores(List<Store> stores, Coordinate coordinate, int limit) {
-        return stores.stream()
-                .map(store -> calculateStoreWithDistance(store, coordinate))
-                .sorted(Comparator.comparing(StoreDTO::distanceInKm, Comparator.nullsLast(Double::compareTo)))
-                .limit(limit)
-                .toList();
-    }
-
-    private StoreDTO calculateStoreWithDistance(Store store, Coordinate coordinate) {
-        double distance = distanceCalculator.calculateDistance(
+    private double calculateDistance(Store store, Coordinate coordinate) {
+        return distanceCalculator.calculateDistance(
                 coordinate.latitudeAsDouble(),
                 coordinate.longitudeAsDouble(),
                 store.getLatitude().doubleValue(),
                 store.getLongitude().doubleValue());
-        return store.toDTO(distance);
     }
 }
@@ -0,0 +1,161 @@
+package com.jumbo.store.domain.service;
+
+import com.jumbo.store.domain.event.StoresChangedEvent;
+import com.jumbo.store.domain.exception.StoreConflictException;
+import com.jumbo.store.domain.exception.StoreNotFoundException;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.web.dto.StoreBulkDeleteResponse;
+import com.jumbo.store.web.dto.StoreBulkResponse;
+import com.jumbo.store.web.dto.StoreRequest;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates, updates and deletes stores.
+ * Every write publishes a {@link StoresChangedEvent}; once the transaction commits, the in-memory snapshot and the
+ * cached store list are patched with the written stores only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StoreWriteService {
+
+    /**
+     * Scale of the latitude and longitude columns. Coordinates are stored at this scale before they reach the
+     * snapshot, so a patched entry renders and hashes exactly like the row a later reload reads back.
+     */
+    private static final int COORDINATE_SCALE = 8;
+
+    private final StoreRepository storeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates a store. A random UUID is assigned when the request has none.
+     *
+     * @throws StoreConflictException when a store with the UUID already exists
+     */
+    @Transactional
+    public Store createStore(StoreRequest request) {
+        String uuid = hasUuid(request) ? request.uuid() : UUID.randomUUID().toString();
+        if (storeRepository.existsByUuid(uuid)) {
+            throw new StoreConflictException(uuid);
+        }
+
+        Store store =
+                storeRepository.save(applyRequest(Store.builder().uuid(uuid).build(), request));
+        eventPublisher.publishEvent(StoresChangedEvent.upserted(List.of(store)));
+        log.info("Created store {}", uuid);
+        return store;
+    }
+
+    /**
+     * Replaces every field of a store.
+     *
+     * @throws StoreNotFoundException when no store has the UUID
+     */
+    @Transactional
+    public Store updateStore(String uuid, StoreRequest request) {
+        Store store = storeRepository.findByUuid(uuid).orElseThrow(() -> new StoreNotFoundException(uuid));
+
+        Store saved = storeRepository.save(applyRequest(store, request));
+        eventPublisher.publishEvent(StoresChangedEvent.upserted(List.of(saved)));
+        log.info("Updated store {}", uuid);
+        return saved;
+    }
+
+    /**
+     * @throws StoreNotFoundException when no store has the UUID
+     */
+    @Transactional
+    public void deleteStore(String uuid) {
+        Store store = storeRepository.findByUuid(uuid).orElseThrow(() -> new StoreNotFoundException(uuid));
+
+        storeRepository.delete(store);
+        eventPublisher.publishEvent(StoresChangedEvent.deleted(List.of(uuid)));
+        log.info("Deleted store {}", uuid);
+    }
+
+    /**
+     * Creates or updates many stores in one transaction, matching them by UUID.
+     * Existing stores are fetched with a single query and all rows are written in JDBC batches.
+     */
+    @Transactional
+    public StoreBulkResponse upsertStores(List<StoreRequest> requests) {
+        Map<String, StoreRequest> requestsByUuid = new LinkedHashMap<>();
+        for (StoreRequest request : requests) {
+            requestsByUuid.put(
+                    hasUuid(request) ? request.uuid() : UUID.randomUUID().toString(), request);
+        }
+
+        Map<String, Store> existing = storeRepository.findByUuidIn(requestsByUuid.keySet()).stream()
+                .collect(Collectors.toMap(Store::getUuid, Function.identity()));
+
+        List<Store> stores = new ArrayList<>(requestsByUuid.size());
+        requestsByUuid.forEach((uuid, request) -> stores.add(applyRequest(
+                existing.getOrDefault(uuid, Store.builder().uuid(uuid).build()), request)));
+
+        List<Store> saved = storeRepository.saveAll(stores);
+        eventPublisher.publishEvent(StoresChangedEvent.upserted(saved));
+
+        int updated = existing.size();
+        log.info("Bulk upserted {} stores ({} created, {} updated)", saved.size(), saved.size() - updated, updated);
+        return new StoreBulkResponse(saved.size() - updated, updated);
+    }
+
+    /**
+     * Deletes many stores in one transaction. Unknown UUIDs are reported, not rejected.
+     */
+    @Transactional
+    public StoreBulkDeleteResponse deleteStores(List<String> uuids) {
+        Set<String> requested = new LinkedHashSet<>(uuids);
+        List<Store> stores = storeRepository.findByUuidIn(requested);
+        Set<String> found = stores.stream().map(Store::getUuid).collect(Collectors.toSet());
+
+        storeRepository.deleteAllInBatch(stores);
+        eventPublisher.publishEvent(StoresChangedEvent.deleted(List.copyOf(found)));
+
+        List<String> notFound =
+                requested.stream().filter(uuid -> !found.contains(uuid)).toList();
+        log.info("Bulk deleted {} stores ({} not found)", found.size(), notFound.size());
+        return new StoreBulkDeleteResponse(found.size(), notFound);
+    }
+
+    private boolean hasUuid(StoreRequest request) {
+        return request.uuid() != null && !request.uuid().isBlank();
+    }
+
+    private Store applyRequest(Store store, StoreRequest request) {
+        store.setAddressName(request.addressName());
+        store.setCity(request.city());
+        store.setPostalCode(request.postalCode());
+        store.setStreet(request.street());
+        store.setStreet2(request.street2());
+        store.setStreet3(request.street3());
+        store.setLatitude(request.latitude().setScale(COORDINATE_SCALE, RoundingMode.HALF_UP));
+        store.setLongitude(request.longitude().setScale(COORDINATE_SCALE, RoundingMode.HALF_UP));
+        store.setComplexNumber(request.complexNumber());
+        store.setShowWarningMessage(request.showWarningMessage());
+        store.setTodayOpen(request.todayOpen());
+        store.setTodayClose(request.todayClose());
+        store.setLocationType(request.locationType());
+        store.setCollectionPoint(request.collectionPoint());
+        store.setSapStoreID(request.sapStoreID());
+        // Keep the geometry in step before the entity reaches the snapshot; @PreUpdate only runs at flush
+        store.computeGeometry();
+        return store;
+    }
+}
@@ -0,0 +1,152 @@
+package com.jumbo.store.domain.snapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable spatial index bucketing snapshot positions into cells of {@value #CELL_DEGREES} degrees.
+ * The nearest-store search visits the cells around the origin ring by ring and stops as soon as no unvisited cell
+ * can hold a closer store, so only the neighbourhood of the origin is ranked instead of every store.
+ */
+public final class GeoGridIndex {
+
+    static final double CELL_DEGREES = 0.1;
+
+    private static final int LATITUDE_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LONGITUDE_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final Map<Long, int[]> cells;
+
+    private GeoGridIndex(Map<Long, int[]> cells) {
+        this.cells = cells;
+    }
+
+    public static GeoGridIndex empty() {
+        return new GeoGridIndex(Map.of());
+    }
+
+    /**
+     * @return the number of non-empty cells
+     */
+    public int cellCount() {
+        return cells.size();
+    }
+
+    /**
+     * Visits the positions of every store in the cells forming the square ring at Chebyshev distance
+     * {@code ring} around the cell containing the origin.
+     *
+     * @return {@code false} when the ring wraps around the globe, i.e. the ring search is no longer meaningful
+     */
+    boolean visitRing(double latitude, double longitude, int ring, PositionVisitor visitor) {
+        if (2 * ring + 1 > LONGITUDE_CELLS) {
+            return false;
+        }
+        int latitudeCell = latitudeCell(latitude);
+        int longitudeCell = longitudeCell(longitude);
+
+        for (int dLat = -ring; dLat <= ring; dLat++) {
+            int row = latitudeCell + dLat;
+            if (row < 0 || row >= LATITUDE_CELLS) {
+                continue;
+            }
+            boolean edgeRow = Math.abs(dLat) == ring;
+            for (int dLon = -ring; dLon <= ring; dLon += edgeRow ? 1 : Math.max(1, 2 * ring)) {
+                int column = Math.floorMod(longitudeCell + dLon, LONGITUDE_CELLS);
+                for (int position : cells.getOrDefault(key(row, column), NO_POSITIONS)) {
+                    visitor.visit(position);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lower bound, as an angle in radians, of the distance from the origin to any point in a cell at Chebyshev
+     * distance {@code ring + 1} or more from the origin's cell.
+     */
+    static double minimumAngleBeyond(double latitude, int ring) {
+        double gap = Math.toRadians(ring * CELL_DEGREES);
+        // Points beyond the ring differ either in latitude by the gap, or in longitude by the gap at a latitude no
+        // closer to the equator than the band the ring spans; the latter shrinks towards the poles.
+        double bandEdge = Math.min(90, Math.abs(latitude) + (ring + 1) * CELL_DEGREES);
+        double longitudeBound = Math.asin(Math.cos(Math.toRadians(bandEdge)) * Math.sin(Math.min(gap, Math.PI / 2)));
+        return Math.min(gap, longitudeBound);
+    }
+
+    /**
+     * Starts a copy-on-write edit. The cell map is copied once; cells are only copied when they change.
+     */
+    public Editor edit() {
+        return new Editor(new HashMap<>(cells));
+    }
+
+    /**
+     * @return the cell containing a point, as the latitude and longitude of its south-west corner, e.g.
+     *         {@code 52.3,4.9}
+     */
+    public static String cellName(double latitude, double longitude) {
+        return String.format(
+                Locale.ROOT,
+                "%.1f,%.1f",
+                latitudeCell(latitude) * CELL_DEGREES - 90,
+                longitudeCell(longitude) * CELL_DEGREES - 180);
+    }
+
+    private static int latitudeCell(double latitude) {
+        return Math.min(LATITUDE_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LONGITUDE_CELLS);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    @FunctionalInterface
+    interface PositionVisitor {
+        void visit(int position);
+    }
+
+    /**
+     * Mutable working copy of an index, turned back into an immutable index by {@link #build()}.
+     */
+    public static final class Editor {
+
+        private final Map<Long, int[]> cells;
+
+        private Editor(Map<Long, int[]> cells) {
+            this.cells = cells;
+        }
+
+        public Editor add(int position, double latitude, double longitude) {
+            long key = key(latitudeCell(latitude), longitudeCell(longitude));
+            int[] positions = cells.getOrDefault(key, NO_POSITIONS);
+            int[] updated = Arrays.copyOf(positions, positions.length + 1);
+            updated[positions.length] = position;
+            cells.put(key, updated);
+            return this;
+        }
+
+        public Editor remove(int position, double latitude, double longitude) {
+            long key = key(latitudeCell(latitude), longitudeCell(longitude));
+            int[] positions = cells.getOrDefault(key, NO_POSITIONS);
+            int[] updated = Arrays.stream(positions).filter(p -> p != position).toArray();
+            if (updated.length == 0) {
+                cells.remove(key);
+            } else {
+                cells.put(key, updated);
+            }
+            return this;
+        }
+
+        public GeoGridIndex build() {
+            return new GeoGridIndex(cells);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jumbo.store.domain.snapshot;
+
+/**
+ * Keeps the {@code capacity} closest snapshot positions seen so far in a bounded min-heap keyed on the dot product,
+ * so collecting k nearest out of n candidates costs O(n log k) without sorting or boxing every candidate.
+ * Equal dot products are ordered by position, which keeps results deterministic.
+ */
+final class NearestCollector {
+
+    private final int[] positions;
+    private final double[] dots;
+    private int size;
+    private int offered;
+
+    NearestCollector(int capacity) {
+        this.positions = new int[capacity];
+        this.dots = new double[capacity];
+    }
+
+    void offer(int position, double dot) {
+        offered++;
+        if (size < positions.length) {
+            positions[size] = position;
+            dots[size] = dot;
+            siftUp(size++);
+        } else if (positions.length > 0 && isCloser(dot, position, dots[0], positions[0])) {
+            positions[0] = position;
+            dots[0] = dot;
+            siftDown(0);
+        }
+    }
+
+    boolean isFull() {
+        return size == positions.length;
+    }
+
+    /**
+     * @return the dot product of the farthest position kept
+     */
+    double lowestDot() {
+        return dots[0];
+    }
+
+    /**
+     * Empties the heap; the positions offered so far still count in {@link #offered()}.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return how many positions were offered, kept or not
+     */
+    int offered() {
+        return offered;
+    }
+
+    /**
+     * Drains the heap into the collected positions, closest first.
+     */
+    int[] drain() {
+        int[] ordered = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ordered[i] = positions[0];
+            positions[0] = positions[size - 1];
+            dots[0] = dots[size - 1];
+            size--;
+            siftDown(0);
+        }
+        return ordered;
+    }
+
+    private static boolean isCloser(double dot, int position, double otherDot, int otherPosition) {
+        return dot > otherDot || (dot == otherDot && position < otherPosition);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isCloser(dots[parent], positions[parent], dots[index], positions[index])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int farthest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && isCloser(dots[farthest], positions[farthest], dots[left], positions[left])) {
+                farthest = left;
+            }
+            if (right < size && isCloser(dots[farthest], positions[farthest], dots[right], positions[right])) {
+                farthest = right;
+            }
+            if (farthest == index) {
+                return;
+            }
+            swap(index, farthest);
+            index = farthest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int position = positions[i];
+        positions[i] = positions[j];
+        positions[j] = position;
+        double dot = dots[i];
+        dots[i] = dots[j];
+        dots[j] = dot;
+    }
+}
@@ -0,0 +1,16 @@
+package com.jumbo.store.domain.snapshot;
+
+/**
+ * Told what each nearest search over a {@link StoreSnapshot} cost, e.g. to record it as metrics.
+ */
+@FunctionalInterface
+public interface NearestSearchObserver {
+
+    NearestSearchObserver NONE = (candidates, fullScan) -> {};
+
+    /**
+     * @param candidates how many stores were compared with the origin
+     * @param fullScan   whether the grid neighbourhood was too sparse and every store was ranked
+     */
+    void searched(int candidates, boolean fullScan);
+}
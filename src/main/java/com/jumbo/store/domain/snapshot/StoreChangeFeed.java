@@ -0,0 +1,218 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.jumbo.store.configuration.CacheConfig;
+import com.jumbo.store.configuration.StoreSnapshotProperties;
+import com.jumbo.store.domain.event.StoresChangedEvent;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the snapshot in sync with the {@code stores} table through PostgreSQL {@code LISTEN/NOTIFY}.
+ * A trigger announces the UUID of every changed row on {@value #CHANNEL}. A dedicated connection, outside the pool,
+ * collects the UUIDs into batches (see {@link StoreSnapshotProperties.ChangeFeed}) and each batch only loads the
+ * changed rows, from the primary (see {@link StoreChangeLoader}): the notification is sent on commit, when a read
+ * replica may not have replayed the change yet. Changes this node already applied itself are recognised by their
+ * content hash and skipped. Batches larger than the rebuild threshold, such as a bulk import, collapse into one rebuild,
+ * which reloads every store from the primary as well (see {@link StoreSnapshotRefresher}).
+ */
+@Component
+@ConditionalOnProperty(name = "store.snapshot.change-feed.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StoreChangeFeed {
+
+    static final String CHANNEL = "store_changes";
+
+    /**
+     * Payload asking for a full rebuild, sent when the table is truncated.
+     */
+    static final String REBUILD = "*";
+
+    /**
+     * How long to wait for a notification before checking that the connection is still alive.
+     */
+    private static final int IDLE_POLL_MILLIS = 10_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final StoreChangeLoader storeChangeLoader;
+    private final StoreSnapshotHolder storeSnapshotHolder;
+    private final StoreSnapshotRefresher storeSnapshotRefresher;
+    private final StoreChangeListener storeChangeListener;
+    private final CacheManager cacheManager;
+    private final StoreSnapshotProperties storeSnapshotProperties;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform().name("store-change-feed").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        Duration reconnectInterval = storeSnapshotProperties.changeFeed().reconnectInterval();
+        while (running) {
+            try (Connection listenerConnection = connect()) {
+                connection = listenerConnection;
+                log.info("Listening for store changes on channel {}", CHANNEL);
+                // Changes committed while nobody was listening are only picked up by a reload
+                rebuild();
+                receive(listenerConnection);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Store change feed interrupted: {}. Reconnecting in {}", e.getMessage(), reconnectInterval);
+                if (!pause(reconnectInterval)) {
+                    return;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection listenerConnection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+        try (Statement statement = listenerConnection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        } catch (SQLException e) {
+            closeQuietly(listenerConnection);
+            throw e;
+        }
+        return listenerConnection;
+    }
+
+    private void receive(Connection listenerConnection) throws SQLException {
+        PGConnection pgConnection = listenerConnection.unwrap(PGConnection.class);
+        StoreSnapshotProperties.ChangeFeed changeFeed = storeSnapshotProperties.changeFeed();
+        int debounceMillis = (int) changeFeed.debounce().toMillis();
+        long maxDelayNanos = changeFeed.maxDelay().toNanos();
+
+        Set<String> pending = new HashSet<>();
+        long batchStartedAt = 0;
+        while (running) {
+            PGNotification[] notifications =
+                    pgConnection.getNotifications(pending.isEmpty() ? IDLE_POLL_MILLIS : debounceMillis);
+            boolean received = notifications != null && notifications.length > 0;
+
+            if (received) {
+                if (pending.isEmpty()) {
+                    batchStartedAt = System.nanoTime();
+                }
+                for (PGNotification notification : notifications) {
+                    pending.add(notification.getParameter());
+                }
+            } else if (pending.isEmpty() && !listenerConnection.isValid(1)) {
+                throw new SQLException("Listener connection is no longer valid");
+            }
+
+            if (!pending.isEmpty() && (!received || System.nanoTime() - batchStartedAt >= maxDelayNanos)) {
+                flush(pending);
+                pending = new HashSet<>();
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of changed UUIDs to the snapshot and the cached store list.
+     * Changed rows still present are upserts, missing ones are deletes.
+     *
+     * @param uuids the UUIDs announced since the previous batch
+     */
+    void flush(Set<String> uuids) {
+        if (uuids.contains(REBUILD)
+                || uuids.size() > storeSnapshotProperties.changeFeed().rebuildThreshold()) {
+            log.info("Rebuilding store snapshot after {} store changes", uuids.size());
+            rebuild();
+            return;
+        }
+
+        StoresChangedEvent changes = storeChangeLoader.load(uuids, storeSnapshotHolder.current());
+        if (changes.upserts().isEmpty() && changes.deletedUuids().isEmpty()) {
+            log.debug("{} store changes already applied", uuids.size());
+            return;
+        }
+        log.debug(
+                "Applying {} upserts and {} deletes from the store change feed",
+                changes.upserts().size(),
+                changes.deletedUuids().size());
+        storeChangeListener.onStoresChanged(changes);
+    }
+
+    /**
+     * Reloads every store from the primary into the snapshot, then evicts the cached store list, which may predate the
+     * changes. The eviction comes last so a list cached while the snapshot was reloading is not kept either.
+     */
+    private void rebuild() {
+        storeSnapshotRefresher.refresh();
+        evictStoresCache();
+    }
+
+    private void evictStoresCache() {
+        Cache cache = cacheManager.getCache(CacheConfig.STORES_CACHE);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(CacheConfig.ALL_STORES_KEY);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict cached store list: {}", e.getMessage());
+        }
+    }
+
+    private static boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection listenerConnection) {
+        if (listenerConnection == null) {
+            return;
+        }
+        try {
+            listenerConnection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close store change feed connection: {}", e.getMessage());
+        }
+    }
+}
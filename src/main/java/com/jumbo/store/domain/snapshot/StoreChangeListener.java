@@ -0,0 +1,93 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.jumbo.store.configuration.CacheConfig;
+import com.jumbo.store.configuration.StoreListCache;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.event.StoresChangedEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies committed store writes to the in-memory snapshot and the cached store list.
+ * Both are patched with the written stores only, so a write does not wait for the next snapshot refresh and the next
+ * reader of the list still hits the cache.
+ * With the {@link StoreSnapshotBus} enabled the change is then announced to the other nodes.
+ * In database search mode no snapshot is held, so only the cached list is patched.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StoreChangeListener {
+
+    private final StoreSnapshotHolder storeSnapshotHolder;
+    private final CacheManager cacheManager;
+    private final ObjectProvider<StoreSnapshotBus> storeSnapshotBus;
+    private final StoreSearchProperties storeSearchProperties;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStoresChanged(StoresChangedEvent event) {
+        updateStoresCache(event);
+        if (storeSearchProperties.mode() == StoreSearchProperties.Mode.DATABASE) {
+            return;
+        }
+
+        StoreSnapshotBus bus = storeSnapshotBus.getIfAvailable();
+        if (bus == null) {
+            storeSnapshotHolder.apply(event.upserts(), event.deletedUuids());
+            return;
+        }
+
+        OptionalLong version = bus.nextVersion();
+        if (version.isEmpty()) {
+            // Keep the held version: other nodes catch up through their scheduled refresh
+            storeSnapshotHolder.apply(
+                    event.upserts(),
+                    event.deletedUuids(),
+                    storeSnapshotHolder.current().getVersion());
+            return;
+        }
+        storeSnapshotHolder.apply(event.upserts(), event.deletedUuids(), version.getAsLong());
+        bus.announce(version.getAsLong(), changedUuids(event));
+    }
+
+    private static List<String> changedUuids(StoresChangedEvent event) {
+        List<String> uuids =
+                new ArrayList<>(event.upserts().size() + event.deletedUuids().size());
+        event.upserts().forEach(store -> uuids.add(store.getUuid()));
+        uuids.addAll(event.deletedUuids());
+        return uuids;
+    }
+
+    /**
+     * Patches the cached store list with the written stores, see {@link StoreListCache#apply}. Each store is a field of
+     * its own, so two concurrent writers on different nodes never put back a list missing the other's change. A cache
+     * that cannot be patched (not Redis, e.g. in tests) is evicted instead.
+     */
+    private void updateStoresCache(StoresChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.STORES_CACHE);
+        if (cache == null) {
+            return;
+        }
+        try {
+            if (cache instanceof StoreListCache storeListCache) {
+                storeListCache.apply(event.upserts(), event.deletedUuids());
+                log.debug(
+                        "Patched cached store list with {} changes",
+                        event.upserts().size() + event.deletedUuids().size());
+                return;
+            }
+            cache.evict(CacheConfig.ALL_STORES_KEY);
+        } catch (RuntimeException e) {
+            log.warn("Could not update cached store list: {}", e.getMessage());
+        }
+    }
+}
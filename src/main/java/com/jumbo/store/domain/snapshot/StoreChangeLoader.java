@@ -0,0 +1,66 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.jumbo.store.domain.event.StoresChangedEvent;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads stores another node (or another writer) just changed, to apply them to this node's snapshot.
+ * Reads run in a read-write transaction so they are served by the primary even with read replicas enabled: the change
+ * was announced once it committed on the primary, and a lagging replica could still return the rows as they were.
+ */
+@Component
+@RequiredArgsConstructor
+public class StoreChangeLoader {
+
+    private final StoreRepository storeRepository;
+
+    /**
+     * Loads the changed stores and compares them with a snapshot.
+     * Changed rows still present are upserts, missing ones are deletes; rows the snapshot already holds with the same
+     * content, and missing rows it does not hold, are left out.
+     *
+     * @param uuids    the UUIDs of the changed stores
+     * @param snapshot the snapshot the changes are to be applied to
+     * @return the changes the snapshot does not hold yet
+     */
+    @Transactional(readOnly = false)
+    public StoresChangedEvent load(Collection<String> uuids, StoreSnapshot snapshot) {
+        Set<String> existing = new HashSet<>();
+        List<Store> upserts = new ArrayList<>();
+        for (Store store : storeRepository.findByUuidIn(uuids)) {
+            existing.add(store.getUuid());
+            if (!isHeld(snapshot, store)) {
+                upserts.add(store);
+            }
+        }
+        List<String> deletedUuids = uuids.stream()
+                .distinct()
+                .filter(uuid -> !existing.contains(uuid))
+                .filter(uuid -> snapshot.find(uuid).isPresent())
+                .toList();
+        return new StoresChangedEvent(upserts, deletedUuids);
+    }
+
+    /**
+     * @return every store, as committed on the primary
+     */
+    @Transactional(readOnly = false)
+    public List<Store> loadAll() {
+        return storeRepository.findAll();
+    }
+
+    private static boolean isHeld(StoreSnapshot snapshot, Store store) {
+        return snapshot.find(store.getUuid())
+                .map(entry -> entry.contentHash() == StoreContentHash.of(store))
+                .orElse(false);
+    }
+}
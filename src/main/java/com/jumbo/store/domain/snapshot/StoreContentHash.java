@@ -0,0 +1,76 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.jumbo.store.domain.model.Store;
+import java.util.Objects;
+
+/**
+ * 64-bit FNV-1a hash over every client-visible field of a store.
+ * Two stores hash equally when a client could not tell their representations apart, which makes the hash usable as
+ * an entity tag that is identical on every node.
+ */
+public final class StoreContentHash {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final char NULL_MARKER = '\u0000';
+
+    private StoreContentHash() {}
+
+    public static long of(Store store) {
+        long hash = OFFSET_BASIS;
+        hash = field(hash, store.getUuid());
+        hash = field(hash, store.getAddressName());
+        hash = field(hash, store.getCity());
+        hash = field(hash, store.getPostalCode());
+        hash = field(hash, store.getStreet());
+        hash = field(hash, store.getStreet2());
+        hash = field(hash, store.getStreet3());
+        hash = field(
+                hash, store.getLatitude() == null ? null : store.getLatitude().toPlainString());
+        hash = field(
+                hash, store.getLongitude() == null ? null : store.getLongitude().toPlainString());
+        hash = field(hash, store.getComplexNumber());
+        hash = field(hash, Objects.toString(store.getShowWarningMessage(), null));
+        hash = field(hash, store.getTodayOpen());
+        hash = field(hash, store.getTodayClose());
+        hash = field(hash, store.getLocationType());
+        hash = field(hash, Objects.toString(store.getCollectionPoint(), null));
+        hash = field(hash, store.getSapStoreID());
+        return hash;
+    }
+
+    /**
+     * Folds a sequence of hashes into one, e.g. to tag a batch response.
+     */
+    public static long combine(long hash, long next) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((next >>> shift) & 0xff)) * PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Folds a string into a hash, e.g. to tag a response by its query parameters.
+     */
+    public static long combine(long hash, String value) {
+        return field(hash, value);
+    }
+
+    public static long emptyHash() {
+        return OFFSET_BASIS;
+    }
+
+    private static long field(long hash, String value) {
+        if (value == null) {
+            hash = (hash ^ NULL_MARKER) * PRIME;
+        } else {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                hash = (hash ^ (c & 0xff)) * PRIME;
+                hash = (hash ^ (c >>> 8)) * PRIME;
+            }
+        }
+        return (hash ^ FIELD_SEPARATOR) * PRIME;
+    }
+}
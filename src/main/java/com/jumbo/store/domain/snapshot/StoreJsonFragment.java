@@ -0,0 +1,82 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.web.dto.StoreFieldSet;
+import com.jumbo.store.web.dto.StoreFieldWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders the static part of a store's JSON once, when the store enters the snapshot.
+ * The fragment is the UTF-8 serialization of the store's {@code StoreDTO} up to and including the name of
+ * {@code distanceInKm}, the only per-request field and the last one of the DTO. A response then only appends the
+ * distance and the closing brace instead of serializing every field on each request.
+ * A second, compact fragment holds only the fields of {@link StoreFieldSet#COMPACT}.
+ * <p>
+ * Fragments are rendered with the application's {@link ObjectMapper}, the one serializing the responses that do not
+ * come from the snapshot, so its customizations (naming strategy, inclusion, escaping) apply to both alike.
+ */
+@Component
+public class StoreJsonFragment {
+
+    /**
+     * Distance rendered in place of the real one, and cut off again. Unlike {@code null} it is written whatever the
+     * mapper's inclusion rules, and no real distance is ever this small.
+     */
+    private static final double DISTANCE_PLACEHOLDER = Double.MIN_VALUE;
+
+    private static final byte[] DISTANCE_VALUE =
+            (Double.toString(DISTANCE_PLACEHOLDER) + "}").getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final StoreFieldWriter storeFieldWriter;
+
+    public StoreJsonFragment(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.storeFieldWriter = new StoreFieldWriter(objectMapper);
+    }
+
+    /**
+     * @param store the store to render
+     * @return the store's JSON up to the distance value
+     */
+    public byte[] render(Store store) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(store.toDTO(DISTANCE_PLACEHOLDER));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render store " + store.getUuid(), e);
+        }
+        return toFragment(json, store);
+    }
+
+    /**
+     * @param store the store to render
+     * @return the store's compact JSON up to the distance value
+     */
+    public byte[] renderCompact(Store store) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(128);
+        try (JsonGenerator generator = objectMapper.createGenerator(json)) {
+            storeFieldWriter.write(generator, store.toDTO(DISTANCE_PLACEHOLDER), StoreFieldSet.COMPACT);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not render store " + store.getUuid(), e);
+        }
+        return toFragment(json.toByteArray(), store);
+    }
+
+    private static byte[] toFragment(byte[] json, Store store) {
+        int fragmentLength = json.length - DISTANCE_VALUE.length;
+        if (fragmentLength < 1
+                || !Arrays.equals(json, fragmentLength, json.length, DISTANCE_VALUE, 0, DISTANCE_VALUE.length)
+                || json[fragmentLength - 1] != ':') {
+            throw new IllegalStateException("Store JSON does not end with the distance: " + store.getUuid());
+        }
+        return Arrays.copyOf(json, fragmentLength);
+    }
+}
@@ -0,0 +1,378 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.model.UnitVector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Immutable, versioned view of every store, indexed for lookups that must not reach the database.
+ * The stores it holds are shared between request threads and must not be modified.
+ */
+public final class StoreSnapshot {
+
+    // Without stores there is nothing to render
+    private static final StoreSnapshot EMPTY = of(0, List.of(), null);
+
+    /**
+     * Monotonic version, bumped whenever the content changes.
+     */
+    @Getter
+    private final long version;
+
+    /**
+     * Order-independent hash of the content of every store; equal on every node holding the same data.
+     */
+    @Getter
+    private final long fingerprint;
+
+    @Getter
+    private final List<Store> stores;
+
+    private final long[] contentHashes;
+    private final byte[][] jsonFragments;
+    private final byte[][] compactJsonFragments;
+    private final double[] unitVectors;
+    private final UuidIndex uuidIndex;
+    private final GeoGridIndex geoGridIndex;
+
+    private StoreSnapshot(
+            long version,
+            List<Store> stores,
+            long[] contentHashes,
+            byte[][] jsonFragments,
+            byte[][] compactJsonFragments,
+            double[] unitVectors,
+            long fingerprint,
+            UuidIndex uuidIndex,
+            GeoGridIndex geoGridIndex) {
+        this.version = version;
+        this.stores = Collections.unmodifiableList(stores);
+        this.contentHashes = contentHashes;
+        this.jsonFragments = jsonFragments;
+        this.compactJsonFragments = compactJsonFragments;
+        this.unitVectors = unitVectors;
+        this.fingerprint = fingerprint;
+        this.uuidIndex = uuidIndex;
+        this.geoGridIndex = geoGridIndex;
+    }
+
+    public static StoreSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param version   the version of the snapshot
+     * @param stores    every store
+     * @param fragments renders the stores' JSON fragments
+     * @return the snapshot
+     */
+    public static StoreSnapshot of(long version, List<Store> stores, StoreJsonFragment fragments) {
+        List<Store> copy = new ArrayList<>(stores);
+        long[] contentHashes = new long[copy.size()];
+        byte[][] jsonFragments = new byte[copy.size()][];
+        byte[][] compactJsonFragments = new byte[copy.size()][];
+        double[] unitVectors = new double[copy.size() * 3];
+        GeoGridIndex.Editor grid = GeoGridIndex.empty().edit();
+        long fingerprint = 0;
+
+        for (int position = 0; position < copy.size(); position++) {
+            Store store = copy.get(position);
+            contentHashes[position] = StoreContentHash.of(store);
+            fingerprint += fingerprintTerm(contentHashes[position]);
+            jsonFragments[position] = fragments.render(store);
+            compactJsonFragments[position] = fragments.renderCompact(store);
+            writeUnitVector(unitVectors, position, store);
+            grid.add(
+                    position,
+                    store.getLatitude().doubleValue(),
+                    store.getLongitude().doubleValue());
+        }
+
+        return new StoreSnapshot(
+                version,
+                copy,
+                contentHashes,
+                jsonFragments,
+                compactJsonFragments,
+                unitVectors,
+                fingerprint,
+                UuidIndex.of(copy.stream().map(Store::getUuid).toList()),
+                grid.build());
+    }
+
+    /**
+     * Computes the fingerprint a snapshot of the given stores would have, without rendering or indexing them.
+     * Comparing it with the current snapshot's tells whether a reloaded store list is worth building.
+     *
+     * @param stores every store
+     * @return the order-independent hash of the content of the stores
+     */
+    public static long fingerprintOf(Collection<Store> stores) {
+        long fingerprint = 0;
+        for (Store store : stores) {
+            fingerprint += fingerprintTerm(StoreContentHash.of(store));
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @param version the version of the new snapshot
+     * @return a snapshot with the same content at another version, sharing this snapshot's indexes
+     */
+    StoreSnapshot withVersion(long version) {
+        return new StoreSnapshot(
+                version,
+                stores,
+                contentHashes,
+                jsonFragments,
+                compactJsonFragments,
+                unitVectors,
+                fingerprint,
+                uuidIndex,
+                geoGridIndex);
+    }
+
+    /**
+     * Derives a new snapshot by applying changes to this one, without rebuilding it: only the indexes entries of
+     * the changed stores are touched. A deleted store's position is taken over by the last store.
+     *
+     * @param version      the version of the new snapshot
+     * @param upserts      stores to add, or to replace when their UUID is already present
+     * @param deletedUuids UUIDs of the stores to remove; unknown UUIDs are ignored
+     * @param fragments    renders the JSON fragments of the upserted stores
+     * @return the new snapshot
+     */
+    public StoreSnapshot apply(
+            long version, Collection<Store> upserts, Collection<String> deletedUuids, StoreJsonFragment fragments) {
+        List<Store> newStores = new ArrayList<>(stores);
+        long[] newHashes = Arrays.copyOf(contentHashes, contentHashes.length + upserts.size());
+        byte[][] newFragments = Arrays.copyOf(jsonFragments, jsonFragments.length + upserts.size());
+        byte[][] newCompactFragments =
+                Arrays.copyOf(compactJsonFragments, compactJsonFragments.length + upserts.size());
+        double[] newVectors = Arrays.copyOf(unitVectors, unitVectors.length + upserts.size() * 3);
+        UuidIndex.Editor uuids = uuidIndex.edit();
+        GeoGridIndex.Editor grid = geoGridIndex.edit();
+        long newFingerprint = fingerprint;
+
+        for (String uuid : deletedUuids) {
+            int position = uuids.positionOf(uuid);
+            if (position < 0) {
+                continue;
+            }
+            int last = newStores.size() - 1;
+            Store removed = newStores.get(position);
+            Store moved = newStores.get(last);
+            newFingerprint -= fingerprintTerm(newHashes[position]);
+            grid.remove(
+                    position,
+                    removed.getLatitude().doubleValue(),
+                    removed.getLongitude().doubleValue());
+            uuids.remove(uuid);
+
+            if (position != last) {
+                grid.remove(
+                        last,
+                        moved.getLatitude().doubleValue(),
+                        moved.getLongitude().doubleValue());
+                grid.add(
+                        position,
+                        moved.getLatitude().doubleValue(),
+                        moved.getLongitude().doubleValue());
+                uuids.put(moved.getUuid(), position);
+                newStores.set(position, moved);
+                newHashes[position] = newHashes[last];
+                newFragments[position] = newFragments[last];
+                newCompactFragments[position] = newCompactFragments[last];
+                System.arraycopy(newVectors, last * 3, newVectors, position * 3, 3);
+            }
+            newStores.remove(last);
+        }
+
+        for (Store store : upserts) {
+            int position = uuids.positionOf(store.getUuid());
+            if (position >= 0) {
+                Store previous = newStores.get(position);
+                newFingerprint -= fingerprintTerm(newHashes[position]);
+                grid.remove(
+                        position,
+                        previous.getLatitude().doubleValue(),
+                        previous.getLongitude().doubleValue());
+                newStores.set(position, store);
+            } else {
+                position = newStores.size();
+                newStores.add(store);
+                uuids.put(store.getUuid(), position);
+            }
+            newHashes[position] = StoreContentHash.of(store);
+            newFingerprint += fingerprintTerm(newHashes[position]);
+            newFragments[position] = fragments.render(store);
+            newCompactFragments[position] = fragments.renderCompact(store);
+            writeUnitVector(newVectors, position, store);
+            grid.add(
+                    position,
+                    store.getLatitude().doubleValue(),
+                    store.getLongitude().doubleValue());
+        }
+
+        int size = newStores.size();
+        return new StoreSnapshot(
+                version,
+                newStores,
+                Arrays.copyOf(newHashes, size),
+                Arrays.copyOf(newFragments, size),
+                Arrays.copyOf(newCompactFragments, size),
+                Arrays.copyOf(newVectors, size * 3),
+                newFingerprint,
+                uuids.build(),
+                grid.build());
+    }
+
+    /**
+     * @param uuid the store UUID
+     * @return the store and its content hash, or empty when no store has this UUID
+     */
+    public Optional<Entry> find(String uuid) {
+        int position = uuidIndex.positionOf(uuid);
+        if (position < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(entry(position));
+    }
+
+    /**
+     * Finds the stores closest to a point.
+     * Candidates are compared by the dot product of precomputed unit vectors and only taken from the grid cells
+     * around the point; the search falls back to ranking every store when the neighbourhood is too sparse.
+     *
+     * @param latitude  latitude of the origin
+     * @param longitude longitude of the origin
+     * @param limit     the number of stores to return
+     * @return the nearest stores ordered by ascending distance
+     */
+    public List<Store> findNearest(double latitude, double longitude, int limit) {
+        int[] positions = nearestPositions(latitude, longitude, limit, NearestSearchObserver.NONE);
+        Store[] nearest = new Store[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            nearest[i] = stores.get(positions[i]);
+        }
+        return List.of(nearest);
+    }
+
+    /**
+     * Same as {@link #findNearest(double, double, int)}, returning the snapshot entries of the stores.
+     */
+    public List<Entry> findNearestEntries(double latitude, double longitude, int limit) {
+        return findNearestEntries(latitude, longitude, limit, NearestSearchObserver.NONE);
+    }
+
+    /**
+     * Same as {@link #findNearestEntries(double, double, int)}, reporting the cost of the search to an observer.
+     */
+    public List<Entry> findNearestEntries(
+            double latitude, double longitude, int limit, NearestSearchObserver observer) {
+        int[] positions = nearestPositions(latitude, longitude, limit, observer);
+        Entry[] nearest = new Entry[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            nearest[i] = entry(positions[i]);
+        }
+        return List.of(nearest);
+    }
+
+    private int[] nearestPositions(double latitude, double longitude, int limit, NearestSearchObserver observer) {
+        if (limit <= 0 || stores.isEmpty()) {
+            observer.searched(0, false);
+            return new int[0];
+        }
+        UnitVector origin = UnitVector.of(latitude, longitude);
+        NearestCollector collector = new NearestCollector(Math.min(limit, stores.size()));
+
+        if (limit < stores.size()) {
+            for (int ring = 0; ; ring++) {
+                // A ring of 8r cells costs more than ranking the whole snapshot once it exceeds the occupied cells
+                if (8L * ring > geoGridIndex.cellCount()
+                        || !geoGridIndex.visitRing(
+                                latitude,
+                                longitude,
+                                ring,
+                                position -> collector.offer(position, dot(position, origin)))) {
+                    collector.clear();
+                    break;
+                }
+                if (collector.isFull()
+                        && collector.lowestDot() >= Math.cos(GeoGridIndex.minimumAngleBeyond(latitude, ring))) {
+                    observer.searched(collector.offered(), false);
+                    return collector.drain();
+                }
+            }
+        }
+
+        for (int position = 0; position < stores.size(); position++) {
+            collector.offer(position, dot(position, origin));
+        }
+        observer.searched(collector.offered(), true);
+        return collector.drain();
+    }
+
+    public int size() {
+        return stores.size();
+    }
+
+    /**
+     * @return the number of non-empty cells in the grid index
+     */
+    int gridCellCount() {
+        return geoGridIndex.cellCount();
+    }
+
+    public boolean isEmpty() {
+        return stores.isEmpty();
+    }
+
+    private Entry entry(int position) {
+        return new Entry(
+                stores.get(position), contentHashes[position], jsonFragments[position], compactJsonFragments[position]);
+    }
+
+    private double dot(int position, UnitVector origin) {
+        int offset = position * 3;
+        return unitVectors[offset] * origin.x()
+                + unitVectors[offset + 1] * origin.y()
+                + unitVectors[offset + 2] * origin.z();
+    }
+
+    private static void writeUnitVector(double[] unitVectors, int position, Store store) {
+        UnitVector unitVector = store.unitVector();
+        unitVectors[position * 3] = unitVector.x();
+        unitVectors[position * 3 + 1] = unitVector.y();
+        unitVectors[position * 3 + 2] = unitVector.z();
+    }
+
+    private static long fingerprintTerm(long contentHash) {
+        return StoreContentHash.combine(StoreContentHash.emptyHash(), contentHash);
+    }
+
+    /**
+     * A store together with the hash of its content and its pre-rendered JSON.
+     *
+     * @param jsonFragment        the store's JSON representation up to the distance value, see
+     *                            {@link StoreJsonFragment}; shared with every reader and must not be modified.
+     *                            {@code null} for stores read outside a snapshot
+     * @param compactJsonFragment the same for the compact representation
+     */
+    public record Entry(Store store, long contentHash, byte[] jsonFragment, byte[] compactJsonFragment) {
+
+        /**
+         * @param store a store read outside any snapshot
+         * @return the store with its content hash, without pre-rendered JSON
+         */
+        public static Entry of(Store store) {
+            return new Entry(store, StoreContentHash.of(store), null, null);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.jumbo.store.domain.snapshot;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for building a {@link StoreSnapshot} and its indexes, either from every store or by applying
+ * written stores to the current one. Disabled unless a recording enables it, see {@code jfr/store-service.jfc}.
+ */
+@Name(StoreSnapshotBuildEvent.NAME)
+@Label("Store Snapshot Build")
+@Category({"Store Service", "Snapshot"})
+@Description("A store snapshot rebuilt from every store, or patched with written stores, with its indexes")
+@Enabled(false)
+@StackTrace(false)
+final class StoreSnapshotBuildEvent extends Event {
+
+    static final String NAME = "com.jumbo.store.StoreSnapshotBuild";
+
+    @Label("Incremental")
+    @Description("Whether written stores were applied to the current snapshot instead of rebuilding it")
+    boolean incremental;
+
+    @Label("Version")
+    long version;
+
+    @Label("Stores")
+    int stores;
+
+    @Label("Upserts")
+    int upserts;
+
+    @Label("Deletes")
+    int deletes;
+
+    @Label("Grid Cells")
+    int gridCells;
+
+    @Label("Installed")
+    @Description("Whether the snapshot replaced the current one; a reload with unchanged content is discarded on its"
+            + " fingerprint and describes the snapshot kept")
+    boolean installed;
+
+    /**
+     * Ends the event for a snapshot rebuilt from every store and commits it.
+     */
+    void commitRebuild(StoreSnapshot snapshot, boolean replaced) {
+        end();
+        if (shouldCommit()) {
+            describe(snapshot);
+            installed = replaced;
+            commit();
+        }
+    }
+
+    /**
+     * Ends the event for written stores applied to the current snapshot and commits it.
+     */
+    void commitPatch(StoreSnapshot snapshot, int upsertCount, int deleteCount) {
+        end();
+        if (shouldCommit()) {
+            describe(snapshot);
+            incremental = true;
+            upserts = upsertCount;
+            deletes = deleteCount;
+            installed = true;
+            commit();
+        }
+    }
+
+    private void describe(StoreSnapshot snapshot) {
+        version = snapshot.getVersion();
+        stores = snapshot.size();
+        gridCells = snapshot.gridCellCount();
+    }
+}
@@ -0,0 +1,159 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreSnapshotProperties;
+import com.jumbo.store.domain.event.StoresChangedEvent;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces snapshot versions to the other nodes over Redis pub/sub and reacts to their announcements.
+ * Every change takes its version from a shared Redis counter and is announced with the UUIDs of the changed stores.
+ * A node receiving an announcement loads only those rows, from the primary (see {@link StoreChangeLoader}), and applies
+ * the ones it does not hold yet, so a version is only adopted together with the data it stands for. Announcements are
+ * handled one at a time on a dedicated thread, never on the Redis listener thread.
+ * Changes too large to list, such as an import, are announced without UUIDs and make the nodes reload every store.
+ */
+@Component
+@ConditionalOnProperty(name = "store.snapshot.bus.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StoreSnapshotBus implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final StoreSnapshotHolder storeSnapshotHolder;
+    private final StoreChangeLoader storeChangeLoader;
+    private final StoreSnapshotProperties storeSnapshotProperties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService catchUpExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("store-snapshot-bus").daemon().factory());
+
+    public String getChannel() {
+        return storeSnapshotProperties.bus().channel();
+    }
+
+    /**
+     * Reserves the version of a change about to be applied.
+     *
+     * @return the new cluster-wide version, or empty when Redis is unavailable
+     */
+    public OptionalLong nextVersion() {
+        try {
+            Long version = redisTemplate
+                    .opsForValue()
+                    .increment(storeSnapshotProperties.bus().versionKey());
+            return version == null ? OptionalLong.empty() : OptionalLong.of(version);
+        } catch (DataAccessException e) {
+            log.warn("Could not reserve a snapshot version: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Reads the latest cluster-wide version. Data loaded after this call is at least as recent as that version.
+     *
+     * @return the latest version (0 before the first change), or empty when Redis is unavailable
+     */
+    public OptionalLong latestVersion() {
+        try {
+            String version = redisTemplate
+                    .opsForValue()
+                    .get(storeSnapshotProperties.bus().versionKey());
+            return OptionalLong.of(version == null ? 0 : Long.parseLong(version));
+        } catch (DataAccessException | NumberFormatException e) {
+            log.warn("Could not read the snapshot version: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Tells the other nodes that the given version is available.
+     * A lost announcement is not fatal: the scheduled refresh catches up.
+     *
+     * @param version      the version reserved for the change
+     * @param changedUuids the UUIDs of the stores written or deleted by the change
+     */
+    public void announce(long version, Collection<String> changedUuids) {
+        List<String> uuids = changedUuids.size() > storeSnapshotProperties.bus().maxAnnouncedChanges()
+                ? null
+                : List.copyOf(changedUuids);
+        try {
+            redisTemplate.convertAndSend(
+                    storeSnapshotProperties.bus().channel(),
+                    objectMapper.writeValueAsString(new Announcement(version, uuids)));
+            log.debug("Announced store snapshot version {} with {} changes", version, changedUuids.size());
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not announce store snapshot version {}: {}", version, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        Announcement announcement;
+        try {
+            announcement = objectMapper.readValue(body, Announcement.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed snapshot version announcement '{}'", body);
+            return;
+        }
+        try {
+            catchUpExecutor.execute(() -> onAnnounced(announcement));
+        } catch (RejectedExecutionException e) {
+            log.debug("Ignoring snapshot version {} announced while shutting down", announcement.version());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        catchUpExecutor.shutdownNow();
+    }
+
+    /**
+     * Applies the stores changed by an announced version that this node does not hold yet.
+     * The node that wrote the change, or one that already picked it up through a refresh, finds nothing to apply.
+     */
+    void onAnnounced(Announcement announcement) {
+        long version = announcement.version();
+        try {
+            if (announcement.uuids() == null) {
+                log.debug("Reloading every store for store snapshot version {}", version);
+                storeSnapshotHolder.install(storeChangeLoader.loadAll(), version);
+                return;
+            }
+            StoresChangedEvent changes = storeChangeLoader.load(announcement.uuids(), storeSnapshotHolder.current());
+            log.debug(
+                    "Catching up with store snapshot version {}: {} upserts and {} deletes",
+                    version,
+                    changes.upserts().size(),
+                    changes.deletedUuids().size());
+            storeSnapshotHolder.apply(changes.upserts(), changes.deletedUuids(), version);
+        } catch (DataAccessException e) {
+            // Keep the held version: the scheduled refresh catches up
+            log.warn("Could not catch up with store snapshot version {}: {}", version, e.getMessage());
+        }
+    }
+
+    /**
+     * A version announced on the channel.
+     *
+     * @param version the cluster-wide version of the change
+     * @param uuids   the UUIDs of the changed stores, or {@code null} when the change was too large to list them
+     */
+    record Announcement(long version, List<String> uuids) {}
+}
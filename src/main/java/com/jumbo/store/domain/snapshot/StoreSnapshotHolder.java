@@ -0,0 +1,174 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.jumbo.store.domain.model.Store;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link StoreSnapshot}.
+ * Readers get the snapshot with a single volatile read and keep using it for the whole request, so a concurrent
+ * refresh never exposes a half-built index. Writers are serialized by a {@link ReentrantLock} rather than a monitor:
+ * a virtual thread waiting for a concurrent write unmounts instead of pinning its carrier thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StoreSnapshotHolder {
+
+    private final StoreJsonFragment storeJsonFragment;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile StoreSnapshot current = StoreSnapshot.empty();
+    private volatile long refreshedAtNanos = System.nanoTime();
+
+    public StoreSnapshot current() {
+        return current;
+    }
+
+    /**
+     * @return the time since the snapshot was last installed, confirmed unchanged by a refresh, or written to
+     */
+    public Duration timeSinceRefresh() {
+        return Duration.ofNanos(System.nanoTime() - refreshedAtNanos);
+    }
+
+    /**
+     * Replaces the snapshot with the given stores.
+     * The version is only bumped when the content actually changed, so unchanged refreshes keep clients' ETags valid.
+     * Unchanged content is recognised by its fingerprint before anything is rendered or indexed.
+     *
+     * @param stores every store
+     * @return the snapshot in effect after the call
+     */
+    public StoreSnapshot install(List<Store> stores) {
+        writeLock.lock();
+        try {
+            StoreSnapshotBuildEvent event = new StoreSnapshotBuildEvent();
+            event.begin();
+            refreshedAtNanos = System.nanoTime();
+            if (hasSameContent(stores)) {
+                event.commitRebuild(current, false);
+                log.debug("Store snapshot unchanged at version {}", current.getVersion());
+                return current;
+            }
+            StoreSnapshot candidate = StoreSnapshot.of(current.getVersion() + 1, stores, storeJsonFragment);
+            current = candidate;
+            event.commitRebuild(candidate, true);
+            log.info("Installed store snapshot version {} with {} stores", candidate.getVersion(), candidate.size());
+            return candidate;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the given stores, loaded at a cluster-wide version.
+     * The version never goes backwards, and neither does the content: stores loaded for an older version than the one
+     * held are ignored, as the held snapshot may already have been patched with changes the load predates.
+     *
+     * @param stores  every store
+     * @param version the cluster-wide version the stores were loaded at
+     * @return the snapshot in effect after the call
+     */
+    public StoreSnapshot install(List<Store> stores, long version) {
+        writeLock.lock();
+        try {
+            if (version < current.getVersion()) {
+                log.debug(
+                        "Ignoring stores loaded at version {}, older than store snapshot version {}",
+                        version,
+                        current.getVersion());
+                return current;
+            }
+            StoreSnapshotBuildEvent event = new StoreSnapshotBuildEvent();
+            event.begin();
+            refreshedAtNanos = System.nanoTime();
+            if (hasSameContent(stores)) {
+                if (version == current.getVersion()) {
+                    event.commitRebuild(current, false);
+                    log.debug("Store snapshot unchanged at version {}", current.getVersion());
+                    return current;
+                }
+                // Same content at a newer version: only the version moves, the indexes are kept
+                current = current.withVersion(version);
+                event.commitRebuild(current, true);
+                log.debug("Store snapshot unchanged, now at version {}", version);
+                return current;
+            }
+            StoreSnapshot candidate = StoreSnapshot.of(version, stores, storeJsonFragment);
+            current = candidate;
+            event.commitRebuild(candidate, true);
+            log.info("Installed store snapshot version {} with {} stores", candidate.getVersion(), candidate.size());
+            return candidate;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies written stores to the snapshot incrementally, without reloading or re-indexing every store.
+     *
+     * @param upserts      stores created or updated
+     * @param deletedUuids UUIDs of deleted stores
+     * @return the snapshot in effect after the call
+     */
+    public StoreSnapshot apply(Collection<Store> upserts, Collection<String> deletedUuids) {
+        if (upserts.isEmpty() && deletedUuids.isEmpty()) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            return apply(upserts, deletedUuids, current.getVersion() + 1);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies written stores to the snapshot incrementally at a cluster-wide version.
+     * Changes applied out of order keep the highest version seen. Without any store to apply, the snapshot already
+     * holds the change and only adopts the version.
+     *
+     * @param upserts      stores created or updated
+     * @param deletedUuids UUIDs of deleted stores
+     * @param version      the cluster-wide version reserved for the change
+     * @return the snapshot in effect after the call
+     */
+    public StoreSnapshot apply(Collection<Store> upserts, Collection<String> deletedUuids, long version) {
+        if (upserts.isEmpty() && deletedUuids.isEmpty() && version <= current.getVersion()) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            if (upserts.isEmpty() && deletedUuids.isEmpty()) {
+                if (version > current.getVersion()) {
+                    current = current.withVersion(version);
+                }
+                return current;
+            }
+            StoreSnapshotBuildEvent event = new StoreSnapshotBuildEvent();
+            event.begin();
+            StoreSnapshot candidate =
+                    current.apply(Math.max(version, current.getVersion()), upserts, deletedUuids, storeJsonFragment);
+            current = candidate;
+            refreshedAtNanos = System.nanoTime();
+            event.commitPatch(candidate, upserts.size(), deletedUuids.size());
+            log.debug(
+                    "Applied {} upserts and {} deletes to store snapshot version {}",
+                    upserts.size(),
+                    deletedUuids.size(),
+                    candidate.getVersion());
+            return candidate;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean hasSameContent(List<Store> stores) {
+        return stores.size() == current.size() && StoreSnapshot.fingerprintOf(stores) == current.getFingerprint();
+    }
+}
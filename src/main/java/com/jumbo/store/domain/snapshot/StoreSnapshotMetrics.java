@@ -0,0 +1,42 @@
+package com.jumbo.store.domain.snapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the state of the current {@link StoreSnapshot}: its size ({@value #SIZE_METRIC}), version
+ * ({@value #VERSION_METRIC}) and the time since it was last refreshed or written to ({@value #AGE_METRIC}).
+ * A growing age means refreshes are failing and the service is answering from stale stores.
+ */
+@Component
+@RequiredArgsConstructor
+public class StoreSnapshotMetrics implements MeterBinder {
+
+    static final String SIZE_METRIC = "store.snapshot.size";
+    static final String VERSION_METRIC = "store.snapshot.version";
+    static final String AGE_METRIC = "store.snapshot.age";
+
+    private final StoreSnapshotHolder storeSnapshotHolder;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(SIZE_METRIC, storeSnapshotHolder, holder -> holder.current()
+                        .size())
+                .description("Stores in the current snapshot")
+                .baseUnit("stores")
+                .register(registry);
+        Gauge.builder(VERSION_METRIC, storeSnapshotHolder, holder -> holder.current()
+                        .getVersion())
+                .description("Version of the current snapshot")
+                .register(registry);
+        TimeGauge.builder(AGE_METRIC, storeSnapshotHolder, TimeUnit.MILLISECONDS, holder -> holder.timeSinceRefresh()
+                        .toMillis())
+                .description("Time since the snapshot was last refreshed or written to")
+                .register(registry);
+    }
+}
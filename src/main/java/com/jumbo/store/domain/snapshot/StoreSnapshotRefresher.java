@@ -0,0 +1,101 @@
+package com.jumbo.store.domain.snapshot;
+
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Store;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Builds the store snapshot once the application is ready (after the data loader ran) and rebuilds it periodically.
+ * Stores are read with {@link StoreChangeLoader#loadAll()}, from the primary and bypassing the cached store list: a
+ * lagging replica, or a list cached before a write, would otherwise roll back changes the snapshot already holds.
+ * With the {@link StoreSnapshotBus} enabled, snapshots are installed at the cluster-wide version read before loading.
+ * A reloaded list with the content already held is discarded on its fingerprint, before anything is rendered or
+ * indexed. In database search mode no snapshot is held at all: the dataset need not fit in the heap, and searches
+ * and lookups by UUID are served by PostgreSQL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StoreSnapshotRefresher {
+
+    private final StoreChangeLoader storeChangeLoader;
+    private final StoreSnapshotHolder storeSnapshotHolder;
+    private final ObjectProvider<StoreSnapshotBus> storeSnapshotBus;
+    private final StoreSearchProperties storeSearchProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isEnabled()) {
+            log.info("Store snapshot disabled in {} search mode", storeSearchProperties.mode());
+            return;
+        }
+        refresh();
+    }
+
+    @Scheduled(
+            initialDelayString = "${store.snapshot.refresh-interval:60s}",
+            fixedDelayString = "${store.snapshot.refresh-interval:60s}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Reloads every store and installs a new snapshot when the content changed.
+     * When the stores cannot be loaded, the last known stores are kept: serving them is better than serving none.
+     *
+     * @return the snapshot in effect after the refresh
+     */
+    public StoreSnapshot refresh() {
+        StoreSnapshotBus bus = storeSnapshotBus.getIfAvailable();
+        if (bus == null) {
+            return refresh(storeSnapshotHolder::install);
+        }
+        // Without Redis the held version is kept rather than guessed
+        return refresh(bus.latestVersion().orElse(storeSnapshotHolder.current().getVersion()));
+    }
+
+    /**
+     * Reloads every store and installs them at a cluster-wide version.
+     *
+     * @param version the version the reloaded stores are at least as recent as
+     * @return the snapshot in effect after the refresh
+     */
+    public StoreSnapshot refresh(long version) {
+        return refresh(stores -> storeSnapshotHolder.install(stores, version));
+    }
+
+    /**
+     * @return whether a snapshot is held, that is whether searches and lookups by UUID are served from memory
+     */
+    private boolean isEnabled() {
+        return storeSearchProperties.mode() == StoreSearchProperties.Mode.MEMORY;
+    }
+
+    private StoreSnapshot refresh(Function<List<Store>, StoreSnapshot> installer) {
+        if (!isEnabled()) {
+            return storeSnapshotHolder.current();
+        }
+        List<Store> stores;
+        try {
+            stores = storeChangeLoader.loadAll();
+        } catch (DataAccessException | TransactionException e) {
+            StoreSnapshot current = storeSnapshotHolder.current();
+            log.warn(
+                    "Store list unavailable. Keeping store snapshot version {}: {}",
+                    current.getVersion(),
+                    e.getMessage());
+            return current;
+        }
+        return installer.apply(stores);
+    }
+}
@@ -0,0 +1,176 @@
+package com.jumbo.store.domain.snapshot;
+
+import java.util.List;
+
+/**
+ * Immutable open-addressing hash index from store UUID to its position in a snapshot.
+ * Uses linear probing over flat arrays at a load factor of at most 0.5, so a lookup is a hash, a few array reads
+ * and usually a single {@link String#equals(Object)}, without the node allocation of a {@link java.util.HashMap}.
+ */
+public final class UuidIndex {
+
+    private static final int NOT_FOUND = -1;
+
+    private final String[] keys;
+    private final int[] positions;
+    private final int size;
+
+    private UuidIndex(String[] keys, int[] positions, int size) {
+        this.keys = keys;
+        this.positions = positions;
+        this.size = size;
+    }
+
+    /**
+     * Indexes the given UUIDs by their position in the list. Blank UUIDs are skipped; for duplicates the last
+     * position wins.
+     *
+     * @param uuids the UUIDs in snapshot order
+     */
+    public static UuidIndex of(List<String> uuids) {
+        int capacity = capacityFor(uuids.size());
+        Editor editor = new Editor(new String[capacity], new int[capacity], 0);
+        for (int position = 0; position < uuids.size(); position++) {
+            String uuid = uuids.get(position);
+            if (uuid != null && !uuid.isBlank()) {
+                editor.put(uuid, position);
+            }
+        }
+        return editor.build();
+    }
+
+    /**
+     * @param uuid the UUID to look up
+     * @return the position of the store in the snapshot, or {@code -1} when it is not indexed
+     */
+    public int positionOf(String uuid) {
+        return lookup(keys, positions, uuid);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Starts a copy-on-write edit. The arrays are copied once; this index stays unchanged.
+     */
+    public Editor edit() {
+        return new Editor(keys.clone(), positions.clone(), size);
+    }
+
+    private static int lookup(String[] keys, int[] positions, String uuid) {
+        if (uuid == null) {
+            return NOT_FOUND;
+        }
+        int mask = keys.length - 1;
+        int slot = slotOf(uuid, mask);
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(uuid)) {
+                return positions[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    private static int capacityFor(int entries) {
+        return Integer.highestOneBit(Math.max(2, entries) * 2 - 1) << 1;
+    }
+
+    private static int slotOf(String uuid, int mask) {
+        int hash = uuid.hashCode();
+        // Spread the high bits, UUID strings often differ only in their last characters
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Mutable working copy of an index, turned back into an immutable index by {@link #build()}.
+     */
+    public static final class Editor {
+
+        private String[] keys;
+        private int[] positions;
+        private int size;
+
+        private Editor(String[] keys, int[] positions, int size) {
+            this.keys = keys;
+            this.positions = positions;
+            this.size = size;
+        }
+
+        /**
+         * @return the position currently mapped to the UUID, or {@code -1}
+         */
+        public int positionOf(String uuid) {
+            return lookup(keys, positions, uuid);
+        }
+
+        /**
+         * Maps a UUID to a position, replacing any previous position.
+         */
+        public Editor put(String uuid, int position) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = slotOf(uuid, mask);
+            while (keys[slot] != null && !keys[slot].equals(uuid)) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == null) {
+                size++;
+            }
+            keys[slot] = uuid;
+            positions[slot] = position;
+            return this;
+        }
+
+        /**
+         * Removes a UUID. Uses backward-shift deletion, so lookups never need tombstones.
+         */
+        public Editor remove(String uuid) {
+            int mask = keys.length - 1;
+            int slot = slotOf(uuid, mask);
+            while (keys[slot] != null && !keys[slot].equals(uuid)) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == null) {
+                return this;
+            }
+
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (keys[next] != null) {
+                int home = slotOf(keys[next], mask);
+                // Move the entry back when the hole lies on its probe path (between its home slot and its slot)
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    positions[hole] = positions[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = null;
+            size--;
+            return this;
+        }
+
+        public UuidIndex build() {
+            return new UuidIndex(keys, positions, size);
+        }
+
+        private void grow() {
+            String[] oldKeys = keys;
+            int[] oldPositions = positions;
+            keys = new String[oldKeys.length * 2];
+            positions = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    put(oldKeys[i], oldPositions[i]);
+                }
+            }
+        }
+    }
+}
@@ -17,4 +17,6 @@ public class MessageHelper {
     public static final String VALIDATION_ERROR = "validation.error";
     public static final String DATABASE_CONNECTION_ERROR = "database.connection.error";
     public static final String DATABASE_ERROR = "database.error";
+    public static final String TOO_MANY_REQUESTS = "too.many.requests";
+    public static final String RATE_LIMIT_EXCEEDED = "rate.limit.exceeded";
 }
@@ -0,0 +1,153 @@
+package com.jumbo.store.security;
+
+import com.jumbo.store.configuration.JwtKeySetProperties;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The identity service's public keys, parsed ahead of time and looked up by {@code kid}.
+ * The set is loaded at startup and reloaded in the background, either periodically or when a token names a key
+ * this node does not know yet (a rotation), at most once per {@link JwtKeySetProperties#minRefreshInterval()}.
+ * Requests only ever read the current map: a failed reload keeps the previous keys, and a token with an unknown
+ * {@code kid} is rejected instead of waiting for the reload it triggered.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.jwks.enabled", havingValue = "true")
+@Slf4j
+public class JwtKeySet {
+
+    private final JwtKeySetProperties jwtKeySetProperties;
+    private final ResourceLoader resourceLoader;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshStartedAt;
+
+    public JwtKeySet(JwtKeySetProperties jwtKeySetProperties, ResourceLoader resourceLoader) {
+        if (jwtKeySetProperties.location() == null
+                || jwtKeySetProperties.location().isBlank()) {
+            throw new IllegalStateException("jwt.jwks.location is required when jwt.jwks.enabled is true");
+        }
+        this.jwtKeySetProperties = jwtKeySetProperties;
+        this.resourceLoader = resourceLoader;
+        this.lastRefreshStartedAt = System.nanoTime();
+        refresh();
+    }
+
+    /**
+     * @param kid the key ID from a token header
+     * @return the public key, empty if the set does not contain it (a reload is then requested)
+     */
+    public Optional<PublicKey> find(String kid) {
+        PublicKey key = kid != null ? keys.get(kid) : null;
+        if (key == null) {
+            requestRefresh();
+        }
+        return Optional.ofNullable(key);
+    }
+
+    @Scheduled(
+            initialDelayString = "${jwt.jwks.refresh-interval:5m}",
+            fixedDelayString = "${jwt.jwks.refresh-interval:5m}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Reloads the key set, keeping the current keys if it cannot be read or parsed.
+     *
+     * @return whether the set was reloaded
+     */
+    boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            Map<String, PublicKey> loaded = parse(fetch());
+            keys = loaded;
+            log.info("Loaded {} JWT verification keys from {}", loaded.size(), jwtKeySetProperties.location());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn(
+                    "Could not load JWT verification keys from {}: {}", jwtKeySetProperties.location(), e.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void requestRefresh() {
+        long now = System.nanoTime();
+        if (now - lastRefreshStartedAt
+                        < jwtKeySetProperties.minRefreshInterval().toNanos()
+                || refreshing.get()) {
+            return;
+        }
+        lastRefreshStartedAt = now;
+        Thread.ofVirtual().name("jwks-refresh").start(this::refresh);
+    }
+
+    private String fetch() throws IOException {
+        String location = jwtKeySetProperties.location();
+        if (location.startsWith("http://") || location.startsWith("https://")) {
+            return fetchOverHttp(URI.create(location));
+        }
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String fetchOverHttp(URI uri) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(jwtKeySetProperties.timeout())
+                .header("Accept", "application/jwk-set+json, application/json")
+                .GET()
+                .build();
+        try (HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(jwtKeySetProperties.timeout())
+                .build()) {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching the key set", e);
+        }
+    }
+
+    /**
+     * Parses a JWK set, keeping the public keys that have a {@code kid}. Unsupported key types are skipped.
+     */
+    static Map<String, PublicKey> parse(String json) {
+        JwkSet jwkSet = Jwks.setParser().ignoreUnsupported(true).build().parse(json);
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            Key key = jwk.toKey();
+            if (jwk.getId() != null && key instanceof PublicKey publicKey) {
+                parsed.put(jwk.getId(), publicKey);
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+}
@@ -1,35 +1,130 @@
 package com.jumbo.store.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jumbo.store.security.model.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 import javax.crypto.SecretKey;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 /**
  * JWT Token provider for authentication.
  * Generates and validates JWT tokens with roles and permissions.
+ * Tokens are either signed with the shared {@code jwt.secret} (HS256, as issued by this service) or, when
+ * {@code jwt.jwks.enabled} is set, with the identity service's RS256/ES256 keys from {@link JwtKeySet}.
+ * The signing key and the parser are built once. Verified tokens are remembered by their SHA-256 hash until their
+ * {@code exp}, so a client reusing its token pays one signature check for the token's lifetime instead of one per
+ * request; the raw tokens themselves are never kept.
+ * Rejections are just as cheap: strings that are not even shaped like a signed JWT are turned away without parsing,
+ * rejected tokens are remembered by hash so a token replayed in a flood is parsed once, and rejections are counted by
+ * reason and logged sampled (see {@link TokenRejections}) instead of once per request.
  */
 @Component
-@Slf4j
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong}")
-    private String jwtSecret;
+    private static final String HMAC_ALGORITHM_PREFIX = "HS";
 
-    @Value("${jwt.expiration:86400000}") // 24 hours
-    private long jwtExpiration;
+    /**
+     * Longest token considered for parsing, far above any token this service or the identity service issues.
+     */
+    private static final int MAX_TOKEN_LENGTH = 8192;
+
+    private static final Duration DEFAULT_REJECTION_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+    private final Cache<ByteBuffer, TokenRejections.Reason> rejectedTokens;
+    private final TokenRejections tokenRejections;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Autowired
+    public JwtTokenProvider(
+            @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong}") String jwtSecret,
+            @Value("${jwt.expiration:86400000}") long jwtExpiration, // 24 hours
+            @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheSize,
+            @Value("${jwt.rejection-log-interval:10s}") Duration rejectionLogInterval,
+            ObjectProvider<JwtKeySet> jwtKeySet,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(
+                jwtSecret,
+                jwtExpiration,
+                verifiedCacheSize,
+                jwtKeySet.getIfAvailable(),
+                new TokenRejections(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), rejectionLogInterval));
+    }
+
+    /**
+     * Creates a provider accepting HMAC-signed tokens only.
+     */
+    public JwtTokenProvider(String jwtSecret, long jwtExpiration, long verifiedCacheSize) {
+        this(jwtSecret, jwtExpiration, verifiedCacheSize, (JwtKeySet) null);
+    }
+
+    /**
+     * @param jwtKeySet the identity service's public keys, {@code null} to accept HMAC-signed tokens only
+     */
+    JwtTokenProvider(String jwtSecret, long jwtExpiration, long verifiedCacheSize, JwtKeySet jwtKeySet) {
+        this(
+                jwtSecret,
+                jwtExpiration,
+                verifiedCacheSize,
+                jwtKeySet,
+                new TokenRejections(new SimpleMeterRegistry(), DEFAULT_REJECTION_LOG_INTERVAL));
+    }
+
+    JwtTokenProvider(
+            String jwtSecret,
+            long jwtExpiration,
+            long verifiedCacheSize,
+            JwtKeySet jwtKeySet,
+            TokenRejections tokenRejections) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser =
+                Jwts.parser().keyLocator(new VerificationKeyLocator(jwtKeySet)).build();
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.<ByteBuffer, VerifiedToken>creating((hash, token) -> {
+                    Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+                    return remaining.isNegative() ? Duration.ZERO : remaining;
+                }))
+                .build();
+        // Expired or forged tokens never become valid; the size bound keeps a flood of distinct ones in check
+        this.rejectedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        this.tokenRejections = tokenRejections;
     }
 
     /**
@@ -55,10 +150,57 @@ public class JwtTokenProvider {
                 .claims(claims)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies a token and extracts what it grants, parsing it at most once per token lifetime.
+     * Only valid tokens carrying an expiration are remembered. Rejections never throw and are not logged one by one.
+     *
+     * @param token the JWT token, may be {@code null}
+     * @return the verified subject and authorities, empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+        if (!isCompactJws(token)) {
+            tokenRejections.record(TokenRejections.Reason.MALFORMED, "not a compact JWS");
+            return Optional.empty();
+        }
+        ByteBuffer hash = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        TokenRejections.Reason rejected = rejectedTokens.getIfPresent(hash);
+        if (rejected != null) {
+            tokenRejections.record(rejected, "token rejected before");
+            return Optional.empty();
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            verified = new VerifiedToken(
+                    claims.getSubject(), authorities(claims), expiration != null ? expiration.toInstant() : null);
+        } catch (JwtException | IllegalArgumentException e) {
+            TokenRejections.Reason reason = reason(e);
+            // The identity service may publish the key later on
+            if (reason != TokenRejections.Reason.UNKNOWN_KEY) {
+                rejectedTokens.put(hash, reason);
+            }
+            tokenRejections.record(reason, e.getMessage());
+            return Optional.empty();
+        }
+        if (verified.expiresAt() != null) {
+            verifiedTokens.put(hash, verified);
+        }
+        return Optional.of(verified);
+    }
+
     /**
      * Validates a JWT token signature and expiration.
      *
@@ -66,25 +208,14 @@ public class JwtTokenProvider {
      * @return true if token is valid, false otherwise
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     /**
      * Extracts username from JWT token.
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return parser.parseSignedClaims(token).getPayload().getSubject();
     }
 
     /**
@@ -95,12 +226,50 @@ public class JwtTokenProvider {
      * @return list of authorities (roles + scoped permissions)
      */
     public List<SimpleGrantedAuthority> getAuthoritiesFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return authorities(parser.parseSignedClaims(token).getPayload());
+    }
 
+    /**
+     * Checks the token has the shape of a compact JWS: three non-empty base64url segments separated by dots.
+     */
+    private static boolean isCompactJws(String token) {
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int dots = 0;
+        int segmentLength = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0 || ++dots > 2) {
+                    return false;
+                }
+                segmentLength = 0;
+            } else if ((c >= 'A' && c <= 'Z')
+                    || (c >= 'a' && c <= 'z')
+                    || (c >= '0' && c <= '9')
+                    || c == '-'
+                    || c == '_') {
+                segmentLength++;
+            } else {
+                return false;
+            }
+        }
+        return dots == 2 && segmentLength > 0;
+    }
+
+    private static TokenRejections.Reason reason(RuntimeException e) {
+        return switch (e) {
+            case ExpiredJwtException ignored -> TokenRejections.Reason.EXPIRED;
+            case SignatureException ignored -> TokenRejections.Reason.BAD_SIGNATURE;
+            case UnknownSigningKeyException ignored -> TokenRejections.Reason.UNKNOWN_KEY;
+            case UnsupportedJwtException ignored -> TokenRejections.Reason.UNSUPPORTED;
+            case MalformedJwtException ignored -> TokenRejections.Reason.MALFORMED;
+            default -> TokenRejections.Reason.INVALID;
+        };
+    }
+
+    private static List<SimpleGrantedAuthority> authorities(Claims claims) {
         @SuppressWarnings("unchecked")
         List<String> roles = claims.get("roles", List.class);
         @SuppressWarnings("unchecked")
@@ -118,4 +287,47 @@ public class JwtTokenProvider {
         return Stream.concat(roleAuthorities.stream(), permissionAuthorities.stream())
                 .toList();
     }
+
+    /**
+     * Picks the key by the token's algorithm: the shared secret for HS*, the identity service's key named by
+     * {@code kid} for RS256/ES256. The parser then rejects any key that does not fit the algorithm.
+     */
+    private final class VerificationKeyLocator extends LocatorAdapter<Key> {
+
+        private final JwtKeySet jwtKeySet;
+
+        private VerificationKeyLocator(JwtKeySet jwtKeySet) {
+            this.jwtKeySet = jwtKeySet;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String algorithm = header.getAlgorithm();
+            if (algorithm != null && algorithm.startsWith(HMAC_ALGORITHM_PREFIX)) {
+                return signingKey;
+            }
+            if (jwtKeySet == null) {
+                throw new UnsupportedJwtException("Asymmetrically signed tokens are not accepted: " + algorithm);
+            }
+            return jwtKeySet
+                    .find(header.getKeyId())
+                    .orElseThrow(() -> new UnknownSigningKeyException(header.getKeyId()));
+        }
+    }
+
+    private static final class UnknownSigningKeyException extends UnsupportedJwtException {
+
+        private UnknownSigningKeyException(String keyId) {
+            super("Unknown signing key: " + keyId);
+        }
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
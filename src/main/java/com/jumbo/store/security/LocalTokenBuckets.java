@@ -0,0 +1,48 @@
+package com.jumbo.store.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jumbo.store.configuration.StoreRateLimitProperties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets held in memory, without locks.
+ * A bucket is a single {@link AtomicLong}: the time at which it will be full again (the generic cell rate algorithm,
+ * equivalent to a token bucket). Taking a token moves that time one emission interval ahead with one compare-and-set,
+ * so concurrent requests of the same principal never block each other and other principals never contend at all.
+ * Buckets of principals idle for longer than it takes to refill them carry no state and may be evicted.
+ */
+class LocalTokenBuckets implements TokenBuckets {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    LocalTokenBuckets(int maxPrincipals) {
+        this(maxPrincipals, System::nanoTime);
+    }
+
+    LocalTokenBuckets(int maxPrincipals, LongSupplier nanoClock) {
+        this.buckets = Caffeine.newBuilder().maximumSize(maxPrincipals).build();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryConsume(String key, StoreRateLimitProperties.Quota quota) {
+        long interval = quota.emissionIntervalNanos();
+        long burst = interval * quota.capacity();
+        long now = nanoClock.getAsLong();
+        // A new bucket is full: it became full "now"
+        AtomicLong fullAt = buckets.get(key, ignored -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current - now, 0) + interval;
+            if (next > burst) {
+                return next - burst;
+            }
+            if (fullAt.compareAndSet(current, now + next)) {
+                return 0;
+            }
+        }
+    }
+}
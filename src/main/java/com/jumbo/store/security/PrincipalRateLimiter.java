@@ -0,0 +1,96 @@
+package com.jumbo.store.security;
+
+import com.jumbo.store.configuration.CircuitBreakerConfig;
+import com.jumbo.store.configuration.StoreRateLimitProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limits store requests by the authenticated principal, the subject of its JWT.
+ * Unauthenticated requests are not limited here: they are rejected by the security rules anyway.
+ */
+@Component
+@ConditionalOnProperty(name = "store.rate-limit.enabled", havingValue = "true")
+@Slf4j
+public class PrincipalRateLimiter {
+
+    private final StoreRateLimitProperties storeRateLimitProperties;
+    private final TokenBuckets tokenBuckets;
+
+    public PrincipalRateLimiter(
+            StoreRateLimitProperties storeRateLimitProperties,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            CircuitBreakerRegistry circuitBreakerRegistry) {
+        this(
+                storeRateLimitProperties,
+                createTokenBuckets(storeRateLimitProperties, redisTemplate, circuitBreakerRegistry));
+    }
+
+    PrincipalRateLimiter(StoreRateLimitProperties storeRateLimitProperties, TokenBuckets tokenBuckets) {
+        this.storeRateLimitProperties = storeRateLimitProperties;
+        this.tokenBuckets = tokenBuckets;
+    }
+
+    /**
+     * Takes one request from the principal's quota.
+     *
+     * @param authentication the request's authentication, may be {@code null}
+     * @return empty when the request may proceed, otherwise the seconds (rounded up) the principal should wait before
+     *     retrying
+     */
+    public OptionalLong tryAcquire(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return OptionalLong.empty();
+        }
+        String principal = authentication.getName();
+        long waitNanos = tokenBuckets.tryConsume(principal, quota(authentication));
+        if (waitNanos == 0) {
+            return OptionalLong.empty();
+        }
+        log.debug("Rate limited {} for {} ms", principal, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        return OptionalLong.of(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000));
+    }
+
+    /**
+     * @return the most generous quota among the principal's roles, the default quota when none has its own
+     */
+    StoreRateLimitProperties.Quota quota(Authentication authentication) {
+        StoreRateLimitProperties.Quota quota = null;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            StoreRateLimitProperties.Quota roleQuota =
+                    storeRateLimitProperties.roles().get(authority.getAuthority());
+            if (roleQuota != null && (quota == null || roleQuota.refillPerSecond() > quota.refillPerSecond())) {
+                quota = roleQuota;
+            }
+        }
+        return quota != null ? quota : storeRateLimitProperties.defaultQuota();
+    }
+
+    private static TokenBuckets createTokenBuckets(
+            StoreRateLimitProperties properties,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            CircuitBreakerRegistry circuitBreakerRegistry) {
+        LocalTokenBuckets local = new LocalTokenBuckets(properties.maxPrincipals());
+        if (properties.mode() == StoreRateLimitProperties.Mode.REDIS) {
+            CircuitBreaker circuitBreaker =
+                    circuitBreakerRegistry.circuitBreaker(CircuitBreakerConfig.RATE_LIMIT_REDIS_CIRCUIT_BREAKER);
+            circuitBreaker
+                    .getEventPublisher()
+                    .onStateTransition(event -> log.warn(
+                            "Redis rate limiting circuit breaker: {} -> {}",
+                            event.getStateTransition().getFromState(),
+                            event.getStateTransition().getToState()));
+            return new RedisTokenBuckets(redisTemplate.getObject(), properties.keyPrefix(), local, circuitBreaker);
+        }
+        return local;
+    }
+}
@@ -0,0 +1,59 @@
+package com.jumbo.store.security;
+
+import com.jumbo.store.domain.exception.RateLimitExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.OptionalLong;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Rate limits store requests once {@link JwtAuthenticationFilter} identified the principal.
+ * Rejections are answered by the regular exception handling, so they look like any other 429.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "store.rate-limit.enabled", havingValue = "true")
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String STORES_PATH = "/stores";
+
+    private final PrincipalRateLimiter principalRateLimiter;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public RateLimitFilter(
+            PrincipalRateLimiter principalRateLimiter,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        this.principalRateLimiter = principalRateLimiter;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + STORES_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        OptionalLong retryAfter = principalRateLimiter.tryAcquire(authentication);
+        if (retryAfter.isPresent()) {
+            handlerExceptionResolver.resolveException(
+                    request,
+                    response,
+                    null,
+                    new RateLimitExceededException(authentication.getName(), retryAfter.getAsLong()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,45 @@
+package com.jumbo.store.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * JWT authentication for the reactive stack, the WebFlux counterpart of {@link JwtAuthenticationFilter}.
+ * Not a bean on purpose: it only runs inside the security filter chain, see {@code ReactiveSecurityConfig}.
+ */
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider tokenProvider;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = getJwtFromRequest(exchange);
+        if (!StringUtils.hasText(jwt)) {
+            return chain.filter(exchange);
+        }
+        return tokenProvider
+                .verify(jwt)
+                .map(token -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                new UsernamePasswordAuthenticationToken(token.username(), null, token.authorities()))))
+                .orElseGet(() -> chain.filter(exchange));
+    }
+
+    private String getJwtFromRequest(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.jumbo.store.security;
+
+import java.util.OptionalLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limiting for the reactive stack, the WebFlux counterpart of {@link RateLimitFilter}.
+ * Not a bean on purpose: it only runs inside the security filter chain, after {@link ReactiveJwtAuthenticationFilter}.
+ */
+@RequiredArgsConstructor
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private static final String STORES_PATH = "/stores";
+
+    private final PrincipalRateLimiter principalRateLimiter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().pathWithinApplication().value().startsWith(STORES_PATH)) {
+            return chain.filter(exchange);
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> principalRateLimiter.tryAcquire(context.getAuthentication()))
+                .defaultIfEmpty(OptionalLong.empty())
+                .flatMap(retryAfter ->
+                        retryAfter.isPresent() ? reject(exchange, retryAfter.getAsLong()) : chain.filter(exchange));
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return response.setComplete();
+    }
+}
@@ -0,0 +1,58 @@
+package com.jumbo.store.security;
+
+import com.jumbo.store.configuration.StoreRateLimitProperties;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Token buckets shared by all nodes through Redis.
+ * Each take is one atomic Lua script ({@code redis/token-bucket.lua}) running the same algorithm as
+ * {@link LocalTokenBuckets} on the Redis clock, so nodes with skewed clocks still agree. When Redis is unavailable,
+ * the node falls back to its local buckets: principals keep being limited, per node, instead of failing their requests.
+ * Calls go through a circuit breaker: once Redis fails or times out often enough, requests use the local buckets right
+ * away instead of each waiting out the Redis command timeout, until a trial call finds Redis back.
+ */
+@Slf4j
+class RedisTokenBuckets implements TokenBuckets {
+
+    private static final RedisScript<Long> TOKEN_BUCKET =
+            RedisScript.of(new ClassPathResource("redis/token-bucket.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final TokenBuckets fallback;
+    private final CircuitBreaker circuitBreaker;
+
+    RedisTokenBuckets(
+            StringRedisTemplate redisTemplate, String keyPrefix, TokenBuckets fallback, CircuitBreaker circuitBreaker) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.fallback = fallback;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public long tryConsume(String key, StoreRateLimitProperties.Quota quota) {
+        long intervalMicros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(quota.emissionIntervalNanos()));
+        try {
+            Long waitMicros = circuitBreaker.executeSupplier(() -> redisTemplate.execute(
+                    TOKEN_BUCKET,
+                    List.of(keyPrefix + key),
+                    Long.toString(intervalMicros),
+                    Integer.toString(quota.capacity())));
+            return waitMicros == null ? 0 : TimeUnit.MICROSECONDS.toNanos(waitMicros);
+        } catch (CallNotPermittedException e) {
+            return fallback.tryConsume(key, quota);
+        } catch (DataAccessException e) {
+            log.debug("Rate limiting {} locally, Redis is unavailable: {}", key, e.getMessage());
+            return fallback.tryConsume(key, quota);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.jumbo.store.security;
+
+import com.jumbo.store.configuration.StoreRateLimitProperties;
+
+/**
+ * A set of token buckets, one per key.
+ */
+interface TokenBuckets {
+
+    /**
+     * Takes one token from the key's bucket, creating a full bucket for an unknown key.
+     *
+     * @param key   the bucket's key
+     * @param quota the bucket's size and refill rate
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryConsume(String key, StoreRateLimitProperties.Quota quota);
+}
@@ -0,0 +1,83 @@
+package com.jumbo.store.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts rejected tokens by reason ({@value #METRIC}, tag {@code reason}) and logs them sampled.
+ * Each reason is logged at most once per interval, with the number of rejections it stood for, so a flood of bad
+ * tokens costs a counter increment per request instead of a log line.
+ */
+@Slf4j
+class TokenRejections {
+
+    static final String METRIC = "jwt.tokens.rejected";
+
+    enum Reason {
+        /**
+         * Not a compact JWS, or not parseable.
+         */
+        MALFORMED,
+        EXPIRED,
+        BAD_SIGNATURE,
+        /**
+         * Signed with a key the identity service does not (or no longer) publish.
+         */
+        UNKNOWN_KEY,
+        /**
+         * Unsigned, encrypted or signed with an algorithm this service does not accept.
+         */
+        UNSUPPORTED,
+        INVALID
+    }
+
+    private final Map<Reason, Counter> counters = new EnumMap<>(Reason.class);
+    private final long logIntervalNanos;
+    private final AtomicLongArray nextLogAt;
+    private final AtomicLongArray suppressed;
+
+    TokenRejections(MeterRegistry meterRegistry, Duration logInterval) {
+        for (Reason reason : Reason.values()) {
+            counters.put(
+                    reason,
+                    Counter.builder(METRIC)
+                            .description("Bearer tokens rejected, by reason")
+                            .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                            .register(meterRegistry));
+        }
+        this.logIntervalNanos = logInterval.toNanos();
+        this.nextLogAt = new AtomicLongArray(Reason.values().length);
+        this.suppressed = new AtomicLongArray(Reason.values().length);
+        long now = System.nanoTime();
+        for (int i = 0; i < nextLogAt.length(); i++) {
+            nextLogAt.set(i, now);
+        }
+    }
+
+    /**
+     * @param reason why the token was rejected
+     * @param detail what the parser reported, logged only when this rejection is sampled
+     */
+    void record(Reason reason, String detail) {
+        counters.get(reason).increment();
+        int index = reason.ordinal();
+        long now = System.nanoTime();
+        long next = nextLogAt.get(index);
+        if (now - next < 0 || !nextLogAt.compareAndSet(index, next, now + logIntervalNanos)) {
+            suppressed.incrementAndGet(index);
+            return;
+        }
+        long others = suppressed.getAndSet(index, 0);
+        log.warn("Rejected JWT ({}): {} [{} more since the last report]", reason, detail, others);
+    }
+
+    long count(Reason reason) {
+        return (long) counters.get(reason).count();
+    }
+}
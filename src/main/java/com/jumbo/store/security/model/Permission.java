@@ -9,7 +9,8 @@ import lombok.RequiredArgsConstructor;
 @Getter
 @RequiredArgsConstructor
 public enum Permission {
-    READ_STORE("read:store");
+    READ_STORE("read:store"),
+    WRITE_STORE("write:store");
 
     private final String permission;
 
@@ -0,0 +1,14 @@
+package com.jumbo.store.security.model;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * What a successfully verified JWT grants.
+ *
+ * @param username    the token's subject
+ * @param authorities roles and {@code SCOPE_}-prefixed permissions
+ * @param expiresAt   the token's {@code exp}, {@code null} when it has none
+ */
+public record VerifiedToken(String username, List<SimpleGrantedAuthority> authorities, Instant expiresAt) {}
@@ -2,8 +2,17 @@ package com.jumbo.store.web.contract;
 
 import com.jumbo.store.web.dto.ErrorResponse;
 import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.StoreBulkDeleteRequest;
+import com.jumbo.store.web.dto.StoreBulkDeleteResponse;
+import com.jumbo.store.web.dto.StoreBulkRequest;
+import com.jumbo.store.web.dto.StoreBulkResponse;
+import com.jumbo.store.web.dto.StoreDTO;
+import com.jumbo.store.web.dto.StoreLookupRequest;
+import com.jumbo.store.web.dto.StoreLookupResponse;
+import com.jumbo.store.web.dto.StoreRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,15 +20,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
-import org.springframework.http.HttpStatus;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.service.annotation.DeleteExchange;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+import org.springframework.web.service.annotation.PutExchange;
 
 @HttpExchange
 @Tag(name = "Stores", description = "Store management endpoints")
+@ApiResponse(
+        responseCode = "409",
+        description = "Conflict",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
 @ApiResponse(
         responseCode = "400",
         description = "Bad request",
@@ -51,17 +74,22 @@ import org.springframework.web.service.annotation.HttpExchange;
 public interface StoreControllerContract {
 
     @GetExchange("/nearest")
-    @ResponseStatus(HttpStatus.OK)
     @Operation(
             summary = "Find nearest stores",
             description =
-                    "Returns the nearest stores to a given location based on latitude and longitude. Requires customer role with read:store permission.",
+                    "Returns the nearest stores to a given location based on latitude and longitude. The fields parameter trims each store down to the listed fields or to the compact profile. In memory search mode the response carries a weak ETag covering the store data and the normalized query, the same for every format; send it back in If-None-Match to get a 304 without any search running. JSON is the default; Accept: application/x-ndjson streams one store per line (nearest first, no count), and internal callers may ask for application/x-protobuf (schema: proto/stores.proto), application/cbor or application/x-jackson-smile through the Accept header. Requires customer role with read:store permission.",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
                         description = "Successfully retrieved nearest stores",
+                        headers = {
+                            @Header(
+                                    name = HttpHeaders.ETAG,
+                                    description = "Weak entity tag of the result (memory search mode only)"),
+                            @Header(name = HttpHeaders.CACHE_CONTROL, description = "How long the result may be reused")
+                        },
                         content =
                                 @Content(
                                         mediaType = "application/json",
@@ -117,9 +145,11 @@ public interface StoreControllerContract {
                                                     }
                                                     """)
                                         })),
+                @ApiResponse(responseCode = "304", description = "Result unchanged since the given ETag"),
                 @ApiResponse(
                         responseCode = "400",
-                        description = "Invalid latitude or longitude parameters",
+                        description =
+                                "Invalid latitude or longitude parameters, a limit above store.search.max-limit, or unknown field names",
                         content =
                                 @Content(
                                         mediaType = "application/json",
@@ -141,6 +171,18 @@ public interface StoreControllerContract {
                                                     }
                                                     """)
                                         })),
+                @ApiResponse(
+                        responseCode = "429",
+                        description =
+                                "Too many searches in progress - the request was shed before running; retry after the Retry-After delay",
+                        headers =
+                                @Header(
+                                        name = HttpHeaders.RETRY_AFTER,
+                                        description = "Seconds to wait before retrying"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(
                         responseCode = "401",
                         description = "Unauthorized - Invalid or missing JWT token",
@@ -238,14 +280,218 @@ public interface StoreControllerContract {
                                                     """)
                                         }))
             })
-    NearestStoresResponse findNearestStores(
+    ResponseEntity<NearestStoresResponse> findNearestStores(
             @Parameter(description = "Latitude coordinate (-90 to 90)", required = true, example = "52.3676")
                     @RequestParam
                     BigDecimal latitude,
             @Parameter(description = "Longitude coordinate (-180 to 180)", required = true, example = "4.9041")
                     @RequestParam
                     BigDecimal longitude,
-            @Parameter(description = "Maximum number of stores to return (default: 5)", example = "5")
+            @Parameter(
+                            description =
+                                    "Maximum number of stores to return (default: 5, at most store.search.max-limit)",
+                            example = "5")
                     @RequestParam(required = false, defaultValue = "5")
-                    Integer limit);
+                    Integer limit,
+            @Parameter(
+                            description =
+                                    "Store fields to return: 'compact' (uuid, addressName, latitude, longitude, distanceInKm) or a comma-separated list of field names (default: all fields)",
+                            example = "compact")
+                    @RequestParam(required = false)
+                    String fields,
+            @Parameter(description = "ETag of a previously received result")
+                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                    String ifNoneMatch);
+
+    @GetExchange("/{uuid}")
+    @Operation(
+            summary = "Get a store by UUID",
+            description =
+                    "Returns a single store. Served from the in-memory snapshot in memory search mode, without touching the database; in database search mode (store.search.mode=database) it is read from PostgreSQL through the unique uuid index. The response carries a weak ETag; send it back in If-None-Match to get a 304 when the store did not change. Also available as application/x-protobuf, application/cbor or application/x-jackson-smile. Requires customer role with read:store permission.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Store found",
+                        headers = @Header(name = HttpHeaders.ETAG, description = "Weak entity tag of the store"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = StoreDTO.class))),
+                @ApiResponse(responseCode = "304", description = "Store unchanged since the given ETag"),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "No store with this UUID",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponse.class),
+                                        examples = {
+                                            @ExampleObject(
+                                                    name = "storeNotFound",
+                                                    summary = "Unknown store",
+                                                    value =
+                                                            """
+                                                    {
+                                                      "status": "NOT_FOUND",
+                                                      "code": 404,
+                                                      "message": "Store not found.",
+                                                      "details": [
+                                                        "Store not found: 123e4567-e89b-12d3-a456-426614174000"
+                                                      ],
+                                                      "timestamp": "2025-01-15T14:33:45.123"
+                                                    }
+                                                    """)
+                                        }))
+            })
+    ResponseEntity<StoreDTO> getStore(
+            @Parameter(description = "Store UUID", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
+                    @PathVariable
+                    String uuid,
+            @Parameter(description = "ETag of a previously received representation")
+                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                    String ifNoneMatch);
+
+    @GetExchange("/lookup")
+    @Operation(
+            summary = "Get stores by UUID, conditionally",
+            description =
+                    "Returns up to 100 stores in request order, all from the same snapshot, or the same query in database search mode. Unknown UUIDs are listed in notFound. The response carries a weak ETag over the stores found and the unknown UUIDs; send it back in If-None-Match to get a 304 when none of them changed. Requires customer role with read:store permission.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Lookup completed",
+                        headers = @Header(name = HttpHeaders.ETAG, description = "Weak entity tag of the batch"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = StoreLookupResponse.class))),
+                @ApiResponse(responseCode = "304", description = "No store in the batch changed since the given ETag"),
+                @ApiResponse(responseCode = "400", description = "No UUID, or more than 100")
+            })
+    ResponseEntity<StoreLookupResponse> getStores(
+            @Parameter(
+                            description = "UUIDs to look up (1 to 100), as repeated parameters",
+                            required = true,
+                            example = "123e4567-e89b-12d3-a456-426614174000")
+                    @RequestParam("uuid")
+                    @NotEmpty
+                    @Size(max = StoreLookupRequest.MAX_UUIDS)
+                    List<String> uuids,
+            @Parameter(description = "ETag of a previously received batch")
+                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                    String ifNoneMatch);
+
+    @PostExchange("/lookup")
+    @Operation(
+            summary = "Get stores by UUID",
+            description =
+                    "Same as GET /stores/lookup, for clients that send the UUIDs in a body. POST responses are not conditional: use GET to revalidate a batch. Requires customer role with read:store permission.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Lookup completed",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = StoreLookupResponse.class)))
+            })
+    StoreLookupResponse lookupStores(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                            description = "UUIDs to look up (1 to 100)",
+                            required = true)
+                    @Valid
+                    @RequestBody
+                    StoreLookupRequest request);
+
+    @PostExchange
+    @Operation(
+            summary = "Create a store",
+            description =
+                    "Creates a store; a random UUID is assigned when none is given. The store is visible to lookups and nearest searches as soon as the request returns. Requires write:store permission.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "201",
+                        description = "Store created",
+                        headers = {
+                            @Header(name = HttpHeaders.LOCATION, description = "URL of the created store"),
+                            @Header(name = HttpHeaders.ETAG, description = "Weak entity tag of the store")
+                        },
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = StoreDTO.class))),
+                @ApiResponse(responseCode = "409", description = "A store with this UUID already exists")
+            })
+    ResponseEntity<StoreDTO> createStore(@Valid @RequestBody StoreRequest request);
+
+    @PutExchange("/{uuid}")
+    @Operation(
+            summary = "Update a store",
+            description = "Replaces every field of a store. Requires write:store permission.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Store updated",
+                        headers = @Header(name = HttpHeaders.ETAG, description = "Weak entity tag of the store"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = StoreDTO.class))),
+                @ApiResponse(responseCode = "404", description = "No store with this UUID")
+            })
+    ResponseEntity<StoreDTO> updateStore(
+            @Parameter(description = "Store UUID", required = true) @PathVariable String uuid,
+            @Valid @RequestBody StoreRequest request);
+
+    @DeleteExchange("/{uuid}")
+    @Operation(
+            summary = "Delete a store",
+            description = "Requires write:store permission.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "204", description = "Store deleted"),
+                @ApiResponse(responseCode = "404", description = "No store with this UUID")
+            })
+    ResponseEntity<Void> deleteStore(@Parameter(description = "Store UUID", required = true) @PathVariable String uuid);
+
+    @PostExchange("/bulk")
+    @Operation(
+            summary = "Create or update stores in bulk",
+            description =
+                    "Creates or updates up to 500 stores in one transaction, matched by UUID. Requires write:store permission.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(
+            responseCode = "200",
+            description = "Stores written",
+            content =
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StoreBulkResponse.class)))
+    StoreBulkResponse upsertStores(@Valid @RequestBody StoreBulkRequest request);
+
+    @PostExchange("/bulk-delete")
+    @Operation(
+            summary = "Delete stores in bulk",
+            description =
+                    "Deletes up to 500 stores in one transaction. Unknown UUIDs are listed in notFound. Requires write:store permission.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(
+            responseCode = "200",
+            description = "Stores deleted",
+            content =
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StoreBulkDeleteResponse.class)))
+    StoreBulkDeleteResponse deleteStores(@Valid @RequestBody StoreBulkDeleteRequest request);
 }
@@ -0,0 +1,56 @@
+package com.jumbo.store.web.controller;
+
+/**
+ * Weak entity tags and {@code If-None-Match} evaluation.
+ * Tags are derived from the content, and the same content is served as JSON, NDJSON, CBOR, Smile or Protobuf
+ * depending on {@code Accept}. A strong tag would promise byte-identical representations, so the tags are weak: they
+ * mark representations as equivalent, and {@code Vary: Accept} keeps them apart in caches.
+ */
+final class EntityTags {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private EntityTags() {}
+
+    /**
+     * @param hash a content hash
+     * @return the weak entity tag for the hash
+     */
+    static String weak(long hash) {
+        return WEAK_PREFIX + '"' + Long.toHexString(hash) + '"';
+    }
+
+    /**
+     * Evaluates {@code If-None-Match} against the current tag, using the weak comparison RFC 9110 prescribes for it.
+     *
+     * @param ifNoneMatch the header value, may be {@code null}
+     * @param etag        the current entity tag
+     * @return {@code true} when the client's copy is current and a 304 can be returned
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        int etagStart = opaqueTagStart(etag);
+        int etagLength = etag.length() - etagStart;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(WILDCARD)) {
+                return true;
+            }
+            int tagStart = opaqueTagStart(tag);
+            if (tag.length() - tagStart == etagLength && tag.regionMatches(tagStart, etag, etagStart, etagLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the index of the quoted part of a tag, after the weakness indicator if any
+     */
+    private static int opaqueTagStart(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? WEAK_PREFIX.length() : 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.jumbo.store.web.controller;
+
+import com.jumbo.store.configuration.StoreHttpProperties;
+import com.jumbo.store.domain.service.NearestStoresAdmissionGate;
+import com.jumbo.store.domain.service.ReactiveStoreService;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.domain.snapshot.StoreContentHash;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.StoreFieldSet;
+import java.math.BigDecimal;
+import java.util.OptionalLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of the nearest-store operation of {@link StoreController} (profile {@code reactive}).
+ * Same parameters, entity tags and representations as documented in {@code StoreControllerContract}, which declares
+ * synchronous return types and is therefore not implemented here.
+ */
+@RestController
+@RequestMapping("/stores")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveStoreController {
+
+    private final StoreService storeService;
+    private final ReactiveStoreService reactiveStoreService;
+    private final NearestStoresAdmissionGate nearestStoresAdmissionGate;
+    private final StoreHttpProperties storeHttpProperties;
+
+    @GetMapping("/nearest")
+    @PreAuthorize("hasAuthority('SCOPE_read:store')")
+    public Mono<ResponseEntity<NearestStoresResponse>> findNearestStores(
+            @RequestParam BigDecimal latitude,
+            @RequestParam BigDecimal longitude,
+            @RequestParam(required = false, defaultValue = "5") Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Received request to find nearest stores: lat={}, lon={}, limit={}", latitude, longitude, limit);
+        StoreFieldSet fieldSet = StoreFieldSet.parse(fields);
+        // Tagging reads the snapshot only (database mode does not tag), so it stays on the event loop
+        String etag = nearestStoresTag(latitude, longitude, limit, fieldSet);
+        if (etag != null && EntityTags.matches(ifNoneMatch, etag)) {
+            storeService.recordCacheHit(latitude, longitude, limit);
+            return Mono.just(
+                    cached(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build());
+        }
+
+        Mono<NearestStoresResponse> search = Mono.using(
+                () -> nearestStoresAdmissionGate.admit(limit),
+                permit -> reactiveStoreService.findNearestStores(latitude, longitude, limit),
+                NearestStoresAdmissionGate.Permit::close);
+        return search.map(found -> {
+            NearestStoresResponse response = found.withFields(fieldSet);
+            if (response.stores().isEmpty()) {
+                // No stores, or the database search failed: not worth caching
+                return ResponseEntity.ok(response);
+            }
+            return cached(ResponseEntity.ok(), etag).body(response);
+        });
+    }
+
+    /**
+     * @return the weak tag of the nearest-store response with the selected fields, or {@code null} in database search
+     *         mode, whose responses are not tagged
+     */
+    private String nearestStoresTag(BigDecimal latitude, BigDecimal longitude, Integer limit, StoreFieldSet fieldSet) {
+        OptionalLong hash = storeService.nearestStoresTag(latitude, longitude, limit);
+        if (hash.isEmpty()) {
+            return null;
+        }
+        return EntityTags.weak(StoreContentHash.combine(hash.getAsLong(), fieldSet.mask()));
+    }
+
+    /**
+     * See {@link StoreController}: private caching, varying by {@code Accept}.
+     */
+    private ResponseEntity.BodyBuilder cached(ResponseEntity.BodyBuilder builder, String etag) {
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.cacheControl(
+                        CacheControl.maxAge(storeHttpProperties.cacheMaxAge()).cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+}
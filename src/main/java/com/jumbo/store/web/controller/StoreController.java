@@ -1,32 +1,214 @@
 package com.jumbo.store.web.controller;
 
+import com.jumbo.store.configuration.StoreHttpProperties;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.service.NearestStoresAdmissionGate;
 import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.domain.service.StoreWriteService;
+import com.jumbo.store.domain.snapshot.StoreContentHash;
+import com.jumbo.store.domain.snapshot.StoreSnapshot;
 import com.jumbo.store.web.contract.StoreControllerContract;
 import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.StoreBulkDeleteRequest;
+import com.jumbo.store.web.dto.StoreBulkDeleteResponse;
+import com.jumbo.store.web.dto.StoreBulkRequest;
+import com.jumbo.store.web.dto.StoreBulkResponse;
+import com.jumbo.store.web.dto.StoreDTO;
+import com.jumbo.store.web.dto.StoreFieldSet;
+import com.jumbo.store.web.dto.StoreLookupRequest;
+import com.jumbo.store.web.dto.StoreLookupResponse;
+import com.jumbo.store.web.dto.StoreRequest;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * REST controller for store-related operations.
  */
 @RestController
 @RequestMapping("/stores")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class StoreController implements StoreControllerContract {
 
     private final StoreService storeService;
+    private final NearestStoresAdmissionGate nearestStoresAdmissionGate;
+    private final StoreWriteService storeWriteService;
+    private final StoreHttpProperties storeHttpProperties;
 
     @Override
     @GetMapping("/nearest")
     @PreAuthorize("hasAuthority('SCOPE_read:store')")
-    public NearestStoresResponse findNearestStores(BigDecimal latitude, BigDecimal longitude, Integer limit) {
+    public ResponseEntity<NearestStoresResponse> findNearestStores(
+            BigDecimal latitude, BigDecimal longitude, Integer limit, String fields, String ifNoneMatch) {
         log.info("Received request to find nearest stores: lat={}, lon={}, limit={}", latitude, longitude, limit);
-        return storeService.findNearestStores(latitude, longitude, limit);
+        StoreFieldSet fieldSet = StoreFieldSet.parse(fields);
+        // Evaluated before the search, so a client polling the same location costs no search at all
+        String etag = nearestStoresTag(latitude, longitude, limit, fieldSet);
+        if (etag != null && EntityTags.matches(ifNoneMatch, etag)) {
+            storeService.recordCacheHit(latitude, longitude, limit);
+            return cached(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+        }
+
+        NearestStoresResponse response;
+        try (NearestStoresAdmissionGate.Permit permit = nearestStoresAdmissionGate.admit(limit)) {
+            response =
+                    storeService.findNearestStores(latitude, longitude, limit).withFields(fieldSet);
+        }
+        if (response.stores().isEmpty()) {
+            // No stores, or the database search failed: not worth caching
+            return ResponseEntity.ok(response);
+        }
+        return cached(ResponseEntity.ok(), etag).body(response);
+    }
+
+    @Override
+    @GetMapping("/{uuid}")
+    @PreAuthorize("hasAuthority('SCOPE_read:store')")
+    public ResponseEntity<StoreDTO> getStore(String uuid, String ifNoneMatch) {
+        log.debug("Received request to get store: uuid={}", uuid);
+        StoreSnapshot.Entry entry = storeService.getStore(uuid);
+        String etag = EntityTags.weak(entry.contentHash());
+
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return cached(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+        }
+        return cached(ResponseEntity.ok(), etag).body(entry.store().toDTO());
+    }
+
+    @Override
+    @GetMapping("/lookup")
+    @PreAuthorize("hasAuthority('SCOPE_read:store')")
+    public ResponseEntity<StoreLookupResponse> getStores(List<String> uuids, String ifNoneMatch) {
+        log.debug("Received request to get {} stores", uuids.size());
+        List<StoreSnapshot.Entry> entries = storeService.findStores(uuids);
+        List<String> notFound = notFound(uuids, entries);
+
+        // The unknown UUIDs are part of the response, hence of its tag
+        long hash = StoreContentHash.emptyHash();
+        for (StoreSnapshot.Entry entry : entries) {
+            hash = StoreContentHash.combine(hash, entry.contentHash());
+        }
+        for (String uuid : notFound) {
+            hash = StoreContentHash.combine(hash, uuid);
+        }
+        String etag = EntityTags.weak(hash);
+
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return cached(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+        }
+        return cached(ResponseEntity.ok(), etag).body(lookupResponse(entries, notFound));
+    }
+
+    @Override
+    @PostMapping("/lookup")
+    @PreAuthorize("hasAuthority('SCOPE_read:store')")
+    public StoreLookupResponse lookupStores(StoreLookupRequest request) {
+        log.debug("Received request to look up {} stores", request.uuids().size());
+        List<StoreSnapshot.Entry> entries = storeService.findStores(request.uuids());
+        return lookupResponse(entries, notFound(request.uuids(), entries));
+    }
+
+    @Override
+    @PostMapping
+    @PreAuthorize("hasAuthority('SCOPE_write:store')")
+    public ResponseEntity<StoreDTO> createStore(StoreRequest request) {
+        Store store = storeWriteService.createStore(request);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{uuid}")
+                        .buildAndExpand(store.getUuid())
+                        .toUri())
+                .eTag(EntityTags.weak(StoreContentHash.of(store)))
+                .body(store.toDTO());
+    }
+
+    @Override
+    @PutMapping("/{uuid}")
+    @PreAuthorize("hasAuthority('SCOPE_write:store')")
+    public ResponseEntity<StoreDTO> updateStore(String uuid, StoreRequest request) {
+        Store store = storeWriteService.updateStore(uuid, request);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.weak(StoreContentHash.of(store)))
+                .body(store.toDTO());
+    }
+
+    @Override
+    @DeleteMapping("/{uuid}")
+    @PreAuthorize("hasAuthority('SCOPE_write:store')")
+    public ResponseEntity<Void> deleteStore(String uuid) {
+        storeWriteService.deleteStore(uuid);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Override
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAuthority('SCOPE_write:store')")
+    public StoreBulkResponse upsertStores(StoreBulkRequest request) {
+        log.info("Received bulk write of {} stores", request.stores().size());
+        return storeWriteService.upsertStores(request.stores());
+    }
+
+    @Override
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasAuthority('SCOPE_write:store')")
+    public StoreBulkDeleteResponse deleteStores(StoreBulkDeleteRequest request) {
+        log.info("Received bulk delete of {} stores", request.uuids().size());
+        return storeWriteService.deleteStores(request.uuids());
+    }
+
+    private static List<String> notFound(List<String> uuids, List<StoreSnapshot.Entry> entries) {
+        Set<String> found =
+                entries.stream().map(entry -> entry.store().getUuid()).collect(Collectors.toSet());
+        return uuids.stream().distinct().filter(uuid -> !found.contains(uuid)).toList();
+    }
+
+    private static StoreLookupResponse lookupResponse(List<StoreSnapshot.Entry> entries, List<String> notFound) {
+        List<StoreDTO> stores =
+                entries.stream().map(entry -> entry.store().toDTO()).toList();
+        return new StoreLookupResponse(stores, notFound, stores.size());
+    }
+
+    /**
+     * @return the weak tag of the nearest-store response with the selected fields, or {@code null} in database search
+     *         mode, whose responses are not tagged
+     */
+    private String nearestStoresTag(BigDecimal latitude, BigDecimal longitude, Integer limit, StoreFieldSet fieldSet) {
+        OptionalLong hash = storeService.nearestStoresTag(latitude, longitude, limit);
+        if (hash.isEmpty()) {
+            return null;
+        }
+        return EntityTags.weak(StoreContentHash.combine(hash.getAsLong(), fieldSet.mask()));
+    }
+
+    /**
+     * Responses depend on the caller's authorization, so only the client itself may cache them.
+     * The tag identifies the content, not its encoding, hence weak: {@code Vary: Accept} keeps JSON and binary
+     * representations apart in caches. Untagged responses are still cached for the max age.
+     */
+    private ResponseEntity.BodyBuilder cached(ResponseEntity.BodyBuilder builder, String etag) {
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.cacheControl(
+                        CacheControl.maxAge(storeHttpProperties.cacheMaxAge()).cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT);
     }
 }
@@ -0,0 +1,69 @@
+package com.jumbo.store.web.converter;
+
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+/**
+ * WebFlux counterpart of the {@link NearestStoresHttpMessageConverter}: encodes nearest-store responses with the same
+ * pre-rendered fragments, field selection and binary formats, so both stacks send identical bytes.
+ */
+public class NearestStoresEncoder extends AbstractEncoder<NearestStoresResponse> {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final NearestStoresHttpMessageConverter converter;
+
+    public NearestStoresEncoder(NearestStoresHttpMessageConverter converter) {
+        super(converter.getSupportedMediaTypes().toArray(MimeType[]::new));
+        this.converter = converter;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return NearestStoresResponse.class == elementType.toClass() && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+            Publisher<? extends NearestStoresResponse> inputStream,
+            DataBufferFactory bufferFactory,
+            ResolvableType elementType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        return Flux.from(inputStream)
+                .map(response -> encodeValue(response, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(
+            NearestStoresResponse response,
+            DataBufferFactory bufferFactory,
+            ResolvableType valueType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_BUFFER_SIZE);
+        boolean release = true;
+        try (OutputStream body = buffer.asOutputStream()) {
+            converter.writeTo(response, body);
+            release = false;
+            return buffer;
+        } catch (IOException e) {
+            throw new EncodingException("Could not encode nearest stores", e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+}
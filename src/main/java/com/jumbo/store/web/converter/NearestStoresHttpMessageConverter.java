@@ -0,0 +1,235 @@
+package com.jumbo.store.web.converter;
+
+import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.service.StoreSearchMetrics;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.PreRenderedStoreList;
+import com.jumbo.store.web.dto.StoreDTO;
+import com.jumbo.store.web.dto.StoreFieldSet;
+import com.jumbo.store.web.dto.StoreFieldWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntFunction;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes {@link NearestStoresResponse}s whose stores come pre-rendered from the snapshot by concatenating each
+ * store's JSON fragment with its distance, so only the distance and the count are serialized per request.
+ * The output is byte-for-byte what Jackson writes for the same response. Responses holding plain DTOs
+ * (e.g. from the database search mode) are handed to Jackson.
+ * A sparse field selection is written field by field through a {@link StoreFieldWriter} over the same mapper, except
+ * for the compact profile that has its own pre-rendered fragments.
+ * Binary formats (CBOR, Smile, Protobuf) go through the same field-by-field writer with their own
+ * {@link ObjectMapper}, see {@link #binary}. Newline-delimited JSON streams one store per line, see {@link #ndjson}.
+ */
+public class NearestStoresHttpMessageConverter extends AbstractHttpMessageConverter<NearestStoresResponse> {
+
+    private static final byte[] STORES_START = "{\"stores\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COUNT_FIELD = "],\"count\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LINE_END = "}\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final StoreFieldWriter storeFieldWriter;
+    private final FormatSchema schema;
+    private final boolean json;
+    private final boolean lineDelimited;
+    private StoreSearchMetrics storeSearchMetrics;
+
+    public NearestStoresHttpMessageConverter(ObjectMapper objectMapper) {
+        this(
+                objectMapper,
+                null,
+                false,
+                StandardCharsets.UTF_8,
+                MediaType.APPLICATION_JSON,
+                new MediaType("application", "*+json"));
+    }
+
+    private NearestStoresHttpMessageConverter(
+            ObjectMapper objectMapper,
+            FormatSchema schema,
+            boolean lineDelimited,
+            Charset charset,
+            MediaType... supportedMediaTypes) {
+        super(charset, supportedMediaTypes);
+        this.objectMapper = objectMapper;
+        this.storeFieldWriter = new StoreFieldWriter(objectMapper);
+        this.schema = schema;
+        this.json =
+                JsonFactory.FORMAT_NAME_JSON.equals(objectMapper.getFactory().getFormatName());
+        this.lineDelimited = lineDelimited;
+    }
+
+    /**
+     * Creates a converter for a binary format. The JSON fragments do not apply there, every response is streamed.
+     *
+     * @param objectMapper the mapper of the format, e.g. a {@code CBORMapper}
+     * @param schema       the schema the format requires, {@code null} for schemaless formats
+     * @param mediaType    the media type of the format
+     * @return the converter
+     */
+    public static NearestStoresHttpMessageConverter binary(
+            ObjectMapper objectMapper, FormatSchema schema, MediaType mediaType) {
+        return new NearestStoresHttpMessageConverter(objectMapper, schema, false, null, mediaType);
+    }
+
+    /**
+     * Creates a converter for newline-delimited JSON: one store per line, without the surrounding object and count.
+     * Lines go straight to the response stream and the first one is flushed right away, so the client receives the
+     * nearest store before the rest is written and the response is never held in memory as a whole.
+     *
+     * @param objectMapper the JSON mapper
+     * @return the converter
+     */
+    public static NearestStoresHttpMessageConverter ndjson(ObjectMapper objectMapper) {
+        return new NearestStoresHttpMessageConverter(objectMapper, null, true, null, MediaType.APPLICATION_NDJSON);
+    }
+
+    /**
+     * Times every response this converter writes as the serialization stage of the search.
+     * Newline-delimited responses are flushed while written, so their time includes sending the first line.
+     *
+     * @param storeSearchMetrics the metrics to record to
+     */
+    public void setStoreSearchMetrics(StoreSearchMetrics storeSearchMetrics) {
+        this.storeSearchMetrics = storeSearchMetrics;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return NearestStoresResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected NearestStoresResponse readInternal(
+            Class<? extends NearestStoresResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Nearest store responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(NearestStoresResponse response, HttpOutputMessage outputMessage) throws IOException {
+        writeTo(response, outputMessage.getBody());
+    }
+
+    /**
+     * Writes a response in this converter's format, outside of Spring MVC (e.g. from a WebFlux encoder).
+     *
+     * @param response the response to write
+     * @param body     the stream to write to; left open
+     */
+    public void writeTo(NearestStoresResponse response, OutputStream body) throws IOException {
+        if (storeSearchMetrics == null) {
+            write(response, body);
+            return;
+        }
+        long start = System.nanoTime();
+        write(response, body);
+        storeSearchMetrics.record(StoreSearchMetrics.Stage.SERIALIZATION, start);
+    }
+
+    private void write(NearestStoresResponse response, OutputStream body) throws IOException {
+        StoreFieldSet fields = response.fields();
+        if (lineDelimited) {
+            writeLines(body, response, fields);
+            return;
+        }
+        if (json && response.stores() instanceof PreRenderedStoreList stores) {
+            if (StoreFieldSet.ALL.equals(fields)) {
+                writeFragments(body, stores, stores::jsonFragment, response.count());
+                return;
+            }
+            if (StoreFieldSet.COMPACT.equals(fields)) {
+                writeFragments(body, stores, stores::compactJsonFragment, response.count());
+                return;
+            }
+        }
+        if (json && StoreFieldSet.ALL.equals(fields)) {
+            body.write(objectMapper.writeValueAsBytes(response));
+            return;
+        }
+        writeSelectedFields(body, response, fields);
+    }
+
+    private static void writeFragments(
+            OutputStream body, PreRenderedStoreList stores, IntFunction<byte[]> fragments, int count)
+            throws IOException {
+        body.write(STORES_START);
+        for (int i = 0; i < stores.size(); i++) {
+            if (i > 0) {
+                body.write(',');
+            }
+            body.write(fragments.apply(i));
+            // Jackson writes doubles with Double.toString as well
+            body.write(Double.toString(stores.distanceInKm(i)).getBytes(StandardCharsets.US_ASCII));
+            body.write('}');
+        }
+        body.write(COUNT_FIELD);
+        body.write(Integer.toString(count).getBytes(StandardCharsets.US_ASCII));
+        body.write('}');
+    }
+
+    private void writeLines(OutputStream body, NearestStoresResponse response, StoreFieldSet fields)
+            throws IOException {
+        if (response.stores() instanceof PreRenderedStoreList stores
+                && (StoreFieldSet.ALL.equals(fields) || StoreFieldSet.COMPACT.equals(fields))) {
+            IntFunction<byte[]> fragments =
+                    StoreFieldSet.ALL.equals(fields) ? stores::jsonFragment : stores::compactJsonFragment;
+            for (int i = 0; i < stores.size(); i++) {
+                body.write(fragments.apply(i));
+                body.write(Double.toString(stores.distanceInKm(i)).getBytes(StandardCharsets.US_ASCII));
+                body.write(LINE_END);
+                if (i == 0) {
+                    body.flush();
+                }
+            }
+            return;
+        }
+        try (JsonGenerator generator = objectMapper.createGenerator(body)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly instead of separated by Jackson's default space
+            generator.setRootValueSeparator(null);
+            boolean first = true;
+            for (StoreDTO store : response.stores()) {
+                storeFieldWriter.write(generator, store, fields);
+                generator.writeRaw('\n');
+                if (first) {
+                    generator.flush();
+                    first = false;
+                }
+            }
+        }
+    }
+
+    private void writeSelectedFields(OutputStream body, NearestStoresResponse response, StoreFieldSet fields)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(body)) {
+            // The converter framework flushes and closes the body itself
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (schema != null) {
+                generator.setSchema(schema);
+            }
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("stores");
+            for (StoreDTO store : response.stores()) {
+                storeFieldWriter.write(generator, store, fields);
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("count", response.count());
+            generator.writeEndObject();
+        }
+    }
+}
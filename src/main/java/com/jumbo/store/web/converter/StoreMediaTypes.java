@@ -0,0 +1,17 @@
+package com.jumbo.store.web.converter;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Binary media types the store endpoints can be negotiated to, next to the default JSON.
+ */
+public final class StoreMediaTypes {
+
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.valueOf(APPLICATION_PROTOBUF_VALUE);
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    private StoreMediaTypes() {}
+}
@@ -0,0 +1,46 @@
+package com.jumbo.store.web.converter;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.jumbo.store.web.dto.StoreDTO;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes single {@link StoreDTO}s as {@code application/x-protobuf}, following the {@code StoreDTO} message of
+ * {@value StoreProtobufSchemas#PROTO_FILE}. Nearest-store responses are written by the
+ * {@link NearestStoresHttpMessageConverter} instead.
+ */
+public class StoreProtobufHttpMessageConverter extends AbstractHttpMessageConverter<StoreDTO> {
+
+    private final ObjectWriter writer;
+
+    public StoreProtobufHttpMessageConverter(ProtobufMapper protobufMapper) {
+        super(StoreMediaTypes.APPLICATION_PROTOBUF);
+        this.writer = protobufMapper.writerFor(StoreDTO.class).with(StoreProtobufSchemas.STORE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StoreDTO.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StoreDTO readInternal(Class<? extends StoreDTO> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf store responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StoreDTO store, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(writer.writeValueAsBytes(store));
+    }
+}
@@ -0,0 +1,35 @@
+package com.jumbo.store.web.converter;
+
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Protobuf schemas of the store responses, loaded once from {@value #PROTO_FILE}.
+ * The file is the contract shared with Protobuf clients; the DTOs map onto it by field name.
+ */
+public final class StoreProtobufSchemas {
+
+    public static final String PROTO_FILE = "/proto/stores.proto";
+
+    private static final NativeProtobufSchema SCHEMA = load();
+
+    public static final ProtobufSchema STORE = SCHEMA.forType("StoreDTO");
+    public static final ProtobufSchema NEAREST_STORES = SCHEMA.forType("NearestStoresResponse");
+
+    private StoreProtobufSchemas() {}
+
+    private static NativeProtobufSchema load() {
+        try (InputStream proto = StoreProtobufSchemas.class.getResourceAsStream(PROTO_FILE)) {
+            if (proto == null) {
+                throw new IllegalStateException("Protobuf schema not found: " + PROTO_FILE);
+            }
+            return ProtobufSchemaLoader.std.loadNative(proto, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load Protobuf schema " + PROTO_FILE, e);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.jumbo.store.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 
 /**
  * Response DTO for nearest stores query.
  * Uses Java record for immutability and conciseness.
+ *
+ * @param fields the store fields to write, applied by the {@code NearestStoresHttpMessageConverter}
  */
-public record NearestStoresResponse(List<StoreDTO> stores, Integer count) {
+public record NearestStoresResponse(
+        List<StoreDTO> stores, Integer count, @JsonIgnore @Schema(hidden = true) StoreFieldSet fields) {
     public NearestStoresResponse {
         if (stores == null) {
             stores = List.of();
@@ -14,5 +19,16 @@ public record NearestStoresResponse(List<StoreDTO> stores, Integer count) {
         if (count == null) {
             count = stores.size();
         }
+        if (fields == null) {
+            fields = StoreFieldSet.ALL;
+        }
+    }
+
+    public NearestStoresResponse(List<StoreDTO> stores, Integer count) {
+        this(stores, count, StoreFieldSet.ALL);
+    }
+
+    public NearestStoresResponse withFields(StoreFieldSet fields) {
+        return new NearestStoresResponse(stores, count, fields);
     }
 }
@@ -0,0 +1,51 @@
+package com.jumbo.store.web.dto;
+
+import com.jumbo.store.domain.snapshot.StoreSnapshot;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Stores found in the snapshot, together with their distance and pre-rendered JSON.
+ * Reads as a list of {@link StoreDTO}s, built on access, so callers and Jackson see a regular list; the
+ * {@code NearestStoresHttpMessageConverter} writes the JSON fragments instead and never builds the DTOs.
+ */
+public final class PreRenderedStoreList extends AbstractList<StoreDTO> implements RandomAccess {
+
+    private final List<StoreSnapshot.Entry> entries;
+    private final double[] distancesInKm;
+
+    /**
+     * @param entries       the stores, in response order
+     * @param distancesInKm the distance of each store, at the same index
+     */
+    public PreRenderedStoreList(List<StoreSnapshot.Entry> entries, double[] distancesInKm) {
+        if (entries.size() != distancesInKm.length) {
+            throw new IllegalArgumentException("Expected one distance per store");
+        }
+        this.entries = entries;
+        this.distancesInKm = distancesInKm;
+    }
+
+    @Override
+    public StoreDTO get(int index) {
+        return entries.get(index).store().toDTO(distancesInKm[index]);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    public byte[] jsonFragment(int index) {
+        return entries.get(index).jsonFragment();
+    }
+
+    public byte[] compactJsonFragment(int index) {
+        return entries.get(index).compactJsonFragment();
+    }
+
+    public double distanceInKm(int index) {
+        return distancesInKm[index];
+    }
+}
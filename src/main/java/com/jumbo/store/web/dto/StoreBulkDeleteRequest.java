@@ -0,0 +1,10 @@
+package com.jumbo.store.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request DTO for deleting many stores at once.
+ */
+public record StoreBulkDeleteRequest(@NotEmpty @Size(max = StoreBulkRequest.MAX_STORES) List<String> uuids) {}
@@ -0,0 +1,14 @@
+package com.jumbo.store.web.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk store delete. UUIDs without a store are listed in {@code notFound}.
+ */
+public record StoreBulkDeleteResponse(Integer deleted, List<String> notFound) {
+    public StoreBulkDeleteResponse {
+        if (notFound == null) {
+            notFound = List.of();
+        }
+    }
+}
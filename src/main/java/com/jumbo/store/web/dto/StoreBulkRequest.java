@@ -0,0 +1,14 @@
+package com.jumbo.store.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request DTO for creating or updating many stores at once, matched by UUID.
+ */
+public record StoreBulkRequest(@NotEmpty @Size(max = StoreBulkRequest.MAX_STORES) List<@Valid StoreRequest> stores) {
+
+    public static final int MAX_STORES = 500;
+}
@@ -0,0 +1,6 @@
+package com.jumbo.store.web.dto;
+
+/**
+ * Response DTO for a bulk store write.
+ */
+public record StoreBulkResponse(Integer created, Integer updated) {}
@@ -0,0 +1,38 @@
+package com.jumbo.store.web.dto;
+
+/**
+ * The fields of a {@link StoreDTO}, in declaration order. They are written by a {@link StoreFieldWriter}.
+ */
+public enum StoreField {
+    UUID("uuid"),
+    ADDRESS_NAME("addressName"),
+    CITY("city"),
+    POSTAL_CODE("postalCode"),
+    STREET("street"),
+    STREET2("street2"),
+    STREET3("street3"),
+    LATITUDE("latitude"),
+    LONGITUDE("longitude"),
+    COMPLEX_NUMBER("complexNumber"),
+    SHOW_WARNING_MESSAGE("showWarningMessage"),
+    TODAY_OPEN("todayOpen"),
+    TODAY_CLOSE("todayClose"),
+    LOCATION_TYPE("locationType"),
+    COLLECTION_POINT("collectionPoint"),
+    SAP_STORE_ID("sapStoreID"),
+    DISTANCE_IN_KM("distanceInKm");
+
+    private final String jsonName;
+
+    StoreField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * @return the name of the record component, which selects the field in the {@code fields} parameter; responses
+     *     name the field as the mapper's naming strategy does
+     */
+    public String jsonName() {
+        return jsonName;
+    }
+}
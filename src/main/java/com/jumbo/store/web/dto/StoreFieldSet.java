@@ -0,0 +1,83 @@
+package com.jumbo.store.web.dto;
+
+import com.jumbo.store.domain.exception.UnknownStoreFieldException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The fields of a store to include in a response, as requested through the {@code fields} parameter.
+ * Fields are always written in the order the mapper writes the whole {@link StoreDTO}, whatever the order they were
+ * requested in, so equal selections produce identical bytes and share the same entity tag.
+ *
+ * @param mask one bit per {@link StoreField}, by ordinal
+ */
+public record StoreFieldSet(int mask) {
+
+    /**
+     * Name of the predefined profile for list views.
+     */
+    public static final String COMPACT_PROFILE = "compact";
+
+    public static final StoreFieldSet ALL = of(EnumSet.allOf(StoreField.class));
+
+    /**
+     * What a list view needs: which store, where it is and how far.
+     */
+    public static final StoreFieldSet COMPACT = of(EnumSet.of(
+            StoreField.UUID,
+            StoreField.ADDRESS_NAME,
+            StoreField.LATITUDE,
+            StoreField.LONGITUDE,
+            StoreField.DISTANCE_IN_KM));
+
+    private static final Map<String, StoreField> BY_JSON_NAME = Stream.of(StoreField.values())
+            .collect(Collectors.toUnmodifiableMap(StoreField::jsonName, Function.identity()));
+
+    public static StoreFieldSet of(Set<StoreField> fields) {
+        int mask = 0;
+        for (StoreField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return new StoreFieldSet(mask);
+    }
+
+    /**
+     * Parses the {@code fields} parameter: either the {@value #COMPACT_PROFILE} profile or a comma-separated list of
+     * JSON field names. Omitted, blank or empty selections select every field.
+     *
+     * @param fields the parameter value, may be {@code null}
+     * @return the selected fields
+     * @throws UnknownStoreFieldException when a name does not match any field
+     */
+    public static StoreFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        if (COMPACT_PROFILE.equals(fields.strip().toLowerCase(Locale.ROOT))) {
+            return COMPACT;
+        }
+
+        int mask = 0;
+        for (String name : fields.split(",")) {
+            String trimmed = name.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            StoreField field = BY_JSON_NAME.get(trimmed);
+            if (field == null) {
+                throw new UnknownStoreFieldException(trimmed);
+            }
+            mask |= 1 << field.ordinal();
+        }
+        return mask == 0 ? ALL : new StoreFieldSet(mask);
+    }
+
+    public boolean contains(StoreField field) {
+        return (mask & (1 << field.ordinal())) != 0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.jumbo.store.web.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes the selected fields of {@link StoreDTO}s with the property writers of an {@link ObjectMapper}, so each field
+ * is named, left out when empty and serialized exactly as in the mapper's output for the whole DTO (naming strategy,
+ * inclusion, custom serializers), in the same order. The writers are resolved once per mapper; fields that are not
+ * selected are skipped without being read.
+ */
+public final class StoreFieldWriter {
+
+    private final ObjectMapper objectMapper;
+    private final StoreField[] fields;
+    private final PropertyWriter[] writers;
+
+    public StoreFieldWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        List<StoreField> resolvedFields = new ArrayList<>();
+        List<PropertyWriter> resolvedWriters = new ArrayList<>();
+        JsonSerializer<Object> serializer;
+        try {
+            serializer = objectMapper.getSerializerProviderInstance().findValueSerializer(StoreDTO.class);
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("Could not resolve the store serializer", e);
+        }
+        for (Iterator<PropertyWriter> properties = serializer.properties(); properties.hasNext(); ) {
+            PropertyWriter writer = properties.next();
+            resolvedFields.add(field(writer.getMember().getName()));
+            resolvedWriters.add(writer);
+        }
+        this.fields = resolvedFields.toArray(StoreField[]::new);
+        this.writers = resolvedWriters.toArray(PropertyWriter[]::new);
+    }
+
+    /**
+     * Writes a store as a JSON object holding only the selected fields.
+     *
+     * @param generator the generator to write to, created by the same mapper
+     * @param store     the store to write
+     * @param selected  the fields to write
+     */
+    public void write(JsonGenerator generator, StoreDTO store, StoreFieldSet selected) throws IOException {
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+        generator.writeStartObject(store);
+        for (int i = 0; i < fields.length; i++) {
+            if (selected.contains(fields[i])) {
+                try {
+                    writers[i].serializeAsField(store, generator, provider);
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw JsonMappingException.from(generator, "Could not write store field " + fields[i], e);
+                }
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static StoreField field(String name) {
+        for (StoreField field : StoreField.values()) {
+            if (field.jsonName().equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalStateException("Store property without a field: " + name);
+    }
+}
@@ -0,0 +1,13 @@
+package com.jumbo.store.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request DTO for a batch store lookup by UUID.
+ */
+public record StoreLookupRequest(@NotEmpty @Size(max = StoreLookupRequest.MAX_UUIDS) List<String> uuids) {
+
+    public static final int MAX_UUIDS = 100;
+}
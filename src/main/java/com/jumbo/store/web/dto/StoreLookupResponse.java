@@ -0,0 +1,21 @@
+package com.jumbo.store.web.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch store lookup.
+ * Stores are returned in request order; UUIDs without a store are listed in {@code notFound}.
+ */
+public record StoreLookupResponse(List<StoreDTO> stores, List<String> notFound, Integer count) {
+    public StoreLookupResponse {
+        if (stores == null) {
+            stores = List.of();
+        }
+        if (notFound == null) {
+            notFound = List.of();
+        }
+        if (count == null) {
+            count = stores.size();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.jumbo.store.web.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+
+/**
+ * Request DTO for creating or updating a store.
+ * The UUID is optional on creation (a random one is assigned) and ignored on update, where the path identifies
+ * the store.
+ */
+public record StoreRequest(
+        @Size(max = 50) String uuid,
+        @NotBlank @Size(max = 200) String addressName,
+        @NotBlank @Size(max = 100) String city,
+        @NotBlank @Size(max = 20) String postalCode,
+        @NotBlank @Size(max = 200) String street,
+        @Size(max = 50) String street2,
+        @Size(max = 50) String street3,
+        @NotNull @DecimalMin("-90") @DecimalMax("90") BigDecimal latitude,
+        @NotNull @DecimalMin("-180") @DecimalMax("180") BigDecimal longitude,
+        @Size(max = 20) String complexNumber,
+        Boolean showWarningMessage,
+        @Size(max = 10) String todayOpen,
+        @Size(max = 10) String todayClose,
+        @Size(max = 50) String locationType,
+        Boolean collectionPoint,
+        @Size(max = 20) String sapStoreID) {
+
+    public StoreRequest {
+        if (showWarningMessage == null) {
+            showWarningMessage = false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.jumbo.store.web.workload;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Workload recording for the reactive stack, the WebFlux counterpart of {@link WorkloadRecordingFilter}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "store.workload.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ReactiveWorkloadRecordingFilter implements WebFilter {
+
+    private final WorkloadRecorder workloadRecorder;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())
+                || !WorkloadRecordingFilter.NEAREST_PATH.equals(
+                        request.getPath().pathWithinApplication().value())
+                || !workloadRecorder.sample()) {
+            return chain.filter(exchange);
+        }
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            MultiValueMap<String, String> parameters = request.getQueryParams();
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            workloadRecorder.record(
+                    timestamp,
+                    parameters.getFirst("latitude"),
+                    parameters.getFirst("longitude"),
+                    parameters.getFirst("limit"),
+                    status == null ? HttpStatus.OK.value() : status.value(),
+                    System.nanoTime() - start);
+        });
+    }
+}
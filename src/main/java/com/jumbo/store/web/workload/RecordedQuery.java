@@ -0,0 +1,47 @@
+package com.jumbo.store.web.workload;
+
+import java.time.Instant;
+
+/**
+ * A nearest-store query as the {@link WorkloadRecorder} saw it, one line of the workload log.
+ *
+ * @param timestamp     when the request arrived, in epoch milliseconds
+ * @param latitude      the requested latitude
+ * @param longitude     the requested longitude
+ * @param limit         the requested limit, {@code null} when the request used the default
+ * @param latencyMicros time spent answering the request
+ * @param cacheHit      whether the client's cached response was still current (304 Not Modified)
+ */
+public record RecordedQuery(
+        long timestamp, double latitude, double longitude, Integer limit, long latencyMicros, boolean cacheHit) {
+
+    public static final String CSV_HEADER = "timestamp,latitude,longitude,limit,latencyMicros,cacheHit";
+
+    public String toCsv() {
+        return Instant.ofEpochMilli(timestamp) + "," + latitude + "," + longitude + "," + (limit == null ? "" : limit)
+                + "," + latencyMicros + "," + cacheHit;
+    }
+
+    /**
+     * @param line a line written by {@link #toCsv()}
+     * @return the query on that line
+     * @throws IllegalArgumentException if the line is not a recorded query
+     */
+    public static RecordedQuery parse(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Expected 6 fields in workload line: " + line);
+        }
+        try {
+            return new RecordedQuery(
+                    Instant.parse(fields[0]).toEpochMilli(),
+                    Double.parseDouble(fields[1]),
+                    Double.parseDouble(fields[2]),
+                    fields[3].isEmpty() ? null : Integer.valueOf(fields[3]),
+                    Long.parseLong(fields[4]),
+                    Boolean.parseBoolean(fields[5]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid workload line: " + line, e);
+        }
+    }
+}
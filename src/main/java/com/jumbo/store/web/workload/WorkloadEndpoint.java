@@ -0,0 +1,33 @@
+package com.jumbo.store.web.workload;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/workload}: dumps the recorded queries as CSV, ready for the replay driver, or clears them.
+ * The log holds customer locations, so the endpoint requires the {@code write:store} scope.
+ */
+@Component
+@Endpoint(id = "workload")
+@ConditionalOnProperty(name = "store.workload.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class WorkloadEndpoint {
+
+    static final String TEXT_CSV = "text/csv";
+
+    private final WorkloadRecorder workloadRecorder;
+
+    @ReadOperation(produces = TEXT_CSV)
+    public String workload() {
+        return workloadRecorder.toCsv();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        workloadRecorder.clear();
+    }
+}
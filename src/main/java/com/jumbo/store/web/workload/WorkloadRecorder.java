@@ -0,0 +1,117 @@
+package com.jumbo.store.web.workload;
+
+import com.jumbo.store.configuration.StoreWorkloadProperties;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a sample of the recent nearest-store queries in a bounded ring buffer.
+ * Recording is lock-free: each query claims the next slot and overwrites whatever the slot held, so the buffer always
+ * holds roughly the last {@code capacity} sampled queries. The log is dumped through the {@code workload} actuator
+ * endpoint and replayed with the load driver in the test sources.
+ */
+@Component
+@ConditionalOnProperty(name = "store.workload.enabled", havingValue = "true")
+public class WorkloadRecorder {
+
+    private final double sampleRate;
+    private final AtomicReferenceArray<RecordedQuery> slots;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public WorkloadRecorder(StoreWorkloadProperties storeWorkloadProperties) {
+        this.sampleRate = storeWorkloadProperties.sampleRate();
+        this.slots = new AtomicReferenceArray<>(storeWorkloadProperties.capacity());
+    }
+
+    /**
+     * Decided when the request arrives, so unsampled requests cost no timing at all.
+     *
+     * @return whether the current request should be recorded
+     */
+    public boolean sample() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Records an answered query. Requests that failed, or whose parameters are not numbers, are not worth replaying
+     * and are skipped.
+     *
+     * @param timestamp    when the request arrived, in epoch milliseconds
+     * @param latitude     the {@code latitude} parameter
+     * @param longitude    the {@code longitude} parameter
+     * @param limit        the {@code limit} parameter, {@code null} when absent
+     * @param status       the response status
+     * @param latencyNanos time spent answering the request
+     */
+    public void record(long timestamp, String latitude, String longitude, String limit, int status, long latencyNanos) {
+        if ((status != HttpStatus.OK.value() && status != HttpStatus.NOT_MODIFIED.value())
+                || latitude == null
+                || longitude == null) {
+            return;
+        }
+        RecordedQuery query;
+        try {
+            query = new RecordedQuery(
+                    timestamp,
+                    Double.parseDouble(latitude),
+                    Double.parseDouble(longitude),
+                    limit == null || limit.isBlank() ? null : Integer.valueOf(limit.trim()),
+                    latencyNanos / 1_000,
+                    status == HttpStatus.NOT_MODIFIED.value());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        record(query);
+    }
+
+    void record(RecordedQuery query) {
+        long sequence = recorded.getAndIncrement();
+        slots.set((int) (sequence % slots.length()), query);
+    }
+
+    /**
+     * @return the recorded queries, oldest first
+     */
+    public List<RecordedQuery> recordedQueries() {
+        List<RecordedQuery> queries = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            RecordedQuery query = slots.get(i);
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        queries.sort(Comparator.comparingLong(RecordedQuery::timestamp));
+        return queries;
+    }
+
+    /**
+     * @return the recorded queries as CSV, with a header line
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder(RecordedQuery.CSV_HEADER).append('\n');
+        for (RecordedQuery query : recordedQueries()) {
+            csv.append(query.toCsv()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * @return how many queries were recorded since startup, including overwritten ones
+     */
+    public long recordedCount() {
+        return recorded.get();
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
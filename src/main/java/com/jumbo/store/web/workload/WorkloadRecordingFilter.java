@@ -0,0 +1,59 @@
+package com.jumbo.store.web.workload;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records sampled nearest-store queries into the {@link WorkloadRecorder}.
+ * Runs first, so the recorded latency includes authentication, rate limiting and serialization.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "store.workload.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class WorkloadRecordingFilter extends OncePerRequestFilter {
+
+    static final String NEAREST_PATH = "/stores/nearest";
+
+    private final WorkloadRecorder workloadRecorder;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !request.getRequestURI().equals(request.getContextPath() + NEAREST_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!workloadRecorder.sample()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            workloadRecorder.record(
+                    timestamp,
+                    request.getParameter("latitude"),
+                    request.getParameter("longitude"),
+                    request.getParameter("limit"),
+                    response.getStatus(),
+                    System.nanoTime() - start);
+        }
+    }
+}
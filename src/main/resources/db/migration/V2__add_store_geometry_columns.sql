@@ -0,0 +1,37 @@
+-- Precomputed geometry so distance comparisons need no trigonometry at query time
+ALTER TABLE stores
+    ADD COLUMN IF NOT EXISTS latitude_rad DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS longitude_rad DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS cos_latitude DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS unit_x DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS unit_y DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS unit_z DOUBLE PRECISION;
+
+-- Keep the columns in sync with latitude/longitude for writers that do not go through the application
+CREATE OR REPLACE FUNCTION stores_compute_geometry() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.latitude_rad := RADIANS(NEW.latitude);
+    NEW.longitude_rad := RADIANS(NEW.longitude);
+    NEW.cos_latitude := COS(NEW.latitude_rad);
+    NEW.unit_x := NEW.cos_latitude * COS(NEW.longitude_rad);
+    NEW.unit_y := NEW.cos_latitude * SIN(NEW.longitude_rad);
+    NEW.unit_z := SIN(NEW.latitude_rad);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_stores_compute_geometry ON stores;
+CREATE TRIGGER trg_stores_compute_geometry
+    BEFORE INSERT OR UPDATE OF latitude, longitude ON stores
+    FOR EACH ROW EXECUTE FUNCTION stores_compute_geometry();
+
+-- Backfill existing rows
+UPDATE stores SET latitude = latitude;
+
+ALTER TABLE stores
+    ALTER COLUMN latitude_rad SET NOT NULL,
+    ALTER COLUMN longitude_rad SET NOT NULL,
+    ALTER COLUMN cos_latitude SET NOT NULL,
+    ALTER COLUMN unit_x SET NOT NULL,
+    ALTER COLUMN unit_y SET NOT NULL,
+    ALTER COLUMN unit_z SET NOT NULL;
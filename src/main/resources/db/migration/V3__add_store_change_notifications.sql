@@ -0,0 +1,33 @@
+-- Change feed: every committed row change is announced on the store_changes channel with the store's uuid.
+-- Notifications are delivered on commit, and identical ones raised by the same transaction are sent only once.
+CREATE OR REPLACE FUNCTION stores_notify_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('store_changes', OLD.uuid);
+    ELSE
+        PERFORM pg_notify('store_changes', NEW.uuid);
+        IF TG_OP = 'UPDATE' AND OLD.uuid IS DISTINCT FROM NEW.uuid THEN
+            PERFORM pg_notify('store_changes', OLD.uuid);
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_stores_notify_change ON stores;
+CREATE TRIGGER trg_stores_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON stores
+    FOR EACH ROW EXECUTE FUNCTION stores_notify_change();
+
+-- TRUNCATE fires no row triggers: ask listeners for a full rebuild instead
+CREATE OR REPLACE FUNCTION stores_notify_truncate() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('store_changes', '*');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_stores_notify_truncate ON stores;
+CREATE TRIGGER trg_stores_notify_truncate
+    AFTER TRUNCATE ON stores
+    FOR EACH STATEMENT EXECUTE FUNCTION stores_notify_truncate();
@@ -0,0 +1,17 @@
+-- Writes stores into the store list hash at KEYS[1], one field per store UUID, the counterpart of StoreListCache.
+-- ARGV[1]: HSET to overwrite (a committed write) or HSETNX to keep what is there (a reader filling the list),
+-- ARGV[2]: time to live in milliseconds, ARGV[3]: '1' to mark the list complete,
+-- ARGV[4..]: UUID and JSON pairs; an empty JSON is a deleted store.
+-- Returns the number of fields added.
+local added = 0
+for i = 4, #ARGV, 2 do
+    added = added + redis.call(ARGV[1], KEYS[1], ARGV[i], ARGV[i + 1])
+end
+if ARGV[3] == '1' then
+    redis.call('HSET', KEYS[1], '~complete', '1')
+end
+-- The list expires as a whole, counted from whichever write created it
+if redis.call('PTTL', KEYS[1]) == -1 then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+end
+return added
@@ -0,0 +1,17 @@
+-- Takes one token from the bucket stored at KEYS[1], the Redis counterpart of LocalTokenBuckets.
+-- The bucket is the time (in microseconds, Redis clock) at which it will be full again.
+-- ARGV[1]: microseconds to refill one token, ARGV[2]: bucket capacity.
+-- Returns 0 when a token was taken, otherwise the microseconds until one is available.
+local interval = tonumber(ARGV[1])
+local burst = interval * tonumber(ARGV[2])
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+
+local full_at = tonumber(redis.call('GET', KEYS[1])) or now
+local ahead = math.max(full_at - now, 0) + interval
+if ahead > burst then
+    return ahead - burst
+end
+-- The key expires once the bucket is full again: a full bucket needs no state
+redis.call('SET', KEYS[1], now + ahead, 'PX', math.ceil(ahead / 1000))
+return 0
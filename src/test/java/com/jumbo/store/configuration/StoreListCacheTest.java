@@ -0,0 +1,117 @@
+package com.jumbo.store.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.fixture.StoreFixture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Unit tests for the store list cached as one Redis hash field per store.
+ */
+class StoreListCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<Object>> scriptCalls = new ArrayList<>();
+    private StringRedisTemplate redisTemplate;
+    private HashOperations<String, Object, Object> hashOperations;
+    private StoreListCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    scriptCalls.add(Arrays.asList((Object[]) invocation.getRawArguments()[2]));
+                    return 1L;
+                });
+        cache = new StoreListCache(redisTemplate, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should miss until a reader filled the list completely")
+    void testGet_IncompleteList() throws Exception {
+        when(hashOperations.entries(any()))
+                .thenReturn(Map.of("amsterdam-uuid-1", json(StoreFixture.createAmsterdamStore())));
+
+        assertThat(cache.get(CacheConfig.ALL_STORES_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve a complete list without the deleted stores")
+    void testGet_CompleteList() throws Exception {
+        Map<Object, Object> fields = new LinkedHashMap<>();
+        fields.put("amsterdam-uuid-1", json(StoreFixture.createAmsterdamStore()));
+        fields.put("rotterdam-uuid-1", "");
+        fields.put(StoreListCache.COMPLETE, "1");
+        when(hashOperations.entries(any())).thenReturn(fields);
+
+        Cache.ValueWrapper cached = cache.get(CacheConfig.ALL_STORES_KEY);
+
+        assertThat(cached).isNotNull();
+        assertThat((List<?>) cached.get()).singleElement().satisfies(store -> assertThat(((Store) store).getUuid())
+                .isEqualTo("amsterdam-uuid-1"));
+    }
+
+    @Test
+    @DisplayName("Should fill the list without overwriting stores already written, and mark it complete")
+    void testPut_KeepsWrittenStores() throws Exception {
+        Store amsterdam = StoreFixture.createAmsterdamStore();
+
+        cache.put(CacheConfig.ALL_STORES_KEY, List.of(amsterdam));
+
+        assertThat(scriptCalls).containsExactly(List.of("HSETNX", "3600000", "1", "amsterdam-uuid-1", json(amsterdam)));
+    }
+
+    @Test
+    @DisplayName("Should patch only the written stores, leaving a tombstone for deleted ones")
+    void testApply_PatchesWrittenStores() throws Exception {
+        Store utrecht = StoreFixture.createUtrechtStore();
+
+        cache.apply(List.of(utrecht), List.of("amsterdam-uuid-1"));
+        cache.apply(List.of(), List.of());
+
+        assertThat(scriptCalls)
+                .containsExactly(
+                        List.of("HSET", "3600000", "0", "utrecht-uuid-1", json(utrecht), "amsterdam-uuid-1", ""));
+        verify(redisTemplate, never()).delete(any(String.class));
+    }
+
+    @Test
+    @DisplayName("Should read back a cached store with every field")
+    void testGet_RoundTrip() throws Exception {
+        Store amsterdam = StoreFixture.createAmsterdamStore();
+        amsterdam.computeGeometry();
+        when(hashOperations.entries(any()))
+                .thenReturn(Map.of("amsterdam-uuid-1", json(amsterdam), StoreListCache.COMPLETE, "1"));
+
+        Object stores = cache.get(CacheConfig.ALL_STORES_KEY).get();
+
+        assertThat(stores).isEqualTo(List.of(amsterdam));
+    }
+
+    private String json(Store store) throws Exception {
+        return objectMapper.writeValueAsString(store);
+    }
+}
@@ -0,0 +1,128 @@
+package com.jumbo.store.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.PinnedThreadRecorder;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+
+/**
+ * Unit tests for virtual-thread execution: suppliers of the circuit breaker must run on virtual threads, and neither
+ * the circuit breaker nor the snapshot holder may pin a carrier thread under contention.
+ */
+class VirtualThreadConfigTest {
+
+    private static final int CALLS = 500;
+
+    private VirtualThreadConfig virtualThreadConfig;
+    private ExecutorService requests;
+
+    @BeforeEach
+    void setUp() {
+        virtualThreadConfig = new VirtualThreadConfig();
+        requests = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        requests.close();
+        virtualThreadConfig.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run circuit breaker suppliers on virtual threads without pinning their carriers")
+    void testCircuitBreaker_RunsOnVirtualThreadsWithoutPinning() throws Exception {
+        Resilience4JCircuitBreakerFactory factory = new Resilience4JCircuitBreakerFactory(
+                CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null);
+        virtualThreadConfig.virtualThreadCircuitBreakerCustomizer().customize(factory);
+        CircuitBreaker circuitBreaker = factory.create(CircuitBreakerConfig.STORE_SERVICE_CIRCUIT_BREAKER);
+        Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+        AtomicInteger completed = new AtomicInteger();
+
+        List<RecordedEvent> pinned = PinnedThreadRecorder.record(() -> runConcurrently(() -> {
+            int result = circuitBreaker.run(
+                    () -> {
+                        virtual.add(Thread.currentThread().isVirtual());
+                        // Stands in for a JDBC or Redis round trip
+                        sleep(5);
+                        return 1;
+                    },
+                    throwable -> 0);
+            completed.addAndGet(result);
+        }));
+
+        assertThat(completed).hasValue(CALLS);
+        assertThat(virtual).containsExactly(true);
+        assertThat(pinned).as(() -> PinnedThreadRecorder.describe(pinned)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should let virtual threads wait for snapshot writes without pinning their carriers")
+    void testSnapshotHolder_ContendedWritesWithoutPinning() throws Exception {
+        StoreSnapshotHolder holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        holder.install(List.of(StoreFixture.createAmsterdamStore()));
+
+        List<RecordedEvent> pinned = PinnedThreadRecorder.record(() -> runConcurrently(() -> {
+            holder.apply(List.of(StoreFixture.createRotterdamStore()), List.of());
+            holder.current().findNearest(52.37, 4.9, 2);
+        }));
+
+        assertThat(holder.current().getVersion()).isEqualTo(1 + CALLS);
+        assertThat(pinned).as(() -> PinnedThreadRecorder.describe(pinned)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should detect pinning, so an empty recording means none happened")
+    void testRecorder_DetectsPinning() throws Exception {
+        Object monitor = new Object();
+
+        List<RecordedEvent> pinned = PinnedThreadRecorder.record(() -> Thread.ofVirtual()
+                .start(() -> {
+                    synchronized (monitor) {
+                        sleep(20);
+                    }
+                })
+                .join());
+
+        assertThat(pinned).isNotEmpty();
+        assertThat(pinned)
+                .anyMatch(
+                        event -> PinnedThreadRecorder.involves(event, getClass().getName()));
+    }
+
+    private void runConcurrently(Runnable call) throws Exception {
+        List<Future<?>> calls = IntStream.range(0, CALLS)
+                .<Future<?>>mapToObj(i -> requests.submit(call))
+                .toList();
+        for (Future<?> future : calls) {
+            future.get();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.jumbo.store.configuration.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the health-aware round-robin replica pool.
+ */
+class ReplicaDataSourcePoolTest {
+
+    private DataSource primary;
+    private DataSource replicaOne;
+    private DataSource replicaTwo;
+    private Connection primaryConnection;
+    private Connection replicaOneConnection;
+    private Connection replicaTwoConnection;
+    private ReplicaDataSourcePool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replicaOne = mock(DataSource.class);
+        replicaTwo = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaOneConnection = mock(Connection.class);
+        replicaTwoConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaOne.getConnection()).thenReturn(replicaOneConnection);
+        when(replicaTwo.getConnection()).thenReturn(replicaTwoConnection);
+
+        pool = new ReplicaDataSourcePool(
+                List.of(
+                        new ReplicaDataSourcePool.Replica("replica-1", replicaOne),
+                        new ReplicaDataSourcePool.Replica("replica-2", replicaTwo)),
+                Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should alternate between healthy replicas")
+    void testGetConnection_RoundRobin() throws SQLException {
+        assertThat(pool.getConnection(primary)).isSameAs(replicaOneConnection);
+        assertThat(pool.getConnection(primary)).isSameAs(replicaTwoConnection);
+        assertThat(pool.getConnection(primary)).isSameAs(replicaOneConnection);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should skip a replica that fails to connect and mark it down")
+    void testGetConnection_FailingReplicaMarkedDown() throws SQLException {
+        when(replicaOne.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertThat(pool.getConnection(primary)).isSameAs(replicaTwoConnection);
+        assertThat(pool.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(pool.getConnection(primary)).isSameAs(replicaTwoConnection);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when every replica is down")
+    void testGetConnection_AllReplicasDown() throws SQLException {
+        when(replicaOne.getConnection()).thenThrow(new SQLException("down"));
+        when(replicaTwo.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThat(pool.getConnection(primary)).isSameAs(primaryConnection);
+        assertThat(pool.getReplicas()).noneMatch(ReplicaDataSourcePool.Replica::isHealthy);
+    }
+
+    @Test
+    @DisplayName("Should bring a replica back once its health check succeeds")
+    void testCheckHealth_Recovers() throws SQLException {
+        when(replicaOne.getConnection()).thenThrow(new SQLException("down"));
+        pool.getConnection(primary);
+        assertThat(pool.getReplicas().get(0).isHealthy()).isFalse();
+
+        Connection recovered = mock(Connection.class);
+        when(recovered.isValid(anyInt())).thenReturn(true);
+        doReturn(recovered).when(replicaOne).getConnection();
+        when(replicaTwoConnection.isValid(anyInt())).thenReturn(true);
+
+        pool.checkHealth();
+
+        assertThat(pool.getReplicas()).allMatch(ReplicaDataSourcePool.Replica::isHealthy);
+    }
+
+    @Test
+    @DisplayName("Should mark a replica down when its connection is not valid")
+    void testCheckHealth_InvalidConnection() throws SQLException {
+        when(replicaOneConnection.isValid(anyInt())).thenReturn(false);
+        when(replicaTwoConnection.isValid(anyInt())).thenReturn(true);
+
+        pool.checkHealth();
+
+        assertThat(pool.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(pool.getReplicas().get(1).isHealthy()).isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.jumbo.store.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.jumbo.store.domain.service.DistanceCalculator;
+import com.jumbo.store.fixture.StoreFixture;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the trig-free distance comparison.
+ */
+class UnitVectorTest {
+
+    private static final double AMSTERDAM_LATITUDE = 52.3676;
+    private static final double AMSTERDAM_LONGITUDE = 4.9041;
+
+    @Test
+    @DisplayName("Should rank stores by dot product in the same order as the Haversine distance")
+    void testDot_OrdersLikeHaversine() {
+        DistanceCalculator distanceCalculator = new DistanceCalculator();
+        UnitVector origin = UnitVector.of(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE);
+        List<Store> stores = List.of(
+                StoreFixture.createRotterdamStore(),
+                StoreFixture.createAmsterdamStore(),
+                StoreFixture.createUtrechtStore(),
+                StoreFixture.createHaarlemStore());
+
+        List<Store> byDot = stores.stream()
+                .sorted(Comparator.comparingDouble(
+                                (Store store) -> store.unitVector().dot(origin))
+                        .reversed())
+                .toList();
+        List<Store> byHaversine = stores.stream()
+                .sorted(Comparator.comparingDouble(store -> distanceCalculator.calculateExactDistance(
+                        AMSTERDAM_LATITUDE,
+                        AMSTERDAM_LONGITUDE,
+                        store.getLatitude().doubleValue(),
+                        store.getLongitude().doubleValue())))
+                .toList();
+
+        assertThat(byDot).isEqualTo(byHaversine);
+    }
+
+    @Test
+    @DisplayName("Should accept a point inside the radius and reject one outside it")
+    void testMinimumDotWithin() {
+        UnitVector amsterdam = UnitVector.of(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE);
+        // Rotterdam is ~57 km from Amsterdam
+        UnitVector rotterdam = UnitVector.of(51.9225, 4.4777);
+
+        assertThat(amsterdam.dot(rotterdam)).isGreaterThanOrEqualTo(UnitVector.minimumDotWithin(60));
+        assertThat(amsterdam.dot(rotterdam)).isLessThan(UnitVector.minimumDotWithin(50));
+    }
+
+    @Test
+    @DisplayName("Should derive the geometry columns from latitude and longitude")
+    void testStoreComputeGeometry() {
+        Store store = StoreFixture.createAmsterdamStore();
+
+        store.computeGeometry();
+
+        assertThat(store.getLatitudeRad()).isCloseTo(Math.toRadians(AMSTERDAM_LATITUDE), within(1e-12));
+        assertThat(store.getCosLatitude()).isCloseTo(Math.cos(Math.toRadians(AMSTERDAM_LATITUDE)), within(1e-12));
+        assertThat(store.unitVector()).isEqualTo(UnitVector.of(AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE));
+        assertThat(store.unitVector().dot(store.unitVector())).isCloseTo(1.0, within(1e-12));
+    }
+}
@@ -0,0 +1,106 @@
+package com.jumbo.store.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.fixture.StoreFixture;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the bounding-box expansion of the database search.
+ */
+class DatabaseNearestStoreSearchTest {
+
+    private static final Coordinate AMSTERDAM = Coordinate.of(52.3676, 4.9041);
+
+    private StoreRepository storeRepository;
+    private DatabaseNearestStoreSearch search;
+
+    @BeforeEach
+    void setUp() {
+        storeRepository = mock(StoreRepository.class);
+        search = new DatabaseNearestStoreSearch(
+                storeRepository, new StoreSearchProperties(StoreSearchProperties.Mode.DATABASE, 10, 40, 100));
+    }
+
+    @Test
+    @DisplayName("Should accept the first probe when enough stores lie within its radius")
+    void testFindNearestStores_FirstProbe() {
+        List<Store> stores = List.of(StoreFixture.createAmsterdamStore());
+        when(boxQuery()).thenReturn(stores);
+
+        assertThat(search.findNearestStores(AMSTERDAM, 1)).isEqualTo(stores);
+        verify(storeRepository, times(1))
+                .findNearestWithinBoundingBox(
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        eq(1));
+        verify(storeRepository, never()).findNearest(anyDouble(), anyDouble(), anyDouble(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should expand the box when the farthest candidate lies outside the probed radius")
+    void testFindNearestStores_ExpandsWhenCandidateOutsideRadius() {
+        // Haarlem is ~18 km from Amsterdam: outside the 10 km probe, inside the 20 km one
+        List<Store> stores = List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createHaarlemStore());
+        when(boxQuery()).thenReturn(stores);
+
+        assertThat(search.findNearestStores(AMSTERDAM, 2)).isEqualTo(stores);
+        verify(storeRepository, times(2))
+                .findNearestWithinBoundingBox(
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        eq(2));
+    }
+
+    @Test
+    @DisplayName("Should order the whole table once the maximum radius is exhausted")
+    void testFindNearestStores_FallsBackToFullOrdering() {
+        List<Store> all = List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore());
+        when(boxQuery()).thenReturn(List.of(StoreFixture.createAmsterdamStore()));
+        when(storeRepository.findNearest(anyDouble(), anyDouble(), anyDouble(), eq(2)))
+                .thenReturn(all);
+
+        assertThat(search.findNearestStores(AMSTERDAM, 2)).isEqualTo(all);
+        // 10, 20 and 40 km probes before giving up
+        verify(storeRepository, times(3))
+                .findNearestWithinBoundingBox(
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        anyDouble(),
+                        eq(2));
+    }
+
+    private List<Store> boxQuery() {
+        return storeRepository.findNearestWithinBoundingBox(
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyInt());
+    }
+}
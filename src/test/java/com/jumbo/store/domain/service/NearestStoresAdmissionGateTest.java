@@ -0,0 +1,92 @@
+package com.jumbo.store.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreAdmissionProperties;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.exception.AdmissionRejectedException;
+import com.jumbo.store.domain.exception.LimitExceededException;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.validation.LocationValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+
+/**
+ * Unit tests for cost-based admission of nearest-store searches.
+ */
+class NearestStoresAdmissionGateTest {
+
+    private static final StoreAdmissionProperties ADMISSION = new StoreAdmissionProperties(10, 50, 4);
+
+    @Test
+    @DisplayName("Should weigh requests by limit and search mode")
+    void testCost() {
+        NearestStoresAdmissionGate memory = createGate(StoreSearchProperties.Mode.MEMORY);
+        NearestStoresAdmissionGate database = createGate(StoreSearchProperties.Mode.DATABASE);
+
+        assertThat(memory.cost(5)).isEqualTo(1);
+        assertThat(memory.cost(100)).isEqualTo(3);
+        assertThat(database.cost(5)).isEqualTo(4);
+        assertThat(database.cost(100)).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Should shed requests that do not fit in the remaining capacity and admit them once released")
+    void testAdmit_ShedsWhenSaturated() {
+        NearestStoresAdmissionGate gate = createGate(StoreSearchProperties.Mode.MEMORY);
+
+        NearestStoresAdmissionGate.Permit expensive = gate.admit(400);
+        assertThat(gate.availableCapacity()).isEqualTo(1);
+        assertThatThrownBy(() -> gate.admit(100)).isInstanceOf(AdmissionRejectedException.class);
+
+        // Cheap requests still fit
+        gate.admit(5).close();
+
+        expensive.close();
+        expensive.close();
+        assertThat(gate.availableCapacity()).isEqualTo(10);
+        gate.admit(100).close();
+    }
+
+    @Test
+    @DisplayName("Should charge requests costlier than the capacity the whole capacity")
+    void testAdmit_CapsCostAtCapacity() {
+        NearestStoresAdmissionGate gate = createGate(StoreSearchProperties.Mode.DATABASE);
+
+        try (NearestStoresAdmissionGate.Permit permit = gate.admit(100)) {
+            assertThat(gate.availableCapacity()).isZero();
+            assertThatThrownBy(() -> gate.admit(null)).isInstanceOf(AdmissionRejectedException.class);
+        }
+        assertThat(gate.availableCapacity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should reject limits above the maximum before taking any capacity")
+    void testAdmit_LimitExceeded() {
+        NearestStoresAdmissionGate gate = createGate(StoreSearchProperties.Mode.MEMORY);
+
+        assertThatThrownBy(() -> gate.admit(501)).isInstanceOf(LimitExceededException.class);
+        assertThat(gate.availableCapacity()).isEqualTo(10);
+    }
+
+    private static NearestStoresAdmissionGate createGate(StoreSearchProperties.Mode mode) {
+        StoreSearchProperties searchProperties = new StoreSearchProperties(mode, 10, 40, 500);
+        StoreService storeService = new StoreService(
+                mock(StoreRepository.class),
+                new DistanceCalculator(),
+                mock(CircuitBreakerFactory.class),
+                new LocationValidator(),
+                mock(DatabaseNearestStoreSearch.class),
+                searchProperties,
+                new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper())),
+                new StoreSearchMetrics(new SimpleMeterRegistry(), searchProperties));
+        return new NearestStoresAdmissionGate(storeService, searchProperties, ADMISSION);
+    }
+}
@@ -0,0 +1,164 @@
+package com.jumbo.store.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreReactiveProperties;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.validation.LocationValidator;
+import com.jumbo.store.web.dto.StoreDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for the reactive nearest-store search.
+ */
+class ReactiveStoreServiceTest {
+
+    private static final BigDecimal LATITUDE = new BigDecimal("52.3791");
+    private static final BigDecimal LONGITUDE = new BigDecimal("4.9003");
+
+    private final DatabaseNearestStoreSearch databaseSearch = mock(DatabaseNearestStoreSearch.class);
+    private ReactiveStoreService reactiveStoreService;
+
+    @AfterEach
+    void tearDown() {
+        if (reactiveStoreService != null) {
+            reactiveStoreService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank the snapshot on the subscribing thread in memory mode")
+    void testFindNearestStores_Memory() {
+        reactiveStoreService = createService(StoreSearchProperties.Mode.MEMORY, new StoreReactiveProperties(1, 1));
+        Thread caller = Thread.currentThread();
+
+        StepVerifier.create(reactiveStoreService
+                        .findNearestStores(LATITUDE, LONGITUDE, 1)
+                        .doOnNext(response -> assertThat(Thread.currentThread()).isSameAs(caller)))
+                .assertNext(response -> {
+                    assertThat(response.count()).isEqualTo(1);
+                    assertThat(response.stores().getFirst().uuid())
+                            .isEqualTo(StoreFixture.createAmsterdamStore().getUuid());
+                })
+                .verifyComplete();
+        verify(databaseSearch, never()).findNearestStores(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should run the database search on the bounded scheduler")
+    void testFindNearestStores_DatabaseOffEventLoop() {
+        reactiveStoreService = createService(StoreSearchProperties.Mode.DATABASE, new StoreReactiveProperties(1, 1));
+        when(databaseSearch.findNearestStores(any(), anyInt())).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread().getName()).startsWith("store-database-search");
+            return List.of(StoreFixture.createRotterdamStore());
+        });
+
+        StepVerifier.create(reactiveStoreService.findNearestStores(LATITUDE, LONGITUDE, 1))
+                .assertNext(response -> assertThat(response.stores())
+                        .extracting(StoreDTO::uuid)
+                        .containsExactly(StoreFixture.createRotterdamStore().getUuid()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fall back to an empty response when the database search fails")
+    void testFindNearestStores_DatabaseFallback() {
+        reactiveStoreService = createService(StoreSearchProperties.Mode.DATABASE, new StoreReactiveProperties(1, 1));
+        when(databaseSearch.findNearestStores(any(), anyInt()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        StepVerifier.create(reactiveStoreService.findNearestStores(LATITUDE, LONGITUDE, 1))
+                .assertNext(response -> assertThat(response.count()).isZero())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject database searches once the scheduler queue is full")
+    void testFindNearestStores_RejectsWhenSaturated() throws InterruptedException {
+        reactiveStoreService = createService(StoreSearchProperties.Mode.DATABASE, new StoreReactiveProperties(1, 1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(databaseSearch.findNearestStores(any(), anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.<Store>of();
+        });
+
+        reactiveStoreService.findNearestStores(LATITUDE, LONGITUDE, 1).subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        reactiveStoreService.findNearestStores(LATITUDE, LONGITUDE, 1).subscribe();
+
+        StepVerifier.create(reactiveStoreService.findNearestStores(LATITUDE, LONGITUDE, 1))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should signal an invalid location as an error instead of throwing")
+    void testFindNearestStores_InvalidLocation() {
+        reactiveStoreService = createService(StoreSearchProperties.Mode.MEMORY, new StoreReactiveProperties(1, 1));
+
+        Mono<?> search = reactiveStoreService.findNearestStores(new BigDecimal("91"), LONGITUDE, 1);
+
+        StepVerifier.create(search).expectError(IllegalArgumentException.class).verify();
+    }
+
+    private ReactiveStoreService createService(
+            StoreSearchProperties.Mode mode, StoreReactiveProperties reactiveProperties) {
+        StoreSnapshotHolder holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        holder.install(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+        StoreSearchProperties searchProperties = new StoreSearchProperties(mode, 10, 40, 100);
+        StoreService storeService = new StoreService(
+                mock(StoreRepository.class),
+                new DistanceCalculator(),
+                mock(CircuitBreakerFactory.class),
+                new LocationValidator(),
+                databaseSearch,
+                searchProperties,
+                holder,
+                new StoreSearchMetrics(new SimpleMeterRegistry(), searchProperties));
+        return new ReactiveStoreService(storeService, searchProperties, passThroughFactory(), reactiveProperties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ReactiveCircuitBreakerFactory<?, ?> passThroughFactory() {
+        ReactiveCircuitBreaker circuitBreaker = mock(ReactiveCircuitBreaker.class);
+        when(circuitBreaker.run(any(Mono.class), any())).thenAnswer(invocation -> {
+            Mono<Object> call = invocation.getArgument(0);
+            Function<Throwable, Mono<Object>> fallback = invocation.getArgument(1);
+            return call.onErrorResume(fallback);
+        });
+        ReactiveCircuitBreakerFactory<?, ?> factory = mock(ReactiveCircuitBreakerFactory.class);
+        when(factory.create(anyString())).thenReturn(circuitBreaker);
+        return factory;
+    }
+}
@@ -0,0 +1,114 @@
+package com.jumbo.store.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.StoreEventRecorder;
+import com.jumbo.store.validation.LocationValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Unit tests for the flight recorder events of the store service.
+ */
+class StoreServiceEventsTest {
+
+    private static final BigDecimal LATITUDE = new BigDecimal("52.3791");
+    private static final BigDecimal LONGITUDE = new BigDecimal("4.9003");
+
+    private final StoreRepository storeRepository = mock(StoreRepository.class);
+    private StoreService storeService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        CircuitBreaker circuitBreaker = mock(CircuitBreaker.class);
+        when(circuitBreaker.run(any(Supplier.class), any(Function.class))).thenAnswer(invocation -> {
+            Supplier<Object> call = invocation.getArgument(0);
+            Function<Throwable, Object> fallback = invocation.getArgument(1);
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                return fallback.apply(e);
+            }
+        });
+        CircuitBreakerFactory<?, ?> circuitBreakerFactory = mock(CircuitBreakerFactory.class);
+        when(circuitBreakerFactory.create(anyString())).thenReturn(circuitBreaker);
+
+        StoreSnapshotHolder holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        holder.install(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+        StoreSearchProperties searchProperties =
+                new StoreSearchProperties(StoreSearchProperties.Mode.MEMORY, 10, 40, 100);
+        storeService = new StoreService(
+                storeRepository,
+                new DistanceCalculator(),
+                circuitBreakerFactory,
+                new LocationValidator(),
+                mock(DatabaseNearestStoreSearch.class),
+                searchProperties,
+                holder,
+                new StoreSearchMetrics(new SimpleMeterRegistry(), searchProperties));
+    }
+
+    @Test
+    @DisplayName("Should record searches and entity tag hits with their origin cell, limit and candidates")
+    void testFindNearestStores_RecordsSearchEvents() throws Exception {
+        List<RecordedEvent> events = StoreEventRecorder.named(
+                StoreEventRecorder.record(() -> {
+                    storeService.findNearestStores(LATITUDE, LONGITUDE, 1);
+                    storeService.recordCacheHit(LATITUDE, LONGITUDE, null);
+                }),
+                NearestStoresSearchEvent.NAME);
+
+        assertThat(events).hasSize(2);
+        RecordedEvent search = events.get(0);
+        assertThat(search.getString("mode")).isEqualTo("memory");
+        assertThat(search.getString("originCell")).isEqualTo("52.3,4.9");
+        assertThat(search.getInt("limit")).isEqualTo(1);
+        assertThat(search.getInt("results")).isEqualTo(1);
+        assertThat(search.getInt("candidates")).isPositive();
+        assertThat(search.getBoolean("cacheHit")).isFalse();
+
+        RecordedEvent cacheHit = events.get(1);
+        assertThat(cacheHit.getBoolean("cacheHit")).isTrue();
+        assertThat(cacheHit.getInt("limit")).isEqualTo(5);
+        assertThat(cacheHit.getInt("results")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record loading the store list, and whether the fallback answered")
+    void testGetAllStores_RecordsCacheMissEvents() throws Exception {
+        when(storeRepository.findAll())
+                .thenReturn(List.of(StoreFixture.createAmsterdamStore()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        List<RecordedEvent> events = StoreEventRecorder.named(
+                StoreEventRecorder.record(() -> {
+                    storeService.getAllStores();
+                    storeService.getAllStores();
+                }),
+                StoreListCacheMissEvent.NAME);
+
+        assertThat(events).extracting(event -> event.getInt("stores")).containsExactly(1, 0);
+        assertThat(events).extracting(event -> event.getBoolean("fallback")).containsExactly(false, true);
+    }
+}
@@ -0,0 +1,156 @@
+package com.jumbo.store.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.exception.LimitExceededException;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.snapshot.StoreContentHash;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshot;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.validation.LocationValidator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+
+/**
+ * Unit tests for tagging nearest-store responses.
+ */
+class StoreServiceTest {
+
+    private static final BigDecimal LATITUDE = new BigDecimal("52.3791");
+    private static final BigDecimal LONGITUDE = new BigDecimal("4.9003");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StoreRepository storeRepository = mock(StoreRepository.class);
+    private StoreSnapshotHolder holder;
+    private StoreService storeService;
+
+    @BeforeEach
+    void setUp() {
+        holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        holder.install(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+        storeService = storeService(StoreSearchProperties.Mode.MEMORY);
+    }
+
+    @Test
+    @DisplayName("Should tag equivalent queries alike")
+    void testNearestStoresTag_NormalizesQuery() {
+        OptionalLong tag = storeService.nearestStoresTag(LATITUDE, LONGITUDE, 5);
+
+        assertThat(storeService.nearestStoresTag(new BigDecimal("52.379100"), new BigDecimal("4.90030"), 5))
+                .isEqualTo(tag);
+        assertThat(storeService.nearestStoresTag(LATITUDE, LONGITUDE, null)).isEqualTo(tag);
+        assertThat(storeService.nearestStoresTag(LATITUDE, LONGITUDE, 0)).isEqualTo(tag);
+        assertThat(storeService.nearestStoresTag(LATITUDE, LONGITUDE, 4)).isNotEqualTo(tag);
+        assertThat(storeService.nearestStoresTag(LONGITUDE, LATITUDE, 5)).isNotEqualTo(tag);
+    }
+
+    @Test
+    @DisplayName("Should change the tag when the stores change")
+    void testNearestStoresTag_FollowsSnapshot() {
+        OptionalLong tag = storeService.nearestStoresTag(LATITUDE, LONGITUDE, 5);
+
+        holder.apply(List.of(StoreFixture.createUtrechtStore()), List.of());
+
+        assertThat(storeService.nearestStoresTag(LATITUDE, LONGITUDE, 5)).isNotEqualTo(tag);
+    }
+
+    @Test
+    @DisplayName("Should not tag nearest stores in database mode, where no snapshot describes them")
+    void testNearestStoresTag_DatabaseMode() {
+        assertThat(storeService(StoreSearchProperties.Mode.DATABASE).nearestStoresTag(LATITUDE, LONGITUDE, 5))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should validate the location before tagging")
+    void testNearestStoresTag_InvalidLocation() {
+        assertThatThrownBy(() -> storeService.nearestStoresTag(new BigDecimal("91"), LONGITUDE, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject limits above the configured maximum")
+    void testNearestStoresTag_LimitExceeded() {
+        assertThat(storeService.nearestStoresTag(LATITUDE, LONGITUDE, 100))
+                .isNotEqualTo(storeService.nearestStoresTag(LATITUDE, LONGITUDE, 99));
+        assertThatThrownBy(() -> storeService.nearestStoresTag(LATITUDE, LONGITUDE, 101))
+                .isInstanceOf(LimitExceededException.class)
+                .hasMessageContaining("100");
+        assertThatThrownBy(() -> storeService.findNearestStores(LATITUDE, LONGITUDE, Integer.MAX_VALUE))
+                .isInstanceOf(LimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Should time every stage of an in-memory search and count the stores it compared")
+    void testFindNearestStores_RecordsStages() {
+        storeService.findNearestStores(LATITUDE, LONGITUDE, 1);
+
+        for (StoreSearchMetrics.Stage stage : List.of(
+                StoreSearchMetrics.Stage.VALIDATION,
+                StoreSearchMetrics.Stage.FETCH,
+                StoreSearchMetrics.Stage.SELECTION,
+                StoreSearchMetrics.Stage.DISTANCE,
+                StoreSearchMetrics.Stage.MAPPING)) {
+            assertThat(meterRegistry
+                            .get(StoreSearchMetrics.STAGE_METRIC)
+                            .tags("stage", stage.name().toLowerCase(Locale.ROOT), "mode", "memory")
+                            .timer()
+                            .count())
+                    .as(stage.name())
+                    .isEqualTo(1);
+        }
+        DistributionSummary candidates =
+                meterRegistry.get(StoreSearchMetrics.CANDIDATES_METRIC).summary();
+        assertThat(candidates.count()).isEqualTo(1);
+        assertThat(candidates.totalAmount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should look stores up in PostgreSQL in database mode, where no snapshot is held")
+    void testFindStores_DatabaseMode() {
+        Store utrecht = StoreFixture.createUtrechtStore();
+        when(storeRepository.findByUuid("utrecht-uuid-1")).thenReturn(Optional.of(utrecht));
+        when(storeRepository.findByUuidIn(Set.of("utrecht-uuid-1", "unknown-uuid")))
+                .thenReturn(List.of(utrecht));
+        StoreService databaseStoreService = storeService(StoreSearchProperties.Mode.DATABASE);
+
+        StoreSnapshot.Entry entry = databaseStoreService.getStore("utrecht-uuid-1");
+
+        assertThat(entry.store()).isSameAs(utrecht);
+        assertThat(entry.contentHash()).isEqualTo(StoreContentHash.of(utrecht));
+        assertThat(databaseStoreService.findStores(List.of("unknown-uuid", "utrecht-uuid-1", "utrecht-uuid-1")))
+                .extracting(StoreSnapshot.Entry::store)
+                .containsExactly(utrecht);
+    }
+
+    private StoreService storeService(StoreSearchProperties.Mode mode) {
+        StoreSearchProperties searchProperties = new StoreSearchProperties(mode, 10, 40, 100);
+        return new StoreService(
+                storeRepository,
+                new DistanceCalculator(),
+                mock(CircuitBreakerFactory.class),
+                new LocationValidator(),
+                mock(DatabaseNearestStoreSearch.class),
+                searchProperties,
+                holder,
+                new StoreSearchMetrics(meterRegistry, searchProperties));
+    }
+}
@@ -0,0 +1,163 @@
+package com.jumbo.store.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.event.StoresChangedEvent;
+import com.jumbo.store.domain.exception.StoreConflictException;
+import com.jumbo.store.domain.exception.StoreNotFoundException;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshot;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.web.dto.StoreBulkDeleteResponse;
+import com.jumbo.store.web.dto.StoreBulkResponse;
+import com.jumbo.store.web.dto.StoreRequest;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Unit tests for store writes and the change events they publish.
+ */
+class StoreWriteServiceTest {
+
+    private StoreRepository storeRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private StoreWriteService storeWriteService;
+
+    @BeforeEach
+    void setUp() {
+        storeRepository = mock(StoreRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        storeWriteService = new StoreWriteService(storeRepository, eventPublisher);
+        when(storeRepository.save(any(Store.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(storeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Should create a store with a generated UUID, its geometry and a change event")
+    void testCreateStore() {
+        Store store = storeWriteService.createStore(request(null, "52.3676"));
+
+        assertThat(store.getUuid()).isNotBlank();
+        assertThat(store.getUnitZ()).isNotNull();
+        assertThat(publishedEvent().upserts()).containsExactly(store);
+    }
+
+    @Test
+    @DisplayName("Should reject a store whose UUID already exists")
+    void testCreateStore_Conflict() {
+        when(storeRepository.existsByUuid("taken")).thenReturn(true);
+
+        assertThatThrownBy(() -> storeWriteService.createStore(request("taken", "52.3676")))
+                .isInstanceOf(StoreConflictException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should update an existing store and recompute its geometry")
+    void testUpdateStore() {
+        Store existing = StoreFixture.createAmsterdamStore();
+        existing.computeGeometry();
+        when(storeRepository.findByUuid("amsterdam-uuid-1")).thenReturn(Optional.of(existing));
+        double previousUnitZ = existing.getUnitZ();
+
+        Store updated = storeWriteService.updateStore("amsterdam-uuid-1", request("ignored", "51.9225"));
+
+        assertThat(updated.getUuid()).isEqualTo("amsterdam-uuid-1");
+        assertThat(updated.getLatitude()).isEqualByComparingTo("51.9225");
+        assertThat(updated.getUnitZ()).isNotEqualTo(previousUnitZ);
+        assertThat(publishedEvent().upserts()).containsExactly(updated);
+    }
+
+    @Test
+    @DisplayName("Should store coordinates at the column scale, so a reload of the row leaves the snapshot unchanged")
+    void testCreateStore_CoordinatesAtColumnScale() {
+        StoreSnapshotHolder holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        Store store = storeWriteService.createStore(request("scaled-1", "52.3"));
+        StoreSnapshot patched = holder.apply(publishedEvent().upserts(), List.of());
+
+        // The row as PostgreSQL returns it from DECIMAL(10,8) and DECIMAL(11,8)
+        Store persisted = storeWriteService.createStore(request("scaled-1", "52.30000000"));
+        persisted.setLongitude(new BigDecimal("4.90410000"));
+
+        assertThat(store.getLatitude()).hasToString("52.30000000");
+        assertThat(holder.install(List.of(persisted))).isSameAs(patched);
+    }
+
+    @Test
+    @DisplayName("Should fail to update or delete an unknown store")
+    void testUnknownStore() {
+        when(storeRepository.findByUuid("unknown")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> storeWriteService.updateStore("unknown", request(null, "52")))
+                .isInstanceOf(StoreNotFoundException.class);
+        assertThatThrownBy(() -> storeWriteService.deleteStore("unknown")).isInstanceOf(StoreNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should count created and updated stores of a bulk write")
+    void testUpsertStores() {
+        when(storeRepository.findByUuidIn(any())).thenReturn(List.of(StoreFixture.createAmsterdamStore()));
+
+        StoreBulkResponse response = storeWriteService.upsertStores(
+                List.of(request("amsterdam-uuid-1", "52.37"), request("new-1", "52.1"), request(null, "52.2")));
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.updated()).isEqualTo(1);
+        assertThat(publishedEvent().upserts()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should delete known stores and report unknown UUIDs")
+    void testDeleteStores() {
+        when(storeRepository.findByUuidIn(any())).thenReturn(List.of(StoreFixture.createAmsterdamStore()));
+
+        StoreBulkDeleteResponse response = storeWriteService.deleteStores(List.of("amsterdam-uuid-1", "unknown"));
+
+        assertThat(response.deleted()).isEqualTo(1);
+        assertThat(response.notFound()).containsExactly("unknown");
+        assertThat(publishedEvent().deletedUuids()).containsExactly("amsterdam-uuid-1");
+    }
+
+    private StoresChangedEvent publishedEvent() {
+        ArgumentCaptor<StoresChangedEvent> captor = ArgumentCaptor.forClass(StoresChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+
+    private static StoreRequest request(String uuid, String latitude) {
+        return new StoreRequest(
+                uuid,
+                "Jumbo Test",
+                "Amsterdam",
+                "1011 AB",
+                "Damrak",
+                "1",
+                null,
+                new BigDecimal(latitude),
+                new BigDecimal("4.9041"),
+                null,
+                false,
+                "08:00",
+                "22:00",
+                "Supermarkt",
+                true,
+                null);
+    }
+}
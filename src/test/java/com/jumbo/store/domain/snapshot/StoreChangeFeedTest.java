@@ -0,0 +1,122 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.CacheConfig;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.configuration.StoreSnapshotProperties;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.fixture.StoreFixture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Unit tests for applying batches of changed UUIDs received from PostgreSQL.
+ */
+class StoreChangeFeedTest {
+
+    private StoreRepository storeRepository;
+    private StoreSnapshotHolder holder;
+    private Cache cache;
+    private StoreChangeFeed feed;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        storeRepository = mock(StoreRepository.class);
+        holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        ObjectProvider<StoreSnapshotBus> busProvider = mock(ObjectProvider.class);
+        StoreSnapshotRefresher refresher = new StoreSnapshotRefresher(
+                new StoreChangeLoader(storeRepository),
+                holder,
+                busProvider,
+                new StoreSearchProperties(StoreSearchProperties.Mode.MEMORY, 10, 320, 500));
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.STORES_CACHE);
+        cache = cacheManager.getCache(CacheConfig.STORES_CACHE);
+        StoreChangeListener listener =
+                new StoreChangeListener(holder, cacheManager, busProvider, new StoreSearchProperties(null, 0, 0, 0));
+        feed = new StoreChangeFeed(
+                new DataSourceProperties(),
+                new StoreChangeLoader(storeRepository),
+                holder,
+                refresher,
+                listener,
+                cacheManager,
+                new StoreSnapshotProperties(
+                        null, null, new StoreSnapshotProperties.ChangeFeed(true, null, null, 3, null)));
+    }
+
+    @Test
+    @DisplayName("Should upsert changed rows and delete the ones no longer in the table")
+    void testFlush_AppliesChanges() {
+        holder.install(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+        cache.put(CacheConfig.ALL_STORES_KEY, new ArrayList<>(holder.current().getStores()));
+        Store amsterdam = StoreFixture.createAmsterdamStore();
+        amsterdam.setTodayClose("23:00");
+        when(storeRepository.findByUuidIn(any())).thenReturn(List.of(amsterdam, StoreFixture.createUtrechtStore()));
+
+        feed.flush(Set.of("amsterdam-uuid-1", "rotterdam-uuid-1", "utrecht-uuid-1"));
+
+        StoreSnapshot snapshot = holder.current();
+        assertThat(snapshot.getVersion()).isEqualTo(2);
+        assertThat(snapshot.find("amsterdam-uuid-1").orElseThrow().store().getTodayClose())
+                .isEqualTo("23:00");
+        assertThat(snapshot.find("utrecht-uuid-1")).isPresent();
+        assertThat(snapshot.find("rotterdam-uuid-1")).isEmpty();
+        assertThat(cache.get(CacheConfig.ALL_STORES_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip changes the snapshot already holds")
+    void testFlush_AlreadyApplied() {
+        holder.install(List.of(StoreFixture.createAmsterdamStore()));
+        when(storeRepository.findByUuidIn(any())).thenReturn(List.of(StoreFixture.createAmsterdamStore()));
+
+        feed.flush(Set.of("amsterdam-uuid-1", "never-existed-uuid"));
+
+        assertThat(holder.current().getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should collapse a batch above the threshold into one rebuild from the primary")
+    void testFlush_LargeBatchRebuilds() {
+        holder.install(List.of(StoreFixture.createAmsterdamStore()));
+        cache.put(CacheConfig.ALL_STORES_KEY, new ArrayList<>());
+        when(storeRepository.findAll())
+                .thenReturn(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+
+        feed.flush(Set.of("a", "b", "c", "d"));
+
+        verify(storeRepository).findAll();
+        verify(storeRepository, never()).findByUuidIn(any());
+        assertThat(holder.current().find("rotterdam-uuid-1")).isPresent();
+        assertThat(cache.get(CacheConfig.ALL_STORES_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should rebuild when the table was truncated")
+    void testFlush_TruncateRebuilds() {
+        holder.install(List.of(StoreFixture.createAmsterdamStore()));
+        when(storeRepository.findAll()).thenReturn(List.of());
+
+        feed.flush(Set.of(StoreChangeFeed.REBUILD));
+
+        verify(storeRepository, never()).findByUuidIn(any());
+        assertThat(holder.current().isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,257 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.CacheConfig;
+import com.jumbo.store.configuration.StoreListCache;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.event.StoresChangedEvent;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.fixture.StoreFixture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+
+/**
+ * Unit tests for applying committed writes to the snapshot and the cached store list.
+ */
+class StoreChangeListenerTest {
+
+    private static final StoreSearchProperties MEMORY_SEARCH =
+            new StoreSearchProperties(StoreSearchProperties.Mode.MEMORY, 10, 320, 500);
+
+    private StoreSnapshotHolder holder;
+    private Cache cache;
+    private StoreSnapshotBus bus;
+    private ObjectProvider<StoreSnapshotBus> busProvider;
+    private StoreChangeListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.STORES_CACHE);
+        cache = cacheManager.getCache(CacheConfig.STORES_CACHE);
+        bus = mock(StoreSnapshotBus.class);
+        busProvider = mock(ObjectProvider.class);
+        listener = new StoreChangeListener(holder, cacheManager, busProvider, MEMORY_SEARCH);
+    }
+
+    @Test
+    @DisplayName("Should patch the snapshot with the written stores only and evict a cached list it cannot patch")
+    void testOnStoresChanged_PatchesSnapshotAndEvictsCache() {
+        List<Store> stores = List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore());
+        holder.install(stores);
+        cache.put(CacheConfig.ALL_STORES_KEY, new ArrayList<>(stores));
+        Store utrecht = StoreFixture.createUtrechtStore();
+
+        listener.onStoresChanged(new StoresChangedEvent(List.of(utrecht), List.of("amsterdam-uuid-1")));
+
+        assertThat(holder.current().getVersion()).isEqualTo(2);
+        assertThat(holder.current().find("utrecht-uuid-1")).isPresent();
+        assertThat(holder.current().find("amsterdam-uuid-1")).isEmpty();
+        assertThat(cache.get(CacheConfig.ALL_STORES_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should patch the cached store list with the written stores instead of evicting it")
+    void testOnStoresChanged_PatchesStoreListCache() {
+        StoreListCache storeListCache = mock(StoreListCache.class);
+        when(storeListCache.getName()).thenReturn(CacheConfig.STORES_CACHE);
+        SimpleCacheManager redisCacheManager = new SimpleCacheManager();
+        redisCacheManager.setCaches(List.of(storeListCache));
+        redisCacheManager.afterPropertiesSet();
+        StoresChangedEvent event =
+                new StoresChangedEvent(List.of(StoreFixture.createUtrechtStore()), List.of("amsterdam-uuid-1"));
+
+        new StoreChangeListener(holder, redisCacheManager, busProvider, MEMORY_SEARCH).onStoresChanged(event);
+
+        verify(storeListCache).apply(event.upserts(), event.deletedUuids());
+        verify(storeListCache, never()).evict(any());
+    }
+
+    @Test
+    @DisplayName("Should lose neither of two writes committed concurrently on different nodes")
+    void testOnStoresChanged_ConcurrentWriters() throws Exception {
+        List<Store> stores = List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore());
+        cache.put(CacheConfig.ALL_STORES_KEY, new ArrayList<>(stores));
+        // Both writers reach the shared cache before either leaves it
+        CyclicBarrier interleaving = new CyclicBarrier(2);
+        CacheManager sharedCacheManager = mock(CacheManager.class);
+        when(sharedCacheManager.getCache(CacheConfig.STORES_CACHE))
+                .thenReturn(new InterleavingCache(cache, interleaving));
+        Store amsterdam = StoreFixture.createAmsterdamStore();
+        amsterdam.setTodayClose("23:00");
+        Store rotterdam = StoreFixture.createRotterdamStore();
+        rotterdam.setTodayClose("23:30");
+
+        ExecutorService nodes = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> writes = List.of(
+                    nodes.submit(() -> new StoreChangeListener(
+                                    new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper())),
+                                    sharedCacheManager,
+                                    busProvider,
+                                    MEMORY_SEARCH)
+                            .onStoresChanged(StoresChangedEvent.upserted(List.of(amsterdam)))),
+                    nodes.submit(() -> new StoreChangeListener(
+                                    new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper())),
+                                    sharedCacheManager,
+                                    busProvider,
+                                    MEMORY_SEARCH)
+                            .onStoresChanged(StoresChangedEvent.upserted(List.of(rotterdam)))));
+            for (Future<?> write : writes) {
+                write.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            nodes.shutdownNow();
+        }
+
+        // The next read reloads the committed rows instead of a list missing one of the writes
+        List<?> reloaded = cache.get(CacheConfig.ALL_STORES_KEY, () -> new ArrayList<>(List.of(amsterdam, rotterdam)));
+        assertThat(reloaded)
+                .extracting(store -> ((Store) store).getTodayClose())
+                .containsExactly("23:00", "23:30");
+    }
+
+    @Test
+    @DisplayName("Should leave the cache empty when no store list is cached")
+    void testOnStoresChanged_NothingCached() {
+        listener.onStoresChanged(StoresChangedEvent.upserted(List.of(StoreFixture.createUtrechtStore())));
+
+        assertThat(cache.get(CacheConfig.ALL_STORES_KEY)).isNull();
+        assertThat(holder.current().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should apply the change at the reserved cluster version and announce it")
+    void testOnStoresChanged_AnnouncesVersion() {
+        when(busProvider.getIfAvailable()).thenReturn(bus);
+        when(bus.nextVersion()).thenReturn(OptionalLong.of(42));
+
+        listener.onStoresChanged(StoresChangedEvent.upserted(List.of(StoreFixture.createUtrechtStore())));
+
+        assertThat(holder.current().getVersion()).isEqualTo(42);
+        assertThat(holder.current().find("utrecht-uuid-1")).isPresent();
+        verify(bus).announce(42, List.of("utrecht-uuid-1"));
+    }
+
+    @Test
+    @DisplayName("Should keep the held version and announce nothing when no version can be reserved")
+    void testOnStoresChanged_BusUnavailable() {
+        holder.install(List.of(StoreFixture.createAmsterdamStore()), 7);
+        when(busProvider.getIfAvailable()).thenReturn(bus);
+        when(bus.nextVersion()).thenReturn(OptionalLong.empty());
+
+        listener.onStoresChanged(StoresChangedEvent.upserted(List.of(StoreFixture.createUtrechtStore())));
+
+        assertThat(holder.current().getVersion()).isEqualTo(7);
+        assertThat(holder.current().size()).isEqualTo(2);
+        verify(bus, never()).announce(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should only maintain the cached list in database mode, where no snapshot is held")
+    void testOnStoresChanged_DatabaseMode() {
+        StoreChangeListener databaseListener = new StoreChangeListener(
+                holder,
+                new ConcurrentMapCacheManager(CacheConfig.STORES_CACHE),
+                busProvider,
+                new StoreSearchProperties(StoreSearchProperties.Mode.DATABASE, 10, 320, 500));
+        when(busProvider.getIfAvailable()).thenReturn(bus);
+
+        databaseListener.onStoresChanged(StoresChangedEvent.upserted(List.of(StoreFixture.createUtrechtStore())));
+
+        assertThat(holder.current().isEmpty()).isTrue();
+        verify(bus, never()).announce(anyLong(), any());
+    }
+
+    /**
+     * Holds every cache operation at a barrier, so concurrent writers interleave their accesses to the entry.
+     */
+    private static final class InterleavingCache implements Cache {
+
+        private final Cache delegate;
+        private final CyclicBarrier barrier;
+
+        InterleavingCache(Cache delegate, CyclicBarrier barrier) {
+            this.delegate = delegate;
+            this.barrier = barrier;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            await();
+            return delegate.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            await();
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            await();
+            return delegate.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            await();
+            delegate.put(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            await();
+            delegate.evict(key);
+        }
+
+        @Override
+        public void clear() {
+            await();
+            delegate.clear();
+        }
+
+        private void await() {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Writers did not interleave", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.datasource.ReadWriteRoutingDataSource;
+import com.jumbo.store.configuration.datasource.ReplicaDataSourcePool;
+import com.jumbo.store.domain.event.StoresChangedEvent;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.fixture.StoreFixture;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * Unit tests for loading changed stores, with read/write splitting routing the reads.
+ * The replica lags behind: it still returns the rows as they were before the change.
+ */
+class StoreChangeLoaderTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final StoreRepository storeRepository = mock(StoreRepository.class);
+
+    private ReplicaDataSourcePool replicaPool;
+    private DataSource dataSource;
+    private AnnotationConfigApplicationContext context;
+    private StoreChangeLoader loader;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        replicaPool = new ReplicaDataSourcePool(
+                List.of(new ReplicaDataSourcePool.Replica("replica-1", replica)), Duration.ofSeconds(1));
+        LazyConnectionDataSourceProxy routing =
+                new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicaPool));
+        routing.setDefaultAutoCommit(true);
+        routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource = routing;
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(PlatformTransactionManager.class, () -> new DataSourceTransactionManager(dataSource));
+        context.registerBean(StoreRepository.class, () -> storeRepository);
+        context.registerBean(StoreChangeLoader.class);
+        context.register(TransactionConfig.class);
+        context.refresh();
+        loader = context.getBean(StoreChangeLoader.class);
+
+        Store changed = StoreFixture.createAmsterdamStore();
+        changed.setTodayClose("23:00");
+        when(storeRepository.findByUuidIn(any()))
+                .thenAnswer(
+                        invocation -> isOnPrimary() ? List.of(changed) : List.of(StoreFixture.createAmsterdamStore()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        replicaPool.close();
+    }
+
+    @Test
+    @DisplayName("Should load changed stores from the primary while the replica still holds the previous row")
+    void testLoad_ReadsFromPrimary() {
+        StoreSnapshot snapshot = StoreSnapshot.of(
+                1, List.of(StoreFixture.createAmsterdamStore()), new StoreJsonFragment(new ObjectMapper()));
+
+        StoresChangedEvent changes = loader.load(List.of("amsterdam-uuid-1"), snapshot);
+
+        assertThat(changes.upserts()).singleElement().satisfies(store -> assertThat(store.getTodayClose())
+                .isEqualTo("23:00"));
+        assertThat(changes.deletedUuids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should see the previous row when the repository is called on its own, in its read-only transaction")
+    void testFindByUuidIn_ReadsReplica() {
+        List<Store> stores = context.getBean(StoreRepository.class).findByUuidIn(List.of("amsterdam-uuid-1"));
+
+        assertThat(stores).singleElement().satisfies(store -> assertThat(store.getTodayClose())
+                .isEqualTo(StoreFixture.createAmsterdamStore().getTodayClose()));
+    }
+
+    @Test
+    @DisplayName("Should report held stores missing from the primary as deleted")
+    void testLoad_DeletedStore() {
+        when(storeRepository.findByUuidIn(any())).thenReturn(List.of());
+        StoreSnapshot snapshot = StoreSnapshot.of(
+                1, List.of(StoreFixture.createAmsterdamStore()), new StoreJsonFragment(new ObjectMapper()));
+
+        StoresChangedEvent changes = loader.load(List.of("amsterdam-uuid-1", "never-existed-uuid"), snapshot);
+
+        assertThat(changes.upserts()).isEmpty();
+        assertThat(changes.deletedUuids()).containsExactly("amsterdam-uuid-1");
+    }
+
+    /**
+     * @return whether the repository call runs on a primary connection, the way a JPA query would fetch it
+     */
+    private boolean isOnPrimary() throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        return ((ConnectionProxy) connection).getTargetConnection() == primaryConnection;
+    }
+
+    @EnableTransactionManagement
+    static class TransactionConfig {}
+}
@@ -0,0 +1,39 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.StoreEventRecorder;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the flight recorder events of snapshot builds.
+ */
+class StoreSnapshotBuildEventTest {
+
+    @Test
+    @DisplayName("Should record rebuilds, discarded unchanged rebuilds and incremental updates")
+    void testInstallAndApply_RecordBuildEvents() throws Exception {
+        StoreSnapshotHolder holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+
+        List<RecordedEvent> events = StoreEventRecorder.named(
+                StoreEventRecorder.record(() -> {
+                    holder.install(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+                    holder.install(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+                    holder.apply(List.of(StoreFixture.createUtrechtStore()), List.of("rotterdam-uuid-1"));
+                }),
+                StoreSnapshotBuildEvent.NAME);
+
+        assertThat(events).extracting(event -> event.getBoolean("incremental")).containsExactly(false, false, true);
+        assertThat(events).extracting(event -> event.getBoolean("installed")).containsExactly(true, false, true);
+        assertThat(events).extracting(event -> event.getLong("version")).containsExactly(1L, 1L, 2L);
+        assertThat(events).extracting(event -> event.getInt("stores")).containsExactly(2, 2, 2);
+        assertThat(events.get(0).getInt("gridCells")).isEqualTo(2);
+        assertThat(events.get(2).getInt("upserts")).isEqualTo(1);
+        assertThat(events.get(2).getInt("deletes")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,210 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jumbo.store.configuration.StoreSnapshotProperties;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.fixture.StoreFixture;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+/**
+ * Unit tests for announcing and receiving snapshot versions.
+ */
+class StoreSnapshotBusTest {
+
+    private static final String CHANNEL = "store:snapshot:versions";
+    private static final String VERSION_KEY = "store:snapshot:version";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private StoreRepository storeRepository;
+    private StoreSnapshotHolder holder;
+    private StoreSnapshotBus bus;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        storeRepository = mock(StoreRepository.class);
+        holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        bus = new StoreSnapshotBus(
+                redisTemplate,
+                holder,
+                new StoreChangeLoader(storeRepository),
+                new StoreSnapshotProperties(null, new StoreSnapshotProperties.Bus(true, CHANNEL, VERSION_KEY, 2), null),
+                objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.stop();
+    }
+
+    @Test
+    @DisplayName("Should reserve versions from the shared Redis counter")
+    void testNextVersion() {
+        when(valueOperations.increment(VERSION_KEY)).thenReturn(8L);
+
+        assertThat(bus.nextVersion()).hasValue(8);
+    }
+
+    @Test
+    @DisplayName("Should report no version when Redis is unreachable")
+    void testNextVersion_RedisUnavailable() {
+        when(valueOperations.increment(VERSION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(bus.nextVersion()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should start from version 0 before the first change")
+    void testLatestVersion_NoChangeYet() {
+        when(valueOperations.get(VERSION_KEY)).thenReturn(null);
+
+        assertThat(bus.latestVersion()).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should publish the version with the changed UUIDs on the channel")
+    void testAnnounce() {
+        bus.announce(8, List.of("amsterdam-uuid-1", "rotterdam-uuid-1"));
+
+        verify(redisTemplate)
+                .convertAndSend(CHANNEL, "{\"version\":8,\"uuids\":[\"amsterdam-uuid-1\",\"rotterdam-uuid-1\"]}");
+    }
+
+    @Test
+    @DisplayName("Should publish the version alone when the change is too large to list")
+    void testAnnounce_LargeChange() {
+        bus.announce(8, List.of("amsterdam-uuid-1", "rotterdam-uuid-1", "utrecht-uuid-1"));
+
+        verify(redisTemplate).convertAndSend(CHANNEL, "{\"version\":8,\"uuids\":null}");
+    }
+
+    @Test
+    @DisplayName("Should catch up with a newer version by loading only the changed stores")
+    void testOnMessage_NewerVersion() {
+        holder.install(List.of(StoreFixture.createAmsterdamStore()), 3);
+        when(storeRepository.findByUuidIn(List.of("rotterdam-uuid-1")))
+                .thenReturn(List.of(StoreFixture.createRotterdamStore()));
+
+        bus.onMessage(message(4, "rotterdam-uuid-1"), null);
+
+        verify(storeRepository, timeout(5_000)).findByUuidIn(List.of("rotterdam-uuid-1"));
+        awaitVersion(4);
+        assertThat(holder.current().find("rotterdam-uuid-1")).isPresent();
+        verify(storeRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should apply a change even when a stale reload already claimed its version")
+    void testOnAnnounced_StaleDataAtAnnouncedVersion() {
+        // A reload from a stale source installed the old store at the version of the change
+        holder.install(List.of(StoreFixture.createAmsterdamStore()), 5);
+        Store changed = StoreFixture.createAmsterdamStore();
+        changed.setTodayClose("23:00");
+        when(storeRepository.findByUuidIn(List.of("amsterdam-uuid-1"))).thenReturn(List.of(changed));
+
+        bus.onAnnounced(new StoreSnapshotBus.Announcement(5, List.of("amsterdam-uuid-1")));
+
+        assertThat(holder.current().getVersion()).isEqualTo(5);
+        assertThat(holder.current()
+                        .find("amsterdam-uuid-1")
+                        .orElseThrow()
+                        .store()
+                        .getTodayClose())
+                .isEqualTo("23:00");
+    }
+
+    @Test
+    @DisplayName("Should only adopt the version when it already holds the changed stores")
+    void testOnAnnounced_ChangeAlreadyHeld() {
+        StoreSnapshot held = holder.install(List.of(StoreFixture.createAmsterdamStore()), 3);
+        when(storeRepository.findByUuidIn(List.of("amsterdam-uuid-1")))
+                .thenReturn(List.of(StoreFixture.createAmsterdamStore()));
+
+        bus.onAnnounced(new StoreSnapshotBus.Announcement(4, List.of("amsterdam-uuid-1")));
+
+        assertThat(holder.current().getVersion()).isEqualTo(4);
+        assertThat(holder.current().getFingerprint()).isEqualTo(held.getFingerprint());
+    }
+
+    @Test
+    @DisplayName("Should keep the held version when the changed stores cannot be loaded")
+    void testOnAnnounced_DatabaseUnavailable() {
+        holder.install(List.of(StoreFixture.createAmsterdamStore()), 3);
+        when(storeRepository.findByUuidIn(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        bus.onAnnounced(new StoreSnapshotBus.Announcement(4, List.of("rotterdam-uuid-1")));
+
+        assertThat(holder.current().getVersion()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reload every store for a change too large to list")
+    void testOnAnnounced_LargeChange() {
+        holder.install(List.of(StoreFixture.createAmsterdamStore()), 3);
+        when(storeRepository.findAll())
+                .thenReturn(List.of(StoreFixture.createRotterdamStore(), StoreFixture.createUtrechtStore()));
+
+        bus.onAnnounced(new StoreSnapshotBus.Announcement(4, null));
+
+        assertThat(holder.current().getVersion()).isEqualTo(4);
+        assertThat(holder.current().size()).isEqualTo(2);
+        assertThat(holder.current().find("amsterdam-uuid-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed announcements")
+    void testOnMessage_Malformed() {
+        bus.onMessage(message("not-a-version"), null);
+
+        verify(storeRepository, never()).findByUuidIn(any());
+        verify(redisTemplate, never()).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    private void awaitVersion(long version) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (holder.current().getVersion() != version && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(holder.current().getVersion()).isEqualTo(version);
+    }
+
+    private DefaultMessage message(long version, String... uuids) {
+        try {
+            return message(objectMapper.writeValueAsString(new StoreSnapshotBus.Announcement(version, List.of(uuids))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,103 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.fixture.StoreFixture;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for snapshot versioning and lookups.
+ */
+class StoreSnapshotHolderTest {
+
+    private StoreSnapshotHolder holder;
+
+    @BeforeEach
+    void setUp() {
+        holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+    }
+
+    @Test
+    @DisplayName("Should index installed stores by UUID")
+    void testInstall_IndexesStores() {
+        StoreSnapshot snapshot =
+                holder.install(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+
+        assertThat(snapshot.getVersion()).isEqualTo(1);
+        assertThat(snapshot.find("rotterdam-uuid-1"))
+                .get()
+                .extracting(entry -> entry.store().getCity())
+                .isEqualTo("Rotterdam");
+        assertThat(snapshot.find("unknown")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the version when the content did not change")
+    void testInstall_UnchangedContent() {
+        StoreSnapshot first = holder.install(List.of(StoreFixture.createAmsterdamStore()));
+        StoreSnapshot second = holder.install(List.of(StoreFixture.createAmsterdamStore()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(holder.current().getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bump the version and the content hash when a store changes")
+    void testInstall_ChangedContent() {
+        StoreSnapshot first = holder.install(List.of(StoreFixture.createAmsterdamStore()));
+        Store renamed = StoreFixture.createAmsterdamStore();
+        renamed.setTodayClose("23:00");
+
+        StoreSnapshot second = holder.install(List.of(renamed));
+
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.getFingerprint()).isNotEqualTo(first.getFingerprint());
+        assertThat(second.find("amsterdam-uuid-1").orElseThrow().contentHash())
+                .isNotEqualTo(first.find("amsterdam-uuid-1").orElseThrow().contentHash());
+    }
+
+    @Test
+    @DisplayName("Should adopt a newer cluster version even when the content did not change")
+    void testInstallAtVersion_NewerVersion() {
+        StoreSnapshot first = holder.install(List.of(StoreFixture.createAmsterdamStore()), 3);
+        StoreSnapshot second = holder.install(List.of(StoreFixture.createAmsterdamStore()), 5);
+
+        assertThat(first.getVersion()).isEqualTo(3);
+        assertThat(second.getVersion()).isEqualTo(5);
+        // Only the version moved: the stores were not rendered again
+        assertThat(second.find("amsterdam-uuid-1").orElseThrow().jsonFragment())
+                .isSameAs(first.find("amsterdam-uuid-1").orElseThrow().jsonFragment());
+        assertThat(holder.install(List.of(StoreFixture.createAmsterdamStore()), 5))
+                .isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("Should never move the version or the content backwards")
+    void testInstallAtVersion_OlderVersion() {
+        StoreSnapshot held = holder.install(List.of(StoreFixture.createAmsterdamStore()), 5);
+
+        StoreSnapshot older = holder.install(List.of(StoreFixture.createRotterdamStore()), 4);
+        StoreSnapshot applied = holder.apply(List.of(StoreFixture.createUtrechtStore()), List.of(), 2);
+
+        assertThat(older).isSameAs(held);
+        assertThat(applied.getVersion()).isEqualTo(5);
+        assertThat(applied.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should hash equal content equally and tell null apart from empty")
+    void testContentHash() {
+        Store withNull = StoreFixture.createAmsterdamStore();
+        Store withEmpty = StoreFixture.createAmsterdamStore();
+        withEmpty.setStreet3("");
+
+        assertThat(StoreContentHash.of(StoreFixture.createAmsterdamStore()))
+                .isEqualTo(StoreContentHash.of(StoreFixture.createAmsterdamStore()));
+        assertThat(StoreContentHash.of(withNull)).isNotEqualTo(StoreContentHash.of(withEmpty));
+    }
+}
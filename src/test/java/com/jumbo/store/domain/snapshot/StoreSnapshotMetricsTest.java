@@ -0,0 +1,60 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.fixture.StoreFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the snapshot gauges.
+ */
+class StoreSnapshotMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StoreSnapshotHolder holder;
+
+    @BeforeEach
+    void setUp() {
+        holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        new StoreSnapshotMetrics(holder).bindTo(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should follow the size and version of the current snapshot")
+    void testGauges_FollowSnapshot() {
+        assertThat(gauge(StoreSnapshotMetrics.SIZE_METRIC)).isZero();
+
+        holder.install(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+        holder.apply(List.of(StoreFixture.createUtrechtStore()), List.of());
+
+        assertThat(gauge(StoreSnapshotMetrics.SIZE_METRIC)).isEqualTo(3);
+        assertThat(gauge(StoreSnapshotMetrics.VERSION_METRIC)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should restart the age when a refresh confirms the snapshot unchanged")
+    void testAge_RestartsOnRefresh() throws InterruptedException {
+        holder.install(List.of(StoreFixture.createAmsterdamStore()));
+        Thread.sleep(50);
+
+        assertThat(age()).isGreaterThanOrEqualTo(50);
+
+        holder.install(List.of(StoreFixture.createAmsterdamStore()));
+
+        assertThat(age()).isLessThan(50);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double age() {
+        return meterRegistry.get(StoreSnapshotMetrics.AGE_METRIC).timeGauge().value(TimeUnit.MILLISECONDS);
+    }
+}
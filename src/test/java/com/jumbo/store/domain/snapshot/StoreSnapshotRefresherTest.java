@@ -0,0 +1,95 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.fixture.StoreFixture;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Unit tests for reloading the store snapshot.
+ */
+class StoreSnapshotRefresherTest {
+
+    private StoreRepository storeRepository;
+    private StoreSnapshotHolder holder;
+    private ObjectProvider<StoreSnapshotBus> busProvider;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        storeRepository = mock(StoreRepository.class);
+        holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        busProvider = mock(ObjectProvider.class);
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot when the reloaded stores did not change")
+    void testRefresh_UnchangedStores() {
+        StoreSnapshotRefresher refresher = refresher(StoreSearchProperties.Mode.MEMORY);
+        when(storeRepository.findAll())
+                .thenReturn(List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+
+        StoreSnapshot first = refresher.refresh();
+        StoreSnapshot second = refresher.refresh();
+
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should keep the last known stores when the store list is unavailable")
+    void testRefresh_StoreListUnavailable() {
+        StoreSnapshotRefresher refresher = refresher(StoreSearchProperties.Mode.MEMORY);
+        StoreSnapshot installed = holder.install(List.of(StoreFixture.createAmsterdamStore()));
+        when(storeRepository.findAll()).thenThrow(new CannotCreateTransactionException("down"));
+
+        assertThat(refresher.refresh()).isSameAs(installed);
+    }
+
+    @Test
+    @DisplayName("Should not roll back a patched snapshot with stores loaded at an older version")
+    void testRefresh_OlderVersion() {
+        StoreSnapshotRefresher refresher = refresher(StoreSearchProperties.Mode.MEMORY);
+        holder.install(List.of(StoreFixture.createAmsterdamStore()), 3);
+        Store changed = StoreFixture.createAmsterdamStore();
+        changed.setTodayClose("23:00");
+        StoreSnapshot patched = holder.apply(List.of(changed), List.of(), 4);
+        when(storeRepository.findAll()).thenReturn(List.of(StoreFixture.createAmsterdamStore()));
+
+        assertThat(refresher.refresh(3)).isSameAs(patched);
+    }
+
+    @Test
+    @DisplayName("Should hold no snapshot in database mode")
+    void testRefresh_DatabaseMode() {
+        StoreSnapshotRefresher refresher = refresher(StoreSearchProperties.Mode.DATABASE);
+
+        refresher.onApplicationReady();
+        refresher.scheduledRefresh();
+        refresher.refresh(3);
+
+        assertThat(holder.current().isEmpty()).isTrue();
+        verify(storeRepository, never()).findAll();
+    }
+
+    private StoreSnapshotRefresher refresher(StoreSearchProperties.Mode mode) {
+        return new StoreSnapshotRefresher(
+                new StoreChangeLoader(storeRepository),
+                holder,
+                busProvider,
+                new StoreSearchProperties(mode, 10, 320, 500));
+    }
+}
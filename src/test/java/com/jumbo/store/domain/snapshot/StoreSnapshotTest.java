@@ -0,0 +1,161 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.model.UnitVector;
+import com.jumbo.store.fixture.StoreFixture;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the grid-accelerated nearest search and the incremental snapshot updates.
+ */
+class StoreSnapshotTest {
+
+    private static final StoreJsonFragment FRAGMENTS = new StoreJsonFragment(new ObjectMapper());
+
+    private final Random random = new Random(7);
+
+    @Test
+    @DisplayName("Should return the same nearest stores as ranking every store")
+    void testFindNearest_MatchesBruteForce() {
+        List<Store> stores = randomStores(2_000, 50.75, 53.55, 3.35, 7.15);
+        StoreSnapshot snapshot = StoreSnapshot.of(1, stores, FRAGMENTS);
+
+        for (int i = 0; i < 200; i++) {
+            double latitude = 50.75 + random.nextDouble() * 2.8;
+            double longitude = 3.35 + random.nextDouble() * 3.8;
+            int limit = 1 + random.nextInt(20);
+
+            assertThat(uuids(snapshot.findNearest(latitude, longitude, limit)))
+                    .as("nearest %d stores to (%s, %s)", limit, latitude, longitude)
+                    .isEqualTo(uuids(bruteForce(stores, latitude, longitude, limit)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the nearest stores across the antimeridian, near the poles and far from any store")
+    void testFindNearest_EdgeCases() {
+        List<Store> stores = new ArrayList<>();
+        stores.add(store("east", 0, 179.95));
+        stores.add(store("west", 0, -179.95));
+        stores.add(store("north", 89.99, 10));
+        stores.add(store("north-opposite", 89.99, -170));
+        stores.add(store("amsterdam", 52.3676, 4.9041));
+        StoreSnapshot snapshot = StoreSnapshot.of(1, stores, FRAGMENTS);
+
+        assertThat(uuids(snapshot.findNearest(0, -179.99, 2))).containsExactly("west", "east");
+        assertThat(uuids(snapshot.findNearest(89.98, -170, 2))).containsExactly("north-opposite", "north");
+        assertThat(uuids(snapshot.findNearest(-45, 100, 1))).isEqualTo(uuids(bruteForce(stores, -45, 100, 1)));
+        assertThat(snapshot.findNearest(0, 0, 10)).hasSize(5);
+        assertThat(snapshot.findNearest(0, 0, 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report how many stores a search compared and whether it ranked every store")
+    void testFindNearestEntries_ReportsCandidates() {
+        StoreSnapshot snapshot = StoreSnapshot.of(1, randomStores(2_000, 50.75, 53.55, 3.35, 7.15), FRAGMENTS);
+        int[] candidates = new int[1];
+        boolean[] fullScan = new boolean[1];
+        NearestSearchObserver observer = (visited, scanned) -> {
+            candidates[0] = visited;
+            fullScan[0] = scanned;
+        };
+
+        assertThat(snapshot.findNearestEntries(52.3676, 4.9041, 5, observer)).hasSize(5);
+        assertThat(candidates[0]).isBetween(5, 1_999);
+        assertThat(fullScan[0]).isFalse();
+
+        assertThat(snapshot.findNearestEntries(52.3676, 4.9041, 2_001, observer))
+                .hasSize(2_000);
+        assertThat(candidates[0]).isGreaterThanOrEqualTo(2_000);
+        assertThat(fullScan[0]).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should apply upserts and deletes to the same state a full rebuild produces")
+    void testApply_MatchesRebuild() {
+        List<Store> stores = randomStores(500, 51, 53, 4, 6);
+        StoreSnapshot snapshot = StoreSnapshot.of(1, stores, FRAGMENTS);
+
+        List<Store> expected = new ArrayList<>(stores);
+        List<String> deleted = List.of(stores.get(0).getUuid(), stores.get(250).getUuid(), "unknown");
+        expected.removeIf(store -> deleted.contains(store.getUuid()));
+
+        Store moved = store(stores.get(10).getUuid(), 52.3676, 4.9041);
+        Store added = store("added", 51.9225, 4.4777);
+        expected.replaceAll(store -> store.getUuid().equals(moved.getUuid()) ? moved : store);
+        expected.add(added);
+
+        StoreSnapshot patched = snapshot.apply(2, List.of(moved, added), deleted, FRAGMENTS);
+        StoreSnapshot rebuilt = StoreSnapshot.of(2, expected, FRAGMENTS);
+
+        assertThat(patched.getVersion()).isEqualTo(2);
+        assertThat(patched.size()).isEqualTo(rebuilt.size());
+        assertThat(patched.getFingerprint()).isEqualTo(rebuilt.getFingerprint());
+        assertThat(patched.find(stores.get(0).getUuid())).isEmpty();
+        assertThat(patched.find("added"))
+                .get()
+                .extracting(StoreSnapshot.Entry::store)
+                .isSameAs(added);
+        assertThat(patched.find(moved.getUuid()))
+                .get()
+                .extracting(StoreSnapshot.Entry::store)
+                .isSameAs(moved);
+        for (Store store : expected) {
+            assertThat(patched.find(store.getUuid())).as(store.getUuid()).isPresent();
+        }
+        for (int i = 0; i < 50; i++) {
+            double latitude = 51 + random.nextDouble() * 2;
+            double longitude = 4 + random.nextDouble() * 2;
+            assertThat(uuids(patched.findNearest(latitude, longitude, 5)))
+                    .isEqualTo(uuids(bruteForce(expected, latitude, longitude, 5)));
+        }
+
+        // The original snapshot is unchanged
+        assertThat(snapshot.size()).isEqualTo(500);
+        assertThat(snapshot.find(stores.get(0).getUuid())).isPresent();
+        assertThat(snapshot.find("added")).isEmpty();
+    }
+
+    private List<Store> randomStores(int count, double minLat, double maxLat, double minLon, double maxLon) {
+        List<Store> stores = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            stores.add(store(
+                    "store-" + i,
+                    minLat + random.nextDouble() * (maxLat - minLat),
+                    minLon + random.nextDouble() * (maxLon - minLon)));
+        }
+        return stores;
+    }
+
+    private static Store store(String uuid, double latitude, double longitude) {
+        return StoreFixture.createStoreWithCoordinates(
+                uuid,
+                "City",
+                BigDecimal.valueOf(latitude).setScale(6, RoundingMode.HALF_UP),
+                BigDecimal.valueOf(longitude).setScale(6, RoundingMode.HALF_UP));
+    }
+
+    private static List<Store> bruteForce(List<Store> stores, double latitude, double longitude, int limit) {
+        UnitVector origin = UnitVector.of(latitude, longitude);
+        return stores.stream()
+                .sorted(Comparator.comparingDouble(
+                                (Store store) -> store.unitVector().dot(origin))
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static List<String> uuids(List<Store> stores) {
+        return stores.stream().map(Store::getUuid).toList();
+    }
+}
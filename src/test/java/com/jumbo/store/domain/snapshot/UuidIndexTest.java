@@ -0,0 +1,97 @@
+package com.jumbo.store.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the open-addressing UUID index.
+ */
+class UuidIndexTest {
+
+    @Test
+    @DisplayName("Should find every indexed UUID at its position")
+    void testPositionOf_AllIndexed() {
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            uuids.add(UUID.randomUUID().toString());
+        }
+
+        UuidIndex index = UuidIndex.of(uuids);
+
+        for (int i = 0; i < uuids.size(); i++) {
+            assertThat(index.positionOf(uuids.get(i))).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return -1 for unknown, null and skipped blank UUIDs")
+    void testPositionOf_Missing() {
+        UuidIndex index = UuidIndex.of(List.of("a", " ", "b"));
+
+        assertThat(index.positionOf("c")).isEqualTo(-1);
+        assertThat(index.positionOf(null)).isEqualTo(-1);
+        assertThat(index.positionOf(" ")).isEqualTo(-1);
+        assertThat(index.positionOf("b")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should resolve colliding hashes by probing")
+    void testPositionOf_Collisions() {
+        // "Aa" and "BB" share the same String.hashCode()
+        UuidIndex index = UuidIndex.of(List.of("Aa", "BB", "AaBB", "BBAa"));
+
+        assertThat(index.positionOf("Aa")).isZero();
+        assertThat(index.positionOf("BB")).isEqualTo(1);
+        assertThat(index.positionOf("AaBB")).isEqualTo(2);
+        assertThat(index.positionOf("BBAa")).isEqualTo(3);
+        assertThat(index.positionOf("AaAa")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should handle an empty index")
+    void testPositionOf_Empty() {
+        assertThat(UuidIndex.of(List.of()).positionOf("a")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should keep colliding entries reachable after removing one of them")
+    void testEdit_RemoveWithCollisions() {
+        UuidIndex index = UuidIndex.of(List.of("Aa", "BB", "AaBB", "BBAa", "other"));
+
+        UuidIndex edited =
+                index.edit().remove("Aa").remove("AaBB").put("new", 5).build();
+
+        assertThat(edited.positionOf("Aa")).isEqualTo(-1);
+        assertThat(edited.positionOf("AaBB")).isEqualTo(-1);
+        assertThat(edited.positionOf("BB")).isEqualTo(1);
+        assertThat(edited.positionOf("BBAa")).isEqualTo(3);
+        assertThat(edited.positionOf("new")).isEqualTo(5);
+        assertThat(edited.size()).isEqualTo(4);
+        // The source index is unchanged
+        assertThat(index.positionOf("Aa")).isZero();
+        assertThat(index.positionOf("new")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should grow while staying consistent under many inserts and removals")
+    void testEdit_Grows() {
+        UuidIndex.Editor editor = UuidIndex.of(List.of()).edit();
+        for (int i = 0; i < 1_000; i++) {
+            editor.put("uuid-" + i, i);
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            editor.remove("uuid-" + i);
+        }
+        UuidIndex index = editor.build();
+
+        assertThat(index.size()).isEqualTo(500);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(index.positionOf("uuid-" + i)).isEqualTo(i % 2 == 0 ? -1 : i);
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.jumbo.store.fixture;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.model.Store;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic, seeded generator of realistic Dutch stores, for datasets far larger than {@code stores.json}.
+ * Stores cluster around population centres: each one picks a centre weighted by population and lands at a
+ * normally distributed offset from it, either in town or spread over the surrounding region. Attributes follow the
+ * distributions of the real dataset.
+ * <p>
+ * Every store is derived from the seed and its index alone, so {@link #store(long)} gives the same store whether it is
+ * generated on its own, in a list or in a parallel stream, and {@link #writeJson(OutputStream, long)} can stream
+ * millions of stores without holding them in memory.
+ */
+public final class SyntheticStores {
+
+    public static final long DEFAULT_SEED = 42;
+
+    /**
+     * Roughly the Netherlands; generated coordinates are clamped to it.
+     */
+    private static final double MIN_LATITUDE = 50.75;
+
+    private static final double MAX_LATITUDE = 53.55;
+    private static final double MIN_LONGITUDE = 3.35;
+    private static final double MAX_LONGITUDE = 7.2;
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    /**
+     * Share of stores in the towns and villages around a centre rather than in the centre itself.
+     */
+    private static final double REGIONAL_SHARE = 0.35;
+
+    private static final double REGIONAL_SIGMA_KM = 15;
+
+    private static final List<Center> CENTERS = List.of(
+            new Center("Amsterdam", 52.3676, 4.9041, 920, 10),
+            new Center("Rotterdam", 51.9225, 4.4792, 665, 30),
+            new Center("Den Haag", 52.0705, 4.3007, 560, 25),
+            new Center("Utrecht", 52.0907, 5.1214, 375, 35),
+            new Center("Eindhoven", 51.4416, 5.4697, 240, 56),
+            new Center("Groningen", 53.2194, 6.5665, 235, 97),
+            new Center("Tilburg", 51.5555, 5.0913, 225, 50),
+            new Center("Almere", 52.3508, 5.2647, 220, 13),
+            new Center("Breda", 51.5719, 4.7683, 185, 48),
+            new Center("Nijmegen", 51.8126, 5.8372, 180, 65),
+            new Center("Apeldoorn", 52.2112, 5.9699, 165, 73),
+            new Center("Arnhem", 51.9851, 5.8987, 165, 68),
+            new Center("Haarlem", 52.3874, 4.6462, 165, 20),
+            new Center("Enschede", 52.2215, 6.8937, 160, 75),
+            new Center("Amersfoort", 52.1561, 5.3878, 160, 38),
+            new Center("Zaandam", 52.4391, 4.8275, 160, 15),
+            new Center("'s-Hertogenbosch", 51.6978, 5.3037, 160, 52),
+            new Center("Zwolle", 52.5168, 6.0830, 130, 80),
+            new Center("Leeuwarden", 53.2012, 5.7999, 125, 89),
+            new Center("Leiden", 52.1601, 4.4970, 125, 23),
+            new Center("Maastricht", 50.8514, 5.6910, 120, 62),
+            new Center("Dordrecht", 51.8133, 4.6901, 120, 33),
+            new Center("Ede", 52.0402, 5.6649, 120, 67),
+            new Center("Alkmaar", 52.6324, 4.7534, 110, 18),
+            new Center("Emmen", 52.7792, 6.9060, 107, 78),
+            new Center("Delft", 52.0116, 4.3571, 105, 26),
+            new Center("Venlo", 51.3704, 6.1724, 102, 59),
+            new Center("Deventer", 52.2661, 6.1552, 101, 74),
+            new Center("Heerlen", 50.8882, 5.9795, 87, 64),
+            new Center("Lelystad", 52.5185, 5.4714, 80, 82),
+            new Center("Roosendaal", 51.5308, 4.4653, 77, 47),
+            new Center("Assen", 52.9928, 6.5642, 68, 94),
+            new Center("Den Helder", 52.9563, 4.7601, 56, 17),
+            new Center("Middelburg", 51.4988, 3.6109, 49, 43),
+            new Center("Goes", 51.5040, 3.8880, 38, 44));
+
+    private static final double[] CUMULATIVE_POPULATION =
+            cumulative(CENTERS.stream().mapToDouble(Center::population).toArray());
+
+    private static final String[] STREETS = {
+        "Kerkstraat",
+        "Dorpsstraat",
+        "Stationsweg",
+        "Hoofdstraat",
+        "Marktplein",
+        "Molenweg",
+        "Schoolstraat",
+        "Julianastraat",
+        "Beatrixlaan",
+        "Wilhelminastraat",
+        "Nieuwstraat",
+        "Industrieweg",
+        "Parallelweg",
+        "Winkelcentrum",
+        "Raadhuisplein",
+        "Emmastraat",
+        "Oranjestraat",
+        "Prins Bernhardlaan",
+        "Burgemeester Visserlaan",
+        "Van der Valk Boumanweg"
+    };
+
+    /**
+     * The letters used in Dutch postal codes.
+     */
+    private static final String POSTAL_CODE_LETTERS = "ABCDEGHJKLMNPRSTVWXZ";
+
+    // Shares of the real dataset
+    private static final Weighted<String> LOCATION_TYPES =
+            Weighted.of(new String[] {"SupermarktPuP", "Supermarkt", "PuP"}, new double[] {367, 213, 7});
+    private static final Weighted<String> OPENING_TIMES = Weighted.of(
+            new String[] {"08:00", "07:00", "07:30", "08:30", "09:00", "06:00"}, new double[] {548, 22, 6, 5, 2, 1});
+    private static final Weighted<String> CLOSING_TIMES = Weighted.of(
+            new String[] {"21:00", "20:00", "22:00", "20:30", "19:00", "18:00"}, new double[] {262, 242, 74, 3, 2, 2});
+    private static final double CLOSED_TODAY_SHARE = 2.0 / 587;
+    private static final String CLOSED = "Gesloten";
+
+    private static final long QUERY_STREAM = 0x5DEECE66DL;
+
+    private final long seed;
+
+    public SyntheticStores() {
+        this(DEFAULT_SEED);
+    }
+
+    public SyntheticStores(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param index the position of the store in the dataset
+     * @return the store at that position; the same for the same seed and index
+     */
+    public Store store(long index) {
+        SplittableRandom random = random(index);
+        Center center = pickCenter(random);
+        double[] position = position(center, random);
+
+        String locationType = LOCATION_TYPES.pick(random);
+        boolean closed = random.nextDouble() < CLOSED_TODAY_SHARE;
+        String street = STREETS[random.nextInt(STREETS.length)];
+
+        return Store.builder()
+                .uuid(uuid(index, random))
+                .addressName("Jumbo " + center.name() + " " + street)
+                .city(center.name())
+                .postalCode(postalCode(center, random))
+                .street(street)
+                .street2(String.valueOf(houseNumber(random)))
+                .latitude(scaled(position[0]))
+                .longitude(scaled(position[1]))
+                .complexNumber(String.valueOf(30_000 + index))
+                .showWarningMessage(true)
+                .todayOpen(closed ? CLOSED : OPENING_TIMES.pick(random))
+                .todayClose(closed ? CLOSED : CLOSING_TIMES.pick(random))
+                .locationType(locationType)
+                .collectionPoint(locationType.endsWith("PuP") ? Boolean.TRUE : null)
+                .sapStoreID(String.valueOf(1_000 + index))
+                .build();
+    }
+
+    /**
+     * @param count the number of stores
+     * @return the first {@code count} stores, generated lazily
+     */
+    public Stream<Store> stream(long count) {
+        return LongStream.range(0, count).mapToObj(this::store);
+    }
+
+    /**
+     * @param count the number of stores
+     * @return the first {@code count} stores
+     */
+    public List<Store> stores(int count) {
+        return stream(count).toList();
+    }
+
+    /**
+     * Query points distributed like the stores, since customers search where people live.
+     * They are drawn independently of the stores, so they rarely coincide with one.
+     *
+     * @param count the number of query points
+     * @return the query points
+     */
+    public Coordinate[] queries(int count) {
+        Coordinate[] queries = new Coordinate[count];
+        for (int i = 0; i < count; i++) {
+            SplittableRandom random = random(QUERY_STREAM + i);
+            double[] position = position(pickCenter(random), random);
+            queries[i] = new Coordinate(scaled(position[0]), scaled(position[1]));
+        }
+        return queries;
+    }
+
+    /**
+     * Writes the first {@code count} stores in the {@code stores.json} format read by {@code StoreJsonParser},
+     * one store at a time.
+     *
+     * @param out the stream to write to; left open
+     * @param count the number of stores
+     * @throws IOException if writing fails
+     */
+    public void writeJson(OutputStream out, long count) throws IOException {
+        try (JsonGenerator generator = new JsonFactory()
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("stores");
+            for (long i = 0; i < count; i++) {
+                write(generator, store(i));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes a dataset to a file, for load tests and manual runs:
+     * {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+     * -Dexec.mainClass=com.jumbo.store.fixture.SyntheticStores -Dexec.args="1000000 target/stores-1m.json"}.
+     *
+     * @param args the number of stores, the target file and optionally the seed
+     * @throws IOException if writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticStores <count> <file> [seed]");
+            System.exit(1);
+        }
+        long count = Long.parseLong(args[0]);
+        Path file = Path.of(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            new SyntheticStores(seed).writeJson(out, count);
+        }
+        System.out.printf("Wrote %d stores to %s%n", count, file);
+    }
+
+    private static void write(JsonGenerator generator, Store store) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("city", store.getCity());
+        generator.writeStringField("postalCode", store.getPostalCode());
+        generator.writeStringField("street", store.getStreet());
+        generator.writeStringField("street2", store.getStreet2());
+        generator.writeStringField("street3", "");
+        generator.writeStringField("addressName", store.getAddressName());
+        generator.writeStringField("uuid", store.getUuid());
+        // Coordinates are strings in stores.json
+        generator.writeStringField("longitude", store.getLongitude().toPlainString());
+        generator.writeStringField("latitude", store.getLatitude().toPlainString());
+        generator.writeStringField("complexNumber", store.getComplexNumber());
+        generator.writeBooleanField("showWarningMessage", store.getShowWarningMessage());
+        generator.writeStringField("todayOpen", store.getTodayOpen());
+        generator.writeStringField("locationType", store.getLocationType());
+        if (store.getCollectionPoint() != null) {
+            generator.writeBooleanField("collectionPoint", store.getCollectionPoint());
+        }
+        generator.writeStringField("sapStoreID", store.getSapStoreID());
+        generator.writeStringField("todayClose", store.getTodayClose());
+        generator.writeEndObject();
+    }
+
+    private SplittableRandom random(long index) {
+        // SplitMix64 finalizer: neighbouring indices get unrelated sequences
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    private static Center pickCenter(SplittableRandom random) {
+        return CENTERS.get(pick(CUMULATIVE_POPULATION, random));
+    }
+
+    private static double[] position(Center center, SplittableRandom random) {
+        double sigmaKm = random.nextDouble() < REGIONAL_SHARE ? REGIONAL_SIGMA_KM : center.urbanSigmaKm();
+        double latitude = center.latitude() + random.nextGaussian() * sigmaKm / KM_PER_DEGREE_LATITUDE;
+        double longitude = center.longitude()
+                + random.nextGaussian()
+                        * sigmaKm
+                        / (KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(center.latitude())));
+        return new double[] {
+            Math.clamp(latitude, MIN_LATITUDE, MAX_LATITUDE), Math.clamp(longitude, MIN_LONGITUDE, MAX_LONGITUDE)
+        };
+    }
+
+    private static String uuid(long index, SplittableRandom random) {
+        // 18 bytes give the 24 characters of the real UUIDs; the index keeps them unique
+        ByteBuffer bytes = ByteBuffer.allocate(18);
+        bytes.putLong(random.nextLong()).putShort((short) random.nextInt()).putLong(index);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    private static String postalCode(Center center, SplittableRandom random) {
+        int digits = center.postalPrefix() * 100 + random.nextInt(100);
+        return digits
+                + " "
+                + POSTAL_CODE_LETTERS.charAt(random.nextInt(POSTAL_CODE_LETTERS.length()))
+                + POSTAL_CODE_LETTERS.charAt(random.nextInt(POSTAL_CODE_LETTERS.length()));
+    }
+
+    private static int houseNumber(SplittableRandom random) {
+        // Low numbers are far more common than high ones
+        return 1 + (int) Math.min(400, -Math.log(1 - random.nextDouble()) * 40);
+    }
+
+    private static BigDecimal scaled(double degrees) {
+        return BigDecimal.valueOf(degrees).setScale(6, RoundingMode.HALF_UP);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (target < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    /**
+     * @param population inhabitants, in thousands
+     * @param postalPrefix the first two digits of the centre's postal codes
+     */
+    private record Center(String name, double latitude, double longitude, double population, int postalPrefix) {
+
+        /**
+         * Larger cities spread their stores over a larger area.
+         */
+        double urbanSigmaKm() {
+            return 0.8 + 1.2 * Math.sqrt(population / 100);
+        }
+    }
+
+    private record Weighted<T>(T[] values, double[] cumulative) {
+
+        static <T> Weighted<T> of(T[] values, double[] weights) {
+            return new Weighted<>(values, SyntheticStores.cumulative(weights));
+        }
+
+        T pick(SplittableRandom random) {
+            return values[SyntheticStores.pick(cumulative, random)];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.jumbo.store.fixture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.configuration.StoreJsonParser;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.service.DistanceCalculator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Unit tests for the synthetic store generator.
+ */
+class SyntheticStoresTest {
+
+    private static final int COUNT = 10_000;
+
+    private final SyntheticStores syntheticStores = new SyntheticStores();
+
+    @Test
+    @DisplayName("Should generate the same stores for the same seed, whichever way they are requested")
+    void testStores_Deterministic() {
+        List<Store> stores = syntheticStores.stores(100);
+
+        assertThat(new SyntheticStores(SyntheticStores.DEFAULT_SEED).stores(100))
+                .isEqualTo(stores);
+        assertThat(syntheticStores.store(57)).isEqualTo(stores.get(57));
+        assertThat(syntheticStores.stream(100).parallel().toList()).isEqualTo(stores);
+        assertThat(new SyntheticStores(7).stores(100)).doesNotContainAnyElementsOf(stores);
+    }
+
+    @Test
+    @DisplayName("Should write JSON that StoreJsonParser reads back into the same stores")
+    void testWriteJson_RoundTrip() throws Exception {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        syntheticStores.writeJson(json, 1_000);
+
+        StoreJsonParser parser =
+                new StoreJsonParser(Jackson2ObjectMapperBuilder.json().build());
+        List<Store> parsed = parser.parseStores(new ByteArrayInputStream(json.toByteArray()));
+
+        assertThat(parsed).isEqualTo(syntheticStores.stores(1_000));
+    }
+
+    @Test
+    @DisplayName("Should generate unique stores inside the Netherlands")
+    void testStores_UniqueAndInBounds() {
+        List<Store> stores = syntheticStores.stores(COUNT);
+
+        assertThat(stores.stream().map(Store::getUuid).collect(Collectors.toSet()))
+                .hasSize(COUNT);
+        assertThat(stores).allSatisfy(store -> {
+            assertThat(store.getUuid()).hasSize(24);
+            assertThat(store.getLatitude().doubleValue()).isBetween(50.75, 53.55);
+            assertThat(store.getLongitude().doubleValue()).isBetween(3.35, 7.2);
+            assertThat(store.getPostalCode()).matches("\\d{4} [A-Z]{2}");
+        });
+    }
+
+    @Test
+    @DisplayName("Should cluster stores around population centres")
+    void testStores_Clustered() {
+        DistanceCalculator distanceCalculator = new DistanceCalculator();
+        long nearAmsterdam = syntheticStores.stream(COUNT)
+                .filter(store -> distanceCalculator.calculateDistance(
+                                52.3676,
+                                4.9041,
+                                store.getLatitude().doubleValue(),
+                                store.getLongitude().doubleValue())
+                        < 5)
+                .count();
+
+        // A uniform spread would put about 0.1% of the stores within 5 km of any point
+        assertThat(nearAmsterdam).isGreaterThan(COUNT / 50);
+    }
+
+    @Test
+    @DisplayName("Should follow the attribute distribution of the real dataset")
+    void testStores_AttributeDistribution() {
+        List<Store> stores = syntheticStores.stores(COUNT);
+
+        long pickupPoints = stores.stream()
+                .filter(store -> Boolean.TRUE.equals(store.getCollectionPoint()))
+                .count();
+        long openAtEight = stores.stream()
+                .filter(store -> "08:00".equals(store.getTodayOpen()))
+                .count();
+
+        // 374 of the 587 real stores are collection points and 548 open at 08:00
+        assertThat(pickupPoints).isBetween(COUNT * 60L / 100, COUNT * 67L / 100);
+        assertThat(openAtEight).isBetween(COUNT * 90L / 100, COUNT * 96L / 100);
+        assertThat(stores.stream().map(Store::getLocationType).collect(Collectors.toSet()))
+                .isEqualTo(Set.of("SupermarktPuP", "Supermarkt", "PuP"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.jumbo.store.fixtures;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records the {@code jdk.VirtualThreadPinned} JFR events raised while a piece of code runs, i.e. every time a virtual
+ * thread blocked while it could not unmount from its carrier (typically inside a {@code synchronized} block).
+ */
+public final class PinnedThreadRecorder {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private PinnedThreadRecorder() {}
+
+    /**
+     * @param workload the code to observe
+     * @return the pinning events, whatever their duration
+     */
+    public static List<RecordedEvent> record(Workload workload) throws Exception {
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    /**
+     * @param event a pinning event
+     * @return whether one of the frames of its stack trace belongs to a class of the given package
+     */
+    public static boolean involves(RecordedEvent event, String packageName) {
+        return event.getStackTrace() != null
+                && event.getStackTrace().getFrames().stream()
+                        .anyMatch(frame -> frame.getMethod().getType().getName().startsWith(packageName));
+    }
+
+    /**
+     * @param events pinning events
+     * @return their stack traces, for assertion messages
+     */
+    public static String describe(List<RecordedEvent> events) {
+        return events.stream()
+                .map(event -> event.getStackTrace() == null
+                        ? "<no stack trace>"
+                        : event.getStackTrace().getFrames().stream()
+                                .map(PinnedThreadRecorder::describe)
+                                .collect(Collectors.joining("\n    at ")))
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @FunctionalInterface
+    public interface Workload {
+        void run() throws Exception;
+    }
+}
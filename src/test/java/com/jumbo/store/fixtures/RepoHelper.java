@@ -2,6 +2,7 @@ package com.jumbo.store.fixtures;
 
 import com.jumbo.store.domain.model.Store;
 import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.snapshot.StoreSnapshotRefresher;
 import com.jumbo.store.fixture.StoreFixture;
 import java.util.function.UnaryOperator;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 /**
  * Helper class for setting up test data in the database.
  * Provides methods to insert stores and other entities for integration tests.
+ * The store snapshot is refreshed after every change so the API serves the inserted data right away.
  */
 @Component
 public class RepoHelper {
@@ -17,6 +19,9 @@ public class RepoHelper {
     @Autowired
     private StoreRepository storeRepository;
 
+    @Autowired
+    private StoreSnapshotRefresher storeSnapshotRefresher;
+
     /**
      * Inserts a store using the default Amsterdam store fixture.
      *
@@ -51,8 +56,9 @@ public class RepoHelper {
                 .collectionPoint(baseStore.getCollectionPoint())
                 .complexNumber(baseStore.getComplexNumber())
                 .sapStoreID(baseStore.getSapStoreID());
-        Store store = customizer.apply(builder).build();
-        return storeRepository.save(store);
+        Store store = storeRepository.save(customizer.apply(builder).build());
+        storeSnapshotRefresher.refresh();
+        return store;
     }
 
     /**
@@ -62,7 +68,9 @@ public class RepoHelper {
      * @return list of inserted stores
      */
     public java.util.List<Store> insertStores(Store... stores) {
-        return storeRepository.saveAll(java.util.Arrays.asList(stores));
+        java.util.List<Store> saved = storeRepository.saveAll(java.util.Arrays.asList(stores));
+        storeSnapshotRefresher.refresh();
+        return saved;
     }
 
     /**
@@ -70,5 +78,6 @@ public class RepoHelper {
      */
     public void deleteAllStores() {
         storeRepository.deleteAll();
+        storeSnapshotRefresher.refresh();
     }
 }
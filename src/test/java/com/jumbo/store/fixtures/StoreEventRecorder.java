@@ -0,0 +1,52 @@
+package com.jumbo.store.fixtures;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records the store service's own JFR events raised while a piece of code runs, with the settings of
+ * {@code jfr/store-service.jfc}, so the tests also check that the profile enables them.
+ */
+public final class StoreEventRecorder {
+
+    private static final Path PROFILE = Path.of("jfr", "store-service.jfc");
+    private static final String EVENT_PREFIX = "com.jumbo.store.";
+
+    private StoreEventRecorder() {}
+
+    /**
+     * @param workload the code to observe
+     * @return the store service events, in commit order
+     */
+    public static List<RecordedEvent> record(PinnedThreadRecorder.Workload workload) throws Exception {
+        Path dump = Files.createTempFile("store-events", ".jfr");
+        try (Recording recording = new Recording(Configuration.create(PROFILE))) {
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().startsWith(EVENT_PREFIX))
+                    .sorted((a, b) -> a.getEndTime().compareTo(b.getEndTime()))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    /**
+     * @param events recorded events
+     * @param name   the event name, e.g. {@code com.jumbo.store.NearestStoresSearch}
+     * @return the events of that type
+     */
+    public static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+    }
+}
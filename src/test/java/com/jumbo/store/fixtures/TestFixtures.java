@@ -18,6 +18,8 @@ public class TestFixtures {
         public static class Stores {
 
             public static final String READ = getFakeJwtValueWithSpecificPermissions("read:store");
+
+            public static final String WRITE = getFakeJwtValueWithSpecificPermissions("read:store", "write:store");
         }
 
         public static String getFakeJwtValueWithSpecificPermissions(String... permissions) {
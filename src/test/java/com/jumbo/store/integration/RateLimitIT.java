@@ -0,0 +1,99 @@
+package com.jumbo.store.integration;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.config.TestConfig;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.RepoHelper;
+import io.restassured.response.Response;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Integration tests for cluster-wide per-principal rate limiting, with the buckets held in Redis.
+ */
+class RateLimitIT extends IntegrationTestBase {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @DynamicPropertySource
+    static void configureRateLimit(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("store.rate-limit.enabled", () -> true);
+        registry.add("store.rate-limit.mode", () -> "redis");
+        registry.add("store.rate-limit.default-quota.capacity", () -> 3);
+        registry.add("store.rate-limit.default-quota.refill-per-second", () -> 0.1);
+        registry.add("store.rate-limit.roles[ROLE_PARTNER].capacity", () -> 10);
+        registry.add("store.rate-limit.roles[ROLE_PARTNER].refill-per-second", () -> 0.1);
+    }
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(StoreFixture.createAmsterdamStore());
+        redisTemplate.delete(redisTemplate.keys("store:rate-limit:*"));
+    }
+
+    @Test
+    @DisplayName("should reject a principal over its quota with 429 and Retry-After")
+    void rejectsPrincipalOverQuota() {
+        String token = createToken("noisy-partner", "ROLE_CUSTOMER");
+
+        for (int i = 0; i < 3; i++) {
+            findNearest(token).then().statusCode(HttpStatus.OK.value());
+        }
+        String retryAfter = findNearest(token)
+                .then()
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .extract()
+                .header(HttpHeaders.RETRY_AFTER);
+
+        assertThat(Long.parseLong(retryAfter)).isPositive();
+        assertThat(redisTemplate.hasKey("store:rate-limit:noisy-partner")).isTrue();
+        // Other principals are not affected
+        findNearest(createToken("quiet-customer", "ROLE_CUSTOMER")).then().statusCode(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName("should apply the quota of the principal's role")
+    void appliesRoleQuota() {
+        String token = createToken("partner", "ROLE_PARTNER");
+
+        for (int i = 0; i < 10; i++) {
+            findNearest(token).then().statusCode(HttpStatus.OK.value());
+        }
+        findNearest(token).then().statusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private static String createToken(String subject, String role) {
+        return TestConfig.createTestJwt(subject, List.of(role), List.of("read:store"));
+    }
+
+    private static Response findNearest(String token) {
+        return given().header("Authorization", "Bearer " + token)
+                .queryParam("latitude", 52.3676)
+                .queryParam("longitude", 4.9041)
+                .when()
+                .get("/api/stores/nearest");
+    }
+}
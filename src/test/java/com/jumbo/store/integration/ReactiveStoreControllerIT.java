@@ -0,0 +1,124 @@
+package com.jumbo.store.integration;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.RepoHelper;
+import com.jumbo.store.fixtures.TestFixtures;
+import com.jumbo.store.web.converter.StoreMediaTypes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The nearest-store endpoint served by WebFlux (profile {@code reactive}), in both search modes.
+ */
+@ActiveProfiles("reactive")
+class ReactiveStoreControllerIT extends IntegrationTestBase {
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(
+                StoreFixture.createAmsterdamStore(),
+                StoreFixture.createRotterdamStore(),
+                StoreFixture.createUtrechtStore(),
+                StoreFixture.createHaarlemStore(),
+                StoreFixture.createTheHagueStore());
+    }
+
+    @Test
+    @DisplayName("should return nearest stores sorted by distance")
+    void findNearestStores() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("limit", "3")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("count", is(3))
+                .body("stores[0].city", is("Amsterdam"))
+                .body("stores[0].distanceInKm", lessThanOrEqualTo(5.0f))
+                .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    @DisplayName("should answer a matching If-None-Match with 304")
+    void findNearestStores_NotModified() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, matchesPattern("W/\"[0-9a-f]+\""))
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, is(etag));
+    }
+
+    @Test
+    @DisplayName("should select fields and negotiate binary formats")
+    void findNearestStores_FieldsAndFormats() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("fields", "compact")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("stores[0].uuid", is(notNullValue()))
+                .body("stores[0].city", is(nullValue()));
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .accept(StoreMediaTypes.APPLICATION_PROTOBUF_VALUE)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith(StoreMediaTypes.APPLICATION_PROTOBUF_VALUE));
+    }
+
+    @Test
+    @DisplayName("should reject invalid locations and missing tokens like the servlet stack")
+    void findNearestStores_Errors() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "91")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        given().param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.FORBIDDEN.value());
+    }
+}
@@ -0,0 +1,125 @@
+package com.jumbo.store.integration;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.fixtures.RepoHelper;
+import com.jumbo.store.fixtures.TestFixtures;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Integration tests for read/write splitting.
+ * Uses two independent Postgres instances: the base container acts as primary and a second one as replica.
+ * They are not replicated, which makes it observable where each statement was routed.
+ */
+class ReadReplicaRoutingIT extends IntegrationTestBase {
+
+    private static final String REPLICA_ONLY_UUID = "replica-only-uuid";
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(POSTGRES_IMAGE_NAME)
+            .withDatabaseName("replicadb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static JdbcTemplate replicaJdbcTemplate;
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("store.datasource.read-replicas.enabled", () -> true);
+        registry.add("store.datasource.read-replicas.nodes[0].url", replica::getJdbcUrl);
+        registry.add("store.datasource.read-replicas.nodes[0].username", replica::getUsername);
+        registry.add("store.datasource.read-replicas.nodes[0].password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+        replicaJdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        replicaJdbcTemplate.update("DELETE FROM stores");
+    }
+
+    @Test
+    @DisplayName("should write to the primary only")
+    void writesGoToPrimary() {
+        repoHelper.insertStore();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stores", Long.class))
+                .isEqualTo(1L);
+        assertThat(replicaJdbcTemplate.queryForObject("SELECT COUNT(*) FROM stores", Long.class))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("should serve read-only transactions from the replica")
+    void readOnlyTransactionsGoToReplica() {
+        repoHelper.insertStore();
+        insertReplicaOnlyStore();
+
+        assertThat(storeService.getAllStores()).extracting(Store::getUuid).containsExactly(REPLICA_ONLY_UUID);
+        assertThat(storeRepository.findByUuid(REPLICA_ONLY_UUID)).isPresent();
+    }
+
+    @Test
+    @DisplayName("should answer nearest store searches from the replica")
+    void nearestStoresFromReplica() {
+        insertReplicaOnlyStore();
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3676")
+                .param("longitude", "4.9041")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("count", is(1))
+                .body("stores[0].uuid", is(REPLICA_ONLY_UUID));
+    }
+
+    private void insertReplicaOnlyStore() {
+        replicaJdbcTemplate.update(
+                """
+                INSERT INTO stores (uuid, address_name, city, postal_code, street, latitude, longitude, show_warning_message)
+                VALUES (?, 'Jumbo Replica', 'Amsterdam', '1011 AB', 'Damrak', 52.3676, 4.9041, false)
+                """,
+                REPLICA_ONLY_UUID);
+    }
+}
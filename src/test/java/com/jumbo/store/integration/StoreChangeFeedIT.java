@@ -0,0 +1,102 @@
+package com.jumbo.store.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.RepoHelper;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the PostgreSQL change feed.
+ * Rows are written with plain SQL, so the snapshot can only learn about them through the notifications.
+ */
+@TestPropertySource(
+        properties = {"store.snapshot.change-feed.enabled=true", "store.snapshot.change-feed.rebuild-threshold=50"})
+class StoreChangeFeedIT extends IntegrationTestBase {
+
+    private static final Duration CATCH_UP_TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @Autowired
+    private StoreSnapshotHolder storeSnapshotHolder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(StoreFixture.createAmsterdamStore());
+    }
+
+    @Test
+    @DisplayName("should apply rows inserted, updated and deleted outside the application")
+    void appliesRowChanges() throws InterruptedException {
+        insertStore("feed-uuid-1", 52.0907, 5.1214);
+        awaitUntil(() -> storeSnapshotHolder.current().find("feed-uuid-1").isPresent());
+
+        jdbcTemplate.update("UPDATE stores SET city = 'Nieuwegein' WHERE uuid = 'feed-uuid-1'");
+        awaitUntil(() -> storeSnapshotHolder
+                .current()
+                .find("feed-uuid-1")
+                .map(entry -> entry.store().getCity().equals("Nieuwegein"))
+                .orElse(false));
+
+        jdbcTemplate.update("DELETE FROM stores WHERE uuid = 'amsterdam-uuid-1'");
+        awaitUntil(() -> storeSnapshotHolder.current().find("amsterdam-uuid-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("should rebuild once for a bulk import")
+    void rebuildsAfterBulkImport() throws InterruptedException {
+        long before = storeSnapshotHolder.current().getVersion();
+        jdbcTemplate.update(
+                """
+                INSERT INTO stores (uuid, city, postal_code, street, address_name, latitude, longitude)
+                SELECT 'bulk-uuid-' || i, 'City ' || i, '1000 AA', 'Street', 'Bulk ' || i,
+                       51 + i / 1000.0, 5 + i / 1000.0
+                FROM generate_series(1, 200) AS i
+                """);
+
+        awaitUntil(() -> storeSnapshotHolder.current().size() == 201);
+        assertThat(storeSnapshotHolder.current().getVersion()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("should rebuild when the table is truncated")
+    void rebuildsAfterTruncate() throws InterruptedException {
+        jdbcTemplate.execute("TRUNCATE stores");
+
+        awaitUntil(() -> storeSnapshotHolder.current().isEmpty());
+    }
+
+    private void insertStore(String uuid, double latitude, double longitude) {
+        jdbcTemplate.update(
+                "INSERT INTO stores (uuid, city, postal_code, street, address_name, latitude, longitude)"
+                        + " VALUES (?, 'Utrecht', '3511 AA', 'Oudegracht', 'Feed store', ?, ?)",
+                uuid,
+                latitude,
+                longitude);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + CATCH_UP_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime())
+                    .as("condition met within %s", CATCH_UP_TIMEOUT)
+                    .isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.jumbo.store.integration;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import com.jumbo.store.IntegrationTestBase;
@@ -8,11 +9,16 @@ import com.jumbo.store.domain.model.Store;
 import com.jumbo.store.fixture.StoreFixture;
 import com.jumbo.store.fixtures.RepoHelper;
 import com.jumbo.store.fixtures.TestFixtures;
+import com.jumbo.store.web.converter.StoreMediaTypes;
+import java.math.BigDecimal;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
 class StoreControllerIT extends IntegrationTestBase {
 
@@ -208,4 +214,200 @@ class StoreControllerIT extends IntegrationTestBase {
                 .body("count", is(5))
                 .body("stores.size()", is(5));
     }
+
+    @Test
+    @DisplayName("should reject a limit above the configured maximum")
+    void findNearestStores_LimitAboveMaximum() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("limit", "2000000000")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("details[0]", containsString("500"));
+    }
+
+    @Test
+    @DisplayName("should tag nearest stores and answer 304 for an unchanged result")
+    void findNearestStores_NotModified() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("limit", "3")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, matchesPattern("W/\"[0-9a-f]+\""))
+                .header(HttpHeaders.CACHE_CONTROL, containsString("max-age=30"))
+                .header(HttpHeaders.CACHE_CONTROL, containsString("private"))
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        // Equivalent query written differently
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .param("latitude", "52.37910")
+                .param("longitude", "4.9003")
+                .param("limit", "3")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, is(etag));
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("limit", "4")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, not(is(etag)));
+    }
+
+    @Test
+    @DisplayName("should change the nearest stores tag once the stores change")
+    void findNearestStores_TagChangesWithStores() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        repoHelper.insertStores(StoreFixture.createStoreWithCoordinates(
+                "dam-uuid-1", "Amsterdam", new BigDecimal("52.3731"), new BigDecimal("4.8926")));
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, not(is(etag)));
+    }
+
+    @Test
+    @DisplayName("should return only the compact fields for the compact profile")
+    void findNearestStores_CompactProfile() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("limit", "3")
+                .param("fields", "compact")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("count", is(3))
+                .body(
+                        "stores[0].keySet()",
+                        containsInAnyOrder("uuid", "addressName", "latitude", "longitude", "distanceInKm"));
+    }
+
+    @Test
+    @DisplayName("should return only the requested fields and tag them apart from the full result")
+    void findNearestStores_SelectedFields() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("fields", "city,uuid")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, not(is(etag)))
+                .body("stores[0].keySet()", containsInAnyOrder("uuid", "city"));
+    }
+
+    @Test
+    @DisplayName("should return 400 for an unknown field")
+    void findNearestStores_UnknownField() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("fields", "uuid,owner")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @DisplayName("should negotiate binary formats and keep JSON as the default")
+    void findNearestStores_BinaryFormats() {
+        for (String mediaType : List.of(
+                StoreMediaTypes.APPLICATION_PROTOBUF_VALUE,
+                MediaType.APPLICATION_CBOR_VALUE,
+                StoreMediaTypes.APPLICATION_SMILE_VALUE)) {
+            given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                    .accept(mediaType)
+                    .param("latitude", "52.3791")
+                    .param("longitude", "4.9003")
+                    .when()
+                    .get("/api/stores/nearest")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .contentType(startsWith(mediaType))
+                    .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT));
+        }
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .accept("*/*")
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith(MediaType.APPLICATION_JSON_VALUE));
+    }
+
+    @Test
+    @DisplayName("should stream nearest stores as newline-delimited JSON")
+    void findNearestStores_Ndjson() {
+        String body = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .accept(MediaType.APPLICATION_NDJSON_VALUE)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("limit", "3")
+                .param("fields", "compact")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith(MediaType.APPLICATION_NDJSON_VALUE))
+                .header(HttpHeaders.ETAG, is(notNullValue()))
+                .extract()
+                .asString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.getFirst())
+                .startsWith("{\"uuid\":")
+                .contains("\"distanceInKm\":")
+                .doesNotContain("\"city\"");
+        assertThat(body).endsWith("\n");
+    }
 }
@@ -0,0 +1,99 @@
+package com.jumbo.store.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.configuration.CacheConfig;
+import com.jumbo.store.configuration.StoreListCache;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.domain.service.StoreWriteService;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.RepoHelper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Integration tests for the store list cached in Redis, one hash field per store.
+ */
+class StoreListCacheIT extends IntegrationTestBase {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private StoreWriteService storeWriteService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private StoreListCache cache;
+
+    @DynamicPropertySource
+    static void configureCache(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("spring.cache.type", () -> "redis");
+    }
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore());
+        cache = (StoreListCache) cacheManager.getCache(CacheConfig.STORES_CACHE);
+        cache.clear();
+    }
+
+    @Test
+    @DisplayName("should patch the cached list with a committed write instead of evicting it")
+    void patchesCachedListOnWrite() {
+        storeService.getAllStores();
+
+        storeWriteService.deleteStore("rotterdam-uuid-1");
+
+        assertThat(cachedUuids()).containsExactly("amsterdam-uuid-1");
+        assertThat(storeService.getAllStores()).extracting(Store::getUuid).containsExactly("amsterdam-uuid-1");
+    }
+
+    @Test
+    @DisplayName("should keep a write when a reader fills the list with stores loaded before it")
+    void keepsWriteOverStaleFill() {
+        Store changed = StoreFixture.createAmsterdamStore();
+        changed.setTodayClose("23:00");
+        cache.apply(List.of(changed), List.of("rotterdam-uuid-1"));
+
+        assertThat(cache.get(CacheConfig.ALL_STORES_KEY))
+                .as("a partial list is not served")
+                .isNull();
+
+        cache.put(
+                CacheConfig.ALL_STORES_KEY,
+                List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()));
+
+        List<?> stores = (List<?>) cache.get(CacheConfig.ALL_STORES_KEY).get();
+        assertThat(stores).singleElement().satisfies(store -> assertThat(((Store) store).getTodayClose())
+                .isEqualTo("23:00"));
+    }
+
+    private List<String> cachedUuids() {
+        Cache.ValueWrapper cached = cache.get(CacheConfig.ALL_STORES_KEY);
+        assertThat(cached).as("store list cached").isNotNull();
+        return ((List<?>) cached.get())
+                .stream().map(store -> ((Store) store).getUuid()).toList();
+    }
+}
@@ -0,0 +1,157 @@
+package com.jumbo.store.integration;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.RepoHelper;
+import com.jumbo.store.fixtures.TestFixtures;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class StoreLookupIT extends IntegrationTestBase {
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore());
+    }
+
+    @Test
+    @DisplayName("should return a store by uuid with a weak ETag")
+    void getStore() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .when()
+                .get("/api/stores/amsterdam-uuid-1")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, matchesPattern("W/\"[0-9a-f]+\""))
+                .body("uuid", is("amsterdam-uuid-1"))
+                .body("city", is("Amsterdam"))
+                .body("distanceInKm", is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("should return 304 when If-None-Match holds the current ETag")
+    void getStore_NotModified() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .when()
+                .get("/api/stores/amsterdam-uuid-1")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .when()
+                .get("/api/stores/amsterdam-uuid-1")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, is(etag));
+    }
+
+    @Test
+    @DisplayName("should return 404 for an unknown uuid")
+    void getStore_NotFound() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .when()
+                .get("/api/stores/unknown-uuid")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .body("code", is(404))
+                .body("message", is("Store not found."));
+    }
+
+    @Test
+    @DisplayName("should return 403 when token without read:store permission")
+    void getStore_Forbidden() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.WITHOUT_ROLES_AND_PERMISSIONS)
+                .when()
+                .get("/api/stores/amsterdam-uuid-1")
+                .then()
+                .statusCode(HttpStatus.FORBIDDEN.value());
+    }
+
+    @Test
+    @DisplayName("should look up stores in request order and list unknown uuids, without a validator on POST")
+    void lookupStores() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .contentType(ContentType.JSON)
+                .body("{\"uuids\": [\"rotterdam-uuid-1\", \"unknown-uuid\", \"amsterdam-uuid-1\"]}")
+                .when()
+                .post("/api/stores/lookup")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, nullValue())
+                .body("count", is(2))
+                .body("stores.uuid", contains("rotterdam-uuid-1", "amsterdam-uuid-1"))
+                .body("notFound", contains("unknown-uuid"));
+    }
+
+    @Test
+    @DisplayName("should return 304 for a batch that did not change")
+    void getStores_NotModified() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .queryParam("uuid", "amsterdam-uuid-1", "rotterdam-uuid-1")
+                .when()
+                .get("/api/stores/lookup")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, matchesPattern("W/\"[0-9a-f]+\""))
+                .body("stores.uuid", contains("amsterdam-uuid-1", "rotterdam-uuid-1"))
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .queryParam("uuid", "amsterdam-uuid-1", "rotterdam-uuid-1")
+                .when()
+                .get("/api/stores/lookup")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    @DisplayName("should tag batches with different unknown uuids differently")
+    void getStores_UnknownUuidsInTag() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .queryParam("uuid", "amsterdam-uuid-1", "unknown-uuid-x")
+                .when()
+                .get("/api/stores/lookup")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .queryParam("uuid", "amsterdam-uuid-1", "unknown-uuid-y")
+                .when()
+                .get("/api/stores/lookup")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("notFound", contains("unknown-uuid-y"));
+    }
+
+    @Test
+    @DisplayName("should return 400 for an empty lookup")
+    void lookupStores_Empty() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .contentType(ContentType.JSON)
+                .body("{\"uuids\": []}")
+                .when()
+                .post("/api/stores/lookup")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+}
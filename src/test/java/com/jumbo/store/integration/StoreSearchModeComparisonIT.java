@@ -0,0 +1,91 @@
+package com.jumbo.store.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.service.DatabaseNearestStoreSearch;
+import com.jumbo.store.domain.service.DistanceCalculator;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.fixture.SyntheticStores;
+import com.jumbo.store.fixtures.RepoHelper;
+import com.jumbo.store.web.dto.StoreDTO;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Compares the in-memory and database search modes on the same dataset.
+ * Both must return stores at the same distances in the same order (stores at an equal rounded distance may be
+ * ordered differently); the timings of each mode are logged.
+ */
+@Slf4j
+class StoreSearchModeComparisonIT extends IntegrationTestBase {
+
+    private static final int DATASET_SIZE = 2_000;
+    private static final int QUERIES = 200;
+    private static final int LIMIT = 10;
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private DatabaseNearestStoreSearch databaseNearestStoreSearch;
+
+    @Autowired
+    private DistanceCalculator distanceCalculator;
+
+    private List<Coordinate> queries;
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        // Clustered like the real stores: dense cities probe small boxes, the countryside expands them
+        SyntheticStores syntheticStores = new SyntheticStores();
+        repoHelper.insertStores(syntheticStores.stores(DATASET_SIZE).toArray(Store[]::new));
+        queries = List.of(syntheticStores.queries(QUERIES));
+    }
+
+    @Test
+    @DisplayName("database mode should return the same nearest distances as the in-memory mode")
+    void databaseModeMatchesInMemoryMode() {
+        long memoryNanos = 0;
+        long databaseNanos = 0;
+
+        for (Coordinate query : queries) {
+            long start = System.nanoTime();
+            List<Double> inMemory =
+                    storeService.findNearestStores(query.latitude(), query.longitude(), LIMIT).stores().stream()
+                            .map(StoreDTO::distanceInKm)
+                            .toList();
+            memoryNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Double> inDatabase = databaseNearestStoreSearch.findNearestStores(query, LIMIT).stream()
+                    .map(store -> distanceCalculator.calculateDistance(
+                            query.latitudeAsDouble(),
+                            query.longitudeAsDouble(),
+                            store.getLatitude().doubleValue(),
+                            store.getLongitude().doubleValue()))
+                    .toList();
+            databaseNanos += System.nanoTime() - start;
+
+            assertThat(inDatabase).as("nearest stores to %s", query).isEqualTo(inMemory);
+        }
+
+        log.info(
+                "{} stores, {} queries, limit {}: memory {} µs/query, database {} µs/query",
+                DATASET_SIZE,
+                QUERIES,
+                LIMIT,
+                memoryNanos / QUERIES / 1_000,
+                databaseNanos / QUERIES / 1_000);
+    }
+}
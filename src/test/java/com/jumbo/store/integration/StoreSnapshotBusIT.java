@@ -0,0 +1,161 @@
+package com.jumbo.store.integration;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.configuration.StoreSnapshotProperties;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.RepoHelper;
+import com.jumbo.store.fixtures.TestFixtures;
+import io.restassured.http.ContentType;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Integration tests for the snapshot version bus.
+ * Another node is simulated by writing straight to PostgreSQL (bypassing this node's change listener) and announcing
+ * a version through Redis, the way the writing node would.
+ */
+class StoreSnapshotBusIT extends IntegrationTestBase {
+
+    private static final Duration CATCH_UP_TIMEOUT = Duration.ofSeconds(5);
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StoreSnapshotHolder storeSnapshotHolder;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private StoreSnapshotProperties storeSnapshotProperties;
+
+    @DynamicPropertySource
+    static void configureBus(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("store.snapshot.bus.enabled", () -> true);
+    }
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(StoreFixture.createAmsterdamStore());
+    }
+
+    @Test
+    @DisplayName("should catch up with a version announced by another node")
+    void catchesUpWithAnnouncedVersion() throws InterruptedException {
+        storeRepository.save(StoreFixture.createRotterdamStore());
+        long version = announceNextVersion("rotterdam-uuid-1");
+
+        awaitUntil(() -> storeSnapshotHolder.current().getVersion() == version);
+
+        assertThat(storeSnapshotHolder.current().find("rotterdam-uuid-1")).isPresent();
+    }
+
+    @Test
+    @DisplayName("should only apply the stores named in an announcement")
+    void appliesOnlyAnnouncedStores() throws InterruptedException {
+        storeRepository.save(StoreFixture.createRotterdamStore());
+        storeRepository.save(StoreFixture.createUtrechtStore());
+        long version = announceNextVersion("utrecht-uuid-1");
+
+        awaitUntil(() -> storeSnapshotHolder.current().getVersion() == version);
+
+        assertThat(storeSnapshotHolder.current().find("utrecht-uuid-1")).isPresent();
+        assertThat(storeSnapshotHolder.current().find("rotterdam-uuid-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should apply an announced change even at a version it already holds")
+    void appliesChangeAtVersionAlreadyHeld() throws InterruptedException {
+        long held = storeSnapshotHolder.current().getVersion();
+        storeRepository.save(StoreFixture.createRotterdamStore());
+
+        announce(held, "rotterdam-uuid-1");
+
+        awaitUntil(() -> storeSnapshotHolder.current().find("rotterdam-uuid-1").isPresent());
+        assertThat(storeSnapshotHolder.current().getVersion()).isEqualTo(held);
+    }
+
+    @Test
+    @DisplayName("should apply a local write at the next cluster version")
+    void localWriteTakesClusterVersion() {
+        long before = currentClusterVersion();
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .contentType(ContentType.JSON)
+                .body(
+                        """
+                        {
+                          "uuid": "utrecht-uuid-1",
+                          "addressName": "Jumbo Utrecht Centrum",
+                          "city": "Utrecht",
+                          "postalCode": "3511 AA",
+                          "street": "Oudegracht",
+                          "latitude": 52.0907,
+                          "longitude": 5.1214
+                        }
+                        """)
+                .when()
+                .post("/api/stores")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        assertThat(currentClusterVersion()).isEqualTo(before + 1);
+        assertThat(storeSnapshotHolder.current().getVersion()).isEqualTo(before + 1);
+        assertThat(storeSnapshotHolder.current().find("utrecht-uuid-1")).isPresent();
+    }
+
+    private long announceNextVersion(String... uuids) {
+        Long version = redisTemplate
+                .opsForValue()
+                .increment(storeSnapshotProperties.bus().versionKey());
+        announce(version, uuids);
+        return version;
+    }
+
+    private void announce(long version, String... uuids) {
+        redisTemplate.convertAndSend(
+                storeSnapshotProperties.bus().channel(),
+                "{\"version\":%d,\"uuids\":[\"%s\"]}".formatted(version, String.join("\",\"", uuids)));
+    }
+
+    private long currentClusterVersion() {
+        String version =
+                redisTemplate.opsForValue().get(storeSnapshotProperties.bus().versionKey());
+        return version == null ? 0 : Long.parseLong(version);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + CATCH_UP_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime())
+                    .as("condition met within %s", CATCH_UP_TIMEOUT)
+                    .isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
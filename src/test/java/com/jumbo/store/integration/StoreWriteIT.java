@@ -0,0 +1,192 @@
+package com.jumbo.store.integration;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.RepoHelper;
+import com.jumbo.store.fixtures.TestFixtures;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class StoreWriteIT extends IntegrationTestBase {
+
+    private static final String UTRECHT =
+            """
+            {
+              "uuid": "utrecht-uuid-1",
+              "addressName": "Jumbo Utrecht Centrum",
+              "city": "Utrecht",
+              "postalCode": "3511 AA",
+              "street": "Oudegracht",
+              "street2": "123",
+              "latitude": 52.0907,
+              "longitude": 5.1214,
+              "todayOpen": "08:00",
+              "todayClose": "21:00"
+            }
+            """;
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore());
+    }
+
+    @Test
+    @DisplayName("should create a store that is served right away by lookups and nearest searches")
+    void createStore() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .contentType(ContentType.JSON)
+                .body(UTRECHT)
+                .when()
+                .post("/api/stores")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .header(HttpHeaders.LOCATION, endsWith("/api/stores/utrecht-uuid-1"))
+                .header(HttpHeaders.ETAG, matchesPattern("W/\"[0-9a-f]+\""))
+                .body("uuid", is("utrecht-uuid-1"));
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .when()
+                .get("/api/stores/utrecht-uuid-1")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("city", is("Utrecht"));
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.0907")
+                .param("longitude", "5.1214")
+                .param("limit", "1")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("stores[0].uuid", is("utrecht-uuid-1"));
+    }
+
+    @Test
+    @DisplayName("should return 409 when the uuid is taken")
+    void createStore_Conflict() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .contentType(ContentType.JSON)
+                .body(UTRECHT.replace("utrecht-uuid-1", "amsterdam-uuid-1"))
+                .when()
+                .post("/api/stores")
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+    }
+
+    @Test
+    @DisplayName("should return 400 for an invalid store")
+    void createStore_Invalid() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .contentType(ContentType.JSON)
+                .body(UTRECHT.replace("52.0907", "100"))
+                .when()
+                .post("/api/stores")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @DisplayName("should return 403 when token without write:store permission")
+    void createStore_Forbidden() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .contentType(ContentType.JSON)
+                .body(UTRECHT)
+                .when()
+                .post("/api/stores")
+                .then()
+                .statusCode(HttpStatus.FORBIDDEN.value());
+    }
+
+    @Test
+    @DisplayName("should update a store and change its ETag")
+    void updateStore() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .when()
+                .get("/api/stores/amsterdam-uuid-1")
+                .then()
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .contentType(ContentType.JSON)
+                .body(UTRECHT)
+                .when()
+                .put("/api/stores/amsterdam-uuid-1")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, not(etag))
+                .body("uuid", is("amsterdam-uuid-1"))
+                .body("city", is("Utrecht"));
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .when()
+                .get("/api/stores/amsterdam-uuid-1")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("city", is("Utrecht"));
+    }
+
+    @Test
+    @DisplayName("should delete a store")
+    void deleteStore() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .when()
+                .delete("/api/stores/amsterdam-uuid-1")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .when()
+                .get("/api/stores/amsterdam-uuid-1")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    @DisplayName("should upsert and delete stores in bulk")
+    void bulkWrites() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .contentType(ContentType.JSON)
+                .body("{\"stores\": [" + UTRECHT + ", " + UTRECHT.replace("utrecht-uuid-1", "amsterdam-uuid-1") + "]}")
+                .when()
+                .post("/api/stores/bulk")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("created", is(1))
+                .body("updated", is(1));
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .contentType(ContentType.JSON)
+                .body("{\"uuids\": [\"utrecht-uuid-1\", \"rotterdam-uuid-1\", \"unknown-uuid\"]}")
+                .when()
+                .post("/api/stores/bulk-delete")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("deleted", is(2))
+                .body("notFound", contains("unknown-uuid"));
+
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .contentType(ContentType.JSON)
+                .body("{\"uuids\": [\"amsterdam-uuid-1\", \"rotterdam-uuid-1\", \"utrecht-uuid-1\"]}")
+                .when()
+                .post("/api/stores/lookup")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("stores.uuid", contains("amsterdam-uuid-1"))
+                .body("stores[0].city", is("Utrecht"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.jumbo.store.integration;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.configuration.CacheConfig;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.PinnedThreadRecorder;
+import com.jumbo.store.fixtures.RepoHelper;
+import com.jumbo.store.fixtures.TestFixtures;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Runs the service on virtual threads against real PostgreSQL and Redis and records carrier-thread pinning with JFR.
+ * The database search mode and the Redis cache put Hikari, the PostgreSQL driver, Lettuce and Resilience4j on the
+ * request path; none of them may pin a carrier while waiting for I/O or a lock. Pinning elsewhere is only logged.
+ */
+@Slf4j
+class VirtualThreadPinningIT extends IntegrationTestBase {
+
+    private static final int CONCURRENT_REQUESTS = 400;
+
+    /**
+     * Libraries whose {@code synchronized} paths sit on the request path.
+     */
+    private static final List<String> WATCHED_PACKAGES =
+            List.of("com.zaxxer.hikari", "org.postgresql", "io.lettuce", "io.github.resilience4j");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @DynamicPropertySource
+    static void configureVirtualThreads(DynamicPropertyRegistry registry) {
+        registry.add("spring.threads.virtual.enabled", () -> true);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("spring.cache.type", () -> "redis");
+        registry.add("store.search.mode", () -> "database");
+        // Fewer connections than concurrent requests, so requests queue in Hikari
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 4);
+    }
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(
+                StoreFixture.createAmsterdamStore(),
+                StoreFixture.createRotterdamStore(),
+                StoreFixture.createUtrechtStore(),
+                StoreFixture.createHaarlemStore(),
+                StoreFixture.createTheHagueStore());
+    }
+
+    @Test
+    @DisplayName("should serve concurrent database and cache reads without pinning carrier threads")
+    void concurrentRequestsDoNotPinCarriers() throws Exception {
+        List<RecordedEvent> pinned = PinnedThreadRecorder.record(() -> {
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                    // Nearest search: Tomcat, circuit breaker, Hikari and JDBC
+                    calls.add(clients.submit(this::findNearestStores));
+                    // Store list: circuit breaker, Lettuce and, on a cache miss, JDBC
+                    boolean evict = i % 10 == 0;
+                    calls.add(clients.submit(() -> loadAllStores(evict)));
+                }
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+            }
+        });
+
+        Map<Boolean, List<RecordedEvent>> byLibrary = pinned.stream()
+                .collect(Collectors.partitioningBy(
+                        event -> WATCHED_PACKAGES.stream().anyMatch(pkg -> PinnedThreadRecorder.involves(event, pkg))));
+        List<RecordedEvent> watched = byLibrary.get(true);
+        List<RecordedEvent> others = byLibrary.get(false);
+        if (!others.isEmpty()) {
+            log.info(
+                    "{} pinning events outside the watched libraries:\n{}",
+                    others.size(),
+                    PinnedThreadRecorder.describe(others));
+        }
+        assertThat(watched).as(() -> PinnedThreadRecorder.describe(watched)).isEmpty();
+    }
+
+    private void findNearestStores() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .param("latitude", "52.3791")
+                .param("longitude", "4.9003")
+                .param("limit", "3")
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
+    private void loadAllStores(boolean evict) {
+        if (evict) {
+            cacheManager.getCache(CacheConfig.STORES_CACHE).evict(CacheConfig.ALL_STORES_KEY);
+        }
+        assertThat(storeService.getAllStores()).hasSize(5);
+    }
+}
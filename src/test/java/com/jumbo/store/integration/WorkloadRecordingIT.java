@@ -0,0 +1,89 @@
+package com.jumbo.store.integration;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.IntegrationTestBase;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.fixtures.RepoHelper;
+import com.jumbo.store.fixtures.TestFixtures;
+import com.jumbo.store.web.workload.RecordedQuery;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for recording nearest-store queries and dumping them through {@code /actuator/workload}.
+ */
+@TestPropertySource(properties = {"store.workload.enabled=true", "store.workload.sample-rate=1"})
+class WorkloadRecordingIT extends IntegrationTestBase {
+
+    @Autowired
+    private RepoHelper repoHelper;
+
+    @BeforeEach
+    void setUp() {
+        repoHelper.deleteAllStores();
+        repoHelper.insertStores(StoreFixture.createAmsterdamStore());
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .when()
+                .delete("/api/actuator/workload")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+    }
+
+    @Test
+    @DisplayName("should record answered queries, revalidations as cache hits, and dump them as CSV")
+    void recordsQueries() {
+        String etag = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .queryParam("latitude", 52.3676)
+                .queryParam("longitude", 4.9041)
+                .queryParam("limit", 3)
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .queryParam("latitude", 52.3676)
+                .queryParam("longitude", 4.9041)
+                .queryParam("limit", 3)
+                .when()
+                .get("/api/stores/nearest")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        String csv = given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.WRITE)
+                .when()
+                .get("/api/actuator/workload")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .asString();
+
+        List<RecordedQuery> queries =
+                csv.lines().skip(1).map(RecordedQuery::parse).toList();
+        assertThat(queries).extracting(RecordedQuery::cacheHit).containsExactly(false, true);
+        assertThat(queries).allSatisfy(query -> {
+            assertThat(query.latitude()).isEqualTo(52.3676);
+            assertThat(query.limit()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    @DisplayName("should require the write:store scope to dump the recorded queries")
+    void requiresWriteScope() {
+        given().header("Authorization", "Bearer " + TestFixtures.Jwt.Stores.READ)
+                .when()
+                .get("/api/actuator/workload")
+                .then()
+                .statusCode(HttpStatus.FORBIDDEN.value());
+    }
+}
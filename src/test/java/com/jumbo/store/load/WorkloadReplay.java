@@ -0,0 +1,239 @@
+package com.jumbo.store.load;
+
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.fixture.SyntheticStores;
+import com.jumbo.store.web.workload.RecordedQuery;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Load driver replaying a recorded workload ({@code /actuator/workload}), or synthetic queries, against a running
+ * instance at a fixed rate, and reporting latency percentiles.
+ * <p>
+ * Requests are sent open loop: request {@code i} is due at {@code start + i / rate} whether or not the earlier ones
+ * completed, each on its own virtual thread, and its latency is measured from that due time. A server that stalls
+ * therefore shows up in the percentiles as the time requests spent waiting, instead of silently lowering the request
+ * rate and hiding the stall (coordinated omission).
+ * <p>
+ * Queries recorded as cache hits are sent with the entity tag of the last response to the same URL, so they are
+ * answered with 304 like they were in production.
+ */
+public final class WorkloadReplay {
+
+    /**
+     * Latencies above this are recorded as this; a minute is far beyond any useful answer.
+     */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SYNTHETIC_QUERIES = 1024;
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String token;
+    private final Map<URI, String> entityTags = new ConcurrentHashMap<>();
+
+    /**
+     * @param baseUrl the service URL, including the context path, e.g. {@code http://localhost:8080/api}
+     * @param token   a JWT with the {@code read:store} scope
+     */
+    public WorkloadReplay(String baseUrl, String token) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.token = token;
+    }
+
+    /**
+     * Sends {@code rate * duration} requests, cycling through the queries in order.
+     *
+     * @param queries  the queries to send; timestamps and latencies are ignored
+     * @param rate     requests per second
+     * @param duration how long to send requests for
+     * @return the latencies, measured from when each request was due
+     */
+    public Report run(List<RecordedQuery> queries, double rate, Duration duration) {
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("No queries to replay");
+        }
+        long requests = Math.max(1, (long) (rate * duration.toNanos() / 1e9));
+        double intervalNanos = 1e9 / rate;
+        Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        LongAdder notModified = new LongAdder();
+        LongAdder errors = new LongAdder();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long due = start + (long) (i * intervalNanos);
+                LockSupport.parkNanos(due - System.nanoTime());
+                RecordedQuery query = queries.get((int) (i % queries.size()));
+                executor.execute(() -> send(query, due, latencies, notModified, errors));
+            }
+        }
+        return new Report(
+                latencies, requests, notModified.sum(), errors.sum(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void send(RecordedQuery query, long due, Histogram latencies, LongAdder notModified, LongAdder errors) {
+        URI uri = URI.create(baseUrl + "/stores/nearest?latitude=" + query.latitude() + "&longitude="
+                + query.longitude() + (query.limit() == null ? "" : "&limit=" + query.limit()));
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET();
+        String entityTag = query.cacheHit() ? entityTags.get(uri) : null;
+        if (entityTag != null) {
+            request.header("If-None-Match", entityTag);
+        }
+
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        } catch (HttpTimeoutException e) {
+            // Still a latency: leaving it out would hide the slowest requests
+            recordLatency(latencies, due);
+            errors.increment();
+            return;
+        } catch (IOException e) {
+            errors.increment();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.increment();
+            return;
+        }
+        recordLatency(latencies, due);
+
+        switch (response.statusCode()) {
+            case 200 -> response.headers().firstValue("ETag").ifPresent(tag -> entityTags.put(uri, tag));
+            case 304 -> notModified.increment();
+            default -> errors.increment();
+        }
+    }
+
+    private static void recordLatency(Histogram latencies, long due) {
+        latencies.recordValue(Math.min(MAX_LATENCY_MICROS, (System.nanoTime() - due) / 1_000));
+    }
+
+    /**
+     * @param latencies   latencies in microseconds, from when each request was due
+     * @param requests    requests sent
+     * @param notModified requests answered with 304
+     * @param errors      requests that failed or were not answered with 200 or 304
+     * @param elapsed     time from the first request to the last response
+     */
+    public record Report(Histogram latencies, long requests, long notModified, long errors, Duration elapsed) {
+
+        private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+        public void print(PrintStream out) {
+            out.printf(
+                    Locale.ROOT,
+                    "%d requests in %.1f s (%.1f/s), %d not modified, %d errors%n",
+                    requests,
+                    elapsed.toNanos() / 1e9,
+                    requests * 1e9 / elapsed.toNanos(),
+                    notModified,
+                    errors);
+            out.println("Latency from the scheduled start, in ms:");
+            for (double percentile : PERCENTILES) {
+                out.printf(
+                        Locale.ROOT,
+                        "  p%-6s %10.3f%n",
+                        BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+                        latencies.getValueAtPercentile(percentile) / 1_000.0);
+            }
+            out.printf(Locale.ROOT, "  max     %10.3f%n", latencies.getMaxValue() / 1_000.0);
+        }
+    }
+
+    /**
+     * Replays a workload file, or synthetic queries clustered like the stores:
+     * {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+     * -Dexec.mainClass=com.jumbo.store.load.WorkloadReplay -Dexec.args="--token <jwt> --workload workload.csv"}.
+     * <p>
+     * Options: {@code --url} (default {@code http://localhost:8080/api}), {@code --token} (required), {@code --workload}
+     * (a CSV file from {@code /actuator/workload}; synthetic queries when absent), {@code --limit} (synthetic queries
+     * only, default 5), {@code --rate} (requests per second, default 100) and {@code --duration} (default 60s).
+     *
+     * @param args the options
+     * @throws IOException if the workload cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = options(args);
+        String token = options.get("token");
+        if (token == null) {
+            System.err.println("Usage: WorkloadReplay --token <jwt> [--url <url>] [--workload <file>] [--limit <n>]"
+                    + " [--rate <per second>] [--duration <e.g. 60s>]");
+            System.exit(1);
+        }
+        List<RecordedQuery> queries = options.containsKey("workload")
+                ? read(Path.of(options.get("workload")))
+                : synthetic(Integer.parseInt(options.getOrDefault("limit", "5")));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "60s"));
+
+        new WorkloadReplay(options.getOrDefault("url", "http://localhost:8080/api"), token)
+                .run(queries, rate, duration)
+                .print(System.out);
+    }
+
+    /**
+     * @param file a workload dumped by {@code /actuator/workload}
+     * @return its queries, in recorded order
+     * @throws IOException if the file cannot be read
+     */
+    public static List<RecordedQuery> read(Path file) throws IOException {
+        try (var lines = Files.lines(file)) {
+            return lines.filter(line -> !line.isBlank() && !line.equals(RecordedQuery.CSV_HEADER))
+                    .map(RecordedQuery::parse)
+                    .toList();
+        }
+    }
+
+    static List<RecordedQuery> synthetic(int limit) {
+        return Arrays.stream(new SyntheticStores().queries(SYNTHETIC_QUERIES))
+                .map(query -> syntheticQuery(query, limit))
+                .toList();
+    }
+
+    private static RecordedQuery syntheticQuery(Coordinate coordinate, int limit) {
+        return new RecordedQuery(0, coordinate.latitudeAsDouble(), coordinate.longitudeAsDouble(), limit, 0, false);
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,99 @@
+package com.jumbo.store.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.web.workload.RecordedQuery;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the load driver against a local HTTP server.
+ */
+class WorkloadReplayTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private final AtomicBoolean stallFirstRequest = new AtomicBoolean();
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private WorkloadReplay workloadReplay;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // One handler thread: requests queue up behind a stalled one, like on a saturated server
+        serverExecutor = Executors.newSingleThreadExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/stores/nearest", this::handle);
+        server.start();
+        workloadReplay =
+                new WorkloadReplay("http://localhost:" + server.getAddress().getPort(), "token");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should send rate times duration requests and revalidate recorded cache hits")
+    void testRun_RevalidatesCacheHits() {
+        // The first response carries the entity tag the recorded cache hits revalidate
+        workloadReplay.run(List.of(query(false)), 1, Duration.ofSeconds(1));
+        List<RecordedQuery> queries = List.of(query(false), query(true));
+
+        WorkloadReplay.Report report = workloadReplay.run(queries, 20, Duration.ofMillis(500));
+
+        assertThat(report.requests()).isEqualTo(10);
+        assertThat(report.latencies().getTotalCount()).isEqualTo(10);
+        assertThat(report.errors()).isZero();
+        assertThat(report.notModified()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should measure latency from the scheduled start, so a stall delays every queued request")
+    void testRun_CorrectsForCoordinatedOmission() {
+        stallFirstRequest.set(true);
+
+        WorkloadReplay.Report report = workloadReplay.run(List.of(query(false)), 100, Duration.ofMillis(500));
+
+        // Request i is due at 10i ms and answered after the 500 ms stall: a closed-loop driver would report
+        // one slow request and 49 fast ones
+        assertThat(report.latencies().getValueAtPercentile(50)).isGreaterThan(150_000);
+        assertThat(report.latencies().getMaxValue()).isGreaterThanOrEqualTo(500_000);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (stallFirstRequest.getAndSet(false)) {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getRequestBody().readAllBytes();
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+        } else {
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.sendResponseHeaders(200, -1);
+        }
+        exchange.close();
+    }
+
+    private static RecordedQuery query(boolean cacheHit) {
+        return new RecordedQuery(0, 52.3676, 4.9041, 5, 0, cacheHit);
+    }
+}
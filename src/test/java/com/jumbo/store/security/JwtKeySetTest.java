@@ -0,0 +1,148 @@
+package com.jumbo.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.JwtKeySetProperties;
+import com.jumbo.store.security.model.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Unit tests for verifying RS256/ES256 tokens against a rotating JWK set.
+ */
+class JwtKeySetTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong";
+    private static final KeyPair RSA = Jwts.SIG.RS256.keyPair().build();
+    private static final KeyPair EC = Jwts.SIG.ES256.keyPair().build();
+
+    @TempDir
+    private Path directory;
+
+    private Path jwksFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jwksFile = directory.resolve("jwks.json");
+        writeKeySet(Map.of("rsa-1", RSA, "ec-1", EC));
+    }
+
+    @Test
+    @DisplayName("Should verify RS256 and ES256 tokens with the key named by their kid")
+    void testVerify_AsymmetricTokens() {
+        JwtTokenProvider provider = provider(createKeySet(Duration.ofMinutes(1)));
+
+        VerifiedToken rsa = provider.verify(sign(RSA, Jwts.SIG.RS256, "rsa-1")).orElseThrow();
+        VerifiedToken ec = provider.verify(sign(EC, Jwts.SIG.ES256, "ec-1")).orElseThrow();
+
+        assertThat(rsa.username()).isEqualTo("identity-service-user");
+        assertThat(ec.authorities()).containsExactly(new SimpleGrantedAuthority("SCOPE_read:store"));
+        // Tokens this service issues itself stay valid
+        assertThat(provider.verify(provider.generateToken("customer", List.of(), List.of())))
+                .isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens whose kid is unknown or names a key of another type")
+    void testVerify_WrongKey() {
+        JwtTokenProvider provider = provider(createKeySet(Duration.ofMinutes(1)));
+
+        assertThat(provider.verify(sign(RSA, Jwts.SIG.RS256, "unknown"))).isEmpty();
+        assertThat(provider.verify(sign(RSA, Jwts.SIG.RS256, "ec-1"))).isEmpty();
+        assertThat(provider.verify(sign(Jwts.SIG.RS256.keyPair().build(), Jwts.SIG.RS256, "rsa-1")))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should pick up a rotated key in the background after a token names it")
+    void testFind_RotationTriggeredByUnknownKid() throws Exception {
+        JwtKeySet keySet = createKeySet(Duration.ZERO);
+        JwtTokenProvider provider = provider(keySet);
+        KeyPair rotated = Jwts.SIG.ES256.keyPair().build();
+        String token = sign(rotated, Jwts.SIG.ES256, "ec-2");
+
+        writeKeySet(Map.of("ec-2", rotated));
+        // Rejected right away, the reload it triggers runs in the background
+        assertThat(provider.verify(token)).isEmpty();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        Optional<VerifiedToken> verified = provider.verify(token);
+        while (verified.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            verified = provider.verify(token);
+        }
+        assertThat(verified).isPresent();
+        assertThat(keySet.find("rsa-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the current keys when the key set cannot be parsed")
+    void testRefresh_KeepsKeysOnFailure() throws IOException {
+        JwtKeySet keySet = createKeySet(Duration.ofMinutes(1));
+
+        Files.writeString(jwksFile, "{not json");
+
+        assertThat(keySet.refresh()).isFalse();
+        assertThat(keySet.find("rsa-1")).contains(RSA.getPublic());
+    }
+
+    @Test
+    @DisplayName("Should require a key set location")
+    void testCreate_MissingLocation() {
+        JwtKeySetProperties properties = new JwtKeySetProperties(true, " ", null, null, null);
+
+        assertThatThrownBy(() -> new JwtKeySet(properties, new DefaultResourceLoader()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private JwtKeySet createKeySet(Duration minRefreshInterval) {
+        return new JwtKeySet(
+                new JwtKeySetProperties(true, jwksFile.toUri().toString(), null, minRefreshInterval, null),
+                new DefaultResourceLoader());
+    }
+
+    private static JwtTokenProvider provider(JwtKeySet keySet) {
+        return new JwtTokenProvider(SECRET, 60_000, 100, keySet);
+    }
+
+    private static String sign(KeyPair keyPair, SignatureAlgorithm algorithm, String kid) {
+        return Jwts.builder()
+                .header()
+                .keyId(kid)
+                .and()
+                .subject("identity-service-user")
+                .claim("permissions", List.of("read:store"))
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(keyPair.getPrivate(), algorithm)
+                .compact();
+    }
+
+    private void writeKeySet(Map<String, KeyPair> keyPairs) throws IOException {
+        List<?> keys = keyPairs.entrySet().stream()
+                .map(entry -> Jwks.builder()
+                        .key(entry.getValue().getPublic())
+                        .id(entry.getKey())
+                        .build())
+                .toList();
+        Files.writeString(jwksFile, new ObjectMapper().writeValueAsString(Map.of("keys", keys)));
+    }
+}
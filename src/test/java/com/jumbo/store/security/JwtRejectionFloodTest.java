@@ -0,0 +1,98 @@
+package com.jumbo.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the token rejection path under a flood of bad tokens.
+ * Several threads verify the same bad tokens a fixed number of times, plus a forged token never seen before in every
+ * round; every rejection must be counted by its reason, and logged at most once per reason. How fast bad tokens are
+ * rejected compared to valid ones is measured by {@code JwtRejectionBenchmark}.
+ */
+class JwtRejectionFloodTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong";
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 500;
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(TokenRejections.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private TokenRejections rejections;
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        rejections = new TokenRejections(new SimpleMeterRegistry(), Duration.ofSeconds(10));
+        tokenProvider = new JwtTokenProvider(SECRET, 60_000, 10_000, null, rejections);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Should count every rejected token of a flood by reason and log each reason once")
+    void testBadTokenFlood() throws Exception {
+        String valid = tokenProvider.generateToken("customer", List.of("ROLE_CUSTOMER"), List.of("read:store"));
+        String[] parts = valid.split("\\.");
+        List<String> flood = List.of(
+                parts[0] + "." + parts[1] + ".Zm9yZ2VkLXNpZ25hdHVyZQ",
+                new JwtTokenProvider(SECRET, -1_000, 10).generateToken("customer", List.of(), List.of()),
+                "Bearer-garbage with spaces",
+                "x".repeat(20_000));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            AtomicLong forged = new AtomicLong();
+            List<Future<Boolean>> accepted = executor.invokeAll(Collections.nCopies(THREADS, () -> {
+                boolean any = false;
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (String token : flood) {
+                        any |= tokenProvider.verify(token).isPresent();
+                    }
+                    String signature = Base64.getUrlEncoder()
+                            .withoutPadding()
+                            .encodeToString(
+                                    Long.toString(forged.incrementAndGet()).getBytes(StandardCharsets.UTF_8));
+                    any |= tokenProvider
+                            .verify(parts[0] + "." + parts[1] + "." + signature)
+                            .isPresent();
+                }
+                return any;
+            }));
+            for (Future<Boolean> future : accepted) {
+                assertThat(future.get()).isFalse();
+            }
+        }
+
+        long perToken = (long) THREADS * ROUNDS;
+        assertThat(rejections.count(TokenRejections.Reason.BAD_SIGNATURE)).isEqualTo(2 * perToken);
+        assertThat(rejections.count(TokenRejections.Reason.EXPIRED)).isEqualTo(perToken);
+        assertThat(rejections.count(TokenRejections.Reason.MALFORMED)).isEqualTo(2 * perToken);
+        // One report per reason, however many tokens were rejected
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list).allMatch(event -> event.getLevel() == Level.WARN);
+    }
+}
@@ -5,12 +5,15 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 
 import com.jumbo.store.security.model.Permission;
 import com.jumbo.store.security.model.Role;
+import com.jumbo.store.security.model.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * Unit tests for JWT Token Provider.
@@ -23,9 +26,7 @@ class JwtTokenProviderTest {
 
     @BeforeEach
     void setUp() {
-        tokenProvider = new JwtTokenProvider();
-        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", TEST_SECRET);
-        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", TEST_EXPIRATION);
+        tokenProvider = new JwtTokenProvider(TEST_SECRET, TEST_EXPIRATION, 100);
     }
 
     @Test
@@ -230,4 +231,72 @@ class JwtTokenProviderTest {
 
         assertThat(authorities).hasSize(10); // 5 roles + 5 permissions
     }
+
+    @Test
+    @DisplayName("Should verify a token once and serve its claims from the cache afterwards")
+    void testVerify_CachesVerifiedToken() {
+        String token = tokenProvider.generateToken(
+                "testuser", List.of(Role.CUSTOMER.getAuthority()), List.of(Permission.READ_STORE.getPermission()));
+
+        VerifiedToken first = tokenProvider.verify(token).orElseThrow();
+
+        assertAll(
+                () -> assertThat(first.username()).isEqualTo("testuser"),
+                () -> assertThat(first.authorities())
+                        .containsExactly(
+                                new SimpleGrantedAuthority(Role.CUSTOMER.getAuthority()),
+                                new SimpleGrantedAuthority("SCOPE_" + Permission.READ_STORE.getPermission())),
+                () -> assertThat(first.expiresAt()).isAfter(Instant.now()),
+                () -> assertThat(tokenProvider.verify(token)).containsSame(first));
+    }
+
+    @Test
+    @DisplayName("Should not verify tokens signed with another key or already expired")
+    void testVerify_RejectsForeignAndExpiredTokens() {
+        JwtTokenProvider otherIssuer = new JwtTokenProvider(TEST_SECRET.replace('m', 'n'), TEST_EXPIRATION, 100);
+        JwtTokenProvider expiredIssuer = new JwtTokenProvider(TEST_SECRET, -1000, 100);
+
+        assertThat(tokenProvider.verify(otherIssuer.generateToken("testuser", List.of(), List.of())))
+                .isEmpty();
+        assertThat(tokenProvider.verify(expiredIssuer.generateToken("testuser", List.of(), List.of())))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop accepting a cached token once it expires")
+    void testVerify_CacheFollowsExpiration() throws InterruptedException {
+        JwtTokenProvider shortLived = new JwtTokenProvider(TEST_SECRET, 1000, 100);
+        String token = shortLived.generateToken("testuser", List.of(), List.of());
+        assertThat(shortLived.verify(token)).isPresent();
+
+        // exp has a one-second resolution
+        long deadline = System.nanoTime() + Duration.ofSeconds(3).toNanos();
+        while (shortLived.verify(token).isPresent() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(shortLived.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count rejected tokens by reason without throwing")
+    void testVerify_CountsRejectionsByReason() {
+        TokenRejections rejections = new TokenRejections(new SimpleMeterRegistry(), Duration.ofMinutes(1));
+        JwtTokenProvider provider = new JwtTokenProvider(TEST_SECRET, TEST_EXPIRATION, 100, null, rejections);
+        String forged = new JwtTokenProvider(TEST_SECRET.replace('m', 'n'), TEST_EXPIRATION, 100)
+                .generateToken("testuser", List.of(), List.of());
+
+        assertThat(provider.verify("not a token")).isEmpty();
+        assertThat(provider.verify("a.b.c.d")).isEmpty();
+        assertThat(provider.verify("a".repeat(10_000) + ".b.c")).isEmpty();
+        // A replayed forged token is answered from the rejection cache, and still counted
+        assertThat(provider.verify(forged)).isEmpty();
+        assertThat(provider.verify(forged)).isEmpty();
+
+        assertAll(
+                () -> assertThat(rejections.count(TokenRejections.Reason.MALFORMED))
+                        .isEqualTo(3),
+                () -> assertThat(rejections.count(TokenRejections.Reason.BAD_SIGNATURE))
+                        .isEqualTo(2));
+    }
 }
@@ -0,0 +1,94 @@
+package com.jumbo.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.configuration.StoreRateLimitProperties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the lock-free in-memory token buckets.
+ */
+class LocalTokenBucketsTest {
+
+    // 3 requests in a burst, then one every 100 ms
+    private static final StoreRateLimitProperties.Quota QUOTA = new StoreRateLimitProperties.Quota(3, 10);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final LocalTokenBuckets buckets = new LocalTokenBuckets(100, clock::get);
+
+    @Test
+    @DisplayName("Should allow a full burst and then report when the next token is available")
+    void testTryConsume_Burst() {
+        assertThat(buckets.tryConsume("partner", QUOTA)).isZero();
+        assertThat(buckets.tryConsume("partner", QUOTA)).isZero();
+        assertThat(buckets.tryConsume("partner", QUOTA)).isZero();
+
+        assertThat(buckets.tryConsume("partner", QUOTA)).isEqualTo(INTERVAL);
+        clock.addAndGet(INTERVAL / 4);
+        assertThat(buckets.tryConsume("partner", QUOTA)).isEqualTo(INTERVAL * 3 / 4);
+    }
+
+    @Test
+    @DisplayName("Should refill at the configured rate without exceeding the capacity")
+    void testTryConsume_Refill() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryConsume("partner", QUOTA);
+        }
+
+        clock.addAndGet(INTERVAL);
+        assertThat(buckets.tryConsume("partner", QUOTA)).isZero();
+        assertThat(buckets.tryConsume("partner", QUOTA)).isPositive();
+
+        // Idle for much longer than a refill: the bucket holds its capacity, not more
+        clock.addAndGet(INTERVAL * 100);
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryConsume("partner", QUOTA)).isZero();
+        }
+        assertThat(buckets.tryConsume("partner", QUOTA)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep a separate bucket per key")
+    void testTryConsume_SeparateKeys() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryConsume("partner", QUOTA);
+        }
+
+        assertThat(buckets.tryConsume("partner", QUOTA)).isPositive();
+        assertThat(buckets.tryConsume("customer", QUOTA)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly the capacity to concurrent requests")
+    void testTryConsume_Concurrent() throws InterruptedException {
+        StoreRateLimitProperties.Quota quota = new StoreRateLimitProperties.Quota(100, 10);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (buckets.tryConsume("partner", quota) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(admitted).hasValue(100);
+    }
+}
@@ -0,0 +1,76 @@
+package com.jumbo.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jumbo.store.configuration.StoreRateLimitProperties;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Unit tests for rate limiting by principal and role.
+ */
+class PrincipalRateLimiterTest {
+
+    private static final StoreRateLimitProperties.Quota DEFAULT = new StoreRateLimitProperties.Quota(2, 1);
+    private static final StoreRateLimitProperties.Quota PARTNER = new StoreRateLimitProperties.Quota(5, 2);
+    private static final StoreRateLimitProperties.Quota INTERNAL = new StoreRateLimitProperties.Quota(50, 100);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final PrincipalRateLimiter limiter = new PrincipalRateLimiter(
+            new StoreRateLimitProperties(
+                    true,
+                    StoreRateLimitProperties.Mode.LOCAL,
+                    DEFAULT,
+                    Map.of("ROLE_PARTNER", PARTNER, "ROLE_INTERNAL", INTERNAL),
+                    0,
+                    null),
+            new LocalTokenBuckets(100, clock::get));
+
+    @Test
+    @DisplayName("Should pick the most generous quota among the principal's roles")
+    void testQuota_ByRole() {
+        assertThat(limiter.quota(authentication("customer", "ROLE_CUSTOMER", "SCOPE_read:store")))
+                .isEqualTo(DEFAULT);
+        assertThat(limiter.quota(authentication("partner", "ROLE_PARTNER"))).isEqualTo(PARTNER);
+        assertThat(limiter.quota(authentication("ops", "ROLE_PARTNER", "ROLE_INTERNAL")))
+                .isEqualTo(INTERNAL);
+    }
+
+    @Test
+    @DisplayName("Should reject a principal over its quota with the seconds to wait")
+    void testTryAcquire_OverQuota() {
+        Authentication customer = authentication("customer", "ROLE_CUSTOMER");
+
+        assertThat(limiter.tryAcquire(customer)).isEmpty();
+        assertThat(limiter.tryAcquire(customer)).isEmpty();
+        assertThat(limiter.tryAcquire(customer)).hasValue(1);
+
+        // Another principal with the same role has its own bucket
+        assertThat(limiter.tryAcquire(authentication("other-customer", "ROLE_CUSTOMER")))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not limit unauthenticated requests")
+    void testTryAcquire_Unauthenticated() {
+        Authentication anonymous = new UsernamePasswordAuthenticationToken("anonymous", null);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(anonymous)).isEmpty();
+            assertThat(limiter.tryAcquire(null)).isEmpty();
+        }
+    }
+
+    private static Authentication authentication(String username, String... authorities) {
+        return new UsernamePasswordAuthenticationToken(
+                username,
+                null,
+                List.of(authorities).stream().map(SimpleGrantedAuthority::new).toList());
+    }
+}
@@ -0,0 +1,76 @@
+package com.jumbo.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jumbo.store.configuration.StoreRateLimitProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Unit tests for the Redis token buckets and their local fallback.
+ */
+class RedisTokenBucketsTest {
+
+    private static final StoreRateLimitProperties.Quota QUOTA = new StoreRateLimitProperties.Quota(1, 10);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private StringRedisTemplate redisTemplate;
+    private CircuitBreaker circuitBreaker;
+    private RedisTokenBuckets buckets;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        circuitBreaker = CircuitBreaker.of(
+                "rateLimitRedis",
+                CircuitBreakerConfig.custom()
+                        .slidingWindowSize(4)
+                        .minimumNumberOfCalls(2)
+                        .waitDurationInOpenState(Duration.ofMinutes(1))
+                        .recordExceptions(DataAccessException.class)
+                        .build());
+        buckets = new RedisTokenBuckets(redisTemplate, "rate:", new LocalTokenBuckets(100, clock::get), circuitBreaker);
+    }
+
+    @Test
+    @DisplayName("Should return the wait computed by Redis")
+    void testTryConsume_Redis() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(250L);
+
+        assertThat(buckets.tryConsume("customer", QUOTA)).isEqualTo(TimeUnit.MICROSECONDS.toNanos(250));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the local buckets without calling Redis once the circuit is open")
+    void testTryConsume_OpenCircuit() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+        assertThat(buckets.tryConsume("customer", QUOTA)).isZero();
+        assertThat(buckets.tryConsume("customer", QUOTA)).isPositive();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Still limited, by the local bucket
+        for (int i = 0; i < 10; i++) {
+            assertThat(buckets.tryConsume("customer", QUOTA)).isPositive();
+        }
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+}
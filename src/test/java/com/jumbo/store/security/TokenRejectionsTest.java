@@ -0,0 +1,71 @@
+package com.jumbo.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for counting and sampled logging of rejected tokens.
+ */
+class TokenRejectionsTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(TokenRejections.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Should count every rejection under its reason")
+    void testRecord_CountsByReason() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TokenRejections rejections = new TokenRejections(registry, Duration.ofMinutes(1));
+
+        rejections.record(TokenRejections.Reason.EXPIRED, "expired");
+        rejections.record(TokenRejections.Reason.EXPIRED, "expired");
+        rejections.record(TokenRejections.Reason.BAD_SIGNATURE, "forged");
+
+        assertThat(rejections.count(TokenRejections.Reason.EXPIRED)).isEqualTo(2);
+        assertThat(registry.get(TokenRejections.METRIC)
+                        .tag("reason", "bad_signature")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+        assertThat(rejections.count(TokenRejections.Reason.MALFORMED)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should log each reason at most once per interval, reporting the rejections it skipped")
+    void testRecord_SampledLogging() throws InterruptedException {
+        TokenRejections rejections = new TokenRejections(new SimpleMeterRegistry(), Duration.ofMillis(200));
+
+        for (int i = 0; i < 1_000; i++) {
+            rejections.record(TokenRejections.Reason.BAD_SIGNATURE, "forged");
+        }
+        rejections.record(TokenRejections.Reason.EXPIRED, "expired");
+        assertThat(appender.list).hasSize(2);
+
+        Thread.sleep(250);
+        rejections.record(TokenRejections.Reason.BAD_SIGNATURE, "forged");
+
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list.get(2).getFormattedMessage()).contains("BAD_SIGNATURE", "999 more");
+    }
+}
@@ -0,0 +1,38 @@
+package com.jumbo.store.web.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for If-None-Match evaluation.
+ */
+class EntityTagsTest {
+
+    private static final String ETAG = EntityTags.weak(0xabcL);
+
+    @Test
+    @DisplayName("Should quote the hash as a weak tag")
+    void testWeak() {
+        assertThat(ETAG).isEqualTo("W/\"abc\"");
+    }
+
+    @Test
+    @DisplayName("Should match the same tag, a strong variant, a tag in a list and the wildcard")
+    void testMatches() {
+        assertThat(EntityTags.matches("\"abc\"", ETAG)).isTrue();
+        assertThat(EntityTags.matches("W/\"abc\"", ETAG)).isTrue();
+        assertThat(EntityTags.matches("\"123\", W/\"abc\"", ETAG)).isTrue();
+        assertThat(EntityTags.matches("*", ETAG)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not match a missing or different tag")
+    void testMatches_NoMatch() {
+        assertThat(EntityTags.matches(null, ETAG)).isFalse();
+        assertThat(EntityTags.matches(" ", ETAG)).isFalse();
+        assertThat(EntityTags.matches("\"abd\"", ETAG)).isFalse();
+        assertThat(EntityTags.matches("W/\"abd\"", ETAG)).isFalse();
+    }
+}
@@ -0,0 +1,205 @@
+package com.jumbo.store.web.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumbo.store.configuration.StoreAdmissionProperties;
+import com.jumbo.store.configuration.StoreHttpProperties;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Coordinate;
+import com.jumbo.store.domain.repository.StoreRepository;
+import com.jumbo.store.domain.service.DatabaseNearestStoreSearch;
+import com.jumbo.store.domain.service.DistanceCalculator;
+import com.jumbo.store.domain.service.NearestStoresAdmissionGate;
+import com.jumbo.store.domain.service.StoreSearchMetrics;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.domain.service.StoreWriteService;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshotHolder;
+import com.jumbo.store.fixture.SyntheticStores;
+import com.jumbo.store.validation.LocationValidator;
+import com.jumbo.store.web.converter.NearestStoresHttpMessageConverter;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Allocation gate for the {@code /stores/nearest} request path: runs a fixed workload in process, from the
+ * controller to the serialized JSON, and fails when the bytes allocated per request exceed the committed budget.
+ * GC pressure is the main latency contributor under load, and allocation creeps up unnoticed (a rounding
+ * {@code BigDecimal}, a stream pipeline, a DTO copy), so a change that needs more has to raise the budget explicitly.
+ * <p>
+ * Allocation is read from the thread's own counter ({@link com.sun.management.ThreadMXBean}), after a warm-up long
+ * enough for the JIT to compile the path and eliminate what escape analysis can. Spring MVC and Tomcat are left out:
+ * their share does not depend on this code, and the query parameters arrive already bound.
+ */
+class NearestStoresAllocationTest {
+
+    /**
+     * Bytes per search answered with 200: validating, tagging, admitting, searching and serializing 10 stores.
+     * Measured at about 7.5 KB.
+     */
+    private static final long SEARCH_BUDGET = 10_000;
+
+    /**
+     * Bytes per search answered with 304 from the client's entity tag. Measured at about 2.1 KB.
+     */
+    private static final long REVALIDATION_BUDGET = 3_000;
+
+    private static final int STORES = 10_000;
+    private static final int QUERIES = 1_024;
+    private static final int LIMIT = 10;
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 2_000;
+    private static final int ROUNDS = 5;
+
+    private static StoreSnapshotHolder holder;
+    private static BigDecimal[] latitudes;
+    private static BigDecimal[] longitudes;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Logger applicationLogger = (Logger) LoggerFactory.getLogger("com.jumbo.store");
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(16 * 1024);
+    private final String[] entityTags = new String[QUERIES];
+
+    private Level applicationLogLevel;
+    private StoreController storeController;
+    private NearestStoresHttpMessageConverter converter;
+    private int next;
+
+    @BeforeAll
+    static void setUpStores() {
+        SyntheticStores syntheticStores = new SyntheticStores();
+        holder = new StoreSnapshotHolder(new StoreJsonFragment(new ObjectMapper()));
+        holder.install(syntheticStores.stores(STORES));
+
+        Coordinate[] queries = syntheticStores.queries(QUERIES);
+        latitudes = new BigDecimal[QUERIES];
+        longitudes = new BigDecimal[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            latitudes[i] = queries[i].latitude();
+            longitudes[i] = queries[i].longitude();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "No allocation counters");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        // Log output depends on the deployment, not on the request path
+        applicationLogLevel = applicationLogger.getLevel();
+        applicationLogger.setLevel(Level.WARN);
+
+        StoreSearchProperties searchProperties =
+                new StoreSearchProperties(StoreSearchProperties.Mode.MEMORY, 10, 320, 500);
+        StoreSearchMetrics storeSearchMetrics =
+                new StoreSearchMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), searchProperties);
+        StoreService storeService = new StoreService(
+                mock(StoreRepository.class),
+                new DistanceCalculator(),
+                mock(CircuitBreakerFactory.class),
+                new LocationValidator(),
+                mock(DatabaseNearestStoreSearch.class),
+                searchProperties,
+                holder,
+                storeSearchMetrics);
+        storeController = new StoreController(
+                storeService,
+                new NearestStoresAdmissionGate(
+                        storeService, searchProperties, new StoreAdmissionProperties(1_000, 50, 4)),
+                mock(StoreWriteService.class),
+                new StoreHttpProperties(Duration.ofSeconds(30)));
+        converter = new NearestStoresHttpMessageConverter(
+                Jackson2ObjectMapperBuilder.json().build());
+        converter.setStoreSearchMetrics(storeSearchMetrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationLogger.setLevel(applicationLogLevel);
+    }
+
+    @Test
+    @DisplayName("Should stay within the allocation budget per search")
+    void testFindNearestStores_AllocationBudget() throws IOException {
+        long bytesPerRequest = measure(this::search);
+
+        assertThat(bytesPerRequest)
+                .as("bytes allocated per search (budget %d)", SEARCH_BUDGET)
+                .isLessThanOrEqualTo(SEARCH_BUDGET);
+    }
+
+    @Test
+    @DisplayName("Should stay within the allocation budget per revalidation")
+    void testFindNearestStores_RevalidationAllocationBudget() throws IOException {
+        for (int i = 0; i < QUERIES; i++) {
+            entityTags[i] = search().getHeaders().getETag();
+        }
+        assertThat(revalidate().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        long bytesPerRequest = measure(this::revalidate);
+
+        assertThat(bytesPerRequest)
+                .as("bytes allocated per revalidation (budget %d)", REVALIDATION_BUDGET)
+                .isLessThanOrEqualTo(REVALIDATION_BUDGET);
+    }
+
+    /**
+     * @return the lowest average allocation per request over several rounds, so a round disturbed by JIT
+     *         deoptimization does not fail the gate
+     */
+    private long measure(Request request) throws IOException {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            request.send();
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_REQUESTS; i++) {
+                request.send();
+            }
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+            lowest = Math.min(lowest, allocated / MEASURED_REQUESTS);
+        }
+        return lowest;
+    }
+
+    private ResponseEntity<NearestStoresResponse> search() throws IOException {
+        int query = next++ & (QUERIES - 1);
+        ResponseEntity<NearestStoresResponse> response =
+                storeController.findNearestStores(latitudes[query], longitudes[query], LIMIT, null, null);
+        body.reset();
+        converter.writeTo(response.getBody(), body);
+        return response;
+    }
+
+    private ResponseEntity<NearestStoresResponse> revalidate() {
+        int query = next++ & (QUERIES - 1);
+        return storeController.findNearestStores(latitudes[query], longitudes[query], LIMIT, null, entityTags[query]);
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        Object send() throws IOException;
+    }
+}
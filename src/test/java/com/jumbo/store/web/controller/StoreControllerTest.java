@@ -0,0 +1,110 @@
+package com.jumbo.store.web.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jumbo.store.configuration.StoreAdmissionProperties;
+import com.jumbo.store.configuration.StoreHttpProperties;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.service.NearestStoresAdmissionGate;
+import com.jumbo.store.domain.service.StoreService;
+import com.jumbo.store.domain.service.StoreWriteService;
+import com.jumbo.store.domain.snapshot.StoreSnapshot;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.StoreLookupResponse;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for the entity tags of the nearest-store and batch lookup operations.
+ */
+class StoreControllerTest {
+
+    private static final BigDecimal LATITUDE = new BigDecimal("52.3791");
+    private static final BigDecimal LONGITUDE = new BigDecimal("4.9003");
+
+    private StoreService storeService;
+    private StoreController storeController;
+
+    @BeforeEach
+    void setUp() {
+        storeService = mock(StoreService.class);
+        when(storeService.findNearestStores(LATITUDE, LONGITUDE, 5))
+                .thenReturn(new NearestStoresResponse(
+                        List.of(StoreFixture.createAmsterdamStore().toDTO(0.1)), 1));
+        StoreSearchProperties searchProperties =
+                new StoreSearchProperties(StoreSearchProperties.Mode.MEMORY, 10, 320, 500);
+        storeController = new StoreController(
+                storeService,
+                new NearestStoresAdmissionGate(
+                        storeService, searchProperties, new StoreAdmissionProperties(1_000, 50, 4)),
+                mock(StoreWriteService.class),
+                new StoreHttpProperties(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("Should tag nearest stores weakly, as every format carries the same tag")
+    void testFindNearestStores_WeakTag() {
+        when(storeService.nearestStoresTag(LATITUDE, LONGITUDE, 5)).thenReturn(OptionalLong.of(0xabcL));
+
+        ResponseEntity<NearestStoresResponse> response =
+                storeController.findNearestStores(LATITUDE, LONGITUDE, 5, null, null);
+        ResponseEntity<NearestStoresResponse> revalidated = storeController.findNearestStores(
+                LATITUDE, LONGITUDE, 5, null, response.getHeaders().getETag());
+
+        assertThat(response.getHeaders().getETag()).startsWith("W/\"");
+        assertThat(response.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT);
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    @DisplayName("Should not tag nearest stores in database mode and always search")
+    void testFindNearestStores_DatabaseModeUntagged() {
+        when(storeService.nearestStoresTag(LATITUDE, LONGITUDE, 5)).thenReturn(OptionalLong.empty());
+
+        ResponseEntity<NearestStoresResponse> response =
+                storeController.findNearestStores(LATITUDE, LONGITUDE, 5, null, "*");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNull();
+        assertThat(response.getHeaders().getCacheControl()).contains("max-age=30");
+        verify(storeService).findNearestStores(LATITUDE, LONGITUDE, 5);
+        verify(storeService, never()).recordCacheHit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should tag a batch lookup by its unknown UUIDs as well as the stores found")
+    void testGetStores_UnknownUuidsInTag() {
+        StoreSnapshot.Entry amsterdam = StoreSnapshot.Entry.of(StoreFixture.createAmsterdamStore());
+        when(storeService.findStores(any())).thenReturn(List.of(amsterdam));
+
+        ResponseEntity<StoreLookupResponse> first =
+                storeController.getStores(List.of("amsterdam-uuid-1", "unknown-x"), null);
+        ResponseEntity<StoreLookupResponse> second = storeController.getStores(
+                List.of("amsterdam-uuid-1", "unknown-y"), first.getHeaders().getETag());
+
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getHeaders().getETag())
+                .isNotEqualTo(first.getHeaders().getETag());
+        assertThat(second.getBody().notFound()).containsExactly("unknown-y");
+        assertThat(storeController
+                        .getStores(
+                                List.of("amsterdam-uuid-1", "unknown-y"),
+                                second.getHeaders().getETag())
+                        .getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+}
@@ -0,0 +1,96 @@
+package com.jumbo.store.web.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshot;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.PreRenderedStoreList;
+import com.jumbo.store.web.dto.StoreDTO;
+import com.jumbo.store.web.dto.StoreFieldSet;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+/**
+ * Unit tests for encoding nearest-store responses on the reactive stack.
+ */
+class NearestStoresEncoderTest {
+
+    private static final StoreJsonFragment FRAGMENTS =
+            new StoreJsonFragment(Jackson2ObjectMapperBuilder.json().build());
+
+    private static final ResolvableType RESPONSE_TYPE = ResolvableType.forClass(NearestStoresResponse.class);
+
+    @Test
+    @DisplayName("Should encode the same bytes the converter writes")
+    void testEncodeValue_MatchesConverter() throws IOException {
+        NearestStoresHttpMessageConverter converter = new NearestStoresHttpMessageConverter(
+                Jackson2ObjectMapperBuilder.json().build());
+        NearestStoresResponse response = preRendered().withFields(StoreFieldSet.COMPACT);
+
+        assertThat(encode(new NearestStoresEncoder(converter), response, MediaType.APPLICATION_JSON))
+                .isEqualTo(write(converter, response));
+    }
+
+    @Test
+    @DisplayName("Should encode binary formats through the wrapped converter")
+    void testEncodeValue_Protobuf() throws IOException {
+        NearestStoresHttpMessageConverter converter = NearestStoresHttpMessageConverter.binary(
+                new ProtobufMapper(), StoreProtobufSchemas.NEAREST_STORES, StoreMediaTypes.APPLICATION_PROTOBUF);
+        NearestStoresResponse response = preRendered();
+
+        assertThat(encode(new NearestStoresEncoder(converter), response, StoreMediaTypes.APPLICATION_PROTOBUF))
+                .isEqualTo(write(converter, response));
+    }
+
+    @Test
+    @DisplayName("Should only encode nearest-store responses in the converter's media types")
+    void testCanEncode() {
+        NearestStoresEncoder encoder = new NearestStoresEncoder(NearestStoresHttpMessageConverter.binary(
+                new ProtobufMapper(), StoreProtobufSchemas.NEAREST_STORES, StoreMediaTypes.APPLICATION_PROTOBUF));
+
+        assertThat(encoder.canEncode(RESPONSE_TYPE, StoreMediaTypes.APPLICATION_PROTOBUF))
+                .isTrue();
+        assertThat(encoder.canEncode(RESPONSE_TYPE, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(encoder.canEncode(ResolvableType.forClass(StoreDTO.class), StoreMediaTypes.APPLICATION_PROTOBUF))
+                .isFalse();
+    }
+
+    private static NearestStoresResponse preRendered() {
+        StoreSnapshot snapshot = StoreSnapshot.of(
+                1, List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()), FRAGMENTS);
+        List<StoreSnapshot.Entry> entries = snapshot.findNearestEntries(52.3676, 4.9041, 2);
+        return new NearestStoresResponse(new PreRenderedStoreList(entries, new double[] {0.12, 57.3}), 2);
+    }
+
+    private static byte[] encode(NearestStoresEncoder encoder, NearestStoresResponse response, MediaType mediaType) {
+        DataBuffer buffer = encoder.encodeValue(
+                response, DefaultDataBufferFactory.sharedInstance, RESPONSE_TYPE, mediaType, Map.of());
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static byte[] write(NearestStoresHttpMessageConverter converter, NearestStoresResponse response)
+            throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(response, null, output);
+        return output.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,320 @@
+package com.jumbo.store.web.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.jumbo.store.configuration.StoreSearchProperties;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.domain.service.StoreSearchMetrics;
+import com.jumbo.store.domain.snapshot.StoreJsonFragment;
+import com.jumbo.store.domain.snapshot.StoreSnapshot;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.web.dto.NearestStoresResponse;
+import com.jumbo.store.web.dto.PreRenderedStoreList;
+import com.jumbo.store.web.dto.StoreDTO;
+import com.jumbo.store.web.dto.StoreFieldSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+/**
+ * Unit tests for writing nearest-store responses from pre-rendered JSON fragments.
+ */
+class NearestStoresHttpMessageConverterTest {
+
+    private static final StoreJsonFragment FRAGMENTS =
+            new StoreJsonFragment(Jackson2ObjectMapperBuilder.json().build());
+
+    private ObjectMapper objectMapper;
+    private NearestStoresHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new NearestStoresHttpMessageConverter(objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write exactly what Jackson writes for the same stores")
+    void testWrite_MatchesJackson() throws IOException {
+        Store special = StoreFixture.createUtrechtStore();
+        special.setAddressName("Jumbo \"Hoog Catharijne\" – Utrecht\n");
+        special.setCollectionPoint(true);
+        special.setSapStoreID("3324");
+        StoreSnapshot snapshot = StoreSnapshot.of(
+                1,
+                List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore(), special),
+                FRAGMENTS);
+        List<StoreSnapshot.Entry> entries = snapshot.findNearestEntries(52.0907, 5.1214, 3);
+        double[] distances = {0.0, 34.12, 1.0E-4};
+
+        NearestStoresResponse rendered = new NearestStoresResponse(new PreRenderedStoreList(entries, distances), 3);
+        List<StoreDTO> dtos = List.of(
+                entries.get(0).store().toDTO(distances[0]),
+                entries.get(1).store().toDTO(distances[1]),
+                entries.get(2).store().toDTO(distances[2]));
+
+        assertThat(write(rendered)).isEqualTo(objectMapper.writeValueAsString(new NearestStoresResponse(dtos, 3)));
+        assertThat(rendered.stores()).isEqualTo(dtos);
+    }
+
+    @Test
+    @DisplayName("Should render the fragments with the application's mapper customizations")
+    void testWrite_CustomizedMapper() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToEnable(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature())
+                .build();
+        converter = new NearestStoresHttpMessageConverter(objectMapper);
+        Store special = StoreFixture.createUtrechtStore();
+        special.setAddressName("Jumbo \"Hoog Catharijne\" – Utrecht");
+        special.setStreet2(null);
+        StoreSnapshot snapshot = StoreSnapshot.of(
+                1, List.of(StoreFixture.createAmsterdamStore(), special), new StoreJsonFragment(objectMapper));
+        List<StoreSnapshot.Entry> entries = snapshot.findNearestEntries(52.0907, 5.1214, 2);
+        double[] distances = {0.25, 34.12};
+
+        NearestStoresResponse rendered = new NearestStoresResponse(new PreRenderedStoreList(entries, distances), 2);
+        List<StoreDTO> dtos = List.of(
+                entries.get(0).store().toDTO(distances[0]),
+                entries.get(1).store().toDTO(distances[1]));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        converter.writeTo(rendered, body);
+
+        byte[] expected = objectMapper.writeValueAsBytes(new NearestStoresResponse(dtos, 2));
+        assertThat(body.toByteArray()).isEqualTo(expected);
+        assertThat(new String(expected, StandardCharsets.UTF_8))
+                .contains("\"address_name\":\"Jumbo \\\"Hoog Catharijne\\\" \\u2013 Utrecht\"")
+                .doesNotContain(":null");
+    }
+
+    @Test
+    @DisplayName("Should write an empty response")
+    void testWrite_Empty() throws IOException {
+        NearestStoresResponse rendered =
+                new NearestStoresResponse(new PreRenderedStoreList(List.of(), new double[0]), 0);
+
+        assertThat(write(rendered)).isEqualTo("{\"stores\":[],\"count\":0}");
+    }
+
+    @Test
+    @DisplayName("Should hand responses holding plain DTOs to Jackson")
+    void testWrite_PlainDtos() throws IOException {
+        NearestStoresResponse response = new NearestStoresResponse(
+                List.of(StoreFixture.createAmsterdamStore().toDTO(1.5)), 1);
+
+        assertThat(write(response)).isEqualTo(objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    @DisplayName("Should write the compact profile from its fragments like the field-by-field writer")
+    void testWrite_CompactProfile() throws IOException {
+        Store special = StoreFixture.createUtrechtStore();
+        special.setAddressName("Jumbo \"Hoog Catharijne\" – Utrecht\n");
+        StoreSnapshot snapshot = StoreSnapshot.of(1, List.of(StoreFixture.createAmsterdamStore(), special), FRAGMENTS);
+        List<StoreSnapshot.Entry> entries = snapshot.findNearestEntries(52.0907, 5.1214, 2);
+        double[] distances = {0.25, 34.12};
+
+        PreRenderedStoreList stores = new PreRenderedStoreList(entries, distances);
+        String compact = write(new NearestStoresResponse(stores, 2, StoreFieldSet.COMPACT));
+        // Plain DTOs take the field-by-field path
+        String streamed = write(new NearestStoresResponse(List.copyOf(stores), 2, StoreFieldSet.COMPACT));
+
+        assertThat(compact).isEqualTo(streamed);
+        assertThat(objectMapper.readTree(compact).get("stores").get(0).toString())
+                .isEqualTo("{\"uuid\":\"" + special.getUuid()
+                        + "\",\"addressName\":\"Jumbo \\\"Hoog Catharijne\\\" – Utrecht\\n\","
+                        + "\"latitude\":" + special.getLatitude() + ",\"longitude\":" + special.getLongitude()
+                        + ",\"distanceInKm\":0.25}");
+    }
+
+    @Test
+    @DisplayName("Should write only the selected fields, in DTO order")
+    void testWrite_SelectedFields() throws IOException {
+        Store store = StoreFixture.createAmsterdamStore();
+        StoreSnapshot snapshot = StoreSnapshot.of(1, List.of(store), FRAGMENTS);
+        PreRenderedStoreList stores =
+                new PreRenderedStoreList(snapshot.findNearestEntries(52.37, 4.9, 1), new double[] {1.5});
+
+        String json = write(new NearestStoresResponse(stores, 1, StoreFieldSet.parse("distanceInKm, city,uuid")));
+
+        assertThat(json)
+                .isEqualTo("{\"stores\":[{\"uuid\":\"" + store.getUuid() + "\",\"city\":\"" + store.getCity()
+                        + "\",\"distanceInKm\":1.5}],\"count\":1}");
+    }
+
+    @Test
+    @DisplayName("Should write selected fields and the compact profile with the application's mapper customizations")
+    void testWrite_SelectedFieldsCustomizedMapper() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        converter = new NearestStoresHttpMessageConverter(objectMapper);
+        Store store = StoreFixture.createAmsterdamStore();
+        store.setStreet2(null);
+        StoreSnapshot snapshot = StoreSnapshot.of(1, List.of(store), new StoreJsonFragment(objectMapper));
+        PreRenderedStoreList stores =
+                new PreRenderedStoreList(snapshot.findNearestEntries(52.37, 4.9, 1), new double[] {1.5});
+
+        String selected = write(new NearestStoresResponse(stores, 1, StoreFieldSet.parse("uuid,street2,distanceInKm")));
+        String compact = write(new NearestStoresResponse(stores, 1, StoreFieldSet.COMPACT));
+
+        assertThat(selected)
+                .isEqualTo("{\"stores\":[{\"uuid\":\"" + store.getUuid() + "\",\"distance_in_km\":1.5}],\"count\":1}");
+        assertThat(compact)
+                .isEqualTo(write(new NearestStoresResponse(List.copyOf(stores), 1, StoreFieldSet.COMPACT)))
+                .contains("\"address_name\":")
+                .doesNotContain("addressName");
+    }
+
+    @Test
+    @DisplayName("Should write the same response as CBOR")
+    void testWrite_Cbor() throws IOException {
+        CBORMapper cborMapper = new CBORMapper();
+        NearestStoresHttpMessageConverter cbor =
+                NearestStoresHttpMessageConverter.binary(cborMapper, null, MediaType.APPLICATION_CBOR);
+        NearestStoresResponse response = preRenderedResponse();
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        cbor.write(response, MediaType.APPLICATION_CBOR, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(cborMapper.readValue(output.getBodyAsBytes(), NearestStoresResponse.class))
+                .isEqualTo(new NearestStoresResponse(List.copyOf(response.stores()), response.count()));
+    }
+
+    @Test
+    @DisplayName("Should write the same response as Protobuf following the published schema")
+    void testWrite_Protobuf() throws IOException {
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        NearestStoresHttpMessageConverter protobuf = NearestStoresHttpMessageConverter.binary(
+                protobufMapper, StoreProtobufSchemas.NEAREST_STORES, StoreMediaTypes.APPLICATION_PROTOBUF);
+        NearestStoresResponse response = preRenderedResponse();
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        protobuf.write(response, StoreMediaTypes.APPLICATION_PROTOBUF, output);
+        NearestStoresResponse decoded = protobufMapper
+                .readerFor(NearestStoresResponse.class)
+                .with(StoreProtobufSchemas.NEAREST_STORES)
+                .readValue(output.getBodyAsBytes());
+
+        assertThat(decoded.count()).isEqualTo(response.count());
+        assertThat(decoded.stores()).hasSameSizeAs(response.stores());
+        for (int i = 0; i < decoded.stores().size(); i++) {
+            StoreDTO expected = response.stores().get(i);
+            StoreDTO actual = decoded.stores().get(i);
+            assertThat(actual.uuid()).isEqualTo(expected.uuid());
+            assertThat(actual.addressName()).isEqualTo(expected.addressName());
+            assertThat(actual.street3()).isEqualTo(expected.street3());
+            assertThat(actual.latitude()).isEqualByComparingTo(expected.latitude());
+            assertThat(actual.longitude()).isEqualByComparingTo(expected.longitude());
+            assertThat(actual.collectionPoint()).isEqualTo(expected.collectionPoint());
+            assertThat(actual.distanceInKm()).isEqualTo(expected.distanceInKm());
+        }
+    }
+
+    @Test
+    @DisplayName("Should write one store per line as NDJSON, from fragments and from plain DTOs alike")
+    void testWrite_Ndjson() throws IOException {
+        NearestStoresHttpMessageConverter ndjson = NearestStoresHttpMessageConverter.ndjson(objectMapper);
+        NearestStoresResponse response = preRenderedResponse();
+        List<StoreDTO> dtos = List.copyOf(response.stores());
+
+        MockHttpOutputMessage rendered = new MockHttpOutputMessage();
+        ndjson.write(response, MediaType.APPLICATION_NDJSON, rendered);
+        MockHttpOutputMessage plain = new MockHttpOutputMessage();
+        ndjson.write(new NearestStoresResponse(dtos, 2), MediaType.APPLICATION_NDJSON, plain);
+
+        assertThat(rendered.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(rendered.getBodyAsString())
+                .isEqualTo(objectMapper.writeValueAsString(dtos.get(0)) + "\n"
+                        + objectMapper.writeValueAsString(dtos.get(1)) + "\n");
+        assertThat(plain.getBodyAsString()).isEqualTo(rendered.getBodyAsString());
+    }
+
+    @Test
+    @DisplayName("Should flush the first NDJSON line before writing the others")
+    void testWrite_NdjsonFlushesFirstLine() throws IOException {
+        NearestStoresHttpMessageConverter ndjson = NearestStoresHttpMessageConverter.ndjson(objectMapper);
+
+        for (StoreFieldSet fields : List.of(StoreFieldSet.ALL, StoreFieldSet.parse("uuid"))) {
+            FlushRecordingStream body = new FlushRecordingStream();
+            ndjson.writeTo(preRenderedResponse().withFields(fields), body);
+
+            String firstFlush = body.flushed.getFirst();
+            assertThat(firstFlush).endsWith("\n");
+            assertThat(firstFlush.lines()).hasSize(1);
+            assertThat(body.toString(StandardCharsets.UTF_8).lines()).hasSize(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only write nearest-store responses and never read them")
+    void testSupports() {
+        assertThat(converter.canWrite(NearestStoresResponse.class, MediaType.APPLICATION_JSON))
+                .isTrue();
+        assertThat(converter.canWrite(StoreDTO.class, MediaType.APPLICATION_JSON))
+                .isFalse();
+        assertThat(converter.canRead(NearestStoresResponse.class, MediaType.APPLICATION_JSON))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Should time each response as the serialization stage once metrics are set")
+    void testWrite_RecordsSerialization() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StoreSearchMetrics storeSearchMetrics = new StoreSearchMetrics(
+                meterRegistry, new StoreSearchProperties(StoreSearchProperties.Mode.MEMORY, 10, 40, 100));
+        write(preRenderedResponse());
+
+        converter.setStoreSearchMetrics(storeSearchMetrics);
+        write(preRenderedResponse());
+
+        assertThat(meterRegistry
+                        .get(StoreSearchMetrics.STAGE_METRIC)
+                        .tags("stage", "serialization", "mode", "memory")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    private static NearestStoresResponse preRenderedResponse() {
+        StoreSnapshot snapshot = StoreSnapshot.of(
+                1, List.of(StoreFixture.createAmsterdamStore(), StoreFixture.createRotterdamStore()), FRAGMENTS);
+        return new NearestStoresResponse(
+                new PreRenderedStoreList(snapshot.findNearestEntries(52.37, 4.9, 2), new double[] {0.4, 57.1}), 2);
+    }
+
+    private String write(NearestStoresResponse response) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsString();
+    }
+
+    private static final class FlushRecordingStream extends ByteArrayOutputStream {
+
+        private final List<String> flushed = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            flushed.add(toString(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.jumbo.store.web.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.jumbo.store.fixture.StoreFixture;
+import com.jumbo.store.web.dto.StoreDTO;
+import com.jumbo.store.web.dto.StoreLookupResponse;
+import java.io.IOException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+/**
+ * Unit tests for writing single stores as Protobuf.
+ */
+class StoreProtobufHttpMessageConverterTest {
+
+    private final ProtobufMapper protobufMapper = new ProtobufMapper();
+    private final StoreProtobufHttpMessageConverter converter = new StoreProtobufHttpMessageConverter(protobufMapper);
+
+    @Test
+    @DisplayName("Should write a store following the StoreDTO message of the schema")
+    void testWrite_Store() throws IOException {
+        StoreDTO store = StoreFixture.createAmsterdamStore().toDTO();
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(store, StoreMediaTypes.APPLICATION_PROTOBUF, output);
+        StoreDTO decoded = protobufMapper
+                .readerFor(StoreDTO.class)
+                .with(StoreProtobufSchemas.STORE)
+                .readValue(output.getBodyAsBytes());
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(StoreMediaTypes.APPLICATION_PROTOBUF);
+        assertThat(decoded.uuid()).isEqualTo(store.uuid());
+        assertThat(decoded.city()).isEqualTo(store.city());
+        assertThat(decoded.latitude()).isEqualByComparingTo(store.latitude());
+        assertThat(decoded.distanceInKm()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should only write single stores")
+    void testSupports() {
+        assertThat(converter.canWrite(StoreDTO.class, StoreMediaTypes.APPLICATION_PROTOBUF))
+                .isTrue();
+        assertThat(converter.canWrite(StoreLookupResponse.class, StoreMediaTypes.APPLICATION_PROTOBUF))
+                .isFalse();
+        assertThat(converter.canRead(StoreDTO.class, StoreMediaTypes.APPLICATION_PROTOBUF))
+                .isFalse();
+    }
+}
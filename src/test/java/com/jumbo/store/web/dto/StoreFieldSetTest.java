@@ -0,0 +1,50 @@
+package com.jumbo.store.web.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jumbo.store.domain.exception.UnknownStoreFieldException;
+import java.util.EnumSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for parsing the {@code fields} parameter.
+ */
+class StoreFieldSetTest {
+
+    @Test
+    @DisplayName("Should select every field when no selection is given")
+    void testParse_Default() {
+        assertThat(StoreFieldSet.parse(null)).isEqualTo(StoreFieldSet.ALL);
+        assertThat(StoreFieldSet.parse(" ")).isEqualTo(StoreFieldSet.ALL);
+        assertThat(StoreFieldSet.parse(",")).isEqualTo(StoreFieldSet.ALL);
+    }
+
+    @Test
+    @DisplayName("Should resolve the compact profile")
+    void testParse_CompactProfile() {
+        assertThat(StoreFieldSet.parse("compact")).isEqualTo(StoreFieldSet.COMPACT);
+        assertThat(StoreFieldSet.parse(" Compact ")).isEqualTo(StoreFieldSet.COMPACT);
+        assertThat(StoreFieldSet.parse("uuid,addressName,latitude,longitude,distanceInKm"))
+                .isEqualTo(StoreFieldSet.COMPACT);
+    }
+
+    @Test
+    @DisplayName("Should select the listed fields regardless of order, spacing and duplicates")
+    void testParse_FieldList() {
+        StoreFieldSet fields = StoreFieldSet.parse("sapStoreID, uuid,uuid");
+
+        assertThat(fields).isEqualTo(StoreFieldSet.of(EnumSet.of(StoreField.UUID, StoreField.SAP_STORE_ID)));
+        assertThat(fields.contains(StoreField.UUID)).isTrue();
+        assertThat(fields.contains(StoreField.CITY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown field names")
+    void testParse_UnknownField() {
+        assertThatThrownBy(() -> StoreFieldSet.parse("uuid,email"))
+                .isInstanceOf(UnknownStoreFieldException.class)
+                .hasMessageContaining("email");
+    }
+}
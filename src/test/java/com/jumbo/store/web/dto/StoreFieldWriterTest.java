@@ -0,0 +1,68 @@
+package com.jumbo.store.web.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.jumbo.store.domain.model.Store;
+import com.jumbo.store.fixture.StoreFixture;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Unit tests for writing selected store fields the way the mapper writes the whole store.
+ */
+class StoreFieldWriterTest {
+
+    @Test
+    @DisplayName("Should write every field exactly as the mapper writes the DTO, for default and customized mappers")
+    void testWrite_AllFieldsMatchMapper() throws IOException {
+        Store store = StoreFixture.createUtrechtStore();
+        store.setStreet2(null);
+        StoreDTO dto = store.toDTO(1.5);
+        ObjectMapper customized = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        for (ObjectMapper objectMapper :
+                List.of(Jackson2ObjectMapperBuilder.json().build(), customized)) {
+            assertThat(write(objectMapper, dto, StoreFieldSet.ALL)).isEqualTo(objectMapper.writeValueAsString(dto));
+        }
+        assertThat(write(customized, dto, StoreFieldSet.ALL))
+                .contains("\"address_name\":")
+                .doesNotContain("street2");
+    }
+
+    @Test
+    @DisplayName("Should name and leave out selected fields following the mapper configuration")
+    void testWrite_SelectedFieldsCustomizedMapper() throws IOException {
+        Store store = StoreFixture.createAmsterdamStore();
+        store.setStreet2(null);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        StoreFieldSet fields = StoreFieldSet.of(
+                EnumSet.of(StoreField.UUID, StoreField.POSTAL_CODE, StoreField.STREET2, StoreField.DISTANCE_IN_KM));
+
+        assertThat(write(objectMapper, store.toDTO(2.5), fields))
+                .isEqualTo("{\"uuid\":\"" + store.getUuid() + "\",\"postal_code\":\"" + store.getPostalCode()
+                        + "\",\"distance_in_km\":2.5}");
+    }
+
+    private static String write(ObjectMapper objectMapper, StoreDTO store, StoreFieldSet fields) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = objectMapper.createGenerator(json)) {
+            new StoreFieldWriter(objectMapper).write(generator, store, fields);
+        }
+        return json.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.jumbo.store.web.workload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jumbo.store.configuration.StoreWorkloadProperties;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the workload ring buffer and its CSV format.
+ */
+class WorkloadRecorderTest {
+
+    private final WorkloadRecorder recorder = new WorkloadRecorder(new StoreWorkloadProperties(true, 3, 1));
+
+    @Test
+    @DisplayName("Should keep only the most recent queries once the buffer is full")
+    void testRecord_OverwritesOldest() {
+        for (int i = 1; i <= 5; i++) {
+            recorder.record(i, "52.37", "4.90", String.valueOf(i), 200, 1_000);
+        }
+
+        assertThat(recorder.recordedQueries()).extracting(RecordedQuery::limit).containsExactly(3, 4, 5);
+        assertThat(recorder.recordedCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should record 304 as a cache hit and skip failed or malformed requests")
+    void testRecord_StatusAndParameters() {
+        recorder.record(1, "52.37", "4.90", null, 304, 2_000);
+        recorder.record(2, "52.37", "4.90", "5", 400, 1_000);
+        recorder.record(3, "north", "4.90", "5", 200, 1_000);
+        recorder.record(4, null, "4.90", "5", 200, 1_000);
+
+        assertThat(recorder.recordedQueries()).containsExactly(new RecordedQuery(1, 52.37, 4.90, null, 2, true));
+    }
+
+    @Test
+    @DisplayName("Should write CSV that parses back into the recorded queries")
+    void testToCsv_RoundTrip() {
+        recorder.record(1_700_000_000_000L, "52.3676", "4.9041", "10", 200, 1_500_000);
+        recorder.record(1_700_000_000_250L, "51.9225", "4.4792", null, 304, 80_000);
+
+        List<String> lines = recorder.toCsv().lines().toList();
+
+        assertThat(lines.getFirst()).isEqualTo(RecordedQuery.CSV_HEADER);
+        assertThat(lines.stream().skip(1).map(RecordedQuery::parse).toList()).isEqualTo(recorder.recordedQueries());
+        assertThat(lines.get(1)).isEqualTo("2023-11-14T22:13:20Z,52.3676,4.9041,10,1500,false");
+    }
+
+    @Test
+    @DisplayName("Should reject lines that are not recorded queries")
+    void testParse_Invalid() {
+        assertThatThrownBy(() -> RecordedQuery.parse("52.37,4.90")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecordedQuery.parse("yesterday,52.37,4.90,5,100,false"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should empty the buffer on clear")
+    void testClear() {
+        recorder.record(1, "52.37", "4.90", "5", 200, 1_000);
+
+        recorder.clear();
+
+        assertThat(recorder.recordedQueries()).isEmpty();
+        assertThat(recorder.toCsv()).isEqualTo(RecordedQuery.CSV_HEADER + "\n");
+    }
+}